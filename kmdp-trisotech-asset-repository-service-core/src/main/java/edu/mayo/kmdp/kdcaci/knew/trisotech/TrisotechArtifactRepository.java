@@ -37,7 +37,7 @@ import org.springframework.stereotype.Component;
 @KPServer
 @Component
 public class TrisotechArtifactRepository implements KnowledgeArtifactRepositoryApiInternal,
-    KnowledgeArtifactSeriesApiInternal, KnowledgeArtifactApiInternal {
+    KnowledgeArtifactSeriesApiInternal, KnowledgeArtifactApiInternal, AutoCloseable {
 
   public static final String ALL_REPOS = "default";
 
@@ -53,6 +53,11 @@ public class TrisotechArtifactRepository implements KnowledgeArtifactRepositoryA
   @Nonnull
   protected final NamespaceManager names;
 
+  /**
+   * True if the DES API facade has been created by this repository, which then owns its lifecycle
+   */
+  private final boolean ownsClient;
+
   @Autowired
   public TrisotechArtifactRepository(
       @Nonnull final TTWEnvironmentConfiguration cfg,
@@ -65,6 +70,7 @@ public class TrisotechArtifactRepository implements KnowledgeArtifactRepositoryA
         ? hrfefBuilder
         : new KArtfHrefBuilder(cfg);
 
+    this.ownsClient = client == null;
     this.client = client != null
         ? client
         : new TTWrapper(cfg, new DomainSemanticsWeaver(this.cfg), new TTRedactor());
@@ -74,6 +80,16 @@ public class TrisotechArtifactRepository implements KnowledgeArtifactRepositoryA
         : new DefaultNamespaceManager(this.cfg);
   }
 
+  /**
+   * Closes the DES API facade, if created by this repository
+   */
+  @Override
+  public void close() {
+    if (ownsClient) {
+      client.close();
+    }
+  }
+
   /**
    * @return a list of {@link KnowledgeArtifactRepository} descriptors, one per configured Place
    */
@@ -25,6 +25,7 @@ import static edu.mayo.kmdp.trisotechwrapper.config.TTNotations.getXmlMimeTypeBy
 import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.ASSET_ID_ATTRIBUTE;
 import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.CSO_SOURCE;
 import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.DEFAULT_VERSION_TAG;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.FETCH_PARALLELISM;
 import static edu.mayo.kmdp.util.JenaUtil.objA;
 import static edu.mayo.kmdp.util.Util.isEmpty;
 import static java.nio.charset.Charset.defaultCharset;
@@ -89,8 +90,10 @@ import edu.mayo.kmdp.registry.Registry;
 import edu.mayo.kmdp.trisotechwrapper.TTAPIAdapter;
 import edu.mayo.kmdp.trisotechwrapper.TTWrapper;
 import edu.mayo.kmdp.trisotechwrapper.components.DefaultNamespaceManager;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
 import edu.mayo.kmdp.trisotechwrapper.components.NamespaceManager;
 import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
 import edu.mayo.kmdp.trisotechwrapper.components.redactors.TTRedactor;
 import edu.mayo.kmdp.trisotechwrapper.components.weavers.DomainSemanticsWeaver;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
@@ -100,13 +103,19 @@ import edu.mayo.kmdp.util.XMLUtil;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -155,13 +164,18 @@ import org.w3c.dom.Document;
 @Component
 @KPServer
 public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInternal,
-    KnowledgeAssetRepositoryApiInternal {
+    KnowledgeAssetRepositoryApiInternal, AutoCloseable {
 
   /**
    * Logger
    */
   private static final Logger logger = LoggerFactory.getLogger(TrisotechAssetRepository.class);
 
+  /**
+   * Name of the thread pool used to resolve the components of anonymous Composite Assets
+   */
+  public static final String COMPONENT_FETCH_POOL = "ttw-component-fetch";
+
   /**
    * List of supported {@link KnowledgeAssetType}
    */
@@ -243,6 +257,23 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
   @Nonnull
   protected final Surrogate2Parser surrogateParser;
 
+  /**
+   * The bounded pool used to resolve the components of anonymous Composite Assets concurrently
+   */
+  @Nonnull
+  protected final ExecutorService componentFetcher;
+
+  /**
+   * Flags the threads that are resolving a component of an anonymous Composite Asset, so that the
+   * components of a nested Composite are resolved by the same thread
+   */
+  private final ThreadLocal<Boolean> fetchingComponent = ThreadLocal.withInitial(() -> false);
+
+  /**
+   * True if the DES API facade has been created by this repository, which then owns its lifecycle
+   */
+  private final boolean ownsClient;
+
   @Autowired
   public TrisotechAssetRepository(
       @Nonnull TTWEnvironmentConfiguration cfg,
@@ -259,6 +290,7 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
     //
     this.cfg = cfg;
 
+    this.ownsClient = client == null;
     this.client = client != null
         ? client
         : new TTWrapper(cfg, new DomainSemanticsWeaver(this.cfg), new TTRedactor());
@@ -285,6 +317,31 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
         : defaultFabricators(this.names, this);
 
     this.surrogateParser = new Surrogate2Parser();
+
+    this.componentFetcher = ExecutorHelper.newBoundedExecutor(
+        COMPONENT_FETCH_POOL, this.cfg.getTyped(FETCH_PARALLELISM, Integer.class));
+  }
+
+  /**
+   * Stops the pool used to resolve the components of Composite Assets, and closes the DES API
+   * facade, if created by this repository
+   */
+  @Override
+  public void close() {
+    componentFetcher.shutdownNow();
+    if (ownsClient) {
+      client.close();
+    }
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the helper used in content negotiation, if any
+   */
+  @Nullable
+  public TTContentNegotiationHelper getNegotiator() {
+    return negotiator;
   }
 
   /**
@@ -700,7 +757,9 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
    * <p>
    * Traverses the Asset/Asset dependency relations, interprets their closure as the components of
    * an anonymous composite, resolves each component Asset as a carrier Artifact, and returns the
-   * package thereof
+   * package thereof.
+   * <p>
+   * Components are resolved concurrently, and packaged in the order of their Asset IDs
    *
    * @param assetId    the Asset ID of the root Asset
    * @param versionTag the version Tag of the root Asset
@@ -714,15 +773,12 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
       @Nullable final String xAccept) {
     try {
       var rootId = newId(assetId, versionTag);
-      Set<KeyIdentifier> closure = getAssetClosure(rootId)
-          .map(Entry::getKey)
-          .collect(Collectors.toSet());
+      Set<KeyIdentifier> closure = getComponentClosure(rootId);
 
-      Answer<Set<KnowledgeCarrier>> componentArtifacts = closure.stream()
-          .map(comp -> getKnowledgeAssetVersionCanonicalCarrier(comp.getUuid(),
+      Answer<Set<KnowledgeCarrier>> componentArtifacts = fetchComponents(closure,
+          comp -> getKnowledgeAssetVersionCanonicalCarrier(comp.getUuid(),
               comp.getVersionTag(),
-              xAccept))
-          .collect(Answer.toSet());
+              xAccept));
 
       return componentArtifacts
           .map(comps -> ofMixedAnonymousComposite(rootId, comps));
@@ -736,7 +792,9 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
    * <p>
    * Traverses the Asset/Asset dependency relations, interprets their closure as the components of
    * an anonymous composite, resolves each component Asset its canonical Surrogate, and returns the
-   * package thereof
+   * package thereof.
+   * <p>
+   * Components are resolved concurrently, and packaged in the order of their Asset IDs
    *
    * @param assetId    the Asset ID of the root Asset
    * @param versionTag the version Tag of the root Asset
@@ -750,17 +808,14 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
       @Nullable final String xAccept) {
     try {
       var rootId = newId(assetId, versionTag);
-      Set<KeyIdentifier> closure = getAssetClosure(rootId)
-          .map(Entry::getKey)
-          .collect(Collectors.toSet());
+      Set<KeyIdentifier> closure = getComponentClosure(rootId);
 
-      Answer<Set<KnowledgeCarrier>> componentSurrogates = closure.stream()
-          .map(comp -> getKnowledgeAssetVersion(comp.getUuid(),
+      Answer<Set<KnowledgeCarrier>> componentSurrogates = fetchComponents(closure,
+          comp -> getKnowledgeAssetVersion(comp.getUuid(),
               comp.getVersionTag(),
               xAccept)
               .map(SurrogateHelper::carry)
-              .flatMap(this::encodeCanonicalSurrogate))
-          .collect(Answer.toSet());
+              .flatMap(this::encodeCanonicalSurrogate));
 
       return componentSurrogates
           .map(comps -> ofUniformAnonymousComposite(rootId, comps));
@@ -997,6 +1052,9 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
   /**
    * Traverses the Asset to Asset dependencies of a given Knowledge Asset, returning a Stream of the
    * IDs of those dependencies
+   * <p>
+   * Uses the dependency closures materialized by the Place/Path indexes, which are memoized and
+   * safe with respect to cyclic dependencies.
    *
    * @param rootAssetId the ID of the root Knowledge Asset
    * @return A Stream of IDs of those Assets that the root depends on, directly or indirectly
@@ -1004,30 +1062,169 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
   @Nonnull
   protected Stream<Map.Entry<KeyIdentifier, DependencyType>> getAssetClosure(
       @Nonnull final ResourceIdentifier rootAssetId) {
-    return client.getMetadataByAssetId(rootAssetId.getUuid(), rootAssetId.getVersionTag())
-        .flatMap(this::getAssetClosure)
+    return client.getDependencyClosureByAssetId(
+            rootAssetId.getUuid(), rootAssetId.getVersionTag())
+        .flatMap(this::toAssetDependency)
         .distinct();
   }
 
   /**
-   * Recurses on the Asset to Asset dependencies of a given Knowledge Asset, returning a Stream of
-   * the IDs of those dependencies, using the internal index in the process.
+   * Determines the components of the anonymous Composite rooted in a given Knowledge Asset, i.e.
+   * the Assets in that Asset's dependency closure.
+   * <p>
+   * As a side effect, retrieves the Models that carry the components in bulk, so that the
+   * (concurrent) resolution of the individual components will not hit the DES one Model at a time.
+   * The Models that are already cached are not requested again.
+   *
+   * @param rootAssetId the ID of the root Knowledge Asset
+   * @return the IDs of the component Assets, sorted
+   */
+  @Nonnull
+  protected SortedSet<KeyIdentifier> getComponentClosure(
+      @Nonnull final ResourceIdentifier rootAssetId) {
+    var manifests = client.getDependencyClosureByAssetId(
+            rootAssetId.getUuid(), rootAssetId.getVersionTag())
+        .collect(toList());
+    if (!manifests.isEmpty()) {
+      client.getModels(manifests);
+    }
+    return manifests.stream()
+        .flatMap(this::toAssetDependency)
+        .map(Entry::getKey)
+        .collect(Collectors.toCollection(TreeSet::new));
+  }
+
+  /**
+   * Fingerprints the Models that carry the components of the anonymous Composite rooted in a given
+   * Knowledge Asset.
+   * <p>
+   * Each fingerprint combines the ID, version and last update of a Model, so that the set changes
+   * whenever a component is added, removed or modified, and can be used to key derived content.
+   *
+   * @param assetId    the Asset ID of the root Asset
+   * @param versionTag the version Tag of the root Asset
+   * @return the fingerprints of the Models in the root Asset's dependency closure, sorted
+   */
+  @Nonnull
+  public SortedSet<String> getComponentFingerprints(
+      @Nonnull final UUID assetId,
+      @Nonnull final String versionTag) {
+    return client.getDependencyClosureByAssetId(assetId, versionTag)
+        .map(info -> info.getId() + "#" + info.getVersion() + "@" + info.getUpdated())
+        .collect(Collectors.toCollection(TreeSet::new));
+  }
+
+  /**
+   * Refreshes the Models that carry the components of the anonymous Composite rooted in a given
+   * Knowledge Asset, leaving the rest of the Model cache untouched.
+   * <p>
+   * Invalidates the Models in the root Asset's dependency closure, and reloads them in bulk. The
+   * Places those Models belong to are refreshed (in the background), so that their indexes pick up
+   * any change to the closure itself; the other Places are not affected.
+   *
+   * @param assetId    the Asset ID of the root Asset
+   * @param versionTag the version Tag of the root Asset
+   */
+  public void refreshComponents(
+      @Nonnull final UUID assetId,
+      @Nonnull final String versionTag) {
+    var manifests = client.getDependencyClosureByAssetId(assetId, versionTag)
+        .collect(toList());
+    manifests.stream()
+        .map(SemanticModelInfo::getPlaceId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(client::refreshPlace);
+    manifests.forEach(info -> client.invalidateModel(info.getId()));
+    client.getModels(manifests);
+  }
+
+  /**
+   * Resolves the components of an anonymous Composite Asset, concurrently.
+   * <p>
+   * Uses a bounded pool. If invoked while resolving a component (e.g. while fabricating a
+   * component that is itself a Composite), resolves the components sequentially instead, so that
+   * nested Composites cannot starve the pool.
+   *
+   * @param components the IDs of the component Assets
+   * @param fetcher    the function that resolves a component Asset into a Carrier
+   * @return the component Carriers, ordered by Asset ID; or a failure, if any component could not
+   * be resolved
+   */
+  @Nonnull
+  protected Answer<Set<KnowledgeCarrier>> fetchComponents(
+      @Nonnull final Collection<KeyIdentifier> components,
+      @Nonnull final Function<KeyIdentifier, Answer<KnowledgeCarrier>> fetcher) {
+    List<Answer<KnowledgeCarrier>> results;
+    if (Boolean.TRUE.equals(fetchingComponent.get())) {
+      results = components.stream()
+          .map(fetcher)
+          .collect(toList());
+    } else {
+      var futures = components.stream()
+          .map(comp -> CompletableFuture
+              .supplyAsync(() -> fetchComponent(comp, fetcher), componentFetcher)
+              .exceptionally(t -> Answer.<KnowledgeCarrier>failed(new IllegalStateException(t))))
+          .collect(toList());
+      results = futures.stream()
+          .map(CompletableFuture::join)
+          .collect(toList());
+    }
+    return results.stream()
+        .collect(Answer.toSet())
+        .map(this::sortComponents);
+  }
+
+  /**
+   * Resolves one component of an anonymous Composite Asset, flagging the current thread while
+   * doing so
+   *
+   * @param component the ID of the component Asset
+   * @param fetcher   the function that resolves a component Asset into a Carrier
+   * @return the component Carrier
+   * @see #fetchComponents(Collection, Function)
+   */
+  @Nonnull
+  private Answer<KnowledgeCarrier> fetchComponent(
+      @Nonnull final KeyIdentifier component,
+      @Nonnull final Function<KeyIdentifier, Answer<KnowledgeCarrier>> fetcher) {
+    fetchingComponent.set(true);
+    try {
+      return fetcher.apply(component);
+    } finally {
+      fetchingComponent.remove();
+    }
+  }
+
+  /**
+   * Sorts the components of a Composite by Asset ID, for a deterministic packaging
+   *
+   * @param components the component Carriers
+   * @return the component Carriers, in an order-preserving Set
+   */
+  @Nonnull
+  private Set<KnowledgeCarrier> sortComponents(
+      @Nonnull final Set<KnowledgeCarrier> components) {
+    return components.stream()
+        .sorted(Comparator.comparing(kc -> kc.getAssetId().asKey()))
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Maps the manifest of a Model in a dependency closure to the ID of the Asset carried by that
+   * Model, if any.
    * <p>
    * The IDs are mapped to the specific dependency relationship type, assumning that the same Asset
    * will only play one type of role
    *
-   * @param modelRoot the manifest of the root Knowledge Asset
-   * @return A Stream of IDs of those Assets that the root depends on, directly or indirectly
+   * @param modelInfo the manifest of a Model in the closure
+   * @return the ID of the Asset carried by the Model, with the dependency relationship type
    */
   @Nonnull
-  protected Stream<Map.Entry<KeyIdentifier, DependencyType>> getAssetClosure(
-      @Nonnull final SemanticModelInfo modelRoot) {
-    return Stream.concat(
-        Stream.ofNullable(modelRoot.getAssetKey())
-            .map(key -> Map.entry(key, dependencyRel(modelRoot.getMimetype()))),
-        modelRoot.getModelDependencies().stream()
-            .flatMap(depId -> client.getMetadataByModelId(depId).stream())
-            .flatMap(this::getAssetClosure));
+  protected Stream<Map.Entry<KeyIdentifier, DependencyType>> toAssetDependency(
+      @Nonnull final SemanticModelInfo modelInfo) {
+    return Stream.ofNullable(modelInfo.getAssetKey())
+        .map(key -> Map.entry(key, dependencyRel(modelInfo.getMimetype())));
   }
 
 
@@ -1172,7 +1369,9 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
 
 
   /**
-   * Builds a {@link KnowledgeAsset} Surrogate, from the given Model/Manifest pairs
+   * Builds a {@link KnowledgeAsset} Surrogate, from the given Model/Manifest pairs.
+   * <p>
+   * The introspection is timed, tagged by the Place and Language of (one of) the carriers
    *
    * @param assetId  the Asset ID
    * @param carriers the Model/Manifest pairs
@@ -1182,8 +1381,12 @@ public class TrisotechAssetRepository implements KnowledgeAssetCatalogApiInterna
       @Nonnull final ResourceIdentifier assetId,
       @Nonnull final Map<SemanticModelInfo, Optional<Document>> carriers) {
 
+    var sample = carriers.keySet().stream().findFirst().orElse(null);
     // extract data from Trisotech format to OMG format
-    return extractor.introspect(assetId, carriers)
+    return MetricsHelper.timed(MetricsHelper.INTROSPECT,
+            () -> extractor.introspect(assetId, carriers),
+            MetricsHelper.TAG_PLACE, MetricsHelper.placeTag(sample),
+            MetricsHelper.TAG_LANGUAGE, MetricsHelper.languageTag(sample))
         .map(ka -> negotiator != null
             ? negotiator.addEmphemeralSurrogates(ka)
             : ka);
@@ -19,18 +19,33 @@ import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeReprese
 import static org.omg.spec.api4kp._20200801.taxonomy.krserialization.KnowledgeRepresentationLanguageSerializationSeries.RDF_XML_Syntax;
 import static org.omg.spec.api4kp._20200801.taxonomy.krserialization.KnowledgeRepresentationLanguageSerializationSeries.Turtle;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import edu.mayo.kmdp.trisotechwrapper.components.NamespaceManager;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
+import edu.mayo.kmdp.util.JSonUtil;
 import edu.mayo.kmdp.util.Util;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.math.BigInteger;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.omg.spec.api4kp._20200801.AbstractCarrier.Encodings;
 import org.omg.spec.api4kp._20200801.Answer;
 import org.omg.spec.api4kp._20200801.api.transrepresentation.v4.server.TransxionApiInternal;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
 import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
 import org.omg.spec.api4kp._20200801.services.SyntacticRepresentation;
 import org.omg.spec.api4kp._20200801.services.repository.asset.KARSHrefBuilder;
@@ -41,7 +56,18 @@ import org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentation
 import org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-
+import org.w3c.dom.Document;
+
+/**
+ * Helper class that supports the negotiation of Artifact and Surrogate variants.
+ * <p>
+ * Since clients tend to request the same variants of the same content over and over, translated
+ * variants are cached, keyed by the Asset and Artifact (version) IDs, a digest of the source
+ * content, the target representation and the redirect configuration (i.e. the base URL) the
+ * variant is rendered for. Cached variants are copied before being handed out. Likewise, client
+ * preferences are cached, keyed by the raw X-Accept header. Both caches are bounded, and record
+ * hit statistics.
+ */
 public class TTContentNegotiationHelper {
 
   /**
@@ -49,6 +75,49 @@ public class TTContentNegotiationHelper {
    */
   protected static final Logger logger = LoggerFactory.getLogger(TTContentNegotiationHelper.class);
 
+  /**
+   * Maximum number of translated variants retained in the variant cache
+   */
+  public static final int VARIANT_CACHE_MAX_SIZE = 200;
+
+  /**
+   * Maximum number of decoded client preferences retained in the preference cache
+   */
+  public static final int PREFERENCE_CACHE_MAX_SIZE = 100;
+
+  /**
+   * Decoded client preferences, by X-Accept code, in order of preference
+   */
+  private static final Cache<String, List<SyntacticRepresentation>> preferenceCache =
+      MetricsHelper.monitor(Caffeine.newBuilder()
+          .maximumSize(PREFERENCE_CACHE_MAX_SIZE)
+          .recordStats()
+          .build(), "ttw.negotiation.preferences");
+
+  /**
+   * Algorithm used to digest the source content of the translated variants
+   */
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  /**
+   * Translated variants, by source Artifact, content digest, target representation and redirect
+   * configuration
+   */
+  protected final Cache<String, KnowledgeCarrier> variantCache =
+      MetricsHelper.monitor(Caffeine.newBuilder()
+          .maximumSize(VARIANT_CACHE_MAX_SIZE)
+          .recordStats()
+          .build(), "ttw.negotiation.variants");
+
+  /**
+   * Digests of the XML source documents, by (weak) identity, so that a cached Model is serialized
+   * and digested once, rather than on every request
+   */
+  protected final Cache<Document, String> documentDigests = Caffeine.newBuilder()
+      .weakKeys()
+      .maximumSize(VARIANT_CACHE_MAX_SIZE)
+      .build();
+
   /**
    * The {@link KARSHrefBuilder} used to map URIs to URLs relative to this server's deployment
    */
@@ -105,8 +174,8 @@ public class TTContentNegotiationHelper {
    */
   public static boolean negotiateHTML(
       @Nullable final String xAccept) {
-    return decodeAll(xAccept).stream().findFirst()
-        .filter(wr -> HTML.sameAs(wr.getRep().getLanguage()))
+    return decodePreferences(xAccept).stream().findFirst()
+        .filter(rep -> HTML.sameAs(rep.getLanguage()))
         .isPresent();
   }
 
@@ -120,8 +189,8 @@ public class TTContentNegotiationHelper {
    */
   public static boolean negotiateFHIR(
       @Nullable final String xAccept) {
-    return decodeAll(xAccept).stream().findFirst()
-        .filter(wr -> FHIR_STU3.sameAs(wr.getRep().getLanguage()))
+    return decodePreferences(xAccept).stream().findFirst()
+        .filter(rep -> FHIR_STU3.sameAs(rep.getLanguage()))
         .isPresent();
   }
 
@@ -137,11 +206,48 @@ public class TTContentNegotiationHelper {
       @Nullable final String xAccept) {
     return "application/rdf+xml".equals(xAccept)
         || "text/turtle".equals(xAccept)
-        || decodeAll(xAccept).stream().findFirst()
-        .filter(wr -> OWL_2.sameAs(wr.getRep().getLanguage()))
+        || decodePreferences(xAccept).stream().findFirst()
+        .filter(rep -> OWL_2.sameAs(rep.getLanguage()))
         .isPresent();
   }
 
+  /**
+   * Decodes an X-Accept code into a List of representation preferences, using a cache
+   *
+   * @param xAccept a negotiation preference, usually client-provided
+   * @return the preferred representations, in order of preference
+   */
+  @Nonnull
+  protected static List<SyntacticRepresentation> decodePreferences(
+      @Nullable final String xAccept) {
+    if (xAccept == null) {
+      return Collections.emptyList();
+    }
+    return preferenceCache.get(xAccept, x -> decodeAll(x).stream()
+        .map(wr -> wr.getRep())
+        .collect(Collectors.toUnmodifiableList()));
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the hit statistics of the client preference cache
+   */
+  @Nonnull
+  public static CacheStats getPreferenceCacheStats() {
+    return preferenceCache.stats();
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the cache of translated variants
+   */
+  @Nonnull
+  public Cache<String, KnowledgeCarrier> getVariantCache() {
+    return variantCache;
+  }
+
   /**
    * Converts a Surrogate, wrapped in a KnowledgeCarrier, to a negotiated variant
    *
@@ -157,13 +263,136 @@ public class TTContentNegotiationHelper {
     if (surrogateTranslator == null || xAccept == null) {
       return failed(NotAcceptable);
     }
-    return surrogateTranslator.applyTransrepresent(
-            surrogateCarrier,
-            adjustSurrogateVariantMimeCode(xAccept),
-            configureRedirects())
+    var target = adjustSurrogateVariantMimeCode(xAccept);
+    var redirects = configureRedirects();
+    return MetricsHelper.timed(MetricsHelper.NEGOTIATE,
+            () -> cachedVariant(surrogateCarrier, target, redirects,
+                () -> surrogateTranslator.applyTransrepresent(
+                    surrogateCarrier,
+                    target,
+                    redirects)),
+            MetricsHelper.TAG_KIND, "surrogate",
+            MetricsHelper.TAG_LANGUAGE, MetricsHelper.languageTag(target))
         .or(() -> failed(NotAcceptable));
   }
 
+  /**
+   * Looks up a translated variant in the variant cache, translating (and caching) on a miss.
+   * <p>
+   * Failed translations are not cached. Since Carriers are mutable, the cache retains a copy of the
+   * translated variant, and returns a copy of the cached variant on a hit.
+   *
+   * @param source      the Artifact in the source form
+   * @param target      the code of the target representation
+   * @param redirects   the redirect configuration passed to the translator, if any
+   * @param translation the function that translates the source into the target form
+   * @return the translated variant
+   */
+  @Nonnull
+  protected Answer<KnowledgeCarrier> cachedVariant(
+      @Nonnull final KnowledgeCarrier source,
+      @Nullable final String target,
+      @Nullable final String redirects,
+      @Nonnull final Supplier<Answer<KnowledgeCarrier>> translation) {
+    var key = variantKey(source, target, redirects);
+    if (key.isEmpty()) {
+      return translation.get();
+    }
+    var cached = variantCache.getIfPresent(key.get());
+    if (cached != null) {
+      return Answer.of(copyOf(cached));
+    }
+    var variant = translation.get();
+    variant.ifSuccess(kc -> variantCache.put(key.get(), copyOf(kc)));
+    return variant;
+  }
+
+  /**
+   * Builds the variant cache key for a given source Artifact, target representation and redirect
+   * configuration
+   * <p>
+   * The key combines the Asset and Artifact version IDs with a digest of the serialized content
+   * (bytes, strings, XML documents). Parsed Surrogates, which are negotiated most often, are
+   * digested in their canonical (JSON) serialization. Other parsed content is not cached.
+   *
+   * @param source    the Artifact in the source form
+   * @param target    the code of the target representation
+   * @param redirects the redirect configuration, which depends on the base URL of the request
+   * @return the key, if the source has serialized content and a target is specified
+   */
+  @Nonnull
+  protected Optional<String> variantKey(
+      @Nonnull final KnowledgeCarrier source,
+      @Nullable final String target,
+      @Nullable final String redirects) {
+    var expr = source.getExpression();
+    if (target == null || expr == null) {
+      return Optional.empty();
+    }
+    String digest;
+    if (expr instanceof byte[]) {
+      digest = digest((byte[]) expr);
+    } else if (expr instanceof String) {
+      digest = digest(((String) expr).getBytes(StandardCharsets.UTF_8));
+    } else if (expr instanceof Document) {
+      digest = documentDigests.get((Document) expr,
+          dox -> digest(XMLUtil.toString(dox).getBytes(StandardCharsets.UTF_8)));
+    } else if (expr instanceof KnowledgeAsset) {
+      var json = JSonUtil.writeJsonAsString(expr);
+      if (json.isEmpty()) {
+        return Optional.empty();
+      }
+      digest = digest(json.get().getBytes(StandardCharsets.UTF_8));
+    } else {
+      return Optional.empty();
+    }
+    return Optional.of(String.join("|",
+        versionId(source.getAssetId()),
+        versionId(source.getArtifactId()),
+        digest,
+        target,
+        String.valueOf(redirects)));
+  }
+
+  /**
+   * @param id a (versioned) identifier, if any
+   * @return the version URI of the identifier, as a String
+   */
+  @Nonnull
+  private static String versionId(
+      @Nullable final ResourceIdentifier id) {
+    return id != null ? String.valueOf(id.getVersionId()) : "";
+  }
+
+  /**
+   * Digests the serialized content of an Artifact
+   *
+   * @param bytes the serialized content
+   * @return the digest, hex-encoded
+   */
+  @Nonnull
+  protected static String digest(
+      @Nonnull final byte[] bytes) {
+    try {
+      return String.format(
+          "%064x", new BigInteger(1, MessageDigest.getInstance(DIGEST_ALGORITHM).digest(bytes)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Copies a variant, so that cached variants are not shared with (and modified by) the clients
+   *
+   * @param variant the variant
+   * @return a deep copy of the variant
+   */
+  @Nonnull
+  protected static KnowledgeCarrier copyOf(
+      @Nonnull final KnowledgeCarrier variant) {
+    return (KnowledgeCarrier) variant.clone();
+  }
+
   /**
    * Normalizes the (client) provided MIME code to match the requirements of the Surrogate
    * translators.
@@ -392,10 +621,10 @@ public class TTContentNegotiationHelper {
     if (Util.isEmpty(xAccept)) {
       return false;
     }
-    var preferences = decodeAll(xAccept);
+    var preferences = decodePreferences(xAccept);
     return preferences.stream().noneMatch(
-        rep -> rep.getRep().getLanguage() == null ||
-            theRepContrastor.isBroaderOrEqual(rep.getRep(), kc.getRepresentation()));
+        rep -> rep.getLanguage() == null ||
+            theRepContrastor.isBroaderOrEqual(rep, kc.getRepresentation()));
   }
 
   /**
@@ -415,7 +644,11 @@ public class TTContentNegotiationHelper {
     if (xAccept == null) {
       return Answer.of(kc);
     }
-    return translator.applyTransrepresent(kc, xAccept, null)
+    return MetricsHelper.timed(MetricsHelper.NEGOTIATE,
+            () -> cachedVariant(kc, xAccept, null,
+                () -> translator.applyTransrepresent(kc, xAccept, null)),
+            MetricsHelper.TAG_KIND, "artifact",
+            MetricsHelper.TAG_LANGUAGE, MetricsHelper.languageTag(xAccept))
         .or(() -> failed(NotAcceptable));
   }
 
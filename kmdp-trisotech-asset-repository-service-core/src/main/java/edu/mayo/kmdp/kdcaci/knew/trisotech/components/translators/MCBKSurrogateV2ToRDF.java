@@ -81,6 +81,20 @@ public class MCBKSurrogateV2ToRDF {
 
 
   public Model transform(KnowledgeAsset asset) {
+    var model = ModelFactory.createDefaultModel();
+    model.add(toStatements(asset).collect(Collectors.toList()));
+    return model;
+  }
+
+  /**
+   * Generates the RDF statements that register a Knowledge Asset, by its canonical Surrogate,
+   * without materializing a {@link Model}. Allows clients to stream the statements.
+   *
+   * @param asset the canonical Surrogate of the Asset
+   * @return the statements that describe the Asset, its Carriers and its Surrogates
+   * @see #transform(KnowledgeAsset)
+   */
+  public Stream<Statement> toStatements(KnowledgeAsset asset) {
     var surrogate = asset.getSurrogate().stream()
         .filter(ka -> Knowledge_Asset_Surrogate_2_0.sameAs(ka.getRepresentation().getLanguage()))
         .findFirst();
@@ -90,10 +104,7 @@ public class MCBKSurrogateV2ToRDF {
     var surrMime = surrogate
         .map(s -> codedRep(s.getRepresentation()))
         .orElseGet(() -> codedRep(Knowledge_Asset_Surrogate_2_0, JSON));
-    var model = ModelFactory.createDefaultModel();
-    model.add(registerAssetByCanonicalSurrogate(asset, surrId, surrMime)
-        .collect(Collectors.toList()));
-    return model;
+    return registerAssetByCanonicalSurrogate(asset, surrId, surrMime);
   }
 
 
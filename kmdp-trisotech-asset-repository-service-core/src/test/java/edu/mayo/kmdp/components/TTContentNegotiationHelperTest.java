@@ -0,0 +1,104 @@
+package edu.mayo.kmdp.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.AbstractCarrier.codedRep;
+import static org.omg.spec.api4kp._20200801.AbstractCarrier.rep;
+import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.HTML;
+import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.OWL_2;
+
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTContentNegotiationHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.DefaultNamespaceManager;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.AbstractCarrier;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.SemanticIdentifier;
+import org.omg.spec.api4kp._20200801.services.KnowledgeCarrier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.omg.spec.api4kp._20200801.surrogate.SurrogateHelper;
+
+class TTContentNegotiationHelperTest {
+
+  private static final String HTML_REP = codedRep(HTML);
+
+  @Test
+  void testSurrogateVariantHitAndMiss() {
+    var helper = new TestNegotiationHelper();
+    var asset = newAsset();
+
+    helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base-1");
+    helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base-1");
+    // parsed Surrogates are cached
+    assertEquals(1, helper.translations.get());
+
+    // another target, or another base URL, is another variant
+    helper.variant(SurrogateHelper.carry(asset), codedRep(OWL_2), "base-1");
+    helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base-2");
+    assertEquals(3, helper.translations.get());
+
+    // a changed Surrogate, with the same Asset version ID, is not served the stale variant
+    asset.setName("Renamed");
+    helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base-1");
+    assertEquals(4, helper.translations.get());
+  }
+
+  @Test
+  void testCopyOnHit() {
+    var helper = new TestNegotiationHelper();
+    var asset = newAsset();
+
+    var first = helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base").get();
+    first.setLabel("modified by a client");
+
+    var second = helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base").get();
+    var third = helper.variant(SurrogateHelper.carry(asset), HTML_REP, "base").get();
+    assertEquals(1, helper.translations.get());
+    assertEquals("variant", second.getLabel());
+    assertNotSame(second, third);
+  }
+
+  @Test
+  void testPreferenceCache() {
+    var xAccept = HTML_REP;
+    var before = TTContentNegotiationHelper.getPreferenceCacheStats();
+
+    assertTrue(TTContentNegotiationHelper.negotiateHTML(xAccept));
+    assertTrue(TTContentNegotiationHelper.negotiateHTML(xAccept));
+
+    var after = TTContentNegotiationHelper.getPreferenceCacheStats().minus(before);
+    assertTrue(after.hitCount() >= 1);
+    assertTrue(after.missCount() <= 1);
+  }
+
+  private KnowledgeAsset newAsset() {
+    return new KnowledgeAsset()
+        .withAssetId(SemanticIdentifier.newId(UUID.randomUUID(), "1.0.0"))
+        .withName("Test Asset");
+  }
+
+  /**
+   * Negotiation helper whose translations are stubbed, and counted
+   */
+  private static class TestNegotiationHelper extends TTContentNegotiationHelper {
+
+    private final AtomicInteger translations = new AtomicInteger();
+
+    TestNegotiationHelper() {
+      super(new DefaultNamespaceManager(new TTWEnvironmentConfiguration()), null, null, null);
+    }
+
+    Answer<KnowledgeCarrier> variant(KnowledgeCarrier source, String target, String redirects) {
+      return cachedVariant(source, target, redirects, () -> {
+        translations.incrementAndGet();
+        return Answer.of(AbstractCarrier.of("<html/>")
+            .withRepresentation(rep(HTML))
+            .withLabel("variant"));
+      });
+    }
+  }
+
+}
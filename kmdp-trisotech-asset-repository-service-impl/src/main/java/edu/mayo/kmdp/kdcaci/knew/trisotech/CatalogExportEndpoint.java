@@ -0,0 +1,202 @@
+package edu.mayo.kmdp.kdcaci.knew.trisotech;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.FETCH_PARALLELISM;
+
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.translators.MCBKSurrogateV2ToRDF;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Adapter class that exports the whole Asset catalog as RDF, in bulk
+ * <p>
+ * Supplements a {@link TrisotechAssetRepository}, and uses it as a source of canonical Surrogates.
+ * Maps each Surrogate to the same statements that {@link MCBKSurrogateV2ToRDF} would generate for
+ * an individual Asset, but writes them incrementally to the response, through a Jena
+ * {@link StreamRDF}, without materializing a Model.
+ * <p>
+ * Surrogates are retrieved and mapped concurrently, in windows of bounded size, and written in
+ * catalog order, so that memory use does not depend on the size of the catalog.
+ */
+@RestController
+public class CatalogExportEndpoint implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(CatalogExportEndpoint.class);
+
+  /**
+   * Name of the thread pool used to map Surrogates to RDF
+   */
+  public static final String EXPORT_POOL = "ttw-rdf-export";
+
+  /**
+   * Number of Assets processed per window, per thread in the pool
+   */
+  public static final int WINDOW_FACTOR = 4;
+
+  protected final TrisotechAssetRepository triso;
+
+  /**
+   * The mapper from Surrogates to RDF statements
+   */
+  protected final MCBKSurrogateV2ToRDF rdfMapper = new MCBKSurrogateV2ToRDF();
+
+  /**
+   * The pool used to retrieve and map Surrogates concurrently
+   */
+  protected final ExecutorService exportPool;
+
+  /**
+   * The number of Assets processed concurrently, before their statements are written
+   */
+  protected final int windowSize;
+
+  @Autowired
+  public CatalogExportEndpoint(
+      TrisotechAssetRepository triso,
+      TTWEnvironmentConfiguration cfg) {
+    this.triso = triso;
+    int parallelism = cfg.getTyped(FETCH_PARALLELISM, Integer.class);
+    this.exportPool = ExecutorHelper.newBoundedExecutor(EXPORT_POOL, parallelism);
+    this.windowSize = Math.max(1, parallelism) * WINDOW_FACTOR;
+  }
+
+  /**
+   * Stops the pool used to retrieve and map the Surrogates
+   */
+  @Override
+  public void close() {
+    exportPool.shutdownNow();
+  }
+
+  /**
+   * Exports the canonical Surrogates of all the Assets in the catalog, as RDF
+   *
+   * @param format 'turtle' for Turtle, N-Triples otherwise
+   * @return the RDF statements, streamed
+   */
+  @GetMapping(value = "/export/catalog",
+      produces = {"application/n-triples", "text/turtle"})
+  public ResponseEntity<StreamingResponseBody> exportCatalog(
+      @RequestParam(required = false, value = "format") String format) {
+    var turtle = "turtle".equalsIgnoreCase(format);
+    var rdfFormat = turtle ? RDFFormat.TURTLE_BLOCKS : RDFFormat.NTRIPLES;
+    var mediaType = turtle ? "text/turtle" : "application/n-triples";
+
+    StreamingResponseBody body = out -> writeCatalog(out, rdfFormat);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(mediaType))
+        .body(body);
+  }
+
+  /**
+   * Walks the catalog, writing the RDF statements of each Asset to a stream
+   *
+   * @param out       the stream to write to
+   * @param rdfFormat the (streamable) RDF serialization format
+   */
+  protected void writeCatalog(
+      @Nonnull final OutputStream out,
+      @Nonnull final RDFFormat rdfFormat) {
+    var pointers = listAssets();
+
+    StreamRDF stream = StreamRDFWriter.getWriterStream(out, rdfFormat);
+    stream.start();
+    stream.prefix("api4kp", MCBKSurrogateV2ToRDF.API4KP);
+    stream.prefix("api4kp-series", MCBKSurrogateV2ToRDF.API4KP_SERIES);
+    stream.prefix("lcc", MCBKSurrogateV2ToRDF.LCC);
+    stream.prefix("kmd", MCBKSurrogateV2ToRDF.KMD);
+    stream.prefix("dc", MCBKSurrogateV2ToRDF.DC);
+
+    for (int j = 0; j < pointers.size(); j += windowSize) {
+      var window = pointers.subList(j, Math.min(j + windowSize, pointers.size())).stream()
+          .map(ptr -> CompletableFuture.supplyAsync(() -> toTriples(ptr), exportPool))
+          .collect(Collectors.toList());
+      window.forEach(fut -> fut.join().forEach(stream::triple));
+    }
+    stream.finish();
+  }
+
+  /**
+   * Lists the Assets in the catalog, in catalog order
+   *
+   * @return Pointers to the Assets to be exported
+   */
+  @Nonnull
+  protected List<Pointer> listAssets() {
+    return triso.listKnowledgeAssets(null, null, null, 0, -1)
+        .orElse(Collections.emptyList());
+  }
+
+  /**
+   * Retrieves the canonical Surrogate of an Asset
+   *
+   * @param ptr the Pointer to the Asset (version)
+   * @return the canonical Surrogate
+   */
+  @Nonnull
+  protected Answer<KnowledgeAsset> getSurrogate(
+      @Nonnull final Pointer ptr) {
+    return triso.getKnowledgeAssetVersion(ptr.getUuid(), ptr.getVersionTag(), null);
+  }
+
+  /**
+   * Maps a canonical Surrogate to RDF
+   *
+   * @param asset the canonical Surrogate
+   * @return the RDF triples that describe the Asset
+   */
+  @Nonnull
+  protected List<Triple> mapSurrogate(
+      @Nonnull final KnowledgeAsset asset) {
+    return rdfMapper.toStatements(asset)
+        .map(Statement::asTriple)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Retrieves the canonical Surrogate of an Asset, and maps it to RDF
+   *
+   * @param ptr the Pointer to the Asset (version)
+   * @return the RDF triples that describe the Asset, or an empty List if the Surrogate could not be
+   * retrieved or mapped
+   */
+  @Nonnull
+  protected List<Triple> toTriples(
+      @Nonnull final Pointer ptr) {
+    try {
+      return getSurrogate(ptr)
+          .map(this::mapSurrogate)
+          .orElse(Collections.emptyList());
+    } catch (Exception e) {
+      logger.warn("Unable to export Asset {} : {}", ptr.getVersionId(), e.getMessage());
+      return Collections.emptyList();
+    }
+  }
+
+}
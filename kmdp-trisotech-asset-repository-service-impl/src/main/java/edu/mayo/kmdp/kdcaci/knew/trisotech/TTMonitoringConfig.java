@@ -3,6 +3,7 @@ package edu.mayo.kmdp.kdcaci.knew.trisotech;
 import static java.util.stream.Collectors.toSet;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
 import edu.mayo.kmdp.health.HealthEndPoint;
 import edu.mayo.kmdp.health.StateEndPoint;
 import edu.mayo.kmdp.health.VersionEndPoint;
@@ -10,10 +11,15 @@ import edu.mayo.kmdp.health.datatype.ApplicationComponent;
 import edu.mayo.kmdp.health.datatype.MiscProperties;
 import edu.mayo.kmdp.health.datatype.Status;
 import edu.mayo.kmdp.health.utils.MonitorUtil;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTContentNegotiationHelper;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTHealthProber;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTHealthProber.Snapshot;
 import edu.mayo.kmdp.trisotechwrapper.TTAPIAdapter;
 import edu.mayo.kmdp.trisotechwrapper.components.cache.CachingTTWKnowledgeStore;
 import edu.mayo.kmdp.trisotechwrapper.components.hooks.DefaultTTHooksHandler;
 import edu.mayo.kmdp.trisotechwrapper.components.hooks.TTHooksHandler;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -35,9 +41,11 @@ import org.springframework.core.env.ConfigurableEnvironment;
  * following internal components:
  *
  * <ul>
- *   <li>the {@link TTAPIAdapter}, as a proxy for the TT DES server API</li>
+ *   <li>the {@link TTAPIAdapter}, as a proxy for the TT DES server API, probed in the background
+ *   by a {@link TTHealthProber}</li>
  *   <li>the {@link CachingTTWKnowledgeStore}'s Place Cache, as a proxy for the TT DES Knowledge Graph</li>>
  *   <li>the {@link CachingTTWKnowledgeStore}'s Model Cache, as a proxy for the TT DES Model Repository</li>>
+ *   <li>the {@link TTContentNegotiationHelper}'s Variant Cache, for content negotiation</li>>
  * </ul>
  */
 @ComponentScan(basePackageClasses = {
@@ -53,32 +61,55 @@ public class TTMonitoringConfig {
   @Value("${edu.mayo.kmdp.trisotechwrapper.repositoryId:nil}")
   String mainPlaceId;
 
+  /**
+   * Interval between two probes of the TT DES server, in seconds
+   */
+  @Value("${edu.mayo.kmdp.trisotechwrapper.health.probeInterval:30}")
+  long probeInterval;
+
+  /**
+   * Creates the background prober of the TT DES server, which refreshes the server status on a
+   * fixed schedule, so that health checks do not translate into calls to the DES
+   *
+   * @param client the DES server client
+   * @return the {@link TTHealthProber}
+   */
+  @Bean(destroyMethod = "close")
+  TTHealthProber ttHealthProber(
+      @Autowired @Nonnull final TTAPIAdapter client) {
+    return new TTHealthProber(client, probeInterval);
+  }
+
   /**
    * Creates a representation of the TT DES server (APIs) as a health-monitored
-   * {@link ApplicationComponent}
+   * {@link ApplicationComponent}, based on the latest snapshot taken by the {@link TTHealthProber}
    *
    * @param env    the system Environment
    * @param client the DES server client
+   * @param prober the DES server prober
    * @return the DES Server health status, as an {@link ApplicationComponent}
    */
   @Bean
   Supplier<ApplicationComponent> ttServer(
       @Autowired @Nonnull final ConfigurableEnvironment env,
-      @Autowired @Nonnull final TTAPIAdapter client) {
-    MiscProperties mp = new MiscProperties();
+      @Autowired @Nonnull final TTAPIAdapter client,
+      @Autowired @Nonnull final TTHealthProber prober) {
+    Map<String, String> config = new LinkedHashMap<>();
     client.getConfigParameters().forEach((prop, value) -> {
       var valueStr = value != null ? value.toString() : "";
       var safeVal = MonitorUtil.defaultIsSecret(prop)
           ? MonitorUtil.obfuscate(valueStr, 4)
           : valueStr;
-      mp.put(prop, safeVal);
+      config.put(prop, safeVal);
     });
 
     return () -> {
       ApplicationComponent c = new ApplicationComponent();
       c.setName("TT DES Server");
 
-      diagnoseTTAdapter(client, c);
+      MiscProperties mp = new MiscProperties();
+      config.forEach(mp::put);
+      diagnoseTTAdapter(prober.getSnapshot(), c, mp);
       c.setDetails(mp);
       return c;
     };
@@ -86,7 +117,8 @@ public class TTMonitoringConfig {
 
   /**
    * Creates a representation of the TTW Place Cache, as a health-monitored
-   * {@link ApplicationComponent}
+   * {@link ApplicationComponent}. Also reports the current generation of the catalog of the
+   * indexed Places, and when it was built
    *
    * @param client the DES server client
    * @return the TTW Place Cache health status, as an {@link ApplicationComponent}
@@ -94,8 +126,14 @@ public class TTMonitoringConfig {
   @Bean
   Supplier<ApplicationComponent> placeCache(
       @Autowired @Nonnull final TTAPIAdapter client) {
-    return () -> cacheComponent(client, "Place Cache",
-        TTAPIAdapter::getPlaceCache);
+    return () -> {
+      var c = cacheComponent(client, "Place Cache",
+          TTAPIAdapter::getPlaceCache);
+      var catalog = client.getCatalog();
+      c.getDetails().put("catalogGeneration", Long.toString(catalog.getNumber()));
+      c.getDetails().put("catalogBuiltAt", catalog.getBuiltAt().toString());
+      return c;
+    };
   }
 
   /**
@@ -113,19 +151,67 @@ public class TTMonitoringConfig {
   }
 
 
+  /**
+   * Creates a representation of the content negotiation Variant Cache, as a health-monitored
+   * {@link ApplicationComponent}. Also reports the statistics of the client preference cache
+   *
+   * @param repo the Asset Repository, which owns the content negotiation helper
+   * @return the Variant Cache health status, as an {@link ApplicationComponent}
+   */
+  @Bean
+  Supplier<ApplicationComponent> variantCache(
+      @Autowired @Nonnull final TrisotechAssetRepository repo) {
+    return () -> {
+      ApplicationComponent c = new ApplicationComponent();
+      c.setName("Variant Cache");
+
+      var negotiator = repo.getNegotiator();
+      if (negotiator == null) {
+        c.status(Status.IMPAIRED);
+        c.setStatusMessage("Missing");
+        return c;
+      }
+      describeCache(negotiator.getVariantCache(), c);
+      c.getDetails().put("preferenceStats",
+          TTContentNegotiationHelper.getPreferenceCacheStats().toString());
+      return c;
+    };
+  }
+
+
   /**
    * Determines the health status of the TT DES server, updating its {@link ApplicationComponent}
    *
-   * @param client the DES client
-   * @param c      the DES client health status descriptor, to be updated
+   * @param snapshot the latest probe of the DES, if any
+   * @param c        the DES client health status descriptor, to be updated
+   * @param mp       the DES client health details, to be updated
    */
-  private void diagnoseTTAdapter(
-      @Nonnull final TTAPIAdapter client,
-      @Nonnull final ApplicationComponent c) {
-    var accessible = client.listAccessiblePlaces().values();
-    var configured = client.getCacheablePlaces().values();
-    var usable = configured.stream()
-        .filter(accessible::contains)
+  void diagnoseTTAdapter(
+      @Nullable final Snapshot snapshot,
+      @Nonnull final ApplicationComponent c,
+      @Nonnull final MiscProperties mp) {
+    if (snapshot == null) {
+      c.setStatusMessage("Awaiting first probe");
+      c.setStatus(Status.IMPAIRED);
+      return;
+    }
+    mp.put("probedAt", snapshot.getProbedAt().toString());
+    mp.put("probeAgeMillis", Long.toString(snapshot.getAge().toMillis()));
+    mp.put("latencyMillis", Long.toString(snapshot.getLatencyMillis()));
+    snapshot.getGraphLiveness().forEach((placeId, live) ->
+        mp.put("sparql." + placeId, live ? "live" : "unresponsive"));
+
+    if (snapshot.getError() != null) {
+      c.setStatusMessage("Unable to probe server: " + snapshot.getError());
+      c.setStatus(Status.DOWN);
+      return;
+    }
+
+    var configured = snapshot.getConfiguredPlaces();
+    var usable = snapshot.getUsablePlaces();
+    var unresponsive = snapshot.getGraphLiveness().entrySet().stream()
+        .filter(e -> !e.getValue())
+        .map(Map.Entry::getKey)
         .collect(toSet());
 
     if (usable.isEmpty()) {
@@ -135,6 +221,10 @@ public class TTMonitoringConfig {
       c.setStatusMessage("Limited Place access: " +
           usable.stream().map(Object::toString).collect(Collectors.joining()));
       c.setStatus(Status.IMPAIRED);
+    } else if (!unresponsive.isEmpty()) {
+      c.setStatusMessage("Knowledge Graph unresponsive for Places: " +
+          String.join(",", unresponsive));
+      c.setStatus(Status.IMPAIRED);
     } else {
       c.setStatusMessage("Pulling from Places: " +
           usable.stream().map(Object::toString).collect(Collectors.joining()));
@@ -161,7 +251,8 @@ public class TTMonitoringConfig {
 
   /**
    * Decorates a {@link Cache}'s diagnostic {@link ApplicationComponent} with descriptors of that
-   * Cache's health status
+   * Cache's health status. Caches bounded by weight also report their weighted size (e.g. the
+   * estimated size of the cached Models, in bytes) and their current maximum weight
    *
    * @param cache the Cache to be described
    * @param c     the {@link ApplicationComponent} descriptor
@@ -172,6 +263,12 @@ public class TTMonitoringConfig {
     c.status(Status.UP);
     c.setStatusMessage("Present");
     mp.put("estimatedSize", Long.toString(cache.estimatedSize()));
+    cache.policy().eviction()
+        .filter(Policy.Eviction::isWeighted)
+        .ifPresent(ev -> {
+          ev.weightedSize().ifPresent(w -> mp.put("weightedSize", Long.toString(w)));
+          mp.put("maximumWeight", Long.toString(ev.getMaximum()));
+        });
     mp.put("stats", cache.stats().toString());
     c.setDetails(mp);
     return c;
@@ -62,12 +62,13 @@ import org.springframework.http.converter.HttpMessageConverter;
 public class TTServerConfig {
 
   /**
-   * The core provider of business logic for the Asset and Artifact repository servers
+   * The core provider of business logic for the Asset and Artifact repository servers, closed
+   * with the application context, so that its caches and background threads are released
    *
    * @param cfg the environment configuration
    * @return a servlet context-aware {@link TTServerContextAwareHrefBuilder}
    */
-  @Bean
+  @Bean(destroyMethod = "close")
   public TTAPIAdapter ttAdapter(@Autowired TTWEnvironmentConfiguration cfg) {
     return new TTWrapper(cfg, new DomainSemanticsWeaver(cfg), new TTRedactor());
   }
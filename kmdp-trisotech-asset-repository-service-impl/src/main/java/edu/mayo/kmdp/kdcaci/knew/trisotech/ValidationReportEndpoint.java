@@ -3,6 +3,8 @@ package edu.mayo.kmdp.kdcaci.knew.trisotech;
 import static org.omg.spec.api4kp._20200801.taxonomy.clinicalknowledgeassettype.ClinicalKnowledgeAssetTypeSeries.Clinical_Case_Management_Model;
 import static org.omg.spec.api4kp._20200801.taxonomy.parsinglevel.ParsingLevelSeries.Abstract_Knowledge_Expression;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTServerContextAwareHrefBuilder;
 import edu.mayo.kmdp.language.LanguageDeSerializer;
 import edu.mayo.kmdp.language.LanguageValidator;
@@ -11,13 +13,19 @@ import edu.mayo.kmdp.language.parsers.dmn.v1_2.DMN12Parser;
 import edu.mayo.kmdp.language.parsers.surrogate.v2.Surrogate2Parser;
 import edu.mayo.kmdp.language.validators.cmmn.v1_1.CCPMProfileCMMNValidator;
 import edu.mayo.kmdp.language.validators.dmn.v1_2.CCPMProfileDMNValidator;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
 import edu.mayo.kmdp.util.ws.ResponseHelper;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.omg.spec.api4kp._20200801.Answer;
@@ -46,11 +54,25 @@ import org.zalando.problem.Problem;
  * Adapts the 'shape' of the models to fit the expected input of the Validators - a Set of
  * Asset/Artifact pairs. Formats the results into basic HTML.
  * <p>
+ * Reports are cached, keyed by the root Asset, the base URL the report links to, and the
+ * fingerprints of the Models that carry the components of the validated CCPM, so that a report is
+ * rebuilt only when one of those Models changes.
+ * <p>
  * This class should eventually be refactored to separate the presentation layer, and/or deployed
  * separately
  */
 @RestController
-public class ValidationReportEndpoint {
+public class ValidationReportEndpoint implements AutoCloseable {
+
+  /**
+   * Maximum number of validation reports retained in the report cache
+   */
+  public static final int REPORT_CACHE_MAX_SIZE = 50;
+
+  /**
+   * Name of the thread pool used to validate Asset/Artifact pairs
+   */
+  public static final String VALIDATION_POOL = "ttw-validation";
 
   @Autowired
   TrisotechAssetRepository triso;
@@ -73,6 +95,28 @@ public class ValidationReportEndpoint {
   LanguageDeSerializer parser = new LanguageDeSerializer(
       Arrays.asList(new Surrogate2Parser(), new DMN12Parser(), new CMMN11Parser()));
 
+  /**
+   * Validation reports, in HTML
+   */
+  Cache<ReportKey, byte[]> reports = MetricsHelper.monitor(Caffeine.newBuilder()
+      .maximumSize(REPORT_CACHE_MAX_SIZE)
+      .recordStats()
+      .build(), "ttw.validation.reports");
+
+  /**
+   * Pool used to validate the Asset/Artifact pairs concurrently. Since validation is CPU-bound,
+   * the pool is sized after the available processors
+   */
+  ExecutorService validationPool = ExecutorHelper.newBoundedExecutor(
+      VALIDATION_POOL, Runtime.getRuntime().availableProcessors());
+
+  /**
+   * Stops the pool used to validate the Asset/Artifact pairs
+   */
+  @Override
+  public void close() {
+    validationPool.shutdownNow();
+  }
 
   @GetMapping(value = "/validate/ccpms",
       produces = "text/html")
@@ -99,7 +143,7 @@ public class ValidationReportEndpoint {
    *
    * @param assetId    Root Asset Id
    * @param versionTag Root Asset Version
-   * @param refresh    force the refresh of the underlying TTW before running validation
+   * @param refresh    force the reload of the Models in the CCPM, and rebuild the report
    * @return the report, in HTML
    */
   @GetMapping(value = "/validate/ccpms/{assetId}/versions/{versionTag}",
@@ -109,16 +153,24 @@ public class ValidationReportEndpoint {
       @PathVariable String versionTag,
       @RequestParam(required = false, value = "refresh") String refresh) {
 
-    if (Boolean.parseBoolean(refresh)) {
-      triso.clearKnowledgeAssetCatalog();
+    var forceRefresh = Boolean.parseBoolean(refresh);
+    if (forceRefresh) {
+      triso.refreshComponents(assetId, versionTag);
+    }
+
+    var key = new ReportKey(assetId, versionTag, hrefBuilder.getBaseUrl(),
+        triso.getComponentFingerprints(assetId, versionTag));
+    var cached = forceRefresh ? null : reports.getIfPresent(key);
+    if (cached != null) {
+      return ResponseHelper.asResponse(Answer.of(cached));
     }
 
-    var report = buildReport(assetId, versionTag);
+    var report = buildReport(assetId, versionTag, key);
     return ResponseHelper.asResponse(report);
   }
 
 
-  private Answer<byte[]> buildReport(UUID assetId, String versionTag) {
+  private Answer<byte[]> buildReport(UUID assetId, String versionTag, ReportKey key) {
     try {
       /* Retrieves the CCPM, and reshapes it into a List of Asset/Artifact pairs */
       var payloads = compose(assetId, versionTag);
@@ -126,9 +178,13 @@ public class ValidationReportEndpoint {
         return Answer.of(payloads.printExplanation().getBytes());
       }
 
-      /* Runs the validation logic */
-      var results = payloads.get().stream()
-          .map(pair -> validator.applyValidate(pair, null))
+      /* Runs the validation logic, concurrently, merging the results in order */
+      var validations = payloads.get().stream()
+          .map(pair -> CompletableFuture.supplyAsync(
+              () -> validator.applyValidate(pair, null), validationPool))
+          .collect(Collectors.toList());
+      var results = validations.stream()
+          .map(CompletableFuture::join)
           .reduce(Answer::merge)
           .map(Explainer::getExplanation);
 
@@ -136,6 +192,9 @@ public class ValidationReportEndpoint {
       var report = results.map(x -> toHTML(x, hrefBuilder))
           .map(String::getBytes);
 
+      if (!key.fingerprints.isEmpty()) {
+        report.ifPresent(html -> reports.put(key, html));
+      }
       return Answer.ofTry(report);
     } catch (Exception e) {
       return Answer.failed(e);
@@ -295,5 +354,43 @@ public class ValidationReportEndpoint {
 
   }
 
+  /**
+   * Key of a cached validation report: the root Asset, the base URL used to build the links in
+   * the report, and the fingerprints of the Models in the root Asset's closure
+   */
+  static final class ReportKey {
+
+    private final UUID assetId;
+    private final String versionTag;
+    private final String baseUrl;
+    private final Set<String> fingerprints;
+
+    ReportKey(UUID assetId, String versionTag, String baseUrl, Set<String> fingerprints) {
+      this.assetId = assetId;
+      this.versionTag = versionTag;
+      this.baseUrl = baseUrl;
+      this.fingerprints = fingerprints;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ReportKey)) {
+        return false;
+      }
+      ReportKey other = (ReportKey) o;
+      return assetId.equals(other.assetId)
+          && versionTag.equals(other.versionTag)
+          && Objects.equals(baseUrl, other.baseUrl)
+          && fingerprints.equals(other.fingerprints);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(assetId, versionTag, baseUrl, fingerprints);
+    }
+  }
 
 }
@@ -0,0 +1,217 @@
+package edu.mayo.kmdp.kdcaci.knew.trisotech.components;
+
+import static java.util.stream.Collectors.toSet;
+
+import edu.mayo.kmdp.trisotechwrapper.TTAPIAdapter;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background prober of the TT DES server, used to back the health endpoints.
+ * <p>
+ * Probing the DES requires live calls to its REST APIs and SPARQL endpoint, whose cost should not
+ * scale with the frequency of the health checks. The prober refreshes a {@link Snapshot} of the
+ * DES status on a fixed schedule instead, which the health endpoints can read at no cost.
+ */
+public class TTHealthProber implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(TTHealthProber.class);
+
+  /**
+   * Name of the thread used to probe the DES
+   */
+  public static final String PROBE_POOL = "ttw-health-probe";
+
+  /**
+   * The DES client
+   */
+  @Nonnull
+  protected final TTAPIAdapter client;
+
+  /**
+   * The scheduler that runs the probes
+   */
+  @Nonnull
+  protected final ScheduledExecutorService scheduler;
+
+  /**
+   * The latest snapshot, null until the first probe completes
+   */
+  @Nullable
+  private volatile Snapshot latest;
+
+  /**
+   * Constructor. Schedules the probes, starting immediately
+   *
+   * @param client          the DES client
+   * @param intervalSeconds the time between the end of a probe and the start of the next one
+   */
+  public TTHealthProber(
+      @Nonnull final TTAPIAdapter client,
+      final long intervalSeconds) {
+    this.client = client;
+    this.scheduler = ExecutorHelper.newScheduler(PROBE_POOL);
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, 0, Math.max(1, intervalSeconds), TimeUnit.SECONDS);
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the latest snapshot of the DES status, or null if no probe has completed yet
+   */
+  @Nullable
+  public Snapshot getSnapshot() {
+    return latest;
+  }
+
+  /**
+   * Probes the DES, and replaces the latest snapshot with the outcome
+   */
+  public void refresh() {
+    try {
+      latest = probe();
+    } catch (Exception e) {
+      logger.warn("Unable to probe the TT DES server : {}", e.getMessage());
+      latest = Snapshot.failed(e.getMessage());
+    }
+  }
+
+  /**
+   * Stops the scheduled probes
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Probes the DES for the accessibility of the configured Places, measuring the latency of the
+   * Place API, then probes the SPARQL endpoint for each usable Place
+   *
+   * @return the outcome of the probe
+   */
+  @Nonnull
+  protected Snapshot probe() {
+    long t0 = System.nanoTime();
+    var accessible = client.listAccessiblePlaces().values();
+    long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+
+    var configured = Set.copyOf(client.getCacheablePlaces().values());
+    var usable = configured.stream()
+        .filter(accessible::contains)
+        .collect(toSet());
+
+    Map<String, Boolean> graphLiveness = new LinkedHashMap<>();
+    usable.forEach(place ->
+        graphLiveness.put(place.getId(), client.probeKnowledgeGraph(place.getId())));
+
+    return new Snapshot(Instant.now(), configured, usable, latency, graphLiveness, null);
+  }
+
+
+  /**
+   * Immutable outcome of a probe of the DES
+   */
+  public static final class Snapshot {
+
+    private final Instant probedAt;
+    private final Set<TrisotechPlace> configuredPlaces;
+    private final Set<TrisotechPlace> usablePlaces;
+    private final long latencyMillis;
+    private final Map<String, Boolean> graphLiveness;
+    private final String error;
+
+    Snapshot(
+        @Nonnull final Instant probedAt,
+        @Nonnull final Set<TrisotechPlace> configuredPlaces,
+        @Nonnull final Set<TrisotechPlace> usablePlaces,
+        final long latencyMillis,
+        @Nonnull final Map<String, Boolean> graphLiveness,
+        @Nullable final String error) {
+      this.probedAt = probedAt;
+      this.configuredPlaces = Collections.unmodifiableSet(configuredPlaces);
+      this.usablePlaces = Collections.unmodifiableSet(usablePlaces);
+      this.latencyMillis = latencyMillis;
+      this.graphLiveness = Collections.unmodifiableMap(graphLiveness);
+      this.error = error;
+    }
+
+    /**
+     * Builds the snapshot of a probe that could not be completed
+     *
+     * @param error the reason for the failure
+     * @return a Snapshot that records the failure
+     */
+    @Nonnull
+    static Snapshot failed(
+        @Nullable final String error) {
+      return new Snapshot(Instant.now(),
+          Collections.emptySet(), Collections.emptySet(), -1, Collections.emptyMap(),
+          error != null ? error : "Unknown error");
+    }
+
+    @Nonnull
+    public Instant getProbedAt() {
+      return probedAt;
+    }
+
+    /**
+     * @return the time elapsed since this snapshot was taken
+     */
+    @Nonnull
+    public Duration getAge() {
+      return Duration.between(probedAt, Instant.now());
+    }
+
+    @Nonnull
+    public Set<TrisotechPlace> getConfiguredPlaces() {
+      return configuredPlaces;
+    }
+
+    @Nonnull
+    public Set<TrisotechPlace> getUsablePlaces() {
+      return usablePlaces;
+    }
+
+    /**
+     * @return the response time of the DES Place API, in ms, or -1 if the probe failed
+     */
+    public long getLatencyMillis() {
+      return latencyMillis;
+    }
+
+    /**
+     * @return whether the SPARQL endpoint answered queries, by usable Place ID
+     */
+    @Nonnull
+    public Map<String, Boolean> getGraphLiveness() {
+      return graphLiveness;
+    }
+
+    /**
+     * @return the reason why the probe failed, if it did
+     */
+    @Nullable
+    public String getError() {
+      return error;
+    }
+
+  }
+
+}
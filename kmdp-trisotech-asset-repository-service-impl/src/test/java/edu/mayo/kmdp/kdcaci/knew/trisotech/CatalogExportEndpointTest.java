@@ -0,0 +1,190 @@
+package edu.mayo.kmdp.kdcaci.knew.trisotech;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.AbstractCarrier.rep;
+import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newId;
+import static org.omg.spec.api4kp._20200801.taxonomy.knowledgeassettype.KnowledgeAssetTypeSeries.Clinical_Decision_Model;
+import static org.omg.spec.api4kp._20200801.taxonomy.krformat.SerializationFormatSeries.JSON;
+import static org.omg.spec.api4kp._20200801.taxonomy.krformat.SerializationFormatSeries.XML_1_1;
+import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.DMN_1_2;
+import static org.omg.spec.api4kp._20200801.taxonomy.krlanguage.KnowledgeRepresentationLanguageSeries.Knowledge_Asset_Surrogate_2_0;
+import static org.omg.spec.api4kp._20200801.taxonomy.publicationstatus.PublicationStatusSeries.Published;
+
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.translators.MCBKSurrogateV2ToRDF;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.junit.jupiter.api.Test;
+import org.omg.spec.api4kp._20200801.Answer;
+import org.omg.spec.api4kp._20200801.id.Pointer;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeArtifact;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.omg.spec.api4kp._20200801.surrogate.Publication;
+
+class CatalogExportEndpointTest {
+
+  private static final String NS = "http://test.org/";
+
+  @Test
+  void testExportInCatalogOrder() {
+    // more Assets than one window
+    var pointers = pointers(40);
+    try (var endpoint = new StubExportEndpoint(pointers)) {
+      var lines = export(endpoint);
+
+      var expected = pointers.stream()
+          .map(ptr -> "<" + NS + ptr.getUuid() + "> <" + NS + "tag> <" + NS + "1.0.0> .")
+          .collect(Collectors.toList());
+      assertEquals(expected, lines);
+    }
+  }
+
+  @Test
+  void testSkipAssetsThatCannotBeExported() {
+    var pointers = pointers(6);
+    var failing = pointers.get(1).getUuid();
+    var broken = pointers.get(4).getUuid();
+    try (var endpoint = new StubExportEndpoint(pointers) {
+      @Nonnull
+      @Override
+      protected Answer<KnowledgeAsset> getSurrogate(@Nonnull Pointer ptr) {
+        return failing.equals(ptr.getUuid())
+            ? Answer.failed(new IllegalStateException("Unavailable"))
+            : super.getSurrogate(ptr);
+      }
+
+      @Nonnull
+      @Override
+      protected List<Triple> mapSurrogate(@Nonnull KnowledgeAsset asset) {
+        if (broken.toString().equals(asset.getName())) {
+          throw new IllegalStateException("Unable to map " + asset.getName());
+        }
+        return super.mapSurrogate(asset);
+      }
+    }) {
+      var lines = export(endpoint);
+
+      assertEquals(4, lines.size());
+      assertTrue(lines.stream().noneMatch(l -> l.contains(failing.toString())));
+      assertTrue(lines.stream().noneMatch(l -> l.contains(broken.toString())));
+    }
+  }
+
+  @Test
+  void testExportCanonicalSurrogate() {
+    var asset = newAsset();
+    var ptr = asset.getAssetId().toPointer();
+    try (var endpoint = new CatalogExportEndpoint(null, new TTWEnvironmentConfiguration()) {
+      @Nonnull
+      @Override
+      protected List<Pointer> listAssets() {
+        return List.of(ptr);
+      }
+
+      @Nonnull
+      @Override
+      protected Answer<KnowledgeAsset> getSurrogate(@Nonnull Pointer p) {
+        return Answer.of(asset);
+      }
+    }) {
+      var out = new ByteArrayOutputStream();
+      endpoint.writeCatalog(out, RDFFormat.NTRIPLES);
+      var exported = ModelFactory.createDefaultModel();
+      RDFDataMgr.read(exported, new ByteArrayInputStream(out.toByteArray()), Lang.NTRIPLES);
+
+      var expected = new MCBKSurrogateV2ToRDF().transform(asset);
+      assertFalse(expected.isEmpty());
+      assertTrue(expected.isIsomorphicWith(exported));
+    }
+  }
+
+  @Test
+  void testCloseStopsThePool() {
+    var endpoint = new StubExportEndpoint(pointers(1));
+    endpoint.close();
+    assertTrue(endpoint.exportPool.isShutdown());
+  }
+
+  private List<String> export(CatalogExportEndpoint endpoint) {
+    var out = new ByteArrayOutputStream();
+    endpoint.writeCatalog(out, RDFFormat.NTRIPLES);
+    return Arrays.stream(out.toString(StandardCharsets.UTF_8).split("\n"))
+        .filter(l -> !l.isBlank())
+        .collect(Collectors.toList());
+  }
+
+  private KnowledgeAsset newAsset() {
+    return new KnowledgeAsset()
+        .withAssetId(newId(URI.create(NS + "assets/"), UUID.randomUUID(), "1.0.0"))
+        .withName("Test Asset")
+        .withFormalType(Clinical_Decision_Model)
+        .withLifecycle(new Publication()
+            .withPublicationStatus(Published)
+            .withCreatedOn(new Date()))
+        .withCarriers(new KnowledgeArtifact()
+            .withArtifactId(newId(URI.create(NS + "artifacts/"), UUID.randomUUID(), "1.0.0"))
+            .withRepresentation(rep(DMN_1_2, XML_1_1)))
+        .withSurrogate(new KnowledgeArtifact()
+            .withArtifactId(newId(URI.create(NS + "surrogates/"), UUID.randomUUID(), "1.0.0"))
+            .withRepresentation(rep(Knowledge_Asset_Surrogate_2_0, JSON)));
+  }
+
+  private List<Pointer> pointers(int n) {
+    return IntStream.range(0, n)
+        .mapToObj(j -> newId(UUID.randomUUID(), "1.0.0").toPointer())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Export endpoint that serves a fixed catalog, and maps each Asset to a single triple
+   */
+  private static class StubExportEndpoint extends CatalogExportEndpoint {
+
+    private final List<Pointer> pointers;
+
+    StubExportEndpoint(List<Pointer> pointers) {
+      super(null, new TTWEnvironmentConfiguration());
+      this.pointers = pointers;
+    }
+
+    @Nonnull
+    @Override
+    protected List<Pointer> listAssets() {
+      return pointers;
+    }
+
+    @Nonnull
+    @Override
+    protected Answer<KnowledgeAsset> getSurrogate(@Nonnull Pointer ptr) {
+      return Answer.of(new KnowledgeAsset()
+          .withName(ptr.getUuid().toString()));
+    }
+
+    @Nonnull
+    @Override
+    protected List<Triple> mapSurrogate(@Nonnull KnowledgeAsset asset) {
+      return List.of(Triple.create(
+          NodeFactory.createURI(NS + asset.getName()),
+          NodeFactory.createURI(NS + "tag"),
+          NodeFactory.createURI(NS + "1.0.0")));
+    }
+  }
+
+}
@@ -0,0 +1,109 @@
+package edu.mayo.kmdp.kdcaci.knew.trisotech;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.health.datatype.ApplicationComponent;
+import edu.mayo.kmdp.health.datatype.MiscProperties;
+import edu.mayo.kmdp.health.datatype.Status;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTHealthProber;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.TTHealthProber.Snapshot;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class TTHealthProberTest {
+
+  @Test
+  void testAwaitingFirstProbe() throws InterruptedException {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    try (var prober = failingProber(started, release)) {
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      assertNull(prober.getSnapshot());
+
+      var c = diagnose(prober.getSnapshot(), new MiscProperties());
+      assertEquals(Status.IMPAIRED, c.getStatus());
+      assertEquals("Awaiting first probe", c.getStatusMessage());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void testFailedProbe() throws InterruptedException {
+    try (var prober = failingProber(new CountDownLatch(1), new CountDownLatch(0))) {
+      var snapshot = awaitSnapshot(prober);
+      assertEquals("DES unreachable", snapshot.getError());
+      assertEquals(-1, snapshot.getLatencyMillis());
+      assertTrue(snapshot.getConfiguredPlaces().isEmpty());
+      assertTrue(snapshot.getUsablePlaces().isEmpty());
+
+      var mp = new MiscProperties();
+      var c = diagnose(snapshot, mp);
+      assertEquals(Status.DOWN, c.getStatus());
+      assertEquals("Unable to probe server: DES unreachable", c.getStatusMessage());
+      assertNotNull(mp.get("probeAgeMillis"));
+    }
+  }
+
+  @Test
+  void testSnapshotAge() throws InterruptedException {
+    try (var prober = failingProber(new CountDownLatch(1), new CountDownLatch(0))) {
+      var snapshot = awaitSnapshot(prober);
+      Thread.sleep(50);
+      assertTrue(snapshot.getAge().toMillis() >= 50);
+      // the next scheduled probe is an hour away
+      assertSame(snapshot, prober.getSnapshot());
+
+      prober.refresh();
+      var refreshed = prober.getSnapshot();
+      assertNotSame(snapshot, refreshed);
+      assertTrue(refreshed.getAge().compareTo(snapshot.getAge()) < 0);
+    }
+  }
+
+  private ApplicationComponent diagnose(Snapshot snapshot, MiscProperties mp) {
+    var c = new ApplicationComponent();
+    new TTMonitoringConfig().diagnoseTTAdapter(snapshot, c, mp);
+    return c;
+  }
+
+  private Snapshot awaitSnapshot(TTHealthProber prober) throws InterruptedException {
+    for (int j = 0; j < 1000 && prober.getSnapshot() == null; j++) {
+      Thread.sleep(10);
+    }
+    var snapshot = prober.getSnapshot();
+    assertNotNull(snapshot);
+    return snapshot;
+  }
+
+  /**
+   * Creates a prober whose probes always fail, probing once an hour
+   *
+   * @param started signaled when a probe starts
+   * @param release awaited by a probe, before failing
+   * @return the prober
+   */
+  private TTHealthProber failingProber(CountDownLatch started, CountDownLatch release) {
+    return new TTHealthProber(null, 3600) {
+      @Nonnull
+      @Override
+      protected Snapshot probe() {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new IllegalStateException("DES unreachable");
+      }
+    };
+  }
+
+}
@@ -0,0 +1,179 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTConstants.TRISOTECH_GRAPH;
+
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import edu.mayo.kmdp.util.Util;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.w3c.dom.Document;
+
+/**
+ * Helper class that loads and prepares the benchmark fixtures, which are shared with the unit
+ * tests of the client and core modules.
+ */
+public final class BenchmarkFixtures {
+
+  /**
+   * The ID of the Place described by the test Place graph
+   */
+  public static final String TEST_PLACE_ID = "37cf0951-332f-49b0-8e8c-3d8e157780f1";
+
+  /**
+   * The test Place graph, as exported from a DES
+   */
+  public static final String TEST_PLACE_GRAPH = "/testPlaceGraph.rdf";
+
+  /**
+   * Matches the UUIDs used as (part of) the identifiers of Models, Assets and Services
+   */
+  private static final Pattern UUID_PATTERN = Pattern.compile(
+      "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+  /**
+   * No-op Constructor. This class only contains static functions and should not be instantiated
+   */
+  private BenchmarkFixtures() {
+    // functions only
+  }
+
+  /**
+   * @return the test Place
+   */
+  @Nonnull
+  public static TrisotechPlace testPlace() {
+    return new TrisotechPlace(TEST_PLACE_ID, "Benchmark");
+  }
+
+  /**
+   * Builds a configuration that scopes the test Place
+   *
+   * @return the Environment configuration
+   */
+  @Nonnull
+  public static TTWEnvironmentConfiguration newConfig() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    cfg.setTyped(TTWConfigParamsDef.REPOSITORY_PATHS, TEST_PLACE_ID + "/");
+    return cfg;
+  }
+
+  /**
+   * Loads the test Place graph, scaled up synthetically.
+   * <p>
+   * Each copy of the graph replaces every UUID other than the Place ID, in IRIs and literals, with
+   * a UUID derived from the original and the copy number, so that copies describe distinct, but
+   * identically connected, Models and Assets
+   *
+   * @param copies the number of copies of the test graph (at least 1)
+   * @return the Place graph, as a Dataset with the graph named after the test Place
+   */
+  @Nonnull
+  public static Dataset scaledPlaceGraph(
+      final int copies) {
+    var url = BenchmarkFixtures.class.getResource(TEST_PLACE_GRAPH);
+    if (url == null) {
+      throw new IllegalStateException("Missing fixture " + TEST_PLACE_GRAPH);
+    }
+    var base = ModelFactory.createDefaultModel().read(url.toString());
+
+    var scaled = ModelFactory.createDefaultModel().add(base);
+    for (int k = 1; k < copies; k++) {
+      copy(base, scaled, k);
+    }
+    return DatasetFactory.create().addNamedModel(TRISOTECH_GRAPH + TEST_PLACE_ID, scaled);
+  }
+
+  /**
+   * Loads an XML Model from the fixtures
+   *
+   * @param resource the name of the fixture
+   * @return the parsed Model
+   */
+  @Nonnull
+  public static Document loadDocument(
+      @Nonnull final String resource) {
+    return XMLUtil.loadXMLDocument(BenchmarkFixtures.class.getResourceAsStream(resource))
+        .orElseThrow(() -> new IllegalStateException("Unable to load fixture " + resource));
+  }
+
+  /**
+   * Adds a copy of a graph to another graph, rewriting the UUIDs in its nodes
+   *
+   * @param source the graph to copy
+   * @param target the graph to add the copy to
+   * @param k      the copy number
+   */
+  private static void copy(
+      @Nonnull final Model source,
+      @Nonnull final Model target,
+      final int k) {
+    Map<Resource, Resource> blanks = new HashMap<>();
+    source.listStatements().forEachRemaining(st -> target.add(
+        remap(st.getSubject(), target, blanks, k),
+        st.getPredicate(),
+        remap(st.getObject(), target, blanks, k)));
+  }
+
+  /**
+   * Rewrites the UUIDs in a node, for a given copy of a graph
+   */
+  @Nonnull
+  private static RDFNode remap(
+      @Nonnull final RDFNode node,
+      @Nonnull final Model target,
+      @Nonnull final Map<Resource, Resource> blanks,
+      final int k) {
+    if (node.isLiteral()) {
+      Literal lit = node.asLiteral();
+      var lex = remap(lit.getLexicalForm(), k);
+      return lit.getLanguage().isEmpty()
+          ? target.createTypedLiteral(lex, lit.getDatatype())
+          : target.createLiteral(lex, lit.getLanguage());
+    }
+    return remap(node.asResource(), target, blanks, k);
+  }
+
+  /**
+   * Rewrites the UUIDs in a resource IRI, for a given copy of a graph. Blank nodes are replaced by
+   * fresh blank nodes, consistently within the copy
+   */
+  @Nonnull
+  private static Resource remap(
+      @Nonnull final Resource res,
+      @Nonnull final Model target,
+      @Nonnull final Map<Resource, Resource> blanks,
+      final int k) {
+    if (res.isAnon()) {
+      return blanks.computeIfAbsent(res, b -> target.createResource());
+    }
+    return target.createResource(remap(res.getURI(), k));
+  }
+
+  /**
+   * Replaces each UUID in a string with a UUID derived from the original and the copy number,
+   * except for the ID of the Place itself
+   */
+  @Nonnull
+  private static String remap(
+      @Nonnull final String str,
+      final int k) {
+    return UUID_PATTERN.matcher(str)
+        .replaceAll(m -> TEST_PLACE_ID.equals(m.group())
+            ? m.group()
+            : Util.uuid(m.group() + "#" + k).toString());
+  }
+
+}
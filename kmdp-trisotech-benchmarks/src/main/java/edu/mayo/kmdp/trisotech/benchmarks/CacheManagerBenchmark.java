@@ -0,0 +1,95 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.cache.CaffeineCacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.omg.spec.api4kp._20200801.id.KeyIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the (warm) lookups served by a {@link CaffeineCacheManager}, which back most of the
+ * Asset and Artifact Repository read operations.
+ * <p>
+ * The Place cache is loaded once, from the test Place graph scaled up to the given number of
+ * copies. Lookups cycle through all the indexed Models and Assets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheManagerBenchmark {
+
+  @Param({"1", "10"})
+  int copies;
+
+  CaffeineCacheManager cacheManager;
+
+  List<String> modelIds;
+  List<KeyIdentifier> assetKeys;
+  int cursor;
+
+  @Setup
+  public void setup() {
+    var place = BenchmarkFixtures.testPlace();
+    cacheManager = new CaffeineCacheManager(
+        new LocalGraphClient(place, BenchmarkFixtures.scaledPlaceGraph(copies)),
+        dox -> dox,
+        BenchmarkFixtures.newConfig());
+
+    var ppi = cacheManager.getPlaceCache().get(place);
+    if (ppi == null) {
+      throw new IllegalStateException("Unable to index the test Place");
+    }
+    modelIds = new ArrayList<>(ppi.getModelToManifestMappings().keySet());
+    assetKeys = new ArrayList<>(ppi.getAssetToManifestMappings().keySet());
+  }
+
+  @TearDown
+  public void tearDown() {
+    cacheManager.close();
+  }
+
+  @Benchmark
+  public Optional<SemanticModelInfo> getMetadataByArtifact() {
+    return cacheManager.getMetadataByArtifact(modelIds.get(next(modelIds.size())));
+  }
+
+  @Benchmark
+  public long getMetadataByAssetVersion() {
+    return cacheManager.getMetadataByAssetVersion(assetKeys.get(next(assetKeys.size())))
+        .count();
+  }
+
+  @Benchmark
+  public long listAllModels() {
+    return cacheManager.listAllModelsInfoByMimeClass(null).count();
+  }
+
+  /**
+   * Cycles through the lookup keys
+   *
+   * @param size the number of keys
+   * @return the index of the next key
+   */
+  private int next(int size) {
+    cursor = (cursor + 1) % size;
+    return cursor;
+  }
+
+}
@@ -0,0 +1,61 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import edu.mayo.kmdp.trisotechwrapper.components.operators.KEMtoMVFTranslator;
+import edu.mayo.kmdp.trisotechwrapper.models.kem.v5.KemModel;
+import edu.mayo.kmdp.util.JSonUtil;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import org.omg.spec.mvf._20220702.mvf.MVFDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the translation of KEM models to MVF, with {@link KEMtoMVFTranslator}, on the KEM
+ * fixtures of the client unit tests
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KEMTranslationBenchmark {
+
+  @Param({
+      "/kem-basic-test.json",
+      "/kem-basic-sct.json",
+      "/kem-mixed-sct.json",
+      "/kem-test-example.json"})
+  String kemModel;
+
+  KemModel kem;
+  KEMtoMVFTranslator translator;
+
+  @Setup
+  public void setup() {
+    try (var is = KEMTranslationBenchmark.class.getResourceAsStream(kemModel)) {
+      kem = JSonUtil.readJson(is)
+          .flatMap(j -> JSonUtil.parseJson(j, KemModel.class))
+          .orElseThrow(() -> new IllegalStateException("Unable to load " + kemModel));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    translator = new KEMtoMVFTranslator(BenchmarkFixtures.newConfig());
+  }
+
+  @Benchmark
+  public MVFDictionary translate() {
+    return translator.translate(kem);
+  }
+
+}
@@ -0,0 +1,119 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFactory;
+import org.w3c.dom.Document;
+
+/**
+ * {@link TTDigitalEnterpriseServerClient} that answers SPARQL queries from an in-memory graph, and
+ * mocks the rest of the DES API, so that benchmarks do not depend on a live DES
+ */
+public class LocalGraphClient implements TTDigitalEnterpriseServerClient {
+
+  /**
+   * The (only) Place served by this client
+   */
+  @Nonnull
+  private final TrisotechPlace place;
+
+  /**
+   * The Place graph, as a named graph
+   */
+  @Nonnull
+  private final Dataset graph;
+
+  /**
+   * Constructor
+   *
+   * @param place the Place served by this client
+   * @param graph the Place graph
+   */
+  public LocalGraphClient(
+      @Nonnull final TrisotechPlace place,
+      @Nonnull final Dataset graph) {
+    this.place = place;
+    this.graph = graph;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<TrisotechFileInfo> getModelLatestVersion(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    return Optional.empty();
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechFileInfo> getModelPreviousVersions(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    var info = new TrisotechFileInfo();
+    info.setId(modelUri);
+    info.setVersion("1.0.1");
+    info.setState("Draft");
+    return List.of(info);
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechPlace> getPlaces() {
+    return List.of(place);
+  }
+
+  @Nonnull
+  @Override
+  public Optional<Document> downloadXmlModel(
+      @Nonnull final TrisotechFileInfo from) {
+    return Optional.empty();
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechExecutionArtifact> getExecutionArtifacts(
+      @Nonnull final String baseUrl,
+      @Nonnull final Set<String> execEnvs) {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public boolean uploadXmlModel(
+      @Nonnull final SemanticModelInfo manifest,
+      @Nonnull final byte[] fileContents) {
+    return false;
+  }
+
+  @Nonnull
+  @Override
+  public ResultSet askQuery(
+      @Nonnull final Query query) {
+    try (var exec = QueryExecutionFactory.create(query, graph)) {
+      return ResultSetFactory.copyResults(exec.execSelect());
+    }
+  }
+
+  @Override
+  public void askQuery(
+      @Nonnull final Query query,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    try (var exec = QueryExecutionFactory.create(query, graph)) {
+      exec.execSelect().forEachRemaining(consumer);
+    }
+  }
+
+}
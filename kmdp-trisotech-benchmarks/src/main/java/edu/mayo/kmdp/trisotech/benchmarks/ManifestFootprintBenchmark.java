@@ -0,0 +1,90 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Measures the heap retained by the {@link SemanticModelInfo} manifests of an indexed Place.
+ * <p>
+ * The test Place graph is scaled up to the given number of copies, and indexed once per
+ * iteration. The (Model and Service) manifests in the index are then walked, counting every object
+ * reachable from them once, so that values shared across manifests are not double counted. The
+ * results are reported as the {@code bytesPerManifest} and {@code manifests} secondary metrics;
+ * the primary (time) metric includes the heap walk, and is not meaningful on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ManifestFootprintBenchmark {
+
+  @Param({"1", "10", "50"})
+  int copies;
+
+  TrisotechPlace place;
+  TTWEnvironmentConfiguration cfg;
+  LocalGraphClient client;
+
+  @Setup
+  public void setup() {
+    place = BenchmarkFixtures.testPlace();
+    cfg = BenchmarkFixtures.newConfig();
+    client = new LocalGraphClient(place, BenchmarkFixtures.scaledPlaceGraph(copies));
+  }
+
+  /**
+   * The footprint of the manifests indexed in the last invocation
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+
+    public long bytesPerManifest;
+    public long manifests;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytesPerManifest = 0;
+      manifests = 0;
+    }
+  }
+
+  @Benchmark
+  public PlacePathIndex footprint(Footprint footprint) {
+    var ppi = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+
+    Set<SemanticModelInfo> manifests = Collections.newSetFromMap(new IdentityHashMap<>());
+    manifests.addAll(ppi.getModelToManifestMappings().values());
+    ppi.getAssetToManifestMappings().values().forEach(manifests::addAll);
+
+    footprint.manifests = manifests.size();
+    footprint.bytesPerManifest = manifests.isEmpty()
+        ? 0
+        : GraphLayout.parseInstance(manifests.toArray()).totalSize() / manifests.size();
+    return ppi;
+  }
+
+}
@@ -0,0 +1,64 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import edu.mayo.kmdp.trisotechwrapper.components.redactors.TTRedactor;
+import edu.mayo.kmdp.trisotechwrapper.components.weavers.DomainSemanticsWeaver;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * Benchmarks the normalization of a Model, as it is loaded in the Model cache: weaving with
+ * {@link DomainSemanticsWeaver}, then redaction with {@link TTRedactor}.
+ * <p>
+ * Both operations modify the Model in place, so each invocation works on a deep copy of the
+ * original. The cost of the copy alone is measured separately, as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelNormalizationBenchmark {
+
+  @Param({
+      "/Weaver Test 1.dmn.xml",
+      "/Weave Test 1.cmmn.xml",
+      "/Basic Decision Model.raw.dmn.xml",
+      "/Basic Case Model.raw.cmmn.xml"})
+  String model;
+
+  Document source;
+  DomainSemanticsWeaver weaver;
+  TTRedactor redactor;
+
+  @Setup
+  public void setup() {
+    source = BenchmarkFixtures.loadDocument(model);
+    weaver = new DomainSemanticsWeaver(BenchmarkFixtures.newConfig());
+    redactor = new TTRedactor();
+  }
+
+  @Benchmark
+  public Document copyOnly() {
+    return (Document) source.cloneNode(true);
+  }
+
+  @Benchmark
+  public Document weaveAndRedact() {
+    var dox = (Document) source.cloneNode(true);
+    return redactor.redact(weaver.weave(dox, modelId -> Optional.empty()));
+  }
+
+}
@@ -0,0 +1,83 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import static edu.mayo.kmdp.trisotech.benchmarks.BenchmarkFixtures.TEST_PLACE_ID;
+
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.query.ResultSetFactory;
+import org.apache.jena.query.ResultSetRewindable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the construction of a {@link PlacePathIndex}, from the results of the Place graph
+ * queries.
+ * <p>
+ * The test Place graph is scaled up to the given number of copies. {@link #index()} runs the
+ * queries once, so that only the indexing of the (materialized) results is measured;
+ * {@link #reindex()} measures a full reindex, streaming the query results into the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlacePathIndexBenchmark {
+
+  @Param({"1", "10", "50"})
+  int copies;
+
+  TrisotechPlace place;
+  TTWEnvironmentConfiguration cfg;
+  LocalGraphClient client;
+
+  ResultSetRewindable models;
+  ResultSetRewindable relations;
+  ResultSetRewindable services;
+
+  @Setup
+  public void setup() {
+    place = BenchmarkFixtures.testPlace();
+    cfg = BenchmarkFixtures.newConfig();
+    client = new LocalGraphClient(place, BenchmarkFixtures.scaledPlaceGraph(copies));
+
+    models = ResultSetFactory.makeRewindable(TTGraphQueryHelper.query(
+        client, TTGraphQueryHelper.getQueryStringModels(), TEST_PLACE_ID));
+    relations = ResultSetFactory.makeRewindable(TTGraphQueryHelper.query(
+        client, TTGraphQueryHelper.getQueryStringRelations(), TEST_PLACE_ID));
+    services = ResultSetFactory.makeRewindable(TTGraphQueryHelper.query(
+        client, TTGraphQueryHelper.getQueryStringServices(), TEST_PLACE_ID));
+  }
+
+  @Benchmark
+  public PlacePathIndex index() {
+    models.reset();
+    relations.reset();
+    services.reset();
+    return PlacePathIndex.index(
+        place, Set.of("/"),
+        models, relations, services,
+        client::getModelPreviousVersions,
+        cfg);
+  }
+
+  @Benchmark
+  public PlacePathIndex reindex() {
+    return TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+  }
+
+}
@@ -0,0 +1,108 @@
+package edu.mayo.kmdp.trisotech.benchmarks;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.ASSET_ID_ATTRIBUTE;
+
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.introspectors.BPMModelIntrospector;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.introspectors.DocumentHelper;
+import edu.mayo.kmdp.kdcaci.knew.trisotech.components.translators.MCBKSurrogateV2ToRDF;
+import edu.mayo.kmdp.trisotechwrapper.components.DefaultNamespaceManager;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.redactors.TTRedactor;
+import edu.mayo.kmdp.trisotechwrapper.components.weavers.DomainSemanticsWeaver;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.util.JSonUtil;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.rdf.model.Model;
+import org.omg.spec.api4kp._20200801.id.ResourceIdentifier;
+import org.omg.spec.api4kp._20200801.surrogate.KnowledgeAsset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * Benchmarks the construction of a Surrogate from a (normalized) Model and its manifest, with
+ * {@link BPMModelIntrospector}, and the mapping of that Surrogate to RDF, with
+ * {@link MCBKSurrogateV2ToRDF}.
+ * <p>
+ * The introspector is not given a DES client, which limits the fixtures to Models that do not
+ * import other Models or expose Services, as in the core unit tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SurrogateBenchmark {
+
+  @Param({
+      "/Weaver Test 1.dmn.xml",
+      "/Weave Test 1.cmmn.xml"})
+  String model;
+
+  BPMModelIntrospector introspector;
+  MCBKSurrogateV2ToRDF rdfMapper;
+
+  ResourceIdentifier assetId;
+  Map<SemanticModelInfo, Document> carriers;
+  KnowledgeAsset surrogate;
+
+  @Setup
+  public void setup() {
+    var cfg = BenchmarkFixtures.newConfig();
+    introspector = new BPMModelIntrospector(cfg, new DefaultNamespaceManager(cfg), null, null);
+    rdfMapper = new MCBKSurrogateV2ToRDF();
+
+    var dox = new TTRedactor().redact(new DomainSemanticsWeaver(cfg)
+        .weave(BenchmarkFixtures.loadDocument(model), modelId -> Optional.empty()));
+    assetId = DocumentHelper.extractAssetIdFromDocument(dox, cfg.getTyped(ASSET_ID_ATTRIBUTE))
+        .orElseThrow(() -> new IllegalStateException("No Asset ID in " + model));
+
+    var info = SemanticModelInfo.testNewInfo(loadManifest());
+    info.setAssetId(assetId.getVersionId().toString());
+    info.setAssetKey(assetId.asKey());
+    carriers = Map.of(info, dox);
+
+    surrogate = introspector.introspectAsModel(assetId, carriers)
+        .orElseThrow(() -> new IllegalStateException("Unable to introspect " + model));
+  }
+
+  @Benchmark
+  public Optional<KnowledgeAsset> introspect() {
+    return introspector.introspectAsModel(assetId, carriers);
+  }
+
+  @Benchmark
+  public Model surrogateToRDF() {
+    return rdfMapper.transform(surrogate);
+  }
+
+  /**
+   * Loads the manifest of the Model, which shares the Model name
+   *
+   * @return the Model manifest
+   */
+  private TrisotechFileInfo loadManifest() {
+    var meta = model.substring(0, model.indexOf('.')) + ".meta.json";
+    try (var is = SurrogateBenchmark.class.getResourceAsStream(meta)) {
+      return JSonUtil.readJson(is, TrisotechFileInfo.class)
+          .orElseThrow(() -> new IllegalStateException("Unable to load " + meta));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
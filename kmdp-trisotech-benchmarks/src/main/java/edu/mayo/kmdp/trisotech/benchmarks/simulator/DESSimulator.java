@@ -0,0 +1,809 @@
+package edu.mayo.kmdp.trisotech.benchmarks.simulator;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.CONTENT_PATH_POST;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.EXEC_ARTIFACTS_PATH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.MODEL_PATH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.REPOSITORY_PATH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.SPARQL_PATH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.VERSIONS_PATH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants.toApiEndpoint;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTConstants.TRISOTECH_GRAPH;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.mayo.kmdp.trisotech.benchmarks.BenchmarkFixtures;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.models.Datum;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifactData;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileData;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlaceData;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QueryParseException;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.system.Txn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded, local stand-in for a Trisotech DES, for offline integration and load testing.
+ * <p>
+ * Serves the subset of the DES public API used by the TTW (Places, Model versions, Model content,
+ * uploads and Service Library execution artifacts), and a SPARQL endpoint backed by an in-memory
+ * dataset, where each Place graph is stored as a named graph, as in the DES knowledge graph.
+ * <p>
+ * Each endpoint can be degraded with a {@link FaultProfile}, which injects latency, failures and
+ * bandwidth limits, to reproduce DES slowdowns locally. To point a TTW at the simulator, set its
+ * base URL to {@link #getBaseUrl()} and its API endpoint to {@link #getApiEndpoint()}. The
+ * simulator is also its own Service Library, for the purpose of
+ * {@link #addExecutionArtifact(String, TrisotechExecutionArtifact)}.
+ * <p>
+ * Uploads are acknowledged and recorded, but are not added to the simulated Places.
+ */
+public class DESSimulator implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(DESSimulator.class);
+
+  /**
+   * Name of the pool of threads that serve the requests
+   */
+  public static final String SIMULATOR_POOL = "des-simulator";
+
+  /**
+   * The endpoints served by the simulator, which can be degraded independently
+   */
+  public enum Endpoint {
+    PLACES(apiPath(REPOSITORY_PATH)),
+    VERSIONS(apiPath(VERSIONS_PATH)),
+    CONTENT(apiPath(MODEL_PATH)),
+    UPLOAD(apiPath(CONTENT_PATH_POST)),
+    EXECUTION(apiPath(EXEC_ARTIFACTS_PATH)),
+    SPARQL(SPARQL_PATH);
+
+    private final String path;
+
+    Endpoint(String path) {
+      this.path = path;
+    }
+
+    /**
+     * @return the path of the endpoint, relative to the simulator's base URL
+     */
+    public String getPath() {
+      return path;
+    }
+
+    /**
+     * Derives the path of a public API endpoint from its URL template
+     */
+    private static String apiPath(String template) {
+      var idx = template.indexOf('?');
+      return toApiEndpoint("") + (idx < 0 ? template : template.substring(0, idx));
+    }
+  }
+
+  /**
+   * The HTTP server
+   */
+  @Nonnull
+  private final HttpServer server;
+
+  /**
+   * The pool of threads that serve the requests
+   */
+  @Nonnull
+  private final ExecutorService executor;
+
+  /**
+   * The API token expected from clients, if any
+   */
+  @Nullable
+  private final String token;
+
+  /**
+   * The knowledge graph, with one named graph per Place
+   */
+  @Nonnull
+  private final Dataset dataset = DatasetFactory.createTxnMem();
+
+  /**
+   * The simulated Places, by ID
+   */
+  @Nonnull
+  private final Map<String, TrisotechPlace> places = new ConcurrentHashMap<>();
+
+  /**
+   * The content of the simulated Models, by SKU
+   */
+  @Nonnull
+  private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+
+  /**
+   * The version history of the simulated Models, by Model ID
+   */
+  @Nonnull
+  private final Map<String, List<TrisotechFileInfo>> versions = new ConcurrentHashMap<>();
+
+  /**
+   * The deployed Execution Artifacts, by Execution Environment
+   */
+  @Nonnull
+  private final Map<String, List<TrisotechExecutionArtifact>> executionArtifacts =
+      new ConcurrentHashMap<>();
+
+  /**
+   * The uploaded Models, as described by the upload request
+   */
+  @Nonnull
+  private final List<TrisotechFileInfo> uploads = new CopyOnWriteArrayList<>();
+
+  /**
+   * The endpoint-specific fault profiles
+   */
+  @Nonnull
+  private final Map<Endpoint, FaultProfile> faults = new ConcurrentHashMap<>();
+
+  /**
+   * The fault profile of the endpoints that do not have a specific one
+   */
+  @Nonnull
+  private volatile FaultProfile defaultFaults = FaultProfile.none();
+
+  /**
+   * The number of requests received, by endpoint
+   */
+  @Nonnull
+  private final Map<Endpoint, AtomicLong> requests = new EnumMap<>(Endpoint.class);
+
+  /**
+   * (De)serializer for the DES API JSON payloads
+   */
+  @Nonnull
+  private final ObjectMapper mapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  /**
+   * Constructor. Binds the simulator to a local port, but does not start serving requests
+   *
+   * @param port    the port to listen on, or 0 for an ephemeral port
+   * @param threads the number of threads serving the requests concurrently
+   * @param token   the API token expected from the clients, or null to accept any client
+   * @throws IOException if the port cannot be bound
+   */
+  public DESSimulator(
+      final int port,
+      final int threads,
+      @Nullable final String token) throws IOException {
+    this.token = token;
+    this.executor = ExecutorHelper.newBoundedExecutor(SIMULATOR_POOL, threads);
+    this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+    server.setExecutor(executor);
+
+    for (var endpoint : Endpoint.values()) {
+      requests.put(endpoint, new AtomicLong());
+    }
+    bind(Endpoint.PLACES, "GET", this::getPlaces);
+    bind(Endpoint.VERSIONS, "GET", this::getVersions);
+    bind(Endpoint.CONTENT, "GET", this::getContent);
+    bind(Endpoint.UPLOAD, "POST", this::upload);
+    bind(Endpoint.EXECUTION, "GET", this::getExecutionArtifacts);
+    bind(Endpoint.SPARQL, null, this::query);
+  }
+
+  /**
+   * Starts serving requests
+   *
+   * @return this simulator
+   */
+  @Nonnull
+  public DESSimulator start() {
+    server.start();
+    if (logger.isInfoEnabled()) {
+      logger.info("DES simulator listening on {}", getBaseUrl());
+    }
+    return this;
+  }
+
+  /**
+   * Stops serving requests, and releases the port
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  /**
+   * @return the base URL of the simulated DES
+   */
+  @Nonnull
+  public String getBaseUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  /**
+   * @return the URL of the simulated DES public API
+   */
+  @Nonnull
+  public String getApiEndpoint() {
+    return toApiEndpoint(getBaseUrl());
+  }
+
+  /**
+   * Adds a Place, and its knowledge graph, to the simulated DES
+   *
+   * @param place the Place
+   * @param graph the Place graph
+   * @return this simulator
+   */
+  @Nonnull
+  public DESSimulator addPlace(
+      @Nonnull final TrisotechPlace place,
+      @Nonnull final Model graph) {
+    Txn.executeWrite(dataset,
+        () -> dataset.addNamedModel(TRISOTECH_GRAPH + place.getId(), graph));
+    places.put(place.getId(), place);
+    return this;
+  }
+
+  /**
+   * Adds the content of a Model to the simulated DES
+   *
+   * @param info    the Model descriptor, which must have a SKU or an ID
+   * @param content the Model content, as served by the DES
+   * @return this simulator
+   */
+  @Nonnull
+  public DESSimulator addModel(
+      @Nonnull final TrisotechFileInfo info,
+      @Nonnull final byte[] content) {
+    var sku = info.hasSku() ? info.getSku() : info.getId();
+    contents.put(sku, content);
+    return this;
+  }
+
+  /**
+   * Adds the content of the Models in a folder to the simulated DES.
+   * <p>
+   * Each Model is described by a '{name}.meta.json' file, and its content is the sibling
+   * '{name}.raw.*' file, following the layout of the test fixtures
+   *
+   * @param folder the folder
+   * @return the number of Models added
+   * @throws IOException if the folder cannot be read
+   */
+  public int addModels(
+      @Nonnull final Path folder) throws IOException {
+    List<Path> metas;
+    try (Stream<Path> files = Files.list(folder)) {
+      metas = files
+          .filter(f -> f.getFileName().toString().endsWith(".meta.json"))
+          .collect(Collectors.toList());
+    }
+    int count = 0;
+    for (var meta : metas) {
+      var name = meta.getFileName().toString().replace(".meta.json", "");
+      var info = mapper.readValue(meta.toFile(), TrisotechFileInfo.class);
+      var raw = findRawContent(folder, name);
+      if (raw.isPresent()) {
+        addModel(info, Files.readAllBytes(raw.get()));
+        count++;
+      } else {
+        logger.warn("No content found for Model {}, skipping", name);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Adds a (previous) version to the history of a Model
+   *
+   * @param modelId the ID of the Model
+   * @param version the version descriptor
+   * @return this simulator
+   */
+  @Nonnull
+  public DESSimulator addVersion(
+      @Nonnull final String modelId,
+      @Nonnull final TrisotechFileInfo version) {
+    versions.computeIfAbsent(modelId, k -> new CopyOnWriteArrayList<>()).add(version);
+    return this;
+  }
+
+  /**
+   * Deploys an Execution Artifact in an Execution Environment of the simulated Service Library
+   *
+   * @param env      the name of the Execution Environment
+   * @param artifact the Execution Artifact
+   * @return this simulator
+   */
+  @Nonnull
+  public DESSimulator addExecutionArtifact(
+      @Nonnull final String env,
+      @Nonnull final TrisotechExecutionArtifact artifact) {
+    executionArtifacts.computeIfAbsent(env, k -> new CopyOnWriteArrayList<>()).add(artifact);
+    return this;
+  }
+
+  /**
+   * Sets the fault profile of all the endpoints that do not have a specific one
+   *
+   * @param profile the fault profile
+   */
+  public void setFaults(
+      @Nonnull final FaultProfile profile) {
+    this.defaultFaults = profile;
+  }
+
+  /**
+   * Sets the fault profile of an endpoint
+   *
+   * @param endpoint the endpoint
+   * @param profile  the fault profile, or null to revert to the default profile
+   */
+  public void setFaults(
+      @Nonnull final Endpoint endpoint,
+      @Nullable final FaultProfile profile) {
+    if (profile == null) {
+      faults.remove(endpoint);
+    } else {
+      faults.put(endpoint, profile);
+    }
+  }
+
+  /**
+   * @param endpoint the endpoint
+   * @return the number of requests received by the endpoint, including failed ones
+   */
+  public long getRequestCount(
+      @Nonnull final Endpoint endpoint) {
+    return requests.get(endpoint).get();
+  }
+
+  /**
+   * @return the descriptors of the Models uploaded so far
+   */
+  @Nonnull
+  public List<TrisotechFileInfo> getUploads() {
+    return Collections.unmodifiableList(uploads);
+  }
+
+
+  /**
+   * Handles a request for the list of Places
+   */
+  @Nonnull
+  private Response getPlaces(
+      @Nonnull final HttpExchange exchange) {
+    var data = new TrisotechPlaceData();
+    data.setData(new ArrayList<>(places.values()));
+    return json(data);
+  }
+
+  /**
+   * Handles a request for the version history of a Model
+   */
+  @Nonnull
+  private Response getVersions(
+      @Nonnull final HttpExchange exchange) {
+    var params = params(exchange.getRequestURI().getRawQuery());
+    var data = new TrisotechFileData();
+    data.setData(versions.getOrDefault(params.getOrDefault("id", ""), List.of()).stream()
+        .map(info -> {
+          var datum = new Datum();
+          datum.setFile(info);
+          return datum;
+        }).collect(Collectors.toList()));
+    return json(data);
+  }
+
+  /**
+   * Handles a request for the content of a Model
+   */
+  @Nonnull
+  private Response getContent(
+      @Nonnull final HttpExchange exchange) {
+    var params = params(exchange.getRequestURI().getRawQuery());
+    var content = contents.get(params.getOrDefault("sku", ""));
+    if (content == null) {
+      return Response.text(404, "No Model with SKU " + params.get("sku"));
+    }
+    return new Response(200, params.getOrDefault("mimetype", "application/xml"),
+        out -> out.write(content));
+  }
+
+  /**
+   * Handles the upload of a Model
+   */
+  @Nonnull
+  private Response upload(
+      @Nonnull final HttpExchange exchange) throws IOException {
+    var params = params(exchange.getRequestURI().getRawQuery());
+    try (var body = exchange.getRequestBody()) {
+      body.transferTo(OutputStream.nullOutputStream());
+    }
+    var info = new TrisotechFileInfo();
+    info.setName(params.get("name"));
+    info.setPath(params.get("path"));
+    info.setMimetype(params.get("mimetype"));
+    info.setVersion(params.get("version"));
+    info.setState(params.get("state"));
+    uploads.add(info);
+    return json(Map.of("data", List.of()));
+  }
+
+  /**
+   * Handles a request for the Execution Artifacts deployed in an Execution Environment
+   */
+  @Nonnull
+  private Response getExecutionArtifacts(
+      @Nonnull final HttpExchange exchange) {
+    var params = params(exchange.getRequestURI().getRawQuery());
+    var data = new TrisotechExecutionArtifactData();
+    data.setData(new ArrayList<>(
+        executionArtifacts.getOrDefault(params.getOrDefault("name", ""), List.of())));
+    return json(data);
+  }
+
+  /**
+   * Handles a SPARQL query, sent either as a GET request, or as a POST request with a form or a
+   * query body. Only SELECT and ASK queries are supported, and answered in the SPARQL JSON format
+   */
+  @Nonnull
+  private Response query(
+      @Nonnull final HttpExchange exchange) throws IOException {
+    String queryString;
+    if ("POST".equals(exchange.getRequestMethod())) {
+      String body;
+      try (var in = exchange.getRequestBody()) {
+        body = new String(in.readAllBytes(), UTF_8);
+      }
+      var contentType = Optional.ofNullable(
+          exchange.getRequestHeaders().getFirst("Content-Type")).orElse("");
+      queryString = contentType.startsWith("application/sparql-query")
+          ? body
+          : params(body).get("query");
+    } else {
+      queryString = params(exchange.getRequestURI().getRawQuery()).get("query");
+    }
+    if (queryString == null) {
+      return Response.text(400, "Missing query");
+    }
+
+    Query query;
+    try {
+      query = QueryFactory.create(queryString);
+    } catch (QueryParseException qpe) {
+      return Response.text(400, qpe.getMessage());
+    }
+    if (!query.isSelectType() && !query.isAskType()) {
+      return Response.text(400, "Only SELECT and ASK queries are supported");
+    }
+    return new Response(200, "application/sparql-results+json",
+        out -> Txn.executeRead(dataset, () -> {
+          try (var exec = QueryExecutionFactory.create(query, dataset)) {
+            if (query.isSelectType()) {
+              ResultSetFormatter.outputAsJSON(out, exec.execSelect());
+            } else {
+              ResultSetFormatter.outputAsJSON(out, exec.execAsk());
+            }
+          }
+        }));
+  }
+
+
+  /**
+   * Registers the handler of an endpoint
+   *
+   * @param endpoint the endpoint
+   * @param method   the HTTP method accepted by the endpoint, or null for any method
+   * @param handler  the handler
+   */
+  private void bind(
+      @Nonnull final Endpoint endpoint,
+      @Nullable final String method,
+      @Nonnull final Handler handler) {
+    server.createContext(endpoint.getPath(), exchange -> {
+      try {
+        dispatch(endpoint, method, handler, exchange);
+      } finally {
+        exchange.close();
+      }
+    });
+  }
+
+  /**
+   * Serves a request, injecting the faults configured for the endpoint
+   *
+   * @param endpoint the endpoint
+   * @param method   the HTTP method accepted by the endpoint, or null for any method
+   * @param handler  the handler of the endpoint
+   * @param exchange the request/response
+   */
+  private void dispatch(
+      @Nonnull final Endpoint endpoint,
+      @Nullable final String method,
+      @Nonnull final Handler handler,
+      @Nonnull final HttpExchange exchange) throws IOException {
+    requests.get(endpoint).incrementAndGet();
+    var profile = faults.getOrDefault(endpoint, defaultFaults);
+    try {
+      var delay = profile.nextLatency();
+      if (!delay.isZero()) {
+        TimeUnit.MILLISECONDS.sleep(delay.toMillis());
+      }
+
+      Response response;
+      if (!exchange.getRequestURI().getPath().equals(endpoint.getPath())) {
+        response = Response.text(404, "Not Found");
+      } else if (method != null && !method.equals(exchange.getRequestMethod())) {
+        response = Response.text(405, "Method Not Allowed");
+      } else if (!isAuthorized(exchange)) {
+        response = Response.text(401, "Unauthorized");
+      } else if (profile.nextFailure()) {
+        response = Response.text(profile.getErrorStatus(), "Simulated failure");
+      } else {
+        response = handler.handle(exchange);
+      }
+      send(exchange, response, profile.getBytesPerSecond());
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      logger.error(e.getMessage(), e);
+      send(exchange, Response.text(500, String.valueOf(e.getMessage())), 0);
+    }
+  }
+
+  /**
+   * Writes a response, throttling the body to the given bandwidth
+   */
+  private void send(
+      @Nonnull final HttpExchange exchange,
+      @Nonnull final Response response,
+      final long bytesPerSecond) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", response.contentType);
+    // 0 : the body is streamed with chunked encoding
+    exchange.sendResponseHeaders(response.status, 0);
+    try (var out = bytesPerSecond > 0
+        ? new ThrottledOutputStream(exchange.getResponseBody(), bytesPerSecond)
+        : exchange.getResponseBody()) {
+      response.body.writeTo(out);
+    }
+  }
+
+  /**
+   * Checks the API token sent by a client, if the simulator is configured to expect one
+   */
+  private boolean isAuthorized(
+      @Nonnull final HttpExchange exchange) {
+    return token == null
+        || ("Bearer " + token).equals(exchange.getRequestHeaders().getFirst("Authorization"));
+  }
+
+  /**
+   * Serializes a DES API payload as JSON
+   */
+  @Nonnull
+  private Response json(
+      @Nonnull final Object payload) {
+    return new Response(200, "application/json", out -> mapper.writeValue(out, payload));
+  }
+
+  /**
+   * Parses a URL-encoded query string, or form body
+   *
+   * @param query the encoded parameters, possibly null
+   * @return the decoded parameters, by name
+   */
+  @Nonnull
+  private static Map<String, String> params(
+      @Nullable final String query) {
+    if (query == null || query.isEmpty()) {
+      return Map.of();
+    }
+    return Arrays.stream(query.split("&"))
+        .map(p -> p.split("=", 2))
+        .collect(Collectors.toMap(
+            kv -> URLDecoder.decode(kv[0], UTF_8),
+            kv -> kv.length > 1 ? URLDecoder.decode(kv[1], UTF_8) : "",
+            (a, b) -> a));
+  }
+
+  /**
+   * Looks up the '{name}.raw.*' content file of a Model
+   */
+  @Nonnull
+  private static Optional<Path> findRawContent(
+      @Nonnull final Path folder,
+      @Nonnull final String name) throws IOException {
+    try (Stream<Path> files = Files.list(folder)) {
+      return files
+          .filter(f -> f.getFileName().toString().startsWith(name + ".raw."))
+          .findFirst();
+    }
+  }
+
+
+  /**
+   * Starts a simulator from the command line, configured through system properties:
+   * <ul>
+   *   <li>des.port : the port (default 8090)</li>
+   *   <li>des.threads : the number of serving threads (default 16)</li>
+   *   <li>des.token : the expected API token (default: none)</li>
+   *   <li>des.place / des.placeName : the simulated Place (default: the test Place)</li>
+   *   <li>des.graph : the RDF file with the Place graph (default: the test Place graph)</li>
+   *   <li>des.copies : the scale factor of the test Place graph, if used (default 1)</li>
+   *   <li>des.models : a folder with the Model contents, see {@link #addModels(Path)}</li>
+   *   <li>des.latency / des.jitter : the fixed and random latency, in ms (default 0)</li>
+   *   <li>des.errorRate / des.errorStatus : the failure probability and status (0, 503)</li>
+   *   <li>des.bandwidth : the response bandwidth limit, in bytes/s (default 0, no limit)</li>
+   * </ul>
+   *
+   * @param args ignored
+   * @throws IOException if the simulator could not be started
+   */
+  public static void main(String[] args) throws IOException {
+    var placeId = System.getProperty("des.place", BenchmarkFixtures.TEST_PLACE_ID);
+    var graphFile = System.getProperty("des.graph");
+    var graph = graphFile != null
+        ? RDFDataMgr.loadModel(graphFile)
+        : BenchmarkFixtures.scaledPlaceGraph(Integer.getInteger("des.copies", 1))
+            .getNamedModel(TRISOTECH_GRAPH + BenchmarkFixtures.TEST_PLACE_ID);
+
+    var simulator = new DESSimulator(
+        Integer.getInteger("des.port", 8090),
+        Integer.getInteger("des.threads", 16),
+        System.getProperty("des.token"));
+    simulator.addPlace(
+        new TrisotechPlace(placeId, System.getProperty("des.placeName", "Simulated")), graph);
+    var models = System.getProperty("des.models");
+    if (models != null) {
+      simulator.addModels(Path.of(models));
+    }
+    simulator.setFaults(FaultProfile.none()
+        .withLatency(
+            Duration.ofMillis(Long.getLong("des.latency", 0L)),
+            Duration.ofMillis(Long.getLong("des.jitter", 0L)))
+        .withErrors(
+            Double.parseDouble(System.getProperty("des.errorRate", "0")),
+            Integer.getInteger("des.errorStatus", 503))
+        .withBandwidth(Long.getLong("des.bandwidth", 0L)));
+
+    Runtime.getRuntime().addShutdownHook(new Thread(simulator::close));
+    simulator.start();
+  }
+
+
+  /**
+   * Endpoint handler
+   */
+  @FunctionalInterface
+  private interface Handler {
+
+    @Nonnull
+    Response handle(@Nonnull HttpExchange exchange) throws IOException;
+  }
+
+  /**
+   * Writer of a response body
+   */
+  @FunctionalInterface
+  private interface BodyWriter {
+
+    void writeTo(@Nonnull OutputStream out) throws IOException;
+  }
+
+  /**
+   * A response, whose body is written once the (simulated) latency has elapsed
+   */
+  private static final class Response {
+
+    private final int status;
+    private final String contentType;
+    private final BodyWriter body;
+
+    private Response(int status, String contentType, BodyWriter body) {
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body;
+    }
+
+    private static Response text(int status, String message) {
+      return new Response(status, "text/plain", out -> out.write(message.getBytes(UTF_8)));
+    }
+  }
+
+  /**
+   * Output stream that paces the bytes written to it, so as not to exceed a given bandwidth
+   */
+  private static final class ThrottledOutputStream extends FilterOutputStream {
+
+    private final long bytesPerSecond;
+    private final int chunkSize;
+    private final long start = System.nanoTime();
+    private long written;
+
+    private ThrottledOutputStream(OutputStream out, long bytesPerSecond) {
+      super(out);
+      this.bytesPerSecond = bytesPerSecond;
+      // pace in ~10ms increments
+      this.chunkSize = (int) Math.max(1, Math.min(64 * 1024, bytesPerSecond / 100));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      pace(1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      int pos = off;
+      int remaining = len;
+      while (remaining > 0) {
+        int n = Math.min(remaining, chunkSize);
+        out.write(b, pos, n);
+        pos += n;
+        remaining -= n;
+        pace(n);
+      }
+    }
+
+    /**
+     * Waits until the bytes written so far fit within the bandwidth
+     */
+    private void pace(int n) throws IOException {
+      written += n;
+      long due = (long) (written * (1_000_000_000.0 / bytesPerSecond));
+      long ahead = due - (System.nanoTime() - start);
+      if (ahead > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(ahead);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while throttling");
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+package edu.mayo.kmdp.trisotech.benchmarks.simulator;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nonnull;
+
+/**
+ * Describes the degraded behavior that the {@link DESSimulator} injects into the responses of an
+ * endpoint: a fixed latency, plus a random jitter, a rate of failed requests, and a limit on the
+ * bandwidth used to stream the response bodies.
+ * <p>
+ * Profiles are immutable, and can be swapped on a running simulator, e.g. to reproduce a slowdown
+ * in the middle of a load test
+ */
+public final class FaultProfile {
+
+  /**
+   * The profile of a healthy endpoint
+   */
+  private static final FaultProfile NONE = new FaultProfile(Duration.ZERO, Duration.ZERO, 0.0,
+      503, 0);
+
+  /**
+   * Fixed latency, added before every response
+   */
+  @Nonnull
+  private final Duration latency;
+
+  /**
+   * Maximum random latency, added to the fixed latency
+   */
+  @Nonnull
+  private final Duration jitter;
+
+  /**
+   * The probability that a request fails, in [0, 1]
+   */
+  private final double errorRate;
+
+  /**
+   * The HTTP status code returned by failed requests
+   */
+  private final int errorStatus;
+
+  /**
+   * The maximum rate at which response bodies are written, in bytes per second, or 0 for no limit
+   */
+  private final long bytesPerSecond;
+
+  private FaultProfile(
+      @Nonnull final Duration latency,
+      @Nonnull final Duration jitter,
+      final double errorRate,
+      final int errorStatus,
+      final long bytesPerSecond) {
+    if (latency.isNegative() || jitter.isNegative()) {
+      throw new IllegalArgumentException("Latency and jitter must not be negative");
+    }
+    if (errorRate < 0.0 || errorRate > 1.0) {
+      throw new IllegalArgumentException("Error rate must be in [0,1], found " + errorRate);
+    }
+    this.latency = latency;
+    this.jitter = jitter;
+    this.errorRate = errorRate;
+    this.errorStatus = errorStatus;
+    this.bytesPerSecond = Math.max(0, bytesPerSecond);
+  }
+
+  /**
+   * @return a profile that does not inject any fault
+   */
+  @Nonnull
+  public static FaultProfile none() {
+    return NONE;
+  }
+
+  /**
+   * @param latency the fixed latency
+   * @param jitter  the maximum random latency, added to the fixed latency
+   * @return a copy of this profile, with the given latency
+   */
+  @Nonnull
+  public FaultProfile withLatency(
+      @Nonnull final Duration latency,
+      @Nonnull final Duration jitter) {
+    return new FaultProfile(latency, jitter, errorRate, errorStatus, bytesPerSecond);
+  }
+
+  /**
+   * @param errorRate   the probability that a request fails
+   * @param errorStatus the HTTP status code returned by failed requests
+   * @return a copy of this profile, with the given error rate
+   */
+  @Nonnull
+  public FaultProfile withErrors(
+      final double errorRate,
+      final int errorStatus) {
+    return new FaultProfile(latency, jitter, errorRate, errorStatus, bytesPerSecond);
+  }
+
+  /**
+   * @param bytesPerSecond the maximum rate at which response bodies are written, or 0 for no limit
+   * @return a copy of this profile, with the given bandwidth limit
+   */
+  @Nonnull
+  public FaultProfile withBandwidth(
+      final long bytesPerSecond) {
+    return new FaultProfile(latency, jitter, errorRate, errorStatus, bytesPerSecond);
+  }
+
+  /**
+   * Draws the latency of a response
+   *
+   * @return the fixed latency, plus a random share of the jitter
+   */
+  @Nonnull
+  public Duration nextLatency() {
+    if (jitter.isZero()) {
+      return latency;
+    }
+    return latency.plusMillis(ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1));
+  }
+
+  /**
+   * Draws the outcome of a request
+   *
+   * @return true if the request should fail
+   */
+  public boolean nextFailure() {
+    return errorRate > 0.0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+  }
+
+  /**
+   * @return the HTTP status code returned by failed requests
+   */
+  public int getErrorStatus() {
+    return errorStatus;
+  }
+
+  /**
+   * @return the maximum rate at which response bodies are written, or 0 for no limit
+   */
+  public long getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "FaultProfile{latency=" + latency.toMillis() + "ms"
+        + ", jitter=" + jitter.toMillis() + "ms"
+        + ", errorRate=" + errorRate
+        + ", errorStatus=" + errorStatus
+        + ", bytesPerSecond=" + bytesPerSecond + '}';
+  }
+
+}
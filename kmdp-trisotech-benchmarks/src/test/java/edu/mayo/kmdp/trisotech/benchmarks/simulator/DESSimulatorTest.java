@@ -0,0 +1,77 @@
+package edu.mayo.kmdp.trisotech.benchmarks.simulator;
+
+import static edu.mayo.kmdp.trisotech.benchmarks.BenchmarkFixtures.TEST_PLACE_ID;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTConstants.TRISOTECH_GRAPH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.trisotech.benchmarks.BenchmarkFixtures;
+import edu.mayo.kmdp.trisotechwrapper.components.TTWebClient;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import java.io.IOException;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DESSimulatorTest {
+
+  private static final String TOKEN = "s3cr3t";
+
+  private DESSimulator simulator;
+
+  private TTWebClient client;
+
+  @BeforeEach
+  void init() throws IOException {
+    simulator = new DESSimulator(0, 4, TOKEN)
+        .addPlace(BenchmarkFixtures.testPlace(), BenchmarkFixtures.scaledPlaceGraph(1)
+            .getNamedModel(TRISOTECH_GRAPH + TEST_PLACE_ID))
+        .start();
+
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, simulator.getBaseUrl());
+    cfg.setTyped(TTWConfigParamsDef.API_TOKEN, TOKEN);
+    cfg.ensureVariablesSet();
+    client = new TTWebClient(cfg);
+  }
+
+  @AfterEach
+  void close() {
+    simulator.close();
+  }
+
+  @Test
+  void testServeAPIAndGraph() {
+    var places = client.getPlaces();
+    assertEquals(1, places.size());
+    assertEquals(TEST_PLACE_ID, places.get(0).getId());
+
+    assertTrue(TTGraphQueryHelper.ping(client, TEST_PLACE_ID));
+    assertTrue(TTGraphQueryHelper.query(
+        client, TTGraphQueryHelper.getQueryStringModels(), TEST_PLACE_ID).hasNext());
+
+    var exec = new TrisotechExecutionArtifact();
+    exec.setName("svc");
+    simulator.addExecutionArtifact("dev", exec);
+    var deployed = client.getExecutionArtifacts(simulator.getBaseUrl(), Set.of("dev"));
+    assertEquals(1, deployed.size());
+    assertEquals("dev", deployed.get(0).getEnvironment());
+  }
+
+  @Test
+  void testInjectedFailures() {
+    simulator.setFaults(DESSimulator.Endpoint.PLACES,
+        FaultProfile.none().withErrors(1.0, 503));
+    assertThrows(RuntimeException.class, client::getPlaces);
+    assertEquals(1, simulator.getRequestCount(DESSimulator.Endpoint.PLACES));
+
+    simulator.setFaults(DESSimulator.Endpoint.PLACES, null);
+    assertEquals(1, client.getPlaces().size());
+  }
+
+}
@@ -2,6 +2,7 @@ package edu.mayo.kmdp.trisotechwrapper;
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.cache.CatalogGeneration;
 import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
 import edu.mayo.kmdp.trisotechwrapper.config.TTLanguages;
 import edu.mayo.kmdp.trisotechwrapper.config.TTNotations;
@@ -10,6 +11,7 @@ import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -38,10 +40,18 @@ import org.w3c.dom.Document;
  *   <li>Metadata and Model access</li>
  * </ul>
  */
-public interface TTAPIAdapter {
+public interface TTAPIAdapter extends AutoCloseable {
 
   /* ---------------------------------------------------------------------------------------- */
 
+  /**
+   * Releases the resources (e.g. background threads) held by this adapter, if any
+   */
+  @Override
+  default void close() {
+    // nothing to release, by default
+  }
+
   /**
    * @return the Place/Path cache used to index the TT DES graph
    */
@@ -52,6 +62,11 @@ public interface TTAPIAdapter {
    */
   @NonNull LoadingCache<SemanticModelInfo, Document> getModelCache();
 
+  /**
+   * @return the current generation of the catalog of the indexed Places
+   */
+  @NonNull CatalogGeneration getCatalog();
+
   /**
    * Invalidates all Caches: Place/Path Indexes, and Models
    */
@@ -78,13 +93,27 @@ public interface TTAPIAdapter {
   /**
    * Re-indexes a specific Place/Repository.
    * <p>
-   * Invalidates its Cache and Models, then reloads that Place/Path Index
+   * Rebuilds that Place/Path Index, then invalidates the Models that have changed, or have been
+   * removed from the Place, since the Place was last indexed
    *
    * @param placeId the ID of the Place to reindex
    */
   void rescanPlace(
       @Nonnull final String placeId);
 
+  /**
+   * Refreshes a specific Place/Repository, in the background.
+   * <p>
+   * Probes the Place, and re-indexes it only if it has changed since it was last indexed. The
+   * current index, if any, is served until the refresh completes
+   *
+   * @param placeId the ID of the Place to refresh
+   */
+  default void refreshPlace(
+      @Nonnull final String placeId) {
+    getPlaceCache().refresh(TrisotechPlace.key(placeId));
+  }
+
   /**
    * Invalidates a specific Model, if cached
    *
@@ -224,11 +253,23 @@ public interface TTAPIAdapter {
   @Nonnull
   Map<String, TrisotechPlace> getCachedPlaces();
 
+  /**
+   * Probes the TT DES Knowledge Graph, checking that its SPARQL endpoint answers queries about a
+   * given Place
+   *
+   * @param placeId the ID of the Place
+   * @return true if the endpoint returned content for the Place, false otherwise
+   */
+  boolean probeKnowledgeGraph(
+      @Nonnull final String placeId);
+
   /* ---------------------------------------------------------------------------------------- */
 
   /**
    * Returns a collection of the Execution artifacts (Decision / Process Services) deployed in the
-   * give execution environment
+   * give execution environment.
+   * <p>
+   * Listings are cached, and refreshed periodically
    *
    * @param slBaseUrl the base URL of the Service Library hosting the exec environment
    * @param env the ID of the execution environment
@@ -252,6 +293,15 @@ public interface TTAPIAdapter {
       @Nonnull final String serviceName,
       @Nonnull final SemanticModelInfo manifest);
 
+  /**
+   * Invalidates the cached Execution artifacts, e.g. after a Service has been (un)deployed
+   *
+   * @param slBaseUrl the base URL of the Service Library, or null to invalidate all the Service
+   *                  Libraries
+   */
+  void invalidateExecutionArtifacts(
+      @Nullable final String slBaseUrl);
+
   /* ---------------------------------------------------------------------------------------- */
 
   /**
@@ -319,6 +369,23 @@ public interface TTAPIAdapter {
       @Nonnull final UUID assetId,
       @Nonnull final String assetVersionTag);
 
+  /**
+   * Returns metadata for the Models that carry a specific version of a given Knowledge Asset, and
+   * for the Models those depend on, directly or indirectly
+   * <p>
+   * The closure is computed on the Place/Path indexes, and is safe with respect to cyclic
+   * dependencies: each Model is returned at most once
+   *
+   * @param assetId         The ID of the root Knowledge Asset
+   * @param assetVersionTag the version of the root Knowledge Asset
+   * @return the {@link SemanticModelInfo} descriptors of the Models in the dependency closure of
+   * that version of the Asset, roots included, as a Stream
+   */
+  @Nonnull
+  Stream<SemanticModelInfo> getDependencyClosureByAssetId(
+      @Nonnull final UUID assetId,
+      @Nonnull final String assetVersionTag);
+
   /**
    * Returns metadata for the Models that carry the GREATEST version of a given Knowledge Asset,
    * according to the natural ordering of version tags that follow a SemVer/CalVer pattern
@@ -366,5 +433,16 @@ public interface TTAPIAdapter {
   Optional<Document> getModel(
       @Nonnull final TrisotechFileInfo trisotechFileInfo);
 
+  /**
+   * Retrieves the Models for the given Manifests, in bulk
+   *
+   * @param manifests the manifests for the Models.
+   * @return XML Documents for the associated Models, by manifest, for the Models that could be
+   * retrieved
+   */
+  @Nonnull
+  Map<SemanticModelInfo, Document> getModels(
+      @Nonnull final Collection<SemanticModelInfo> manifests);
+
 
 }
@@ -10,7 +10,16 @@ import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient
 import edu.mayo.kmdp.trisotechwrapper.components.TTWebClient;
 import edu.mayo.kmdp.trisotechwrapper.components.cache.CachingTTWKnowledgeStore;
 import edu.mayo.kmdp.trisotechwrapper.components.cache.CaffeineCacheManager;
+import edu.mayo.kmdp.trisotechwrapper.components.cache.CatalogGeneration;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationBus;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationMessage;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationMessage.Action;
+import edu.mayo.kmdp.trisotechwrapper.components.execution.ExecutionArtifactCache;
 import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.TimedTTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.recording.TTTrafficArchive;
 import edu.mayo.kmdp.trisotechwrapper.components.redactors.Redactor;
 import edu.mayo.kmdp.trisotechwrapper.components.weavers.Weaver;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
@@ -20,15 +29,15 @@ import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -81,6 +90,30 @@ public class TTWrapper implements TTAPIAdapter {
   @Nonnull
   CachingTTWKnowledgeStore cacheManager;
 
+  /**
+   * Cache of the deployed Execution Artifacts, by Service Library environment
+   */
+  @Nonnull
+  ExecutionArtifactCache execCache;
+
+  /**
+   * Bus used to propagate cache invalidations to (and from) the other replicas, if configured
+   */
+  @Nullable
+  CacheInvalidationBus invalidationBus;
+
+  /**
+   * The ID of this instance, as the origin of the invalidations it publishes
+   */
+  @Nonnull
+  private final String instanceId = UUID.randomUUID().toString();
+
+  /**
+   * The subscriber that applies the invalidations received from the other replicas
+   */
+  @Nonnull
+  private final Consumer<CacheInvalidationMessage> subscriber = this::onInvalidation;
+
   public TTWrapper(
       @Nonnull final TTWEnvironmentConfiguration cfg,
       @Nonnull final Weaver weaver,
@@ -91,6 +124,27 @@ public class TTWrapper implements TTAPIAdapter {
 
     this.webClient = initWebClient(cfg);
     this.cacheManager = initCacheManager(webClient, cfg);
+    this.execCache = new ExecutionArtifactCache(webClient, cfg);
+    this.invalidationBus = initInvalidationBus(cfg);
+    if (invalidationBus != null) {
+      invalidationBus.subscribe(subscriber);
+    }
+  }
+
+
+  /**
+   * Initializes the {@link CacheInvalidationBus}, if configured. This instance subscribes to the
+   * bus, to apply the invalidations published by the other replicas, and closes the bus when
+   * closed
+   *
+   * @param cfg the environment configuration
+   * @return the initialized {@link CacheInvalidationBus}, or null if invalidations are not
+   * propagated
+   */
+  @Nullable
+  protected CacheInvalidationBus initInvalidationBus(
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    return CacheInvalidationBus.configure(cfg).orElse(null);
   }
 
 
@@ -106,19 +160,43 @@ public class TTWrapper implements TTAPIAdapter {
       @Nonnull final TTWEnvironmentConfiguration cfg) {
     return new CaffeineCacheManager(
         webClient,
-        dox -> redactor.redact(weaver.weave(dox, this::getModelById)),
+        this::preProcess,
         cfg);
   }
 
+  /**
+   * Normalizes a Model as it is loaded in the Model cache, weaving it, then redacting it.
+   * <p>
+   * Note that the time spent weaving includes the time spent loading any Model the weaver needs to
+   * resolve.
+   *
+   * @param dox the Model, as downloaded from the DES
+   * @return the normalized Model
+   */
+  @Nonnull
+  protected Document preProcess(
+      @Nonnull final Document dox) {
+    var lang = MetricsHelper.languageTag(dox);
+    var woven = MetricsHelper.timed(MetricsHelper.WEAVE,
+        () -> weaver.weave(dox, this::getModelById),
+        MetricsHelper.TAG_LANGUAGE, lang);
+    return MetricsHelper.timed(MetricsHelper.REDACT,
+        () -> redactor.redact(woven),
+        MetricsHelper.TAG_LANGUAGE, lang);
+  }
+
   /**
    * Initializes the {@link TTDigitalEnterpriseServerClient}
    *
    * @param cfg the environment configuration
-   * @return the initialized {@link TTDigitalEnterpriseServerClient}
+   * @return the initialized {@link TTDigitalEnterpriseServerClient}, instrumented with timers, and
+   * recording or replaying the DES traffic if so configured
+   * @see TTTrafficArchive#configure(TTWebClient, TTWEnvironmentConfiguration)
    */
   protected TTDigitalEnterpriseServerClient initWebClient(
       @Nonnull final TTWEnvironmentConfiguration cfg) {
-    return new TTWebClient(cfg);
+    return new TimedTTDigitalEnterpriseServerClient(
+        TTTrafficArchive.configure(new TTWebClient(cfg), cfg));
   }
 
 
@@ -154,6 +232,14 @@ public class TTWrapper implements TTAPIAdapter {
     return cacheManager.getMetadataByAssetVersion(newKey(assetId, assetVersionTag));
   }
 
+  @Nonnull
+  @Override
+  public Stream<SemanticModelInfo> getDependencyClosureByAssetId(
+      @Nonnull final UUID assetId,
+      @Nonnull final String assetVersionTag) {
+    return cacheManager.getDependencyClosureByAssetVersion(newKey(assetId, assetVersionTag));
+  }
+
   @Override
   @Nonnull
   public Stream<SemanticModelInfo> getMetadataByGreatestAssetId(
@@ -163,42 +249,129 @@ public class TTWrapper implements TTAPIAdapter {
 
   @Override
   public void invalidateAll() {
-    cacheManager.invalidateCaches();
+    broadcast(Action.INVALIDATE_ALL, null);
   }
 
   @Override
   public void rescan() {
-    invalidateAll();
-    cacheManager.getAllCachedPlaces();
+    broadcast(Action.RESCAN, null);
   }
 
   @Override
   public void invalidatePlace(
       @Nonnull final String placeId) {
-    listModelsByPlace(placeId)
-        .map(TrisotechFileInfo::getId)
-        .forEach(cacheManager::invalidateModelCache);
-    cacheManager.invalidatePlaceCache(placeId);
+    broadcast(Action.INVALIDATE_PLACE, placeId);
   }
 
   @Override
   public void rescanPlace(
       @Nonnull final String placeId) {
-    invalidatePlace(placeId);
-    cacheManager.getPlaceCache().refresh(TrisotechPlace.key(placeId));
+    broadcast(Action.RESCAN_PLACE, placeId);
+  }
+
+  @Override
+  public void refreshPlace(
+      @Nonnull final String placeId) {
+    broadcast(Action.REFRESH_PLACE, placeId);
   }
 
 
   @Override
   public void invalidateModel(
       @Nonnull final String modelUri) {
-    cacheManager.invalidateModelCache(modelUri);
+    broadcast(Action.INVALIDATE_MODEL, modelUri);
   }
 
   @Override
   public void rescanModel(
       @Nonnull final String modelUri) {
-    cacheManager.getModelCache().refresh(new SemanticModelInfo(modelUri));
+    broadcast(Action.RESCAN_MODEL, modelUri);
+  }
+
+  /**
+   * Applies an invalidation locally, then publishes it to the other replicas, if a
+   * {@link CacheInvalidationBus} is configured
+   *
+   * @param action the invalidation
+   * @param target the Place, Model or Service Library to invalidate, if any
+   */
+  protected void broadcast(
+      @Nonnull final Action action,
+      @Nullable final String target) {
+    var message = new CacheInvalidationMessage(action, instanceId, target);
+    apply(message);
+    if (invalidationBus != null) {
+      invalidationBus.publish(message);
+    }
+  }
+
+  /**
+   * Applies the invalidations published by the other replicas. The invalidations published by
+   * this instance have been applied already, and are ignored
+   *
+   * @param message the invalidation
+   */
+  protected void onInvalidation(
+      @Nonnull final CacheInvalidationMessage message) {
+    if (instanceId.equals(message.getOrigin())) {
+      return;
+    }
+    logger.info("Applying remote invalidation {}", message);
+    apply(message);
+  }
+
+  /**
+   * Applies an invalidation to the local caches
+   *
+   * @param message the invalidation
+   */
+  protected void apply(
+      @Nonnull final CacheInvalidationMessage message) {
+    var target = message.getTarget();
+    switch (message.getAction()) {
+      case INVALIDATE_ALL:
+        cacheManager.invalidateCaches();
+        execCache.invalidate(null);
+        break;
+      case RESCAN:
+        cacheManager.invalidateCaches();
+        execCache.invalidate(null);
+        cacheManager.getAllCachedPlaces();
+        break;
+      case INVALIDATE_PLACE:
+        if (target != null) {
+          listModelsByPlace(target)
+              .map(TrisotechFileInfo::getId)
+              .forEach(cacheManager::invalidateModelCache);
+          cacheManager.invalidatePlaceCache(target);
+        }
+        break;
+      case RESCAN_PLACE:
+        if (target != null) {
+          cacheManager.rescanPlaceCache(target);
+        }
+        break;
+      case REFRESH_PLACE:
+        if (target != null) {
+          cacheManager.getPlaceCache().refresh(TrisotechPlace.key(target));
+        }
+        break;
+      case INVALIDATE_MODEL:
+        if (target != null) {
+          cacheManager.invalidateModelCache(target);
+        }
+        break;
+      case RESCAN_MODEL:
+        if (target != null) {
+          cacheManager.getModelCache().refresh(new SemanticModelInfo(target));
+        }
+        break;
+      case INVALIDATE_EXECUTION_ARTIFACTS:
+        execCache.invalidate(target);
+        break;
+      default:
+        logger.warn("Unsupported invalidation {}", message);
+    }
   }
 
   @Override
@@ -222,6 +395,18 @@ public class TTWrapper implements TTAPIAdapter {
     return Optional.empty();
   }
 
+  @Nonnull
+  @Override
+  public Map<SemanticModelInfo, Document> getModels(
+      @Nonnull final Collection<SemanticModelInfo> manifests) {
+    try {
+      return cacheManager.downloadXmlModels(manifests);
+    } catch (Exception e) {
+      logger.error(String.format("%s %s", e.getMessage(), Arrays.toString(e.getStackTrace())), e);
+    }
+    return Collections.emptyMap();
+  }
+
   @Override
   @Nonnull
   public Stream<SemanticModelInfo> listModels(
@@ -334,14 +519,24 @@ public class TTWrapper implements TTAPIAdapter {
         ));
   }
 
+  @Override
+  public boolean probeKnowledgeGraph(
+      @Nonnull final String placeId) {
+    try {
+      return TTGraphQueryHelper.ping(webClient, placeId);
+    } catch (Exception e) {
+      logger.warn("Unable to probe the Knowledge Graph of Place {} : {}", placeId, e.getMessage());
+      return false;
+    }
+  }
+
   @Override
   @Nonnull
   public Map<String, List<TrisotechExecutionArtifact>> listExecutionArtifacts(
       @Nonnull final String slBaseUrl,
       @Nonnull final Set<String> env) {
     try {
-      return webClient.getExecutionArtifacts(slBaseUrl, env).stream()
-          .collect(Collectors.groupingBy(TrisotechExecutionArtifact::getName));
+      return execCache.getExecutionArtifacts(slBaseUrl, env);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       return Collections.emptyMap();
@@ -354,12 +549,17 @@ public class TTWrapper implements TTAPIAdapter {
   public Stream<TrisotechExecutionArtifact> getExecutionArtifacts(
       @Nonnull final String serviceName,
       @Nonnull final SemanticModelInfo manifest) {
-    var slEnvMap = getScopedExecEnvironments();
-    return slEnvMap.entrySet().stream()
+    return execCache.getScopedEnvironments().entrySet().stream()
         .flatMap(sl ->
             getExecutionArtifacts(serviceName, manifest, sl.getKey(), sl.getValue()));
   }
 
+  @Override
+  public void invalidateExecutionArtifacts(
+      @Nullable final String slBaseUrl) {
+    broadcast(Action.INVALIDATE_EXECUTION_ARTIFACTS, slBaseUrl);
+  }
+
   /**
    * Retrieves the deployments of a given Service, across the configured environments of a given
    * Service Library.
@@ -375,6 +575,7 @@ public class TTWrapper implements TTAPIAdapter {
       SemanticModelInfo manifest,
       String slBaseUrl,
       Set<String> execEnvs) {
+    // served from the name-indexed cache, refreshed in the background
     var execs = listExecutionArtifacts(slBaseUrl, execEnvs);
     // DMN executables - the whole model is mapped to a service
     return Optional.ofNullable(execs.get(manifest.serviceOwnerModel()))
@@ -399,6 +600,28 @@ public class TTWrapper implements TTAPIAdapter {
   }
 
 
+  @Override
+  @NonNull
+  public CatalogGeneration getCatalog() {
+    return cacheManager.getCatalog();
+  }
+
+
+  /**
+   * Stops applying the invalidations published by the other replicas, stops the background
+   * refresh of the Execution Artifacts, and releases the resources held by the Cache Manager
+   */
+  @Override
+  public void close() {
+    if (invalidationBus != null) {
+      invalidationBus.unsubscribe(subscriber);
+      invalidationBus.close();
+    }
+    execCache.close();
+    cacheManager.close();
+  }
+
+
   /**
    * Retrieves the given version of the Model with the given ID, when the version is not the latest
    * version
@@ -476,20 +699,4 @@ public class TTWrapper implements TTAPIAdapter {
   }
 
 
-  /**
-   * @return the configured Execution environments
-   */
-  private Map<String, Set<String>> getScopedExecEnvironments() {
-    var env = cfg.getTyped(TTWConfigParamsDef.SERVICE_LIBRARY_ENVIRONMENT, String.class);
-    Map<String, Set<String>> envMap = new HashMap<>();
-    Optional.ofNullable(env).stream()
-        .flatMap(e -> Arrays.stream(e.split(",")))
-        .map(String::trim)
-        .map(s -> s.split("#"))
-        .filter(ss -> ss.length == 2)
-        .forEach(ss -> envMap.computeIfAbsent(ss[0], k -> new HashSet<>())
-            .add(ss[1]));
-    return envMap;
-  }
-
 }
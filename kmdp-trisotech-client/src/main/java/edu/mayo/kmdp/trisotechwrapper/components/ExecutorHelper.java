@@ -0,0 +1,95 @@
+package edu.mayo.kmdp.trisotechwrapper.components;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+/**
+ * Helper class that builds the (bounded) thread pools used by the TTW to parallelize interactions
+ * with the DES.
+ * <p>
+ * Pool threads are daemons, named after their pool, so that pools do not prevent the JVM from
+ * shutting down.
+ */
+public final class ExecutorHelper {
+
+  /**
+   * No-op Constructor. This class only contains static functions and should not be instantiated
+   */
+  private ExecutorHelper() {
+    // functions only
+  }
+
+  /**
+   * Creates a fixed-size pool of daemon threads
+   *
+   * @param poolName the name of the pool, used as a prefix for the names of its threads
+   * @param threads  the (maximum) number of threads in the pool
+   * @return a bounded {@link ExecutorService}
+   */
+  @Nonnull
+  public static ExecutorService newBoundedExecutor(
+      @Nonnull final String poolName,
+      final int threads) {
+    return Executors.newFixedThreadPool(Math.max(1, threads), namedDaemonFactory(poolName));
+  }
+
+  /**
+   * Creates a bounded pool of daemon threads, which are released after being idle for a while.
+   * <p>
+   * Suitable for pools that are shared, rather than owned by a component, and thus never shut
+   * down: the pool holds no threads while unused
+   *
+   * @param poolName  the name of the pool, used as a prefix for the names of its threads
+   * @param threads   the (maximum) number of threads in the pool
+   * @param keepAlive how long an idle thread is retained, in seconds
+   * @return a bounded {@link ExecutorService}
+   */
+  @Nonnull
+  public static ExecutorService newSharedExecutor(
+      @Nonnull final String poolName,
+      final int threads,
+      final long keepAlive) {
+    int size = Math.max(1, threads);
+    var pool = new ThreadPoolExecutor(size, size, keepAlive, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), namedDaemonFactory(poolName));
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /**
+   * Creates a single-threaded scheduler, running on a daemon thread
+   *
+   * @param poolName the name of the scheduler, used as a prefix for the name of its thread
+   * @return a {@link ScheduledExecutorService}
+   */
+  @Nonnull
+  public static ScheduledExecutorService newScheduler(
+      @Nonnull final String poolName) {
+    return Executors.newSingleThreadScheduledExecutor(namedDaemonFactory(poolName));
+  }
+
+  /**
+   * Creates a {@link ThreadFactory} that creates daemon threads, named after a pool
+   *
+   * @param poolName the name of the pool
+   * @return a {@link ThreadFactory}
+   */
+  @Nonnull
+  private static ThreadFactory namedDaemonFactory(
+      @Nonnull final String poolName) {
+    var counter = new AtomicInteger();
+    return r -> {
+      var t = new Thread(r, poolName + "-" + counter.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+
+}
@@ -0,0 +1,64 @@
+package edu.mayo.kmdp.trisotechwrapper.components;
+
+import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newVersionId;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.net.URI;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.omg.spec.api4kp._20200801.id.KeyIdentifier;
+
+/**
+ * Helper class that deduplicates the values held by {@link SemanticModelInfo} manifests.
+ * <p>
+ * Large Places are indexed as tens of thousands of manifests, which repeat a small number of
+ * distinct values (Place IDs and names, mime types, paths, updaters, states, version tags, asset
+ * types), and parse the same asset IDs into equal {@link KeyIdentifier}s. Interning those values
+ * lets all the manifests share one instance of each.
+ * <p>
+ * Strings are interned in the JVM String pool. Keys are cached by asset ID, and only retained
+ * while some manifest still references them.
+ */
+public final class ManifestInterner {
+
+  /**
+   * The asset keys, by (versioned) asset ID
+   */
+  private static final Cache<String, KeyIdentifier> keys = Caffeine.newBuilder()
+      .weakValues()
+      .build();
+
+  /**
+   * No-op Constructor. This class only contains static functions and should not be instantiated
+   */
+  private ManifestInterner() {
+    // functions only
+  }
+
+  /**
+   * Interns a String value
+   *
+   * @param value the value
+   * @return the canonical instance of the value, or null if the value is null
+   */
+  @Nullable
+  public static String intern(
+      @Nullable final String value) {
+    return value != null ? value.intern() : null;
+  }
+
+  /**
+   * Parses a versioned asset ID into a {@link KeyIdentifier}, reusing the key previously parsed
+   * from the same ID, if any
+   *
+   * @param versionedId the asset ID, as a versioned URI
+   * @return the canonical asset key
+   */
+  @Nonnull
+  public static KeyIdentifier key(
+      @Nonnull final String versionedId) {
+    return keys.get(versionedId, id -> newVersionId(URI.create(id)).asKey());
+  }
+
+}
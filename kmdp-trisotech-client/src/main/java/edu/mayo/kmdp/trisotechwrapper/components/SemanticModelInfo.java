@@ -1,6 +1,5 @@
 package edu.mayo.kmdp.trisotechwrapper.components;
 
-import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newVersionId;
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
 import com.sun.istack.NotNull;
@@ -9,11 +8,11 @@ import edu.mayo.kmdp.trisotechwrapper.config.TTApiConstants;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
 import edu.mayo.kmdp.util.DateTimeUtil;
-import java.net.URI;
-import java.util.Collections;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedHashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -63,6 +62,16 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
    */
   private static final Logger logger = LoggerFactory.getLogger(SemanticModelInfo.class);
 
+  /**
+   * Shared, empty array of Strings
+   */
+  private static final String[] NO_STRINGS = new String[0];
+
+  /**
+   * Shared, empty array of Keys
+   */
+  private static final KeyIdentifier[] NO_KEYS = new KeyIdentifier[0];
+
   /**
    * ID of the Asset carried by the Model, if any, as a String
    */
@@ -116,18 +125,22 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
    * Knowledge (Service) Asset
    * <p>
    * Only includes the asserted types on the original Model, but no default nor inferrable types
+   * <p>
+   * Like the other multi-valued fields, stored as a (small) array without duplicates, which is
+   * replaced, rather than modified, when a value is added. Manifests without values share the same
+   * empty array
    */
-  protected final Set<String> assetTypes = new LinkedHashSet<>(3);
+  protected String[] assetTypes = NO_STRINGS;
 
   /**
    * List of Model IDs ({@link TrisotechFileInfo#id}) of Models that this Model depends on
    */
-  protected final Set<String> modelDependencies = new LinkedHashSet<>(3);
+  protected String[] modelDependencies = NO_STRINGS;
 
   /**
    * List of Model IDs ({@link TrisotechFileInfo#id}) of Models that this Model is a dependency of
    */
-  protected final Set<String> reverseModelDependencies = new LinkedHashSet<>(3);
+  protected String[] reverseModelDependencies = NO_STRINGS;
 
   /**
    * List of IDs ({@link #serviceKey}) of Service Assets that this Model exposes.
@@ -137,7 +150,15 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
    * object. The inverse to-one key is given by the {@link #assetKey} on the
    * {@link SemanticModelInfo} where #serviceKey is the 'primary' key
    */
-  protected final Set<KeyIdentifier> exposedServices = new LinkedHashSet<>(3);
+  protected KeyIdentifier[] exposedServices = NO_KEYS;
+
+  /**
+   * True once the Manifest has been published by a (frozen) index, after which it is read-only.
+   * <p>
+   * Since Manifests can be shared across indexes, and handed out to any client of an index, they
+   * must not change once published
+   */
+  private boolean readOnly;
 
 
   /**
@@ -236,6 +257,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
    */
   private void mergeSemantic(
       @Nonnull final SemanticModelInfo other) {
+    checkMutable();
     if (other == this) {
       return;
     }
@@ -256,10 +278,11 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
     merge(this, other, SemanticModelInfo::hasPlaceName, SemanticModelInfo::getPlaceName,
         SemanticModelInfo::setPlaceName);
 
-    this.assetTypes.addAll(other.getAssetTypes());
-    this.modelDependencies.addAll(other.getModelDependencies());
-    this.reverseModelDependencies.addAll(other.getReverseModelDependencies());
-    this.exposedServices.addAll(other.getExposedServices());
+    this.assetTypes = union(this.assetTypes, other.assetTypes);
+    this.modelDependencies = union(this.modelDependencies, other.modelDependencies);
+    this.reverseModelDependencies =
+        union(this.reverseModelDependencies, other.reverseModelDependencies);
+    this.exposedServices = union(this.exposedServices, other.exposedServices);
   }
 
 
@@ -273,6 +296,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
    * @see #mergeSemantic(SemanticModelInfo)
    */
   protected void mergeInternal(TrisotechFileInfo other) {
+    checkMutable();
     if (other == this) {
       return;
     }
@@ -309,9 +333,12 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
   public SemanticModelInfo put(
       @Nonnull final TTGraphTerms key,
       @Nonnull final List<String> values) {
+    checkMutable();
     if (key == TTGraphTerms.ASSET_TYPE) {
-      this.assetTypes.clear();
-      this.assetTypes.addAll(values);
+      this.assetTypes = values.stream()
+          .map(ManifestInterner::intern)
+          .distinct()
+          .toArray(String[]::new);
     } else {
       throw new UnsupportedOperationException(
           "Unable to handle " + key + " with multiple values");
@@ -321,39 +348,43 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   /**
    * Map-like Setter
+   * <p>
+   * Values that are likely to be shared across Models are interned
    *
    * @param key   the key that denotes the field to set
    * @param value the value to set
    * @return this {@link SemanticModelInfo} with the updated value
+   * @see ManifestInterner
    */
   public SemanticModelInfo put(
       @Nonnull final TTGraphTerms key,
       @Nullable String value) {
+    checkMutable();
     switch (key) {
       case MIME_TYPE:
-        this.mimetype = value;
+        this.mimetype = ManifestInterner.intern(value);
         break;
       case MODEL:
         this.id = value;
         this.sku = value;
         break;
       case STATE:
-        this.state = value;
+        this.state = ManifestInterner.intern(value);
         break;
       case UPDATED:
         this.updated = value;
         break;
       case UPDATER:
-        this.updater = value;
+        this.updater = ManifestInterner.intern(value);
         break;
       case VERSION:
-        this.version = value;
+        this.version = ManifestInterner.intern(value);
         break;
       case ASSET_ID:
         assertAssetId(value);
         break;
       case ASSET_TYPE:
-        this.assetTypes.add(value);
+        addAssetType(value);
         break;
       case SERVICE_ID:
         assertServiceId(value);
@@ -368,7 +399,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
         this.serviceFragmentName = value;
         break;
       case PATH:
-        this.path = processPath(value);
+        this.path = ManifestInterner.intern(processPath(value));
         break;
       default:
         throw new UnsupportedOperationException("Unable to handle " + key);
@@ -383,6 +414,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setAssetId(
       @Nullable final String assetId) {
+    checkMutable();
     this.assetId = assetId;
   }
 
@@ -397,6 +429,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setServiceId(
       @Nullable final String serviceId) {
+    checkMutable();
     this.serviceId = serviceId;
   }
 
@@ -415,6 +448,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setAssetKey(
       @Nullable final KeyIdentifier assetKey) {
+    checkMutable();
     this.assetKey = assetKey;
   }
 
@@ -428,6 +462,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setServiceKey(
       @Nullable final KeyIdentifier serviceKey) {
+    checkMutable();
     this.serviceKey = serviceKey;
   }
 
@@ -438,6 +473,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setServiceFragmentName(
       @Nullable final String serviceFragmentName) {
+    checkMutable();
     this.serviceFragmentName = serviceFragmentName;
   }
 
@@ -451,6 +487,7 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setServiceFragmentId(
       @Nullable final String serviceFragmentId) {
+    checkMutable();
     this.serviceFragmentId = serviceFragmentId;
   }
 
@@ -464,7 +501,8 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setPlaceId(
       @Nullable final String placeId) {
-    this.placeId = placeId;
+    checkMutable();
+    this.placeId = ManifestInterner.intern(placeId);
   }
 
   public boolean hasPlaceId() {
@@ -477,69 +515,135 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
 
   public void setPlaceName(
       @Nullable final String placeName) {
-    this.placeName = placeName;
+    checkMutable();
+    this.placeName = ManifestInterner.intern(placeName);
   }
 
   public boolean hasPlaceName() {
     return getPlaceName() != null;
   }
 
+  @Override
+  public void setId(String id) {
+    checkMutable();
+    super.setId(id);
+  }
+
+  @Override
+  public void setSku(String sku) {
+    checkMutable();
+    super.setSku(sku);
+  }
+
+  @Override
+  public void setName(String name) {
+    checkMutable();
+    super.setName(name);
+  }
+
+  @Override
+  public void setPath(String path) {
+    checkMutable();
+    super.setPath(path);
+  }
+
+  @Override
+  public void setMimetype(String mimetype) {
+    checkMutable();
+    super.setMimetype(mimetype);
+  }
+
+  @Override
+  public void setUpdated(String updated) {
+    checkMutable();
+    super.setUpdated(updated);
+  }
+
+  @Override
+  public void setUpdater(String updater) {
+    checkMutable();
+    super.setUpdater(updater);
+  }
+
+  @Override
+  public void setUrl(String url) {
+    checkMutable();
+    super.setUrl(url);
+  }
+
+  @Override
+  public void setVersion(String version) {
+    checkMutable();
+    super.setVersion(version);
+  }
+
+  @Override
+  public void setState(String state) {
+    checkMutable();
+    super.setState(state);
+  }
+
 
   @Nonnull
   public List<String> getAssetTypes() {
-    return List.copyOf(assetTypes);
+    return List.of(assetTypes);
   }
 
   public void addAssetType(
       @Nonnull final String assetType) {
-    this.assetTypes.add(assetType);
+    checkMutable();
+    this.assetTypes = with(this.assetTypes, ManifestInterner.intern(assetType));
   }
 
   @Nonnull
   public Set<String> getModelDependencies() {
-    return Collections.unmodifiableSet(modelDependencies);
+    return new ArraySet<>(modelDependencies);
   }
 
   public void addModelDependency(
       @Nonnull final String dependencyModelId) {
-    this.modelDependencies.add(dependencyModelId);
+    checkMutable();
+    this.modelDependencies = with(this.modelDependencies, dependencyModelId);
   }
 
   @Nonnull
   public Set<String> getReverseModelDependencies() {
-    return Collections.unmodifiableSet(reverseModelDependencies);
+    return new ArraySet<>(reverseModelDependencies);
   }
 
   public void addReverseModelDependency(
       @Nonnull final String dependencyModelId) {
-    this.reverseModelDependencies.add(dependencyModelId);
+    checkMutable();
+    this.reverseModelDependencies = with(this.reverseModelDependencies, dependencyModelId);
   }
 
   @Nonnull
   public List<KeyIdentifier> getExposedServices() {
-    return List.copyOf(exposedServices);
+    return List.of(exposedServices);
   }
 
   public void addExposedService(
       @Nonnull final KeyIdentifier serviceAssetId) {
-    this.exposedServices.add(serviceAssetId);
+    checkMutable();
+    this.exposedServices = with(this.exposedServices, serviceAssetId);
   }
 
 
   public void assertAssetId(
       @Nullable final String assetId) {
     setAssetId(assetId);
-    setAssetKey(assetId != null ? newVersionId(URI.create(assetId)).asKey() : null);
+    setAssetKey(assetId != null ? ManifestInterner.key(assetId) : null);
   }
 
   public void assertServiceId(
       @Nullable final String serviceId) {
     setServiceId(serviceId);
-    setServiceKey(serviceId != null ? newVersionId(URI.create(serviceId)).asKey() : null);
+    setServiceKey(serviceId != null ? ManifestInterner.key(serviceId) : null);
   }
 
   public void initUrl(
       @Nonnull final String baseUrl) {
+    checkMutable();
     this.url = fromHttpUrl(baseUrl + TTApiConstants.MODEL_PATH)
         .build(placeId, mimetype, path, sku).toString();
   }
@@ -613,6 +717,33 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
     return value.substring(0, value.lastIndexOf('/') + 1);
   }
 
+  /**
+   * Makes this Manifest read-only: any further attempt to modify it will fail.
+   * <p>
+   * Used by the indexes, when they publish the Manifests they have built. Manifests cannot be made
+   * mutable again: clients that need a modified Manifest should copy it first
+   *
+   * @return this, read-only
+   * @see #SemanticModelInfo(TrisotechFileInfo, SemanticModelInfo)
+   */
+  @Nonnull
+  public SemanticModelInfo freeze() {
+    this.readOnly = true;
+    return this;
+  }
+
+  /**
+   * Guard
+   *
+   * @throws UnsupportedOperationException if this Manifest is read-only
+   * @see #freeze()
+   */
+  private void checkMutable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("Manifest of " + id + " is read-only");
+    }
+  }
+
   /**
    * The DateTime the Model was last updated, as a {@link Date}
    *
@@ -725,4 +856,86 @@ public class SemanticModelInfo extends TrisotechFileInfo implements Comparable<S
     return latestAndGreatestComparator.compare(this, other);
   }
 
+
+  /**
+   * Utility
+   * <p>
+   * Appends a value to an array of distinct values, unless already present
+   *
+   * @param values the current values
+   * @param value  the value to add
+   * @param <T>    the type of the values
+   * @return the original array, if it already contains the value, or a new array otherwise
+   */
+  @Nonnull
+  private static <T> T[] with(
+      @Nonnull final T[] values,
+      @Nonnull final T value) {
+    for (T t : values) {
+      if (t.equals(value)) {
+        return values;
+      }
+    }
+    var extended = Arrays.copyOf(values, values.length + 1);
+    extended[values.length] = value;
+    return extended;
+  }
+
+  /**
+   * Utility
+   * <p>
+   * Combines two arrays of distinct values, preserving the order of the values
+   *
+   * @param values the current values
+   * @param others the values to add
+   * @param <T>    the type of the values
+   * @return the combined values
+   */
+  @Nonnull
+  private static <T> T[] union(
+      @Nonnull final T[] values,
+      @Nonnull final T[] others) {
+    if (values.length == 0) {
+      return others;
+    }
+    var combined = values;
+    for (T other : others) {
+      combined = with(combined, other);
+    }
+    return combined;
+  }
+
+  /**
+   * Read-only {@link Set} view over an array of distinct values.
+   * <p>
+   * Since the multi-valued fields of a manifest are replaced, rather than modified, a view is a
+   * stable snapshot of the values at the time it was created
+   *
+   * @param <T> the type of the values
+   */
+  private static final class ArraySet<T> extends AbstractSet<T> {
+
+    /**
+     * The values
+     */
+    @Nonnull
+    private final T[] values;
+
+    private ArraySet(
+        @Nonnull final T[] values) {
+      this.values = values;
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<T> iterator() {
+      return Arrays.asList(values).iterator();
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+  }
+
 }
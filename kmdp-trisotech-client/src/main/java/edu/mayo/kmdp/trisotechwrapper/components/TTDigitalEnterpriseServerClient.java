@@ -7,8 +7,11 @@ import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.jena.query.Query;
+import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.w3c.dom.Document;
 
@@ -77,6 +80,8 @@ public interface TTDigitalEnterpriseServerClient {
    * @param baseUrl the base URL of the Service Library hosting the environments
    * @param execEnvs the execution environments
    * @return metadata about the services deployed in that Service Library's environments
+   * @throws RuntimeException if the Service Library could not be reached, so that a failure is not
+   *                          mistaken for an empty environment
    */
   @Nonnull
   List<TrisotechExecutionArtifact> getExecutionArtifacts(
@@ -106,4 +111,55 @@ public interface TTDigitalEnterpriseServerClient {
   @Nonnull
   ResultSet askQuery(
       @Nonnull final Query query);
+
+  /**
+   * Submits a SPARQL Query to the Trisotech DES SPARQL endpoint, to query the DES Knowledge Graph,
+   * streaming the results to a consumer as they are received
+   * <p>
+   * Implementations should not materialize the results, unless required. The default
+   * implementation iterates over the results of {@link #askQuery(Query)}
+   *
+   * @param query    the SPARQL query
+   * @param consumer the consumer of the variable bindings
+   */
+  default void askQuery(
+      @Nonnull final Query query,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    askQuery(query).forEachRemaining(consumer);
+  }
+
+  /**
+   * Submits a SPARQL Query, scoped to a given Place, to the Trisotech DES SPARQL endpoint
+   * <p>
+   * The Place does not affect the query, which is expected to be already scoped, but is used to
+   * monitor the query. The default implementation delegates to {@link #askQuery(Query)}
+   *
+   * @param query   the SPARQL query
+   * @param placeId the id of the Place the query is scoped to, if any
+   * @return the query results, as a set of variable bindings
+   */
+  @Nonnull
+  default ResultSet askQuery(
+      @Nonnull final Query query,
+      @Nullable final String placeId) {
+    return askQuery(query);
+  }
+
+  /**
+   * Submits a SPARQL Query, scoped to a given Place, to the Trisotech DES SPARQL endpoint,
+   * streaming the results to a consumer as they are received
+   * <p>
+   * The Place does not affect the query, which is expected to be already scoped, but is used to
+   * monitor the query. The default implementation delegates to {@link #askQuery(Query, Consumer)}
+   *
+   * @param query    the SPARQL query
+   * @param placeId  the id of the Place the query is scoped to, if any
+   * @param consumer the consumer of the variable bindings
+   */
+  default void askQuery(
+      @Nonnull final Query query,
+      @Nullable final String placeId,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    askQuery(query, consumer);
+  }
 }
@@ -5,6 +5,7 @@ import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -118,6 +119,20 @@ public interface TTWKnowledgeStore {
   Stream<SemanticModelInfo> getMetadataByGreatestAsset(
       @Nonnull final UUID assetId);
 
+  /**
+   * Retrieves the Manifests of the Models in the transitive closure of the dependencies of the
+   * Models that carry a given Asset Version, including those Models.
+   * <p>
+   * Implementations should be safe with respect to cyclic dependencies, and return each Model at
+   * most once.
+   *
+   * @param assetId the ID of the root Asset Version
+   * @return the metadata manifest for all the Models in the dependency closure, as a Stream
+   */
+  @Nonnull
+  Stream<SemanticModelInfo> getDependencyClosureByAssetVersion(
+      @Nonnull final KeyIdentifier assetId);
+
   /**
    * Retrieves the Manifest of the Services exposed by the Model with a given ID
    *
@@ -160,6 +175,20 @@ public interface TTWKnowledgeStore {
     return downloadXmlModel(info, null);
   }
 
+  /**
+   * Given a batch of Model Manifests, retrieves a copy of each of the described Models, in their
+   * default form.
+   * <p>
+   * Implementations are expected to retrieve the Models in bulk, concurrently where possible.
+   *
+   * @param infos the Manifests of the Models
+   * @return a Manifest to Model Map, for the Models that could be retrieved
+   * @see #downloadXmlModel(TrisotechFileInfo)
+   */
+  @Nonnull
+  Map<SemanticModelInfo, Document> downloadXmlModels(
+      @Nonnull final Collection<SemanticModelInfo> infos);
+
   /* ---------------------------------------------------------------------------------------- */
 
   /**
@@ -21,6 +21,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
 import edu.mayo.kmdp.trisotechwrapper.components.operators.ClinicalFocusKEMtoMVFTranslatorAddOn;
 import edu.mayo.kmdp.trisotechwrapper.components.operators.ClinicalSituationKEMtoMVFTranslatorAddOn;
 import edu.mayo.kmdp.trisotechwrapper.components.operators.KEMtoMVFTranslator;
@@ -41,6 +42,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -50,6 +52,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -57,6 +60,7 @@ import org.apache.http.HttpException;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.jena.query.Query;
 import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.query.ResultSetFactory;
 import org.apache.jena.sparql.resultset.ResultSetMem;
@@ -234,7 +238,7 @@ public class TTWebClient implements TTDigitalEnterpriseServerClient {
       var fromUrl = negotiate(from);
       if (decode(fromUrl.toString(), UTF_8).contains(KEM_JSON.getMimeType())) {
         // convert KEM to a more standard form, then process as BPM+
-        return tryDownloadKEM(fromUrl);
+        return tryDownloadKEM(fromUrl, MetricsHelper.placeTag(from));
       } else {
         return tryDownloadXmlModel(fromUrl);
       }
@@ -252,15 +256,19 @@ public class TTWebClient implements TTDigitalEnterpriseServerClient {
    * which have a primary XML-based serialization
    *
    * @param fromUrl the TT DES URL where the model to be downloaded is available
+   * @param placeId the ID of the Place the model is stored in, used to tag the translation timer
    * @return the KEM model, as a MVF/XML document
    */
   @Nonnull
   protected Optional<Document> tryDownloadKEM(
-      @Nonnull final URL fromUrl) {
+      @Nonnull final URL fromUrl,
+      @Nonnull final String placeId) {
     try {
       return tryDownloadNativeModel(fromUrl)
           .flatMap(j -> JSonUtil.parseJson(j, KemModel.class))
-          .map(keMtoMVFTranslator::translate)
+          .map(kem -> MetricsHelper.timed(MetricsHelper.KEM_TRANSLATION,
+              () -> keMtoMVFTranslator.translate(kem),
+              MetricsHelper.TAG_PLACE, placeId))
           .flatMap(mvg -> JaxbUtil.marshallDox(
               List.of(MVFDictionary.class),
               mvg,
@@ -278,8 +286,8 @@ public class TTWebClient implements TTDigitalEnterpriseServerClient {
       @Nonnull final String baseUrl,
       @Nonnull final Set<String> execEnvs) {
     if (!online) {
-      logger.warn("Client is offline - unable to get Execution Artifacts data");
-      return Collections.emptyList();
+      throw new IllegalStateException(
+          "Client is offline - unable to get Execution Artifacts data");
     }
     try {
       URL url = new URL(toApiEndpoint(baseUrl) + EXEC_ARTIFACTS_PATH);
@@ -288,8 +296,7 @@ public class TTWebClient implements TTDigitalEnterpriseServerClient {
               .map(xc -> ensureContainerInfo(xc, baseUrl, env)))
           .collect(Collectors.toList());
     } catch (IOException ioe) {
-      logger.error(ioe.getMessage(), ioe);
-      return Collections.emptyList();
+      throw new UncheckedIOException(ioe);
     }
   }
 
@@ -590,13 +597,44 @@ public class TTWebClient implements TTDigitalEnterpriseServerClient {
       return new ResultSetMem();
     }
 
-    try (var exec =
-        QueryExecution.service(sparqlEndpoint)
-            .httpHeader("Authorization", getBearerTokenHeader())
-            .query(query)
-            .build()) {
+    try (var exec = newQueryExecution(query)) {
       return ResultSetFactory.copyResults(exec.execSelect());
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The results are consumed while the connection to the SPARQL endpoint is open, and are not
+   * copied. If the client is offline, falls back to {@link #askQuery(Query)}
+   */
+  @Override
+  public void askQuery(
+      @Nonnull final Query query,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    if (!online) {
+      askQuery(query).forEachRemaining(consumer);
+      return;
+    }
+
+    try (var exec = newQueryExecution(query)) {
+      exec.execSelect().forEachRemaining(consumer);
+    }
+  }
+
+  /**
+   * Prepares the execution of a query against the DES SPARQL endpoint, including auth information
+   *
+   * @param query the SPARQL query
+   * @return the {@link QueryExecution}, which must be closed by the caller
+   */
+  @Nonnull
+  private QueryExecution newQueryExecution(
+      @Nonnull final Query query) {
+    return QueryExecution.service(sparqlEndpoint)
+        .httpHeader("Authorization", getBearerTokenHeader())
+        .query(query)
+        .build();
+  }
+
 }
@@ -1,22 +1,38 @@
 package edu.mayo.kmdp.trisotechwrapper.components.cache;
 
+import static edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper.refreshPlace;
 import static edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper.reindexPlace;
 import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.CACHE_EXPIRATION;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_CACHE_BUDGET;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.PLACE_CACHE_ADHOC_SIZE;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.SPARQL_BATCH_PLACES;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.SPARQL_PAGE_SIZE;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
 import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
 import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
 import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -35,26 +51,43 @@ import org.w3c.dom.Document;
 public final class AssetCacheHelper {
 
   /**
-   * Initial size of the Place/Path Cache
-   * <p>
-   * TODO: Consider moving to a configuration parameter
+   * Initial size of the Place/Path Cache, in addition to the configured Places
    */
   public static final int PLACE_CACHE_INIT_SIZE = 3;
   /**
-   * Maximum size of the Place/Path Cache. Estimated at 3-5 times the initial size of the
-   * PLACE_CACHE_INIT_SIZE
+   * Number of expiration periods the index of an ad-hoc Place is retained for, since it was last
+   * (re)indexed or confirmed to be current. Indexes are refreshed, on access, after one period.
    */
-  public static final int PLACE_CACHE_MAX_SIZE = 4 * PLACE_CACHE_INIT_SIZE;
+  public static final int PLACE_CACHE_MAX_LEASES = 4;
   /**
    * Maximum size of the Models Cache. Estimated at 10 times the initial size of the
    * PLACE_CACHE_INIT_SIZE
    */
   public static final int MODEL_CACHE_INIT_SIZE = 10 * PLACE_CACHE_INIT_SIZE;
   /**
-   * Maximum size of the Models Cache Estimated at 5 times the initial size of the
-   * MODEL_CACHE_INIT_SIZE
+   * Number of bytes in a MB, as the unit of the Model cache budget
+   */
+  private static final long MB = 1024L * 1024L;
+
+  /**
+   * Name of the thread pool used to load Models in bulk
+   */
+  public static final String MODEL_LOADER_POOL = "ttw-model-loader";
+
+  /**
+   * Name of the thread pool used to refresh the Place indexes in the background
+   */
+  public static final String PLACE_REFRESH_POOL = "ttw-place-refresh";
+
+  /**
+   * Name of the Place/Path cache, for monitoring purposes
+   */
+  public static final String PLACE_CACHE_NAME = "ttw.places";
+
+  /**
+   * Name of the Model cache, for monitoring purposes
    */
-  public static final int MODEL_CACHE_MAX_SIZE = 5 * MODEL_CACHE_INIT_SIZE;
+  public static final String MODEL_CACHE_NAME = "ttw.models";
 
   /**
    * Logger
@@ -71,11 +104,29 @@ public final class AssetCacheHelper {
 
   /**
    * Builds the Place/Path cache, querying the DES graph based on the configured Place scopes
+   * <p>
+   * Once an index is older than the configured expiration, the next access triggers an
+   * asynchronous refresh, which probes the Place for changes, and only reindexes the Place if it
+   * has changed. Otherwise, the current index is retained, and its lease extended. Refreshes run
+   * on the given Executor, rather than on the common pool, and are never batched.
+   * <p>
+   * The indexes of the configured Places are pinned: they are never evicted for size, nor do they
+   * expire. Only the indexes of ad-hoc Places, which are not in scope, are bounded by
+   * {@link TTWConfigParamsDef#PLACE_CACHE_ADHOC_SIZE}, and expire if not accessed for
+   * {@link #PLACE_CACHE_MAX_LEASES} periods.
+   * <p>
+   * When a Place is reindexed on refresh, the Manifests of its unchanged Models are carried over.
+   * Whenever the index of a Place is replaced, e.g. by a refresh, the replaced index is reported
+   * to a listener, once the new index has been written to the cache. Refreshes that complete after
+   * the Place has been invalidated are discarded, and not reported. Loads are not reported either:
+   * callers are expected to publish the indexes they load
    *
    * @param scopedPaths the Place/Path scopes
    * @param webClient   the DES API client
+   * @param onReplace   the listener notified with the Place, and its replaced index
+   * @param refresher   the Executor used to refresh the indexes, owned by the caller
    * @param cfg         the environment configuration
-   * @return a Place/Path {@link LoadingCache}
+   * @return a Place/Path {@link LoadingCache}, with bound metrics
    * @see PlaceScopeHelper
    * @see PlacePathIndex
    */
@@ -83,39 +134,70 @@ public final class AssetCacheHelper {
   public static LoadingCache<TrisotechPlace, PlacePathIndex> newPlaceCache(
       @Nonnull final Map<TrisotechPlace, Set<String>> scopedPaths,
       @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final BiConsumer<TrisotechPlace, PlacePathIndex> onReplace,
+      @Nonnull final Executor refresher,
       @Nonnull final TTWEnvironmentConfiguration cfg) {
-    return Caffeine.newBuilder()
-        .expireAfterWrite(cfg.getTyped(CACHE_EXPIRATION, Long.class), TimeUnit.MINUTES)
-        .initialCapacity(PLACE_CACHE_INIT_SIZE)
-        .maximumSize(PLACE_CACHE_MAX_SIZE)
+    long expiration = cfg.getTyped(CACHE_EXPIRATION, Long.class);
+    var policy = new PlaceCachePolicy(scopedPaths.keySet(), PLACE_CACHE_MAX_LEASES * expiration);
+    LoadingCache<TrisotechPlace, PlacePathIndex> placeCache = Caffeine.newBuilder()
+        .refreshAfterWrite(expiration, TimeUnit.MINUTES)
+        .executor(refresher)
+        .expireAfter(policy)
+        .initialCapacity(scopedPaths.size() + PLACE_CACHE_INIT_SIZE)
+        .maximumWeight(Math.max(1, cfg.getTyped(PLACE_CACHE_ADHOC_SIZE, Integer.class)))
+        .weigher(policy)
         .recordStats()
         .evictionListener((RemovalListener<TrisotechPlace, PlacePathIndex>) (key, value, cause) -> {
           if (value != null) {
             value.destroy();
           }
         })
+        .removalListener((RemovalListener<TrisotechPlace, PlacePathIndex>) (key, value, cause) -> {
+          // notified after the write, on the refresher
+          if (cause == RemovalCause.REPLACED && key != null && value != null) {
+            onReplace.accept(key, value);
+          }
+        })
         .build(new CacheLoader<>() {
           @Override
           public @Nonnull PlacePathIndex load(@Nonnull TrisotechPlace key) {
             return reindexPlace(webClient, key, scopedPaths.get(key), cfg);
           }
 
+          @Override
+          public @Nonnull PlacePathIndex reload(
+              @Nonnull TrisotechPlace key, @Nonnull PlacePathIndex oldValue) {
+            return refreshPlace(webClient, key, scopedPaths.get(key), oldValue, cfg);
+          }
+
           @Override
           public @Nonnull Map<TrisotechPlace, PlacePathIndex> loadAll(
               @Nonnull Iterable<? extends TrisotechPlace> placeIds) {
             return reindexPlaces(placeIds, scopedPaths, webClient, cfg);
           }
         });
+    return MetricsHelper.monitor(placeCache, PLACE_CACHE_NAME);
   }
 
   /**
    * Builds the Model cache, configuring the Model acquisition function, which normalizes the
-   * model's XML document in the process
+   * model's XML document in the process.
+   * <p>
+   * Bulk loads (see {@link LoadingCache#getAll(Iterable)}) download and normalize the requested
+   * Models concurrently, using a pool bounded by {@link TTWConfigParamsDef#FETCH_PARALLELISM}.
+   * Models that cannot be loaded are omitted from the bulk result, rather than failing the batch.
+   * <p>
+   * Models expire based on their publication state, so that Published Models are not reloaded as
+   * often as Drafts. The cache is bounded by the estimated size of the Models, in bytes, rather
+   * than by their number
    *
-   * @param preProcessor an Operator used to manipulate the models as they are loaded
    * @param webClient    the DES API client
+   * @param preProcessor an Operator used to manipulate the models as they are loaded
+   * @param loaderPool   the Executor used to load the Models in bulk, owned by the caller
+   * @param manifests    resolves the current Manifest of a Model, by Model ID, to determine the
+   *                     lifetime of the replaced Models
    * @param cfg          the environment configuration
-   * @return a Manifest/Model {@link LoadingCache}
+   * @return a Manifest/Model {@link LoadingCache}, with bound metrics
    * @see SemanticModelInfo
    * @see Document
    */
@@ -123,24 +205,99 @@ public final class AssetCacheHelper {
   public static LoadingCache<SemanticModelInfo, Document> newModelCache(
       @Nonnull final TTDigitalEnterpriseServerClient webClient,
       @Nonnull final UnaryOperator<Document> preProcessor,
+      @Nonnull final Executor loaderPool,
+      @Nonnull final Function<String, Optional<SemanticModelInfo>> manifests,
       @Nonnull final TTWEnvironmentConfiguration cfg) {
-    return Caffeine.newBuilder()
-        .expireAfterWrite(cfg.getTyped(CACHE_EXPIRATION, Long.class), TimeUnit.MINUTES)
+    LoadingCache<SemanticModelInfo, Document> modelCache = Caffeine.newBuilder()
+        .expireAfter(new ModelCacheExpiry(cfg, manifests))
         .initialCapacity(MODEL_CACHE_INIT_SIZE)
-        .maximumSize(MODEL_CACHE_MAX_SIZE)
+        .maximumWeight(getModelCacheBudget(cfg))
+        .weigher(new ModelWeigher())
         .recordStats()
         .build(new CacheLoader<>() {
           @Override
           public @Nullable Document load(@Nonnull SemanticModelInfo key) {
-            return webClient.downloadXmlModel(key)
-                .map(preProcessor)
-                .orElse(null);
+            return loadModel(key, webClient, preProcessor).orElse(null);
+          }
+
+          @Override
+          public @Nonnull Map<SemanticModelInfo, Document> loadAll(
+              @Nonnull Iterable<? extends SemanticModelInfo> keys) {
+            return loadModels(keys, webClient, preProcessor, loaderPool);
           }
         });
+    return MetricsHelper.monitor(modelCache, MODEL_CACHE_NAME);
+  }
+
+  /**
+   * @param cfg the environment configuration
+   * @return the configured budget of the Model cache, in bytes
+   * @see ModelWeigher
+   */
+  public static long getModelCacheBudget(
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    return Math.max(1, cfg.getTyped(MODEL_CACHE_BUDGET, Long.class)) * MB;
+  }
+
+  /**
+   * Downloads and normalizes a Model. The normalization is timed, tagged by Place and Language
+   *
+   * @param key          the Model Manifest
+   * @param webClient    the DES API client
+   * @param preProcessor the Operator used to normalize the Model
+   * @return the normalized Model, if able to download it
+   */
+  @Nonnull
+  private static Optional<Document> loadModel(
+      @Nonnull final SemanticModelInfo key,
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final UnaryOperator<Document> preProcessor) {
+    return webClient.downloadXmlModel(key)
+        .map(dox -> MetricsHelper.timed(MetricsHelper.MODEL_PREPROCESS,
+            () -> preProcessor.apply(dox),
+            MetricsHelper.TAG_PLACE, MetricsHelper.placeTag(key),
+            MetricsHelper.TAG_LANGUAGE, MetricsHelper.languageTag(key)));
+  }
+
+  /**
+   * Downloads and normalizes a batch of Models, concurrently
+   * <p>
+   * Note that the pre-processor may resolve (and load) other Models through the Model cache. Since
+   * Caffeine does not reserve the keys of a bulk load, such nested loads do not block on the batch,
+   * at the cost of occasionally loading the same Model twice.
+   *
+   * @param keys         the Model Manifests
+   * @param webClient    the DES API client
+   * @param preProcessor the Operator used to normalize the Models
+   * @param loaderPool   the Executor used to load the Models
+   * @return a Manifest to Model Map, for the Models that could be loaded
+   */
+  @Nonnull
+  private static Map<SemanticModelInfo, Document> loadModels(
+      @Nonnull final Iterable<? extends SemanticModelInfo> keys,
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final UnaryOperator<Document> preProcessor,
+      @Nonnull final Executor loaderPool) {
+    Map<SemanticModelInfo, CompletableFuture<Optional<Document>>> pending = new LinkedHashMap<>();
+    for (SemanticModelInfo key : keys) {
+      pending.put(key, CompletableFuture
+          .supplyAsync(() -> loadModel(key, webClient, preProcessor), loaderPool)
+          .exceptionally(t -> {
+            logger.warn("Unable to load model {} : {}", key.getId(), t.getMessage());
+            return Optional.empty();
+          }));
+    }
+    Map<SemanticModelInfo, Document> loaded = new HashMap<>();
+    pending.forEach((key, fut) -> fut.join().ifPresent(dox -> loaded.put(key, dox)));
+    return loaded;
   }
 
   /**
    * Iterates over a given set of Places, (re)indexing each Place
+   * <p>
+   * If {@link TTWConfigParamsDef#SPARQL_BATCH_PLACES} is set, and the indexing queries are not
+   * paged, the Places are indexed together, in one batch. Note that this only applies to bulk
+   * loads: Caffeine refreshes the indexes one at a time, so each Place is refreshed on its own
    *
    * @param places      the Places to be (re)indexes
    * @param scopedPaths the Place/Path filters
@@ -154,6 +311,12 @@ public final class AssetCacheHelper {
       @Nonnull final Map<TrisotechPlace, Set<String>> scopedPaths,
       @Nonnull final TTDigitalEnterpriseServerClient client,
       @Nonnull final TTWEnvironmentConfiguration cfg) {
+    if (cfg.getTyped(SPARQL_BATCH_PLACES, Boolean.class)
+        && cfg.getTyped(SPARQL_PAGE_SIZE, Integer.class) <= 0) {
+      Map<TrisotechPlace, Set<String>> batch = new LinkedHashMap<>();
+      places.forEach(place -> batch.put(place, scopedPaths.get(place)));
+      return TTGraphQueryHelper.reindexPlaces(client, batch, cfg);
+    }
     if (logger.isDebugEnabled()) {
       logger.debug("Start Indexing of all Places");
     }
@@ -3,9 +3,11 @@ package edu.mayo.kmdp.trisotechwrapper.components.cache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
 import edu.mayo.kmdp.trisotechwrapper.components.TTWKnowledgeStore;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlaceIndexDelta;
 import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.w3c.dom.Document;
 
@@ -15,7 +17,15 @@ import org.w3c.dom.Document;
  * Implementations are expected to provide a Cache by Place, which will index a Place scoped by the
  * configured Paths within that Place, and Cache by Model, which will store individual Models
  */
-public interface CachingTTWKnowledgeStore extends TTWKnowledgeStore {
+public interface CachingTTWKnowledgeStore extends TTWKnowledgeStore, AutoCloseable {
+
+  /**
+   * Releases the resources (e.g. background threads) held by this store, if any
+   */
+  @Override
+  default void close() {
+    // nothing to release, by default
+  }
 
   /**
    * @return the Place/Path cache used to index the TT DES graph
@@ -27,6 +37,12 @@ public interface CachingTTWKnowledgeStore extends TTWKnowledgeStore {
    */
   @NonNull LoadingCache<SemanticModelInfo, Document> getModelCache();
 
+  /**
+   * @return the current generation of the catalog of the configured Places, which bundles their
+   * indexes, as last published by the Place cache
+   */
+  @NonNull CatalogGeneration getCatalog();
+
   /**
    * Invalidates the Place and Model Caches, for all Places and Models
    */
@@ -40,6 +56,25 @@ public interface CachingTTWKnowledgeStore extends TTWKnowledgeStore {
   void invalidatePlaceCache(
       @NonNull final String placeId);
 
+  /**
+   * Reindexes a given Place, replacing its index in the Place Cache. Only the Models that have
+   * changed, or have been removed from the Place, are invalidated in the Model Cache
+   *
+   * @param placeId the ID of the Place
+   * @see PlaceIndexDelta
+   */
+  void rescanPlaceCache(
+      @NonNull final String placeId);
+
+  /**
+   * Registers a listener, to be notified of the changes to the Models in a Place, whenever the
+   * Place is reindexed
+   *
+   * @param listener the listener
+   */
+  void addPlaceChangeListener(
+      @NonNull final Consumer<PlaceIndexDelta> listener);
+
   /**
    * Invalidates the Model Cache for a given Model ID
    *
@@ -1,16 +1,25 @@
 package edu.mayo.kmdp.trisotechwrapper.components.cache;
 
 import static edu.mayo.kmdp.trisotechwrapper.config.TTNotations.mimeMatches;
-import static java.util.Collections.emptySortedSet;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.FETCH_PARALLELISM;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_CACHE_HEAP_PRESSURE;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_PREWARM;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.WARM_LIST_FILE;
 
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
 import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
 import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlaceIndexDelta;
 import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -18,6 +27,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,6 +46,14 @@ import org.w3c.dom.Document;
 
 /**
  * Implementation of {@link CachingTTWKnowledgeStore} based on Caffeine {@link LoadingCache}s
+ * <p>
+ * The indexes of the configured Places are also published as a {@link CatalogGeneration}, which
+ * is replaced atomically whenever a Place is (re)indexed or invalidated. Metadata lookups read
+ * from the current generation, so that they are consistent across Places, and do not go through
+ * the Place cache. An index is published only once written to the Place cache, and only while it
+ * is still the cached one, so that a (re)load that completes after an invalidation cannot
+ * publish a stale index. The Place cache is probed in the background, so that the indexes are
+ * refreshed as per the cache policy.
  */
 public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
 
@@ -38,6 +62,16 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
    */
   private static final Logger logger = LoggerFactory.getLogger(CaffeineCacheManager.class);
 
+  /**
+   * Name of the thread that probes the Place cache
+   */
+  public static final String CATALOG_PROBE_POOL = "ttw-catalog-probe";
+
+  /**
+   * How often the Place cache is probed, in minutes
+   */
+  private static final long CATALOG_PROBE_PERIOD = 1;
+
   /**
    * The DES Web client, used to query the TT DES Graph, API and retrieve Models
    */
@@ -62,6 +96,56 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
    */
   protected LoadingCache<SemanticModelInfo, Document> modelCache;
 
+  /**
+   * The bounded pool used by the Place Cache to refresh the indexes
+   */
+  @Nonnull
+  protected final ExecutorService placeRefresher;
+
+  /**
+   * The bounded pool used by the Model Cache to load Models in bulk
+   */
+  @Nonnull
+  protected final ExecutorService modelLoader;
+
+  /**
+   * Loads the Models of (re)indexed Places in the background, if enabled
+   */
+  @Nullable
+  protected ModelCachePrewarmer prewarmer;
+
+  /**
+   * Persists the most accessed Models and Assets, to be preloaded on restart, if enabled
+   */
+  @Nullable
+  protected HotKeyWarmList warmList;
+
+  /**
+   * Shrinks the Model cache budget under heap pressure, if enabled
+   */
+  @Nullable
+  protected HeapPressureMonitor heapMonitor;
+
+  /**
+   * The current generation of the catalog of the configured Places
+   */
+  protected final AtomicReference<CatalogGeneration> catalog =
+      new AtomicReference<>(CatalogGeneration.initial());
+
+  /**
+   * The scheduler that probes the Place cache, triggering the refresh of the stale indexes, and
+   * the reload of the invalidated ones
+   */
+  @Nonnull
+  protected final ScheduledExecutorService catalogProbe =
+      ExecutorHelper.newScheduler(CATALOG_PROBE_POOL);
+
+  /**
+   * The listeners notified when a Place is loaded or reindexed
+   */
+  protected final List<Consumer<PlaceIndexDelta>> placeChangeListeners =
+      new CopyOnWriteArrayList<>();
+
   /**
    * Constructor.
    * <p>
@@ -83,25 +167,202 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
     this.cfg = cfg;
     this.scopedPlacePaths = PlaceScopeHelper.getScope(cfg, webClient);
 
-    placeCache = AssetCacheHelper.newPlaceCache(scopedPlacePaths, webClient, cfg);
+    placeRefresher = ExecutorHelper.newBoundedExecutor(
+        AssetCacheHelper.PLACE_REFRESH_POOL, cfg.getTyped(FETCH_PARALLELISM, Integer.class));
+    placeCache = AssetCacheHelper.newPlaceCache(
+        scopedPlacePaths, webClient, this::onPlaceReplaced, placeRefresher, cfg);
+
+    modelLoader = ExecutorHelper.newBoundedExecutor(
+        AssetCacheHelper.MODEL_LOADER_POOL, cfg.getTyped(FETCH_PARALLELISM, Integer.class));
+    modelCache = AssetCacheHelper.newModelCache(
+        webClient, preProcessor, modelLoader, modelId -> catalog.get().getManifest(modelId), cfg);
+    if (Boolean.TRUE.equals(cfg.getTyped(MODEL_PREWARM, Boolean.class))) {
+      prewarmer = new ModelCachePrewarmer(modelCache, cfg);
+    }
+
+    // publishing the loaded Places prewarms their Models
     var loaded = getAllCachedPlaces();
     if (loaded.size() < scopedPlacePaths.size() && logger.isWarnEnabled()) {
       logger.warn("Unable to load all configured Places, check the /health state");
     }
+    if (Boolean.TRUE.equals(cfg.getTyped(MODEL_CACHE_HEAP_PRESSURE, Boolean.class))) {
+      heapMonitor = new HeapPressureMonitor(
+          modelCache, AssetCacheHelper.getModelCacheBudget(cfg), cfg);
+    }
+    var warmListFile = cfg.tryGetTyped(WARM_LIST_FILE, String.class);
+    if (warmListFile.isPresent()) {
+      warmList = new HotKeyWarmList(Path.of(warmListFile.get()), modelCache, cfg);
+      warmList.preload(this::getMetadataByArtifact, this::lookupMetadataByAssetVersion);
+    }
+    catalogProbe.scheduleAtFixedRate(
+        this::probePlaces, CATALOG_PROBE_PERIOD, CATALOG_PROBE_PERIOD, TimeUnit.MINUTES);
+  }
 
-    modelCache = AssetCacheHelper.newModelCache(webClient, preProcessor, cfg);
+  /**
+   * Stops the background threads used to probe and refresh the Places, and to load and prewarm
+   * the Models, stops persisting the warm list, and detaches from the garbage collectors
+   */
+  @Override
+  public void close() {
+    catalogProbe.shutdownNow();
+    if (warmList != null) {
+      warmList.close();
+    }
+    if (prewarmer != null) {
+      prewarmer.close();
+    }
+    if (heapMonitor != null) {
+      heapMonitor.close();
+    }
+    placeRefresher.shutdownNow();
+    modelLoader.shutdownNow();
   }
 
   @Override
   public void invalidateCaches() {
     placeCache.invalidateAll();
+    catalog.updateAndGet(CatalogGeneration::cleared);
     modelCache.invalidateAll();
   }
 
   @Override
   public void invalidatePlaceCache(
       @Nonnull final String placeId) {
-    placeCache.invalidate(placeId);
+    var place = TrisotechPlace.key(placeId);
+    placeCache.invalidate(place);
+    // always a new generation, so that a concurrent publication of the Place re-checks the cache
+    if (scopedPlacePaths.containsKey(place)) {
+      catalog.updateAndGet(gen -> gen.without(place));
+    }
+  }
+
+  @Override
+  public void rescanPlaceCache(
+      @Nonnull final String placeId) {
+    var place = scopedPlacePaths.keySet().stream()
+        .filter(p -> p.getId().equals(placeId))
+        .findFirst();
+    if (place.isEmpty()) {
+      logger.warn("Unable to rescan Place {}, not in scope", placeId);
+      return;
+    }
+    // reindex within the mapping of the Place, so that concurrent (re)loads do not interleave
+    var previous = new AtomicReference<PlacePathIndex>();
+    var next = placeCache.asMap().compute(place.get(), (key, current) -> {
+      previous.set(current);
+      return TTGraphQueryHelper.reindexPlace(
+          webClient, key, scopedPlacePaths.get(key), current, cfg);
+    });
+    publish(next, previous.get());
+  }
+
+  @Override
+  public void addPlaceChangeListener(
+      @Nonnull final Consumer<PlaceIndexDelta> listener) {
+    placeChangeListeners.add(listener);
+  }
+
+  /**
+   * Reacts to the replacement of the index of a Place in the Place cache, e.g. by a refresh,
+   * publishing the index that replaced it, if still cached
+   *
+   * @param place    the Place
+   * @param replaced the replaced index
+   */
+  protected void onPlaceReplaced(
+      @Nonnull final TrisotechPlace place,
+      @Nonnull final PlacePathIndex replaced) {
+    var current = placeCache.asMap().get(place);
+    if (current != null && current != replaced) {
+      publish(current, replaced);
+    }
+  }
+
+  /**
+   * Publishes the indexes loaded through the Place cache
+   *
+   * @param indexes the loaded indexes
+   * @return the loaded indexes
+   * @see #publish(PlacePathIndex, PlacePathIndex)
+   */
+  @Nonnull
+  protected Map<TrisotechPlace, PlacePathIndex> publishAll(
+      @Nonnull final Map<TrisotechPlace, PlacePathIndex> indexes) {
+    indexes.values().forEach(ppi -> publish(ppi, null));
+    return indexes;
+  }
+
+  /**
+   * Publishes the index of a Place, once written to the Place cache.
+   * <p>
+   * If the Place is configured, the next catalog generation is published with the new index,
+   * unless the index has been published already, or is no longer the cached one, e.g. because the
+   * Place has been invalidated, or reindexed again, meanwhile. The check and the swap are atomic
+   * with respect to the other publications, and to the invalidations, which clear the Place
+   * cache before the catalog. The changes are then computed against the index that was published
+   * before. Ad-hoc Places are not part of the catalog: their changes are computed against the
+   * index replaced in the Place cache, if any
+   *
+   * @param index    the index, as written to the Place cache
+   * @param replaced the index replaced in the Place cache, if any
+   */
+  protected void publish(
+      @Nonnull final PlacePathIndex index,
+      @Nullable final PlacePathIndex replaced) {
+    var place = index.getPlace();
+    if (!scopedPlacePaths.containsKey(place)) {
+      onPlaceChange(PlaceIndexDelta.between(replaced, index));
+      return;
+    }
+    var previous = new AtomicReference<PlacePathIndex>();
+    var swapped = new AtomicBoolean();
+    var gen = catalog.updateAndGet(current -> {
+      var published = current.getPlaces().get(place);
+      previous.set(published);
+      swapped.set(published != index && placeCache.asMap().get(place) == index);
+      return swapped.get() ? current.with(index) : current;
+    });
+    if (!swapped.get()) {
+      return;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Published {}", gen);
+    }
+    onPlaceChange(PlaceIndexDelta.between(previous.get(), index));
+  }
+
+  /**
+   * Reacts to the (re)indexing of a Place, once the new index is published, invalidating the
+   * cached copies of the Models that have changed, or have been removed. Models are invalidated
+   * only once the new index is published, so that a reader cannot reload a stale Model from a
+   * Manifest of the previous index after the invalidation. Finally, prewarms the Models that have
+   * been added or changed, and notifies the registered listeners
+   *
+   * @param delta the changes to the Models in the Place
+   */
+  protected void onPlaceChange(
+      @Nonnull final PlaceIndexDelta delta) {
+    if (!delta.isEmpty() && logger.isInfoEnabled()) {
+      logger.info("Place {} has changed : {}", delta.getPlaceId(), delta);
+    }
+    if (modelCache != null) {
+      modelCache.invalidateAll(delta.getStaleModels().stream()
+          .map(SemanticModelInfo::new)
+          .collect(Collectors.toList()));
+    }
+    if (delta.isEmpty()) {
+      return;
+    }
+    if (prewarmer != null) {
+      prewarmer.prewarm(delta);
+    }
+    for (var listener : placeChangeListeners) {
+      try {
+        listener.accept(delta);
+      } catch (RuntimeException e) {
+        logger.warn("Place change listener failed on {} : {}", delta, e.getMessage());
+      }
+    }
   }
 
   @Override
@@ -125,7 +386,9 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
   public Stream<SemanticModelInfo> listAllModelsInfoByPlaceAndMimeClass(
       @Nonnull final String placeId,
       @Nullable final String mimeType) {
-    return Stream.ofNullable(this.getPlaceCache().get(TrisotechPlace.key(placeId)))
+    var place = TrisotechPlace.key(placeId);
+    var published = catalog().getPlaces().get(place);
+    return Stream.ofNullable(published != null ? published : loadPlace(place))
         .flatMap(ppi -> ppi.getModelToManifestMappings().values().stream())
         .filter(si -> mimeType == null || mimeMatches(mimeType, si.getMimetype()));
   }
@@ -134,16 +397,30 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
   @Override
   public Optional<SemanticModelInfo> getMetadataByArtifact(
       @Nonnull final String modelUri) {
-    return forceAllPlaces().flatMap(ppi ->
-        Optional.ofNullable(ppi.getModelToManifestMappings().get(modelUri)).stream()).findFirst();
+    return catalog().getManifest(modelUri);
   }
 
   @Nonnull
   @Override
   public Stream<SemanticModelInfo> getMetadataByAssetVersion(
       @Nonnull KeyIdentifier assetId) {
-    return forceAllPlaces().flatMap(ppi ->
-        ppi.getAssetToManifestMappings().getOrDefault(assetId, emptySortedSet()).stream());
+    if (warmList != null) {
+      warmList.recordAsset(assetId);
+    }
+    return lookupMetadataByAssetVersion(assetId);
+  }
+
+  /**
+   * Looks up the Manifests of the Models that carry a given Asset version, without recording the
+   * lookup
+   *
+   * @param assetId the key of the Asset version
+   * @return the Manifests of the carrier Models
+   */
+  @Nonnull
+  protected Stream<SemanticModelInfo> lookupMetadataByAssetVersion(
+      @Nonnull final KeyIdentifier assetId) {
+    return catalog().getManifestsByAssetVersion(assetId).stream();
   }
 
   @Nonnull
@@ -163,15 +440,21 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
   @Override
   public Stream<SemanticModelInfo> getMetadataByGreatestAsset(
       @Nonnull UUID assetId) {
-    return forceAllPlaces().flatMap(ppi ->
-            ppi.getAssetToManifestMappings().keySet().stream())
-        .filter(key -> Objects.equals(key.getUuid(), assetId))
-        .sorted()
+    return catalog().getAssetVersions(assetId).stream()
         .findFirst()
         .map(this::getMetadataByAssetVersion)
         .orElseGet(Stream::empty);
   }
 
+  @Nonnull
+  @Override
+  public Stream<SemanticModelInfo> getDependencyClosureByAssetVersion(
+      @Nonnull final KeyIdentifier assetId) {
+    return forceAllPlaces().flatMap(ppi ->
+            ppi.getDependencyGraph().getAssetClosure(assetId).stream())
+        .distinct();
+  }
+
   @Nonnull
   @Override
   public Stream<SemanticModelInfo> getServiceMetadataByModel(
@@ -187,10 +470,23 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
   @Override
   public Optional<Document> downloadXmlModel(
       @Nonnull final TrisotechFileInfo info, @Nullable final String mimeType) {
+    if (prewarmer != null) {
+      prewarmer.recordAccess(info.getId());
+    }
     return Optional.ofNullable(
         modelCache.get(asSemanticInfo(info).orElseGet(() -> new SemanticModelInfo(info))));
   }
 
+  @Nonnull
+  @Override
+  public Map<SemanticModelInfo, Document> downloadXmlModels(
+      @Nonnull final Collection<SemanticModelInfo> infos) {
+    if (prewarmer != null) {
+      infos.forEach(info -> prewarmer.recordAccess(info.getId()));
+    }
+    return modelCache.getAll(infos);
+  }
+
   @Nonnull
   @Override
   public LoadingCache<TrisotechPlace, PlacePathIndex> getPlaceCache() {
@@ -212,7 +508,7 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
   @Nonnull
   @Override
   public Set<TrisotechPlace> getAllCachedPlaces() {
-    return getPlaceCache().getAll(scopedPlacePaths.keySet()).keySet();
+    return publishAll(getPlaceCache().getAll(scopedPlacePaths.keySet())).keySet();
   }
 
   @Nonnull
@@ -228,14 +524,70 @@ public class CaffeineCacheManager implements CachingTTWKnowledgeStore {
   }
 
 
+  @Nonnull
+  @Override
+  public CatalogGeneration getCatalog() {
+    return catalog.get();
+  }
+
+  /**
+   * Returns the current catalog generation, ensuring that all the configured Places are indexed.
+   * <p>
+   * If any configured Place is not indexed in the current generation, e.g. because it has been
+   * invalidated, the missing Places are (re)loaded through the Place Cache, and published in the
+   * next generation(s).
+   *
+   * @return the current catalog generation
+   */
+  @Nonnull
+  protected CatalogGeneration catalog() {
+    var current = catalog.get();
+    if (!current.covers(scopedPlacePaths.keySet())) {
+      publishAll(placeCache.getAll(scopedPlacePaths.keySet()));
+      current = catalog.get();
+    }
+    return current;
+  }
+
   /**
-   * Forces the Place Cache content to be loaded, then returns the cached Values
+   * Returns the indexes of the configured Places, from the current catalog generation
    *
-   * @return the values in the Place Cache, fully loaded, as a Stream
+   * @return the indexes of the configured Places, as a Stream
    */
   @Nonnull
   protected Stream<PlacePathIndex> forceAllPlaces() {
-    return placeCache.getAll(scopedPlacePaths.keySet()).values().stream();
+    return catalog().getPlaces().values().stream();
+  }
+
+  /**
+   * Loads the index of a Place through the Place Cache, publishing it if loaded, or if the Place
+   * is configured (the publication of a configured Place being idempotent)
+   *
+   * @param place the Place
+   * @return the index of the Place, if any
+   */
+  @Nullable
+  protected PlacePathIndex loadPlace(
+      @Nonnull final TrisotechPlace place) {
+    var cached = placeCache.getIfPresent(place);
+    var ppi = cached != null ? cached : placeCache.get(place);
+    if (ppi != null && (cached == null || scopedPlacePaths.containsKey(place))) {
+      publish(ppi, null);
+    }
+    return ppi;
+  }
+
+  /**
+   * Probes the Place Cache for the configured Places, so that the indexes are refreshed as per
+   * the cache policy, and any invalidated index is reloaded and published, even if no reader
+   * accesses the cache
+   */
+  protected void probePlaces() {
+    try {
+      publishAll(placeCache.getAll(scopedPlacePaths.keySet()));
+    } catch (RuntimeException e) {
+      logger.warn("Unable to probe the Place cache : {}", e.getMessage());
+    }
   }
 
   /**
@@ -0,0 +1,227 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import org.omg.spec.api4kp._20200801.id.KeyIdentifier;
+
+/**
+ * An immutable snapshot of the indexed (configured) Places, with the global lookups derived from
+ * them.
+ * <p>
+ * A generation bundles the {@link PlacePathIndex} of each Place, and the lookups across Places:
+ * Model Manifests by Model ID, by Asset version, and the Asset versions by Asset ID. Generations
+ * are never modified: whenever a Place is (re)indexed or invalidated, the next generation is built
+ * from the current one, and replaces it atomically. Readers that grab a generation see one
+ * consistent set of Places, with no locking, regardless of any concurrent refresh.
+ * <p>
+ * Generations are numbered in the order they are built.
+ */
+public final class CatalogGeneration {
+
+  /**
+   * The number of this generation
+   */
+  private final long number;
+
+  /**
+   * When this generation was built
+   */
+  @Nonnull
+  private final Instant builtAt;
+
+  /**
+   * The Place indexes, in the order the Places were indexed
+   */
+  @Nonnull
+  private final Map<TrisotechPlace, PlacePathIndex> places;
+
+  /**
+   * The Model Manifests, by Model ID. If a Model is indexed in more than one Place, the first
+   * Place wins
+   */
+  @Nonnull
+  private final Map<String, SemanticModelInfo> manifestsByModel;
+
+  /**
+   * The Manifests of the Models that carry a given Asset version, across Places
+   */
+  @Nonnull
+  private final Map<KeyIdentifier, List<SemanticModelInfo>> manifestsByAssetVersion;
+
+  /**
+   * The versions of a given Asset, in the natural order of their keys
+   */
+  @Nonnull
+  private final Map<UUID, List<KeyIdentifier>> assetVersions;
+
+  /**
+   * Constructor.
+   * <p>
+   * Derives the global lookups from the Place indexes
+   *
+   * @param number the number of this generation
+   * @param places the Place indexes
+   */
+  private CatalogGeneration(
+      final long number,
+      @Nonnull final Map<TrisotechPlace, PlacePathIndex> places) {
+    this.number = number;
+    this.builtAt = Instant.now();
+    this.places = Collections.unmodifiableMap(places);
+
+    Map<String, SemanticModelInfo> byModel = new HashMap<>();
+    Map<KeyIdentifier, List<SemanticModelInfo>> byAssetVersion = new HashMap<>();
+    Map<UUID, SortedSet<KeyIdentifier>> versions = new HashMap<>();
+    for (var ppi : places.values()) {
+      ppi.getModelToManifestMappings().forEach(byModel::putIfAbsent);
+      ppi.getAssetToManifestMappings().forEach((key, manifests) -> {
+        byAssetVersion.computeIfAbsent(key, k -> new ArrayList<>()).addAll(manifests);
+        versions.computeIfAbsent(key.getUuid(), k -> new TreeSet<>()).add(key);
+      });
+    }
+    this.manifestsByModel = Map.copyOf(byModel);
+    Map<KeyIdentifier, List<SemanticModelInfo>> frozenByAssetVersion = new HashMap<>();
+    byAssetVersion.forEach((k, v) -> frozenByAssetVersion.put(k, List.copyOf(v)));
+    this.manifestsByAssetVersion = Map.copyOf(frozenByAssetVersion);
+    Map<UUID, List<KeyIdentifier>> frozenVersions = new HashMap<>();
+    versions.forEach((k, v) -> frozenVersions.put(k, List.copyOf(v)));
+    this.assetVersions = Map.copyOf(frozenVersions);
+  }
+
+  /**
+   * Factory
+   *
+   * @return the first, empty, generation
+   */
+  @Nonnull
+  public static CatalogGeneration initial() {
+    return new CatalogGeneration(0, Collections.emptyMap());
+  }
+
+  /**
+   * Builds the next generation, with a new (or replaced) Place index
+   *
+   * @param index the index of the Place
+   * @return the next generation
+   */
+  @Nonnull
+  public CatalogGeneration with(
+      @Nonnull final PlacePathIndex index) {
+    Map<TrisotechPlace, PlacePathIndex> next = new LinkedHashMap<>(places);
+    next.put(index.getPlace(), index);
+    return new CatalogGeneration(number + 1, next);
+  }
+
+  /**
+   * Builds the next generation, without the index of a given Place
+   *
+   * @param place the Place
+   * @return the next generation
+   */
+  @Nonnull
+  public CatalogGeneration without(
+      @Nonnull final TrisotechPlace place) {
+    Map<TrisotechPlace, PlacePathIndex> next = new LinkedHashMap<>(places);
+    next.remove(place);
+    return new CatalogGeneration(number + 1, next);
+  }
+
+  /**
+   * Builds the next generation, without any Place index
+   *
+   * @return the next, empty, generation
+   */
+  @Nonnull
+  public CatalogGeneration cleared() {
+    return new CatalogGeneration(number + 1, Collections.emptyMap());
+  }
+
+  /**
+   * Predicate
+   *
+   * @param scope a set of Places
+   * @return true if all the Places are indexed in this generation
+   */
+  public boolean covers(
+      @Nonnull final Collection<TrisotechPlace> scope) {
+    return places.keySet().containsAll(scope);
+  }
+
+  /**
+   * @return the number of this generation
+   */
+  public long getNumber() {
+    return number;
+  }
+
+  /**
+   * @return when this generation was built
+   */
+  @Nonnull
+  public Instant getBuiltAt() {
+    return builtAt;
+  }
+
+  /**
+   * @return the Place indexes in this generation
+   */
+  @Nonnull
+  public Map<TrisotechPlace, PlacePathIndex> getPlaces() {
+    return places;
+  }
+
+  /**
+   * @param modelId the ID of a Model
+   * @return the Manifest of the Model, if indexed
+   */
+  @Nonnull
+  public Optional<SemanticModelInfo> getManifest(
+      @Nonnull final String modelId) {
+    return Optional.ofNullable(manifestsByModel.get(modelId));
+  }
+
+  /**
+   * @param assetKey the key of an Asset version
+   * @return the Manifests of the Models that carry the Asset version, across Places
+   */
+  @Nonnull
+  public List<SemanticModelInfo> getManifestsByAssetVersion(
+      @Nonnull final KeyIdentifier assetKey) {
+    return manifestsByAssetVersion.getOrDefault(assetKey, Collections.emptyList());
+  }
+
+  /**
+   * @param assetId the ID of an Asset
+   * @return the keys of the indexed versions of the Asset, in their natural order
+   */
+  @Nonnull
+  public List<KeyIdentifier> getAssetVersions(
+      @Nonnull final UUID assetId) {
+    return assetVersions.getOrDefault(assetId, Collections.emptyList());
+  }
+
+  @Override
+  public String toString() {
+    return "CatalogGeneration{" +
+        "number=" + number +
+        ", builtAt=" + builtAt +
+        ", places=" + places.size() +
+        ", models=" + manifestsByModel.size() +
+        '}';
+  }
+
+}
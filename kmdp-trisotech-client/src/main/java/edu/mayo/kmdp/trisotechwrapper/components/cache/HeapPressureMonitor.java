@@ -0,0 +1,224 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_CACHE_HEAP_THRESHOLD;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shrinks the (weighted) budget of a cache when the JVM is under heap pressure, and restores it
+ * as the pressure subsides.
+ * <p>
+ * After each garbage collection that includes the old generation (i.e. the heap pools that support
+ * usage thresholds), the occupancy of the old generation is compared with a configurable
+ * threshold. Above the threshold, the budget of the cache is halved, down to a floor of 1/8 of the
+ * configured budget, so that Caffeine evicts the coldest entries. Below half the threshold, the
+ * budget is doubled, up to the configured budget.
+ * <p>
+ * Young collections are ignored, since the occupancy of the old generation is only measured when
+ * the old generation is collected. A collection is deemed to include the old generation if the
+ * garbage collector reports it as a major collection (i.e. the action of the notification is
+ * {@link #MAJOR_GC_ACTION}).
+ * <p>
+ * Relies on the (HotSpot) garbage collection notifications, and does nothing if the JVM does not
+ * emit them.
+ */
+public class HeapPressureMonitor implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(HeapPressureMonitor.class);
+
+  /**
+   * Action of the notifications emitted at the end of a collection of the old generation
+   */
+  static final String MAJOR_GC_ACTION = "end of major GC";
+
+  /**
+   * Ratio between the configured budget, and the smallest budget the cache can shrink to
+   */
+  private static final int MAX_SHRINK = 8;
+
+  /**
+   * The cache whose budget is adjusted
+   */
+  @Nonnull
+  private final Cache<?, ?> cache;
+
+  /**
+   * The configured budget of the cache
+   */
+  private final long budget;
+
+  /**
+   * The old generation occupancy, as a fraction of its maximum size, above which the budget
+   * shrinks
+   */
+  private final double threshold;
+
+  /**
+   * The old generation pools
+   */
+  @Nonnull
+  private final List<MemoryPoolMXBean> oldGen;
+
+  /**
+   * The garbage collectors listened to
+   */
+  @Nonnull
+  private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+  /**
+   * The listener registered with the garbage collectors
+   */
+  @Nonnull
+  private final NotificationListener listener = this::onNotification;
+
+  /**
+   * Constructor.
+   * <p>
+   * Starts listening to the garbage collectors
+   *
+   * @param cache  the cache, bounded by weight
+   * @param budget the configured budget of the cache
+   * @param cfg    the environment configuration
+   */
+  public HeapPressureMonitor(
+      @Nonnull final Cache<?, ?> cache,
+      final long budget,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    this.cache = cache;
+    this.budget = budget;
+    int percent = cfg.getTyped(MODEL_CACHE_HEAP_THRESHOLD, Integer.class);
+    this.threshold = Math.min(99, Math.max(1, percent)) / 100.0;
+    this.oldGen = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .filter(MemoryPoolMXBean::isUsageThresholdSupported)
+        .collect(Collectors.toList());
+
+    for (var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (gc instanceof NotificationEmitter) {
+        var emitter = (NotificationEmitter) gc;
+        emitter.addNotificationListener(listener,
+            n -> GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType()), null);
+        emitters.add(emitter);
+      }
+    }
+    if (emitters.isEmpty() || oldGen.isEmpty()) {
+      logger.warn("Heap pressure is not observable in this JVM, the cache budget is fixed");
+    }
+  }
+
+  /**
+   * @return the current budget of the cache
+   */
+  public long getCurrentBudget() {
+    return cache.policy().eviction()
+        .map(ev -> ev.getMaximum())
+        .orElse(budget);
+  }
+
+  /**
+   * @return the occupancy of the old generation after the last collection, as a fraction of its
+   * maximum size, or 0 if not known
+   */
+  public double getOldGenOccupancy() {
+    double occupancy = 0;
+    for (var pool : oldGen) {
+      var usage = pool.getCollectionUsage();
+      if (usage != null && usage.getMax() > 0) {
+        occupancy = Math.max(occupancy, (double) usage.getUsed() / usage.getMax());
+      }
+    }
+    return occupancy;
+  }
+
+  /**
+   * Stops listening to the garbage collectors, and restores the configured budget
+   */
+  @Override
+  public void close() {
+    for (var emitter : emitters) {
+      try {
+        emitter.removeNotificationListener(listener);
+      } catch (ListenerNotFoundException e) {
+        // already removed
+      }
+    }
+    emitters.clear();
+    setBudget(budget);
+  }
+
+  /**
+   * Determines whether a garbage collection notification reports a collection of the old
+   * generation
+   *
+   * @param notification the garbage collection notification
+   * @return true if the notification reports the end of a major collection
+   */
+  static boolean isMajorCollection(
+      @Nonnull final Notification notification) {
+    if (!(notification.getUserData() instanceof CompositeData)) {
+      return false;
+    }
+    var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    return MAJOR_GC_ACTION.equals(info.getGcAction());
+  }
+
+  /**
+   * Adjusts the budget of the cache after a garbage collection that includes the old generation
+   *
+   * @param notification the garbage collection notification
+   * @param handback     not used
+   */
+  synchronized void onNotification(
+      @Nonnull final Notification notification,
+      final Object handback) {
+    if (!isMajorCollection(notification)) {
+      return;
+    }
+    var occupancy = getOldGenOccupancy();
+    var current = getCurrentBudget();
+    if (occupancy > threshold) {
+      var next = Math.max(budget / MAX_SHRINK, current / 2);
+      if (next < current) {
+        logger.warn("Old generation at {}%, shrinking the cache budget to {} bytes",
+            Math.round(occupancy * 100), next);
+        setBudget(next);
+      }
+    } else if (occupancy < threshold / 2 && current < budget) {
+      var next = Math.min(budget, current * 2);
+      logger.info("Old generation at {}%, restoring the cache budget to {} bytes",
+          Math.round(occupancy * 100), next);
+      setBudget(next);
+    }
+  }
+
+  /**
+   * Sets the budget of the cache, which evicts entries as needed
+   *
+   * @param maximum the budget
+   */
+  private void setBudget(
+      final long maximum) {
+    cache.policy().eviction().ifPresent(ev -> ev.setMaximum(maximum));
+  }
+
+}
@@ -0,0 +1,278 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.WARM_LIST_PERIOD;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.WARM_LIST_SIZE;
+import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newKey;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.omg.spec.api4kp._20200801.id.KeyIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Persists the most accessed Model IDs and Asset (version) keys to a local file, so that they can
+ * be preloaded into the Model cache after a restart, before live traffic asks for them.
+ * <p>
+ * The hot Models are the 'hottest' entries of the Model cache, as ranked by its (frequency based)
+ * eviction policy. Asset Surrogates are not cached as such, but are built from the (cached)
+ * Models that carry the Asset: the Asset keys that are looked up are tracked in a small access
+ * log, itself a Caffeine cache, which ranks the hot Asset keys the same way. On startup, both the
+ * hot Models and the Models that carry the hot Assets are preloaded.
+ * <p>
+ * The file is rewritten periodically, atomically where the file system supports it, as a JSON
+ * object with a list of Model IDs, and a list of Asset keys in the form {uuid}:{versionTag}
+ */
+public class HotKeyWarmList implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(HotKeyWarmList.class);
+
+  /**
+   * Name of the thread used to persist and preload the warm list
+   */
+  public static final String WARM_LIST_POOL = "ttw-warm-list";
+
+  /**
+   * Field of the persisted warm list, with the hot Model IDs
+   */
+  private static final String MODELS = "models";
+
+  /**
+   * Field of the persisted warm list, with the hot Asset keys
+   */
+  private static final String ASSETS = "assets";
+
+  /**
+   * Serializer
+   */
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  /**
+   * The warm list file
+   */
+  @Nonnull
+  private final Path file;
+
+  /**
+   * The maximum number of Model IDs, and of Asset keys, in the warm list
+   */
+  private final int size;
+
+  /**
+   * The Model cache
+   */
+  @Nonnull
+  private final LoadingCache<SemanticModelInfo, Document> modelCache;
+
+  /**
+   * The Asset keys looked up recently, ranked by access frequency
+   */
+  @Nonnull
+  private final Cache<KeyIdentifier, Boolean> assetAccesses;
+
+  /**
+   * The scheduler that persists the warm list, and preloads it on startup
+   */
+  @Nonnull
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor.
+   * <p>
+   * Starts persisting the warm list periodically
+   *
+   * @param file       the warm list file
+   * @param modelCache the Model cache
+   * @param cfg        the environment configuration
+   */
+  public HotKeyWarmList(
+      @Nonnull final Path file,
+      @Nonnull final LoadingCache<SemanticModelInfo, Document> modelCache,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    this.file = file;
+    this.size = Math.max(0, cfg.getTyped(WARM_LIST_SIZE, Integer.class));
+    this.modelCache = modelCache;
+    this.assetAccesses = Caffeine.newBuilder()
+        .maximumSize(4L * Math.max(1, size))
+        .build();
+    this.scheduler = ExecutorHelper.newScheduler(WARM_LIST_POOL);
+
+    long period = Math.max(1, cfg.getTyped(WARM_LIST_PERIOD, Long.class));
+    scheduler.scheduleAtFixedRate(this::persist, period, period, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Records a lookup of an Asset version
+   *
+   * @param assetKey the key of the Asset version
+   */
+  public void recordAsset(
+      @Nonnull final KeyIdentifier assetKey) {
+    assetAccesses.get(assetKey, k -> Boolean.TRUE);
+  }
+
+  /**
+   * @return the IDs of the most accessed Models in the Model cache, hottest first
+   */
+  @Nonnull
+  public List<String> getHotModels() {
+    return modelCache.policy().eviction()
+        .map(ev -> ev.hottest(size).keySet().stream()
+            .map(SemanticModelInfo::getId)
+            .collect(Collectors.toList()))
+        .orElse(Collections.emptyList());
+  }
+
+  /**
+   * @return the keys of the most looked up Asset versions, hottest first
+   */
+  @Nonnull
+  public List<KeyIdentifier> getHotAssets() {
+    return assetAccesses.policy().eviction()
+        .map(ev -> List.copyOf(ev.hottest(size).keySet()))
+        .orElse(Collections.emptyList());
+  }
+
+  /**
+   * Writes the current warm list to the file
+   */
+  public void persist() {
+    Map<String, List<String>> warmList = new LinkedHashMap<>();
+    warmList.put(MODELS, getHotModels());
+    warmList.put(ASSETS, getHotAssets().stream()
+        .map(key -> key.getUuid() + ":" + key.getVersionTag())
+        .collect(Collectors.toList()));
+    try {
+      var parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+      mapper.writeValue(tmp.toFile(), warmList);
+      try {
+        Files.move(tmp, file,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Unable to persist the warm list to {} : {}", file, e.getMessage());
+    }
+  }
+
+  /**
+   * Preloads the Models in the persisted warm list into the Model cache, in the background.
+   * <p>
+   * The hot Models, and the Models that carry the hot Assets, are resolved to their (current)
+   * Manifests, then loaded in bulk. Models and Assets that are no longer indexed are skipped
+   *
+   * @param modelResolver the lookup of a Model Manifest by Model ID
+   * @param assetResolver the lookup of the Manifests of the Models that carry an Asset version
+   */
+  public void preload(
+      @Nonnull final Function<String, Optional<SemanticModelInfo>> modelResolver,
+      @Nonnull final Function<KeyIdentifier, Stream<SemanticModelInfo>> assetResolver) {
+    scheduler.execute(() -> {
+      try {
+        var warmList = read();
+        Set<SemanticModelInfo> manifests = new LinkedHashSet<>();
+        warmList.getOrDefault(MODELS, List.of()).stream()
+            .map(modelResolver)
+            .flatMap(Optional::stream)
+            .forEach(manifests::add);
+        warmList.getOrDefault(ASSETS, List.of()).stream()
+            .map(HotKeyWarmList::parseAssetKey)
+            .flatMap(Optional::stream)
+            .forEach(key -> {
+              // retain the hot Assets in the warm list, until live traffic ranks them again
+              recordAsset(key);
+              assetResolver.apply(key).forEach(manifests::add);
+            });
+        manifests.removeIf(mf -> modelCache.asMap().containsKey(mf));
+        if (!manifests.isEmpty()) {
+          logger.info("Preloading {} Models from the warm list {}", manifests.size(), file);
+          modelCache.getAll(manifests);
+        }
+      } catch (RuntimeException e) {
+        logger.warn("Unable to preload the warm list from {} : {}", file, e.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Stops persisting the warm list
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Reads the persisted warm list
+   *
+   * @return the warm list, or an empty warm list if not able to read the file
+   */
+  @Nonnull
+  private Map<String, List<String>> read() {
+    if (!Files.isReadable(file)) {
+      return Collections.emptyMap();
+    }
+    try {
+      return mapper.readValue(file.toFile(), new TypeReference<Map<String, List<String>>>() {
+      });
+    } catch (IOException e) {
+      logger.warn("Unable to read the warm list from {} : {}", file, e.getMessage());
+      return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * Parses a persisted Asset key
+   *
+   * @param key the key, in the form {uuid}:{versionTag}
+   * @return the Asset key, if well-formed
+   */
+  @Nonnull
+  private static Optional<KeyIdentifier> parseAssetKey(
+      @Nonnull final String key) {
+    var sep = key.indexOf(':');
+    if (sep < 0) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(newKey(UUID.fromString(key.substring(0, sep)), key.substring(sep + 1)));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+}
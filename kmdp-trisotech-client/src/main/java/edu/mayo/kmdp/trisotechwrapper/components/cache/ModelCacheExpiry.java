@@ -0,0 +1,163 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.CACHE_EXPIRATION;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_EXPIRATION_DRAFT;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_EXPIRATION_PENDING;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_EXPIRATION_PUBLISHED;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPublicationStates;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import org.w3c.dom.Document;
+
+/**
+ * Expiration policy of the Model cache, based on the publication state of the cached Models.
+ * <p>
+ * Published versions of a Model do not change, and are retained for a long time. Versions pending
+ * approval change occasionally, while Drafts, and Models that are not versioned, can change at any
+ * time, and are retained for a shorter time. The lifetimes are configurable: non-positive
+ * lifetimes do not expire. Lifetimes are (re)set when a Model is loaded or replaced, and are not
+ * extended on read.
+ * <p>
+ * Note that a new version of a Model has the same key as the previous one, and that the cache
+ * retains the original key when a Model is replaced (e.g. refreshed): the lifetime of a replaced
+ * Model is based on the current Manifest of the Model, if known, rather than on the retained key.
+ * Cached Models are not served past a change regardless of their lifetime, since the Models that
+ * have changed are invalidated when their Place is reindexed.
+ */
+public class ModelCacheExpiry implements Expiry<SemanticModelInfo, Document> {
+
+  /**
+   * Lifetime of the Published Models, in nanoseconds
+   */
+  private final long publishedNanos;
+
+  /**
+   * Lifetime of the Models pending approval, in nanoseconds
+   */
+  private final long pendingNanos;
+
+  /**
+   * Lifetime of the Draft, or unversioned, Models, in nanoseconds
+   */
+  private final long draftNanos;
+
+  /**
+   * Resolves the current Manifest of a Model, by Model ID
+   */
+  @Nonnull
+  private final Function<String, Optional<SemanticModelInfo>> manifests;
+
+  /**
+   * Constructor.
+   * <p>
+   * Uses the retained keys to determine the lifetime of the replaced Models
+   *
+   * @param cfg the environment configuration
+   */
+  public ModelCacheExpiry(
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    this(cfg, modelId -> Optional.empty());
+  }
+
+  /**
+   * Constructor.
+   * <p>
+   * The lifetimes of the Draft and pending Models default to
+   * {@link TTWConfigParamsDef#CACHE_EXPIRATION}, if not configured
+   *
+   * @param cfg       the environment configuration
+   * @param manifests resolves the current Manifest of a Model, by Model ID, without blocking
+   */
+  public ModelCacheExpiry(
+      @Nonnull final TTWEnvironmentConfiguration cfg,
+      @Nonnull final Function<String, Optional<SemanticModelInfo>> manifests) {
+    this.manifests = manifests;
+    long expiration = cfg.getTyped(CACHE_EXPIRATION, Long.class);
+    this.publishedNanos = toNanos(cfg.tryGetTyped(MODEL_EXPIRATION_PUBLISHED, Long.class)
+        .orElse(expiration));
+    this.pendingNanos = toNanos(cfg.tryGetTyped(MODEL_EXPIRATION_PENDING, Long.class)
+        .orElse(expiration));
+    this.draftNanos = toNanos(cfg.tryGetTyped(MODEL_EXPIRATION_DRAFT, Long.class)
+        .orElse(expiration));
+  }
+
+  /**
+   * Determines the lifetime of a Model, based on its publication state and version
+   *
+   * @param info the Model Manifest
+   * @return the lifetime of the Model, in nanoseconds
+   */
+  public long lifetime(
+      @Nonnull final SemanticModelInfo info) {
+    if (!info.hasVersion()) {
+      return draftNanos;
+    }
+    switch (publicationState(info)) {
+      case PUBLISHED:
+        return publishedNanos;
+      case PENDING_APPROVAL:
+        return pendingNanos;
+      case DRAFT:
+      case UNPUBLISHED:
+      default:
+        return draftNanos;
+    }
+  }
+
+  @Override
+  public long expireAfterCreate(
+      @Nonnull final SemanticModelInfo key,
+      @Nonnull final Document value,
+      final long currentTime) {
+    return lifetime(key);
+  }
+
+  @Override
+  public long expireAfterUpdate(
+      @Nonnull final SemanticModelInfo key,
+      @Nonnull final Document value,
+      final long currentTime,
+      final long currentDuration) {
+    return lifetime(manifests.apply(key.getId()).orElse(key));
+  }
+
+  @Override
+  public long expireAfterRead(
+      @Nonnull final SemanticModelInfo key,
+      @Nonnull final Document value,
+      final long currentTime,
+      final long currentDuration) {
+    return currentDuration;
+  }
+
+  /**
+   * @param info the Model Manifest
+   * @return the publication state of the Model, or UNPUBLISHED if not recognized
+   */
+  @Nonnull
+  private static TrisotechPublicationStates publicationState(
+      @Nonnull final SemanticModelInfo info) {
+    try {
+      return TrisotechPublicationStates.parse(info.getState());
+    } catch (IllegalArgumentException e) {
+      return TrisotechPublicationStates.UNPUBLISHED;
+    }
+  }
+
+  /**
+   * @param minutes a lifetime, in minutes
+   * @return the lifetime, in nanoseconds; unbounded if not positive
+   */
+  private static long toNanos(
+      final long minutes) {
+    return minutes > 0 ? TimeUnit.MINUTES.toNanos(minutes) : Long.MAX_VALUE;
+  }
+
+}
@@ -0,0 +1,288 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_PREWARM_LIMIT;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_PREWARM_PARALLELISM;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_PREWARM_RATE;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlaceIndexDelta;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Loads Models into the Model cache in the background, after the Place that contains them has
+ * been (re)indexed, so that the first requests for those Models do not pay the cost of
+ * downloading and normalizing them.
+ * <p>
+ * The Models that have been added to, or changed in, a Place, and are not already cached, are
+ * prioritized by how often they have been requested (since startup), then Models that carry an
+ * Asset come before Models that do not, and Models that no other Model depends on (the roots of
+ * the dependency graph, whose normalization usually loads their dependencies too) come before
+ * the others. At most
+ * {@link edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef#MODEL_PREWARM_LIMIT} Models are
+ * scheduled per Place.
+ * <p>
+ * A Model is scheduled at most once: if a Model is scheduled again, e.g. because it has changed
+ * again, the newer Manifest replaces the scheduled one, which keeps its place in the schedule. If
+ * the newer Manifest arrives while the Model is being loaded, the Model is scheduled again.
+ * <p>
+ * Scheduled Models are dispatched at a fixed rate, and loaded by a bounded pool, so that
+ * prewarming does not compete with live traffic for the DES.
+ */
+public class ModelCachePrewarmer implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(ModelCachePrewarmer.class);
+
+  /**
+   * Name of the thread pool used to prewarm Models
+   */
+  public static final String PREWARM_POOL = "ttw-model-prewarm";
+
+  /**
+   * The Model cache to be prewarmed
+   */
+  @Nonnull
+  private final LoadingCache<SemanticModelInfo, Document> modelCache;
+
+  /**
+   * Maximum number of Models scheduled per Place
+   */
+  private final int limit;
+
+  /**
+   * The number of times each Model has been requested, by Model ID
+   */
+  @Nonnull
+  private final Map<String, LongAdder> accesses = new ConcurrentHashMap<>();
+
+  /**
+   * The IDs of the Models scheduled to be loaded, in order
+   */
+  @Nonnull
+  private final Queue<String> scheduled = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The latest Manifests of the Models scheduled, or being loaded, by Model ID
+   */
+  @Nonnull
+  private final Map<String, SemanticModelInfo> pending = new ConcurrentHashMap<>();
+
+  /**
+   * Bounds the number of Models loaded concurrently
+   */
+  @Nonnull
+  private final Semaphore permits;
+
+  /**
+   * The pool that loads the Models
+   */
+  @Nonnull
+  private final ExecutorService loaderPool;
+
+  /**
+   * The scheduler that dispatches the Models to the pool, at a fixed rate
+   */
+  @Nonnull
+  private final ScheduledExecutorService dispatcher;
+
+  /**
+   * Constructor
+   *
+   * @param modelCache the Model cache to be prewarmed
+   * @param cfg        the environment configuration
+   */
+  public ModelCachePrewarmer(
+      @Nonnull final LoadingCache<SemanticModelInfo, Document> modelCache,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    this.modelCache = modelCache;
+    this.limit = cfg.getTyped(MODEL_PREWARM_LIMIT, Integer.class);
+    int parallelism = Math.max(1, cfg.getTyped(MODEL_PREWARM_PARALLELISM, Integer.class));
+    int rate = Math.max(1, cfg.getTyped(MODEL_PREWARM_RATE, Integer.class));
+
+    this.permits = new Semaphore(parallelism);
+    this.loaderPool = ExecutorHelper.newBoundedExecutor(PREWARM_POOL, parallelism);
+    this.dispatcher = ExecutorHelper.newScheduler(PREWARM_POOL + "-dispatcher");
+    long period = TimeUnit.SECONDS.toMicros(1) / rate;
+    dispatcher.scheduleAtFixedRate(this::dispatch, period, period, TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * Records a request for a Model, to prioritize the Model in future prewarms
+   *
+   * @param modelId the ID of the requested Model
+   */
+  public void recordAccess(
+      @Nonnull final String modelId) {
+    accesses.computeIfAbsent(modelId, k -> new LongAdder()).increment();
+  }
+
+  /**
+   * Schedules the Models added to, or changed in, a Place to be loaded into the Model cache
+   *
+   * @param delta the changes to the Place
+   */
+  public void prewarm(
+      @Nonnull final PlaceIndexDelta delta) {
+    var manifests = delta.getIndex().getModelToManifestMappings();
+    prewarm(delta.getPlaceId(),
+        Stream.concat(delta.getAdded().stream(), delta.getChanged().stream())
+            .map(manifests::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * Schedules (at most {@link #limit} of) the given Models of a Place to be loaded into the Model
+   * cache, in order of priority. Models already cached are skipped, unless scheduled, in which case
+   * the given Manifest replaces the scheduled one
+   *
+   * @param placeId   the ID of the Place
+   * @param manifests the Manifests of the Models to be loaded
+   */
+  public void prewarm(
+      @Nonnull final String placeId,
+      @Nonnull final Collection<SemanticModelInfo> manifests) {
+    var candidates = manifests.stream()
+        .filter(mf -> pending.containsKey(mf.getId()) || !modelCache.asMap().containsKey(mf))
+        .sorted(priority())
+        .limit(Math.max(0, limit))
+        .collect(Collectors.toList());
+    if (candidates.isEmpty()) {
+      return;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Prewarming {} Models from Place {}", candidates.size(), placeId);
+    }
+    candidates.forEach(mf -> {
+      if (pending.put(mf.getId(), mf) == null) {
+        scheduled.add(mf.getId());
+      }
+    });
+  }
+
+  /**
+   * Stops prewarming, discarding any Model not yet loaded
+   */
+  @Override
+  public void close() {
+    dispatcher.shutdownNow();
+    loaderPool.shutdownNow();
+    scheduled.clear();
+    pending.clear();
+  }
+
+  /**
+   * Determines the order in which Models are prewarmed: most requested first, then Models that
+   * carry an Asset, then the roots of the dependency graph
+   *
+   * @return a Comparator of Model manifests
+   */
+  @Nonnull
+  protected Comparator<SemanticModelInfo> priority() {
+    Comparator<SemanticModelInfo> byAccess =
+        Comparator.comparingLong(mf -> -accessCount(mf.getId()));
+    return byAccess
+        .thenComparing(mf -> !mf.hasAssetId())
+        .thenComparing(mf -> !mf.getReverseModelDependencies().isEmpty())
+        .thenComparing(SemanticModelInfo::getId);
+  }
+
+  /**
+   * @param modelId the ID of a Model
+   * @return the number of times the Model has been requested
+   */
+  private long accessCount(
+      @Nonnull final String modelId) {
+    var count = accesses.get(modelId);
+    return count != null ? count.sum() : 0;
+  }
+
+  /**
+   * Dispatches the next scheduled Model to the loader pool, unless all the loaders are busy
+   */
+  private void dispatch() {
+    if (scheduled.isEmpty() || !permits.tryAcquire()) {
+      return;
+    }
+    var id = scheduled.poll();
+    var next = id != null ? pending.get(id) : null;
+    if (next == null) {
+      permits.release();
+      return;
+    }
+    try {
+      loaderPool.execute(() -> load(next));
+    } catch (RuntimeException e) {
+      permits.release();
+      release(next);
+    }
+  }
+
+  /**
+   * Loads a Model into the Model cache, unless it has been loaded in the meantime.
+   * <p>
+   * If a newer Manifest of the Model has been scheduled while loading, the Model, which may have
+   * been loaded from the older Manifest, is invalidated and scheduled again
+   *
+   * @param info the Model manifest
+   */
+  private void load(
+      @Nonnull final SemanticModelInfo info) {
+    String outcome = "skipped";
+    try {
+      if (!modelCache.asMap().containsKey(info)) {
+        outcome = modelCache.get(info) != null ? "loaded" : "missing";
+      }
+    } catch (RuntimeException e) {
+      outcome = "failed";
+      logger.warn("Unable to prewarm Model {} : {}", info.getId(), e.getMessage());
+    } finally {
+      permits.release();
+      if (!release(info)) {
+        modelCache.invalidate(info);
+        scheduled.add(info.getId());
+      }
+    }
+    MetricsHelper.counter(MetricsHelper.MODEL_PREWARM,
+            MetricsHelper.TAG_PLACE, MetricsHelper.placeTag(info),
+            MetricsHelper.TAG_OUTCOME, outcome)
+        .increment();
+  }
+
+  /**
+   * Removes a Model from the pending Models, unless a newer Manifest has been scheduled for the
+   * same Model. Manifests are compared by identity, since they are equal by Model ID
+   *
+   * @param info the Manifest of the Model
+   * @return true if the Model is no longer pending, false if a newer Manifest is pending
+   */
+  private boolean release(
+      @Nonnull final SemanticModelInfo info) {
+    return pending.computeIfPresent(info.getId(), (id, latest) -> latest == info ? null : latest)
+        == null;
+  }
+
+}
@@ -0,0 +1,92 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import javax.annotation.Nonnull;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Weighs the Models in the Model cache by the (estimated) heap footprint of their DOM, in bytes,
+ * so that the Model cache can be bounded by memory rather than by number of Models.
+ * <p>
+ * The estimate walks the Document once, when the Model is cached, charging a fixed overhead per
+ * Node (and attribute), and two bytes per character of names and values. The estimate is meant
+ * to rank, and bound, Models of very different sizes, not to account for the heap exactly.
+ */
+public class ModelWeigher implements Weigher<SemanticModelInfo, Document> {
+
+  /**
+   * Estimated footprint of a DOM Node, excluding its names and values, in bytes
+   */
+  static final int NODE_OVERHEAD = 96;
+
+  /**
+   * Estimated footprint of a character in a name or value, in bytes
+   */
+  static final int CHAR_SIZE = 2;
+
+  @Override
+  public int weigh(
+      @Nonnull final SemanticModelInfo key,
+      @Nonnull final Document value) {
+    long size = estimateSize(value);
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(1, size));
+  }
+
+  /**
+   * Estimates the heap footprint of a DOM tree.
+   * <p>
+   * The tree is traversed iteratively, so that deeply nested Documents do not exhaust the stack
+   *
+   * @param root the root of the tree
+   * @return the estimated footprint, in bytes
+   */
+  public static long estimateSize(
+      @Nonnull final Node root) {
+    long size = 0;
+    Node node = root;
+    while (node != null) {
+      size += nodeSize(node);
+      var attrs = node.getAttributes();
+      if (attrs != null) {
+        for (int j = 0; j < attrs.getLength(); j++) {
+          size += nodeSize(attrs.item(j));
+        }
+      }
+      // depth first: children, then siblings, then the siblings of the ancestors
+      if (node.getFirstChild() != null) {
+        node = node.getFirstChild();
+      } else {
+        while (node != null && node != root && node.getNextSibling() == null) {
+          node = node.getParentNode();
+        }
+        node = node == null || node == root ? null : node.getNextSibling();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @param node a DOM Node
+   * @return the estimated footprint of the Node, including its name and value, in bytes
+   */
+  private static long nodeSize(
+      @Nonnull final Node node) {
+    long chars = length(node.getNodeName());
+    if (node.getNodeType() != Node.ELEMENT_NODE && node.getNodeType() != Node.DOCUMENT_NODE) {
+      chars += length(node.getNodeValue());
+    }
+    return NODE_OVERHEAD + CHAR_SIZE * chars;
+  }
+
+  /**
+   * @param s a String, possibly null
+   * @return the length of the String, or 0 if null
+   */
+  private static int length(
+      final String s) {
+    return s != null ? s.length() : 0;
+  }
+
+}
@@ -0,0 +1,90 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Weigher;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+/**
+ * Eviction and expiration policy of the Place/Path cache, which pins the configured Places.
+ * <p>
+ * The indexes of the configured (scoped) Places weigh nothing, so that they are never evicted
+ * for size, and do not expire: they are refreshed on access, and only removed if explicitly
+ * invalidated. Any other (ad-hoc) Place weighs 1, so that the ad-hoc Places share a bounded
+ * budget, and expire after a number of leases, as they are (re)indexed.
+ */
+public class PlaceCachePolicy
+    implements Weigher<TrisotechPlace, PlacePathIndex>, Expiry<TrisotechPlace, PlacePathIndex> {
+
+  /**
+   * The configured Places, which are pinned
+   */
+  @Nonnull
+  private final Set<TrisotechPlace> pinned;
+
+  /**
+   * How long the index of an ad-hoc Place is retained, in nanoseconds
+   */
+  private final long adHocLifetime;
+
+  /**
+   * Constructor
+   *
+   * @param pinned               the configured Places
+   * @param adHocLifetimeMinutes how long the index of an ad-hoc Place is retained, in minutes
+   */
+  public PlaceCachePolicy(
+      @Nonnull final Set<TrisotechPlace> pinned,
+      final long adHocLifetimeMinutes) {
+    this.pinned = Set.copyOf(pinned);
+    this.adHocLifetime = TimeUnit.MINUTES.toNanos(Math.max(1, adHocLifetimeMinutes));
+  }
+
+  /**
+   * Predicate
+   *
+   * @param place a Place
+   * @return true if the Place is configured, and its index pinned
+   */
+  public boolean isPinned(
+      @Nonnull final TrisotechPlace place) {
+    return pinned.contains(place);
+  }
+
+  @Override
+  public int weigh(
+      @Nonnull final TrisotechPlace key,
+      @Nonnull final PlacePathIndex value) {
+    return isPinned(key) ? 0 : 1;
+  }
+
+  @Override
+  public long expireAfterCreate(
+      @Nonnull final TrisotechPlace key,
+      @Nonnull final PlacePathIndex value,
+      final long currentTime) {
+    return isPinned(key) ? Long.MAX_VALUE : adHocLifetime;
+  }
+
+  @Override
+  public long expireAfterUpdate(
+      @Nonnull final TrisotechPlace key,
+      @Nonnull final PlacePathIndex value,
+      final long currentTime,
+      final long currentDuration) {
+    return expireAfterCreate(key, value, currentTime);
+  }
+
+  @Override
+  public long expireAfterRead(
+      @Nonnull final TrisotechPlace key,
+      @Nonnull final PlacePathIndex value,
+      final long currentTime,
+      final long currentDuration) {
+    return currentDuration;
+  }
+
+}
@@ -0,0 +1,91 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cluster;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.INVALIDATION_BUS_MODE;
+
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+/**
+ * Channel used by the replicas of a TTW deployment to propagate cache invalidations.
+ * <p>
+ * DES webhooks, and explicit invalidate/rescan requests, only reach one replica: that replica
+ * applies the request locally, then publishes it on the bus, so that the other replicas can apply
+ * it as well, rather than serving stale Place indexes and Models until their caches expire.
+ * <p>
+ * Delivery is best effort. Implementations may (or may not) deliver a message back to the
+ * replica that published it: subscribers are expected to ignore their own messages.
+ * <p>
+ * A bus is closed by the TTW instance that subscribed to it, as that instance is closed. Buses
+ * shared by several instances (e.g. a {@link LocalCacheInvalidationBus}, in tests) are expected
+ * to remain open as long as any subscriber is left.
+ */
+public interface CacheInvalidationBus extends AutoCloseable {
+
+  /**
+   * The supported bus implementations
+   */
+  enum Mode {
+    OFF, MULTICAST
+  }
+
+  /**
+   * Publishes a message to all the replicas subscribed to this bus
+   *
+   * @param message the message
+   */
+  void publish(
+      @Nonnull final CacheInvalidationMessage message);
+
+  /**
+   * Registers a subscriber, which will receive the messages published on this bus
+   *
+   * @param subscriber the subscriber
+   */
+  void subscribe(
+      @Nonnull final Consumer<CacheInvalidationMessage> subscriber);
+
+  /**
+   * Removes a subscriber, which will no longer receive the messages published on this bus
+   *
+   * @param subscriber the subscriber
+   */
+  void unsubscribe(
+      @Nonnull final Consumer<CacheInvalidationMessage> subscriber);
+
+  /**
+   * Stops receiving (and publishing) messages
+   */
+  @Override
+  default void close() {
+    // nothing to release by default
+  }
+
+  /**
+   * Factory.
+   * <p>
+   * Creates the bus configured by
+   * {@link edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef#INVALIDATION_BUS_MODE}, if
+   * any
+   *
+   * @param cfg the environment configuration
+   * @return the configured bus, or empty if invalidations are not propagated
+   */
+  @Nonnull
+  static Optional<CacheInvalidationBus> configure(
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    var mode = cfg.tryGetTyped(INVALIDATION_BUS_MODE, String.class)
+        .map(m -> Mode.valueOf(m.trim().toUpperCase(Locale.ROOT)))
+        .orElse(Mode.OFF);
+    switch (mode) {
+      case MULTICAST:
+        return Optional.of(MulticastCacheInvalidationBus.open(cfg));
+      case OFF:
+      default:
+        return Optional.empty();
+    }
+  }
+
+}
@@ -0,0 +1,158 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cluster;
+
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A request to invalidate, or refresh, some of the content cached by a TTW replica, as published
+ * on a {@link CacheInvalidationBus}.
+ * <p>
+ * Messages carry the ID of the replica that published them, so that a replica can ignore its own
+ * messages, having applied them already. Messages are serialized as a single line of text, with
+ * tab-separated action, origin and (optional) target.
+ */
+public final class CacheInvalidationMessage {
+
+  /**
+   * The actions that can be requested, mirroring the invalidate/rescan operations of the
+   * {@link edu.mayo.kmdp.trisotechwrapper.TTAPIAdapter}
+   */
+  public enum Action {
+    INVALIDATE_ALL,
+    RESCAN,
+    INVALIDATE_PLACE,
+    RESCAN_PLACE,
+    REFRESH_PLACE,
+    INVALIDATE_MODEL,
+    RESCAN_MODEL,
+    INVALIDATE_EXECUTION_ARTIFACTS
+  }
+
+  /**
+   * Field separator in the serialized form
+   */
+  private static final char SEP = '\t';
+
+  /**
+   * The requested action
+   */
+  @Nonnull
+  private final Action action;
+
+  /**
+   * The ID of the replica that published the message
+   */
+  @Nonnull
+  private final String origin;
+
+  /**
+   * The target of the action (a Place ID, a Model ID, or a Service Library URL), if any
+   */
+  @Nullable
+  private final String target;
+
+  /**
+   * Constructor
+   *
+   * @param action the requested action
+   * @param origin the ID of the publishing replica
+   * @param target the target of the action, if any
+   */
+  public CacheInvalidationMessage(
+      @Nonnull final Action action,
+      @Nonnull final String origin,
+      @Nullable final String target) {
+    this.action = action;
+    this.origin = origin;
+    this.target = target;
+  }
+
+  /**
+   * @return the requested action
+   */
+  @Nonnull
+  public Action getAction() {
+    return action;
+  }
+
+  /**
+   * @return the ID of the replica that published the message
+   */
+  @Nonnull
+  public String getOrigin() {
+    return origin;
+  }
+
+  /**
+   * @return the target of the action, if any
+   */
+  @Nullable
+  public String getTarget() {
+    return target;
+  }
+
+  /**
+   * Serializes this message
+   *
+   * @return the message, as a single line of text
+   */
+  @Nonnull
+  public String encode() {
+    return action.name() + SEP + origin + SEP + (target != null ? target : "");
+  }
+
+  /**
+   * Deserializes a message
+   *
+   * @param line the message, as a single line of text
+   * @return the message, if well-formed
+   */
+  @Nonnull
+  public static Optional<CacheInvalidationMessage> decode(
+      @Nonnull final String line) {
+    // only strip the line terminators, since the (empty) target is tab-separated
+    var parts = line.replaceAll("[\r\n]+$", "").split(String.valueOf(SEP), -1);
+    if (parts.length != 3 || parts[1].isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(new CacheInvalidationMessage(
+          Action.valueOf(parts[0]),
+          parts[1],
+          parts[2].isEmpty() ? null : parts[2]));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CacheInvalidationMessage that = (CacheInvalidationMessage) o;
+    return action == that.action
+        && origin.equals(that.origin)
+        && Objects.equals(target, that.target);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(action, origin, target);
+  }
+
+  @Override
+  public String toString() {
+    return "CacheInvalidationMessage{" +
+        "action=" + action +
+        ", origin='" + origin + '\'' +
+        ", target='" + target + '\'' +
+        '}';
+  }
+
+}
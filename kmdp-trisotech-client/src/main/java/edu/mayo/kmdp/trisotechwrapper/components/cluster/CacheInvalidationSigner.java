@@ -0,0 +1,168 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cluster;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Signs the {@link CacheInvalidationMessage}s published on a shared network, and authenticates
+ * the messages received, with a secret shared by the replicas.
+ * <p>
+ * Each message is sealed in an envelope that adds the time the message was issued and a random
+ * nonce, and is signed with an HMAC-SHA256 of the shared secret. Messages that are not signed
+ * with the shared secret, are older than a given maximum age, or have been received already
+ * (i.e. replayed), are rejected. Since the age of a message is measured against the clock of
+ * the publisher, the clocks of the replicas are expected to agree within that maximum age.
+ */
+public class CacheInvalidationSigner {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationSigner.class);
+
+  /**
+   * The signature algorithm
+   */
+  private static final String ALGORITHM = "HmacSHA256";
+
+  /**
+   * Field separator in the envelope
+   */
+  private static final String SEP = "\t";
+
+  /**
+   * The signing key, derived from the shared secret
+   */
+  @Nonnull
+  private final SecretKeySpec key;
+
+  /**
+   * Maximum age of an acceptable message, in milliseconds
+   */
+  private final long maxAgeMillis;
+
+  /**
+   * The nonces of the messages accepted, remembered as long as those messages would be acceptable
+   */
+  @Nonnull
+  private final Cache<String, Boolean> seen;
+
+  /**
+   * Constructor
+   *
+   * @param secret the secret shared by the replicas
+   * @param maxAge the maximum age of an acceptable message
+   * @throws IllegalArgumentException if the secret is blank
+   */
+  public CacheInvalidationSigner(
+      @Nonnull final String secret,
+      @Nonnull final Duration maxAge) {
+    if (secret.isBlank()) {
+      throw new IllegalArgumentException("The shared secret must not be blank");
+    }
+    this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    this.maxAgeMillis = maxAge.toMillis();
+    // messages issued up to maxAge in the future are acceptable too, given the clock skew
+    this.seen = Caffeine.newBuilder()
+        .expireAfterWrite(maxAge.multipliedBy(2))
+        .build();
+  }
+
+  /**
+   * Seals a message in a signed envelope, issued now
+   *
+   * @param message the message
+   * @return the signed envelope, as a single line of text
+   */
+  @Nonnull
+  public String seal(
+      @Nonnull final CacheInvalidationMessage message) {
+    return seal(message, System.currentTimeMillis(), UUID.randomUUID().toString());
+  }
+
+  /**
+   * Seals a message in a signed envelope
+   *
+   * @param message the message
+   * @param issued  the time the message is issued, in milliseconds since the epoch
+   * @param nonce   a value unique to this envelope
+   * @return the signed envelope, as a single line of text
+   */
+  @Nonnull
+  String seal(
+      @Nonnull final CacheInvalidationMessage message,
+      final long issued,
+      @Nonnull final String nonce) {
+    var content = issued + SEP + nonce + SEP + message.encode();
+    return sign(content) + SEP + content;
+  }
+
+  /**
+   * Authenticates a signed envelope, and opens it
+   *
+   * @param envelope the signed envelope, as a single line of text
+   * @return the message, if well-formed, signed with the shared secret, recent, and not seen before
+   */
+  @Nonnull
+  public Optional<CacheInvalidationMessage> open(
+      @Nonnull final String envelope) {
+    var parts = envelope.split(SEP, 4);
+    if (parts.length != 4) {
+      return Optional.empty();
+    }
+    var content = envelope.substring(parts[0].length() + 1);
+    if (!MessageDigest.isEqual(
+        parts[0].getBytes(StandardCharsets.UTF_8),
+        sign(content).getBytes(StandardCharsets.UTF_8))) {
+      logger.debug("Rejecting unsigned message");
+      return Optional.empty();
+    }
+    long issued;
+    try {
+      issued = Long.parseLong(parts[1]);
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+    if (Math.abs(System.currentTimeMillis() - issued) > maxAgeMillis) {
+      logger.debug("Rejecting expired message, issued at {}", issued);
+      return Optional.empty();
+    }
+    if (seen.asMap().putIfAbsent(parts[2], Boolean.TRUE) != null) {
+      logger.debug("Rejecting replayed message {}", parts[2]);
+      return Optional.empty();
+    }
+    return CacheInvalidationMessage.decode(parts[3]);
+  }
+
+  /**
+   * Signs some content with the shared secret
+   *
+   * @param content the content
+   * @return the signature, Base64-encoded
+   */
+  @Nonnull
+  private String sign(
+      @Nonnull final String content) {
+    try {
+      var mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return Base64.getEncoder()
+          .encodeToString(mac.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
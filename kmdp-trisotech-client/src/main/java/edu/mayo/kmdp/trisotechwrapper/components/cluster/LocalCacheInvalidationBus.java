@@ -0,0 +1,56 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-JVM implementation of the {@link CacheInvalidationBus}, which delivers the published
+ * messages synchronously to all the subscribers, including the publisher.
+ * <p>
+ * Used to test the propagation of invalidations across TTW instances running in the same JVM: the
+ * bus is not available through the configuration, and must be shared explicitly by the
+ * instances that are expected to communicate.
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(LocalCacheInvalidationBus.class);
+
+  /**
+   * The subscribers
+   */
+  @Nonnull
+  private final List<Consumer<CacheInvalidationMessage>> subscribers =
+      new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(
+      @Nonnull final CacheInvalidationMessage message) {
+    for (var subscriber : subscribers) {
+      try {
+        subscriber.accept(message);
+      } catch (RuntimeException e) {
+        logger.warn("Unable to apply {} : {}", message, e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(
+      @Nonnull final Consumer<CacheInvalidationMessage> subscriber) {
+    subscribers.add(subscriber);
+  }
+
+  @Override
+  public void unsubscribe(
+      @Nonnull final Consumer<CacheInvalidationMessage> subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+}
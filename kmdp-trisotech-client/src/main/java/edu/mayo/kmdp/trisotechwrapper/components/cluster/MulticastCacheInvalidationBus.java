@@ -0,0 +1,339 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cluster;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.INVALIDATION_BUS_GLOBAL_INTERVAL;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.INVALIDATION_BUS_GROUP;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.INVALIDATION_BUS_MAX_AGE;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.INVALIDATION_BUS_SECRET;
+
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationMessage.Action;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UDP multicast implementation of the {@link CacheInvalidationBus}, which does not require an
+ * external broker: all the replicas join the same multicast group, on the same (local) network.
+ * <p>
+ * Each message is sent as a single datagram, with the default time-to-live of 1, so that messages
+ * do not leave the local network. Messages are signed with a secret shared by the replicas (see
+ * {@link CacheInvalidationSigner}): unsigned, expired or replayed messages are dropped.
+ * <p>
+ * Messages are received on a dedicated thread, and applied, in order, on another, so that slow
+ * subscribers (e.g. a Place reindex) do not stall the receiver. Cache-wide requests (invalidate
+ * all, rescan) are applied at most once per configured interval: the requests received within
+ * the interval are coalesced into one, applied at the end of the interval. Multicast delivers
+ * the messages back to the sender: the messages published through this bus are not delivered to
+ * its own subscribers, which have applied them already, and must not delay the requests of the
+ * other replicas.
+ */
+public class MulticastCacheInvalidationBus implements CacheInvalidationBus {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger =
+      LoggerFactory.getLogger(MulticastCacheInvalidationBus.class);
+
+  /**
+   * Name of the threads used to receive, and apply, the messages
+   */
+  public static final String BUS_POOL = "ttw-invalidation-bus";
+
+  /**
+   * Maximum size of a message, in bytes
+   */
+  private static final int MAX_MESSAGE_SIZE = 8192;
+
+  /**
+   * The multicast group, and port
+   */
+  @Nonnull
+  private final InetSocketAddress group;
+
+  /**
+   * The socket, joined to the group
+   */
+  @Nonnull
+  private final MulticastSocket socket;
+
+  /**
+   * Signs the published messages, and authenticates the received ones
+   */
+  @Nonnull
+  private final CacheInvalidationSigner signer;
+
+  /**
+   * Minimum interval between two cache-wide requests, in nanoseconds
+   */
+  private final long globalIntervalNanos;
+
+  /**
+   * The subscribers
+   */
+  @Nonnull
+  private final List<Consumer<CacheInvalidationMessage>> subscribers =
+      new CopyOnWriteArrayList<>();
+
+  /**
+   * The origins of the messages published through this bus
+   */
+  @Nonnull
+  private final Set<String> origins = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The thread that receives the messages
+   */
+  @Nonnull
+  private final ExecutorService receiver;
+
+  /**
+   * The thread that applies the received messages, and the deferred cache-wide requests
+   */
+  @Nonnull
+  private final ScheduledExecutorService dispatcher;
+
+  /**
+   * When the last cache-wide request was applied, as per {@link System#nanoTime()}, if ever.
+   * Confined to the dispatcher thread
+   */
+  @Nullable
+  private Long lastGlobal;
+
+  /**
+   * The cache-wide request deferred to the end of the current interval, if any. Confined to the
+   * dispatcher thread
+   */
+  @Nullable
+  private CacheInvalidationMessage deferred;
+
+  /**
+   * Constructor.
+   * <p>
+   * Joins the multicast group, and starts receiving messages
+   *
+   * @param group          the multicast group, and port
+   * @param signer         the signer of the messages
+   * @param globalInterval the minimum interval between two cache-wide requests
+   * @throws IOException if unable to join the group
+   */
+  protected MulticastCacheInvalidationBus(
+      @Nonnull final InetSocketAddress group,
+      @Nonnull final CacheInvalidationSigner signer,
+      @Nonnull final Duration globalInterval) throws IOException {
+    this.group = group;
+    this.signer = signer;
+    this.globalIntervalNanos = globalInterval.toNanos();
+    this.socket = new MulticastSocket(group.getPort());
+    socket.joinGroup(group, null);
+    this.receiver = ExecutorHelper.newBoundedExecutor(BUS_POOL + "-receiver", 1);
+    this.dispatcher = ExecutorHelper.newScheduler(BUS_POOL);
+    receiver.execute(this::receive);
+  }
+
+  /**
+   * Factory.
+   * <p>
+   * Joins the configured multicast group, in the form {address}:{port}, signing the messages
+   * with the configured secret
+   *
+   * @param cfg the environment configuration
+   * @return a bus, joined to the group
+   * @throws IllegalStateException    if the group, or the secret, are not configured
+   * @throws IllegalArgumentException if the group is not well-formed
+   * @throws UncheckedIOException     if unable to join the group
+   */
+  @Nonnull
+  public static MulticastCacheInvalidationBus open(
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    var group = cfg.tryGetTyped(INVALIDATION_BUS_GROUP, String.class)
+        .orElseThrow(() -> new IllegalStateException(
+            "Multicast bus requires " + INVALIDATION_BUS_GROUP.getName()));
+    var secret = cfg.tryGetTyped(INVALIDATION_BUS_SECRET, String.class)
+        .orElseThrow(() -> new IllegalStateException(
+            "Multicast bus requires " + INVALIDATION_BUS_SECRET.getName()));
+    var maxAge = Duration.ofSeconds(cfg.getTyped(INVALIDATION_BUS_MAX_AGE, Long.class));
+    var interval = Duration.ofSeconds(cfg.getTyped(INVALIDATION_BUS_GLOBAL_INTERVAL, Long.class));
+
+    var sep = group.lastIndexOf(':');
+    if (sep < 0) {
+      throw new IllegalArgumentException("Expected {address}:{port}, found " + group);
+    }
+    try {
+      var address = new InetSocketAddress(
+          InetAddress.getByName(group.substring(0, sep).trim()),
+          Integer.parseInt(group.substring(sep + 1).trim()));
+      if (!address.getAddress().isMulticastAddress()) {
+        throw new IllegalArgumentException("Not a multicast address : " + group);
+      }
+      logger.info("Joining cache invalidation group {}", group);
+      return new MulticastCacheInvalidationBus(
+          address, new CacheInvalidationSigner(secret, maxAge), interval);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void publish(
+      @Nonnull final CacheInvalidationMessage message) {
+    origins.add(message.getOrigin());
+    var bytes = signer.seal(message).getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_MESSAGE_SIZE) {
+      logger.warn("Unable to publish {} : message too large", message);
+      return;
+    }
+    try {
+      socket.send(new DatagramPacket(bytes, bytes.length, group));
+    } catch (IOException e) {
+      logger.warn("Unable to publish {} : {}", message, e.getMessage());
+    }
+  }
+
+  @Override
+  public void subscribe(
+      @Nonnull final Consumer<CacheInvalidationMessage> subscriber) {
+    subscribers.add(subscriber);
+  }
+
+  @Override
+  public void unsubscribe(
+      @Nonnull final Consumer<CacheInvalidationMessage> subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+  @Override
+  public void close() {
+    try {
+      socket.leaveGroup(group, null);
+    } catch (IOException e) {
+      logger.debug("Unable to leave group {} : {}", group, e.getMessage());
+    }
+    socket.close();
+    receiver.shutdownNow();
+    dispatcher.shutdownNow();
+  }
+
+  /**
+   * Receives datagrams until the socket is closed, handing the authentic messages published by
+   * other replicas over to the dispatcher
+   */
+  private void receive() {
+    var buffer = new byte[MAX_MESSAGE_SIZE];
+    while (!socket.isClosed()) {
+      var packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        socket.receive(packet);
+      } catch (IOException e) {
+        if (!socket.isClosed()) {
+          logger.warn("Unable to receive on group {} : {}", group, e.getMessage());
+        }
+        continue;
+      }
+      var line = new String(
+          packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+      signer.open(line)
+          .filter(msg -> !origins.contains(msg.getOrigin()))
+          .ifPresent(msg -> dispatcher.execute(() -> accept(msg)));
+    }
+  }
+
+  /**
+   * Delivers a message to the subscribers, unless the message is a cache-wide request received
+   * within the interval that follows the last one, in which case it is deferred to the end of
+   * that interval, and coalesced with any other cache-wide request deferred
+   *
+   * @param message the message
+   */
+  private void accept(
+      @Nonnull final CacheInvalidationMessage message) {
+    if (!isGlobal(message)) {
+      dispatch(message);
+      return;
+    }
+    if (deferred != null) {
+      deferred = coalesce(deferred, message);
+      return;
+    }
+    var now = System.nanoTime();
+    var wait = lastGlobal != null ? lastGlobal + globalIntervalNanos - now : 0;
+    if (wait > 0) {
+      logger.debug("Deferring {} by {} ms", message, TimeUnit.NANOSECONDS.toMillis(wait));
+      deferred = message;
+      dispatcher.schedule(this::dispatchDeferred, wait, TimeUnit.NANOSECONDS);
+      return;
+    }
+    lastGlobal = now;
+    dispatch(message);
+  }
+
+  /**
+   * Delivers the deferred cache-wide request
+   */
+  private void dispatchDeferred() {
+    var message = deferred;
+    deferred = null;
+    if (message != null) {
+      lastGlobal = System.nanoTime();
+      dispatch(message);
+    }
+  }
+
+  /**
+   * @param message a message
+   * @return true if the message requests to invalidate, or rescan, all the caches
+   */
+  private boolean isGlobal(
+      @Nonnull final CacheInvalidationMessage message) {
+    return message.getAction() == Action.INVALIDATE_ALL || message.getAction() == Action.RESCAN;
+  }
+
+  /**
+   * Coalesces two cache-wide requests: a rescan subsumes an invalidation
+   *
+   * @param first  the earlier request
+   * @param second the later request
+   * @return the request that subsumes both
+   */
+  @Nonnull
+  private CacheInvalidationMessage coalesce(
+      @Nonnull final CacheInvalidationMessage first,
+      @Nonnull final CacheInvalidationMessage second) {
+    return first.getAction() == Action.RESCAN ? first : second;
+  }
+
+  /**
+   * Delivers a message to all the subscribers
+   *
+   * @param message the message
+   */
+  private void dispatch(
+      @Nonnull final CacheInvalidationMessage message) {
+    for (var subscriber : subscribers) {
+      try {
+        subscriber.accept(message);
+      } catch (RuntimeException e) {
+        logger.warn("Unable to apply {} : {}", message, e.getMessage());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,271 @@
+package edu.mayo.kmdp.trisotechwrapper.components.execution;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.EXEC_ARTIFACTS_REFRESH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.SERVICE_LIBRARY_ENVIRONMENT;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the Execution Artifacts (Services) deployed in the configured Service Library
+ * environments, indexed by name.
+ * <p>
+ * Each (Service Library, Execution Environment) pair is cached as a separate entry, which is
+ * loaded on first use, then refreshed in the background on a fixed schedule, so that Service
+ * introspection does not require live calls to the Service Libraries. Refreshes run on the
+ * refresh thread, and replace an entry only once the new listing is available: if the Service
+ * Library could not be reached, the previous listing is retained. If the Service Library cannot be
+ * reached on first use, an empty listing is cached, until the next refresh.
+ */
+public class ExecutionArtifactCache implements AutoCloseable {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(ExecutionArtifactCache.class);
+
+  /**
+   * Name of the thread used to refresh the Cache
+   */
+  public static final String REFRESH_POOL = "ttw-exec-refresh";
+
+  /**
+   * Name of the Cache, for monitoring purposes
+   */
+  public static final String EXEC_CACHE_NAME = "ttw.execution.artifacts";
+
+  /**
+   * Separator between the Service Library base URL and the Execution Environment name, in the
+   * configuration and in the Cache keys
+   */
+  public static final String ENV_SEPARATOR = "#";
+
+  /**
+   * The DES Web client, used to query the Service Libraries
+   */
+  @Nonnull
+  protected final TTDigitalEnterpriseServerClient webClient;
+
+  /**
+   * The configured Execution Environments, by Service Library base URL
+   */
+  @Nonnull
+  protected final Map<String, Set<String>> scopedEnvironments;
+
+  /**
+   * The Execution Artifacts, grouped by name, by (Service Library, Execution Environment)
+   */
+  @Nonnull
+  protected final LoadingCache<String, Map<String, List<TrisotechExecutionArtifact>>> execCache;
+
+  /**
+   * The scheduler that refreshes the Cache, and runs the refreshes
+   */
+  @Nonnull
+  protected final ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor
+   *
+   * @param webClient the DES client
+   * @param cfg       the Environment configuration
+   */
+  public ExecutionArtifactCache(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    this.webClient = webClient;
+    this.scopedEnvironments = getScopedExecEnvironments(cfg);
+    this.scheduler = ExecutorHelper.newScheduler(REFRESH_POOL);
+    this.execCache = MetricsHelper.monitor(Caffeine.newBuilder()
+        .executor(scheduler)
+        .recordStats()
+        .build(new CacheLoader<String, Map<String, List<TrisotechExecutionArtifact>>>() {
+          @Override
+          public @Nonnull Map<String, List<TrisotechExecutionArtifact>> load(
+              @Nonnull String key) {
+            try {
+              return listExecutionArtifacts(key);
+            } catch (RuntimeException e) {
+              logger.warn("Unable to list the Execution Artifacts in {} : {}",
+                  key, e.getMessage());
+              return Collections.emptyMap();
+            }
+          }
+
+          @Override
+          public @Nonnull Map<String, List<TrisotechExecutionArtifact>> reload(
+              @Nonnull String key,
+              @Nonnull Map<String, List<TrisotechExecutionArtifact>> oldValue) {
+            // propagate the failure, so that the previous listing is retained
+            return listExecutionArtifacts(key);
+          }
+        }), EXEC_CACHE_NAME);
+
+    long refresh = Math.max(1, cfg.getTyped(EXEC_ARTIFACTS_REFRESH, Long.class));
+    scheduler.scheduleWithFixedDelay(this::refreshAll, refresh, refresh, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the configured Execution Environments, by Service Library base URL
+   */
+  @Nonnull
+  public Map<String, Set<String>> getScopedEnvironments() {
+    return Collections.unmodifiableMap(scopedEnvironments);
+  }
+
+  /**
+   * Retrieves the Execution Artifacts deployed in some environments of a Service Library
+   *
+   * @param slBaseUrl the base URL of the Service Library
+   * @param execEnvs  the names of the Execution Environments
+   * @return the Execution Artifacts, grouped by name
+   */
+  @Nonnull
+  public Map<String, List<TrisotechExecutionArtifact>> getExecutionArtifacts(
+      @Nonnull final String slBaseUrl,
+      @Nonnull final Set<String> execEnvs) {
+    if (execEnvs.size() == 1) {
+      return execCache.get(toKey(slBaseUrl, execEnvs.iterator().next()));
+    }
+    return execCache.getAll(execEnvs.stream()
+            .map(env -> toKey(slBaseUrl, env))
+            .collect(Collectors.toList()))
+        .values().stream()
+        .flatMap(m -> m.entrySet().stream())
+        .collect(Collectors.groupingBy(
+            Map.Entry::getKey,
+            Collectors.flatMapping(e -> e.getValue().stream(), Collectors.toList())));
+  }
+
+  /**
+   * Retrieves the deployments of a Service with a given name, across the configured environments
+   * of all the configured Service Libraries
+   *
+   * @param name the name of the Service
+   * @return the Service deployments, if any
+   */
+  @Nonnull
+  public List<TrisotechExecutionArtifact> getExecutionArtifactsByName(
+      @Nonnull final String name) {
+    return scopedEnvironments.entrySet().stream()
+        .flatMap(sl -> sl.getValue().stream()
+            .map(env -> execCache.get(toKey(sl.getKey(), env))))
+        .flatMap(m -> m.getOrDefault(name, Collections.emptyList()).stream())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Invalidates the cached Execution Artifacts, so that they will be reloaded on next use
+   *
+   * @param slBaseUrl the base URL of the Service Library to invalidate, or null for all
+   */
+  public void invalidate(
+      @Nullable final String slBaseUrl) {
+    if (slBaseUrl == null) {
+      execCache.invalidateAll();
+    } else {
+      execCache.invalidateAll(execCache.asMap().keySet().stream()
+          .filter(key -> key.startsWith(slBaseUrl + ENV_SEPARATOR))
+          .collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Refreshes, asynchronously, the Execution Artifacts of all the configured environments
+   */
+  public void refreshAll() {
+    scopedEnvironments.forEach((sl, envs) ->
+        envs.forEach(env -> execCache.refresh(toKey(sl, env))));
+  }
+
+  /**
+   * Stops the scheduled refreshes
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Queries a Service Library environment for its deployed Execution Artifacts.
+   * <p>
+   * Failures to reach the Service Library are propagated, so that a failed refresh does not
+   * replace a previously cached listing
+   *
+   * @param key the (Service Library, Execution Environment) key
+   * @return the Execution Artifacts, grouped by name
+   * @throws RuntimeException if the Service Library could not be reached
+   */
+  @Nonnull
+  protected Map<String, List<TrisotechExecutionArtifact>> listExecutionArtifacts(
+      @Nonnull final String key) {
+    var idx = key.lastIndexOf(ENV_SEPARATOR);
+    var slBaseUrl = key.substring(0, idx);
+    var env = key.substring(idx + 1);
+    if (logger.isDebugEnabled()) {
+      logger.debug("Listing Execution Artifacts in {} / {}", slBaseUrl, env);
+    }
+    return webClient.getExecutionArtifacts(slBaseUrl, Set.of(env)).stream()
+        .collect(Collectors.groupingBy(TrisotechExecutionArtifact::getName));
+  }
+
+  /**
+   * Builds the Cache key for a (Service Library, Execution Environment) pair
+   *
+   * @param slBaseUrl the base URL of the Service Library
+   * @param env       the name of the Execution Environment
+   * @return the Cache key
+   */
+  @Nonnull
+  protected static String toKey(
+      @Nonnull final String slBaseUrl,
+      @Nonnull final String env) {
+    return slBaseUrl + ENV_SEPARATOR + env;
+  }
+
+  /**
+   * Parses the configured Execution Environments
+   *
+   * @param cfg the Environment configuration
+   * @return the configured Execution Environments, by Service Library base URL
+   * @see edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef#SERVICE_LIBRARY_ENVIRONMENT
+   */
+  @Nonnull
+  public static Map<String, Set<String>> getScopedExecEnvironments(
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    var env = cfg.getTyped(SERVICE_LIBRARY_ENVIRONMENT, String.class);
+    Map<String, Set<String>> envMap = new HashMap<>();
+    Optional.ofNullable(env).stream()
+        .flatMap(e -> Arrays.stream(e.split(",")))
+        .map(String::trim)
+        .map(s -> s.split(ENV_SEPARATOR))
+        .filter(ss -> ss.length == 2)
+        .forEach(ss -> envMap.computeIfAbsent(ss[0], k -> new HashSet<>())
+            .add(ss[1]));
+    return envMap;
+  }
+
+}
@@ -0,0 +1,147 @@
+package edu.mayo.kmdp.trisotechwrapper.components.graph;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import org.omg.spec.api4kp._20200801.id.KeyIdentifier;
+
+/**
+ * Asset-level view of the Model/Model dependencies indexed by a {@link PlacePathIndex}.
+ * <p>
+ * Materializes the transitive closure of the 'depends on' relationships, starting from a Model or
+ * from the Models that carry a given Asset (version). Closures are computed with a breadth-first
+ * traversal that tracks visited Models, so that cyclic and diamond-shaped dependency graphs are
+ * traversed exactly once per node. Results are memoized, and share the lifecycle of the
+ * {@link PlacePathIndex} that owns this graph: they are cleared when the index is destroyed, and
+ * rebuilt when the Place is reindexed.
+ * <p>
+ * Note that dependencies are only indexed between Models in the same Place, so a graph is
+ * complete with respect to its Place.
+ */
+public class AssetDependencyGraph {
+
+  /**
+   * Model ID to Model Manifest index, shared with the owning {@link PlacePathIndex}
+   */
+  @Nonnull
+  private final Map<String, SemanticModelInfo> modelInfoByModelID;
+
+  /**
+   * Asset ID to Model Manifest(s) index, shared with the owning {@link PlacePathIndex}
+   */
+  @Nonnull
+  private final Map<KeyIdentifier, SortedSet<SemanticModelInfo>> modelInfoByAssetID;
+
+  /**
+   * Memoized closures, by root Model ID
+   */
+  @Nonnull
+  private final Map<String, List<SemanticModelInfo>> closureByModel = new ConcurrentHashMap<>();
+
+  /**
+   * Memoized closures, by root Asset (version) ID
+   */
+  @Nonnull
+  private final Map<KeyIdentifier, List<SemanticModelInfo>> closureByAsset =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Constructor
+   *
+   * @param modelInfoByModelID the Model ID to Model Manifest index
+   * @param modelInfoByAssetID the Asset ID to Model Manifest(s) index
+   */
+  AssetDependencyGraph(
+      @Nonnull final Map<String, SemanticModelInfo> modelInfoByModelID,
+      @Nonnull final Map<KeyIdentifier, SortedSet<SemanticModelInfo>> modelInfoByAssetID) {
+    this.modelInfoByModelID = modelInfoByModelID;
+    this.modelInfoByAssetID = modelInfoByAssetID;
+  }
+
+  /**
+   * Returns the transitive closure of the dependencies of a given Model, including the Model
+   * itself.
+   *
+   * @param modelId the ID of the root Model
+   * @return the Manifests of the Models in the closure, in breadth-first order, root first; or an
+   * empty List if the Model is not indexed
+   */
+  @Nonnull
+  public List<SemanticModelInfo> getModelClosure(
+      @Nonnull final String modelId) {
+    var root = modelInfoByModelID.get(modelId);
+    if (root == null) {
+      return Collections.emptyList();
+    }
+    return closureByModel.computeIfAbsent(modelId, k -> traverse(List.of(root)));
+  }
+
+  /**
+   * Returns the transitive closure of the dependencies of the Models that carry a given Asset
+   * version, including those Models.
+   *
+   * @param assetKey the ID of the root Asset version
+   * @return the Manifests of the Models in the closure, in breadth-first order, roots first; or an
+   * empty List if the Asset is not indexed
+   */
+  @Nonnull
+  public List<SemanticModelInfo> getAssetClosure(
+      @Nonnull final KeyIdentifier assetKey) {
+    var roots = modelInfoByAssetID.get(assetKey);
+    if (roots == null || roots.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return closureByAsset.computeIfAbsent(assetKey, k -> traverse(roots));
+  }
+
+  /**
+   * Drops all the memoized closures
+   */
+  public void clear() {
+    closureByModel.clear();
+    closureByAsset.clear();
+  }
+
+  /**
+   * Breadth-first traversal of the 'depends on' relationships, from one or more root Models.
+   * <p>
+   * Each Model is visited at most once, which guarantees termination in presence of cycles.
+   * Dependencies on Models that are not indexed (e.g. filtered out by path) are skipped.
+   *
+   * @param roots the Manifests of the root Models
+   * @return the Manifests of all the Models reachable from the roots, roots included
+   */
+  @Nonnull
+  private List<SemanticModelInfo> traverse(
+      @Nonnull final Collection<SemanticModelInfo> roots) {
+    Set<String> visited = new LinkedHashSet<>();
+    List<SemanticModelInfo> closure = new ArrayList<>();
+    Deque<SemanticModelInfo> queue = new ArrayDeque<>(roots);
+
+    while (!queue.isEmpty()) {
+      var current = queue.poll();
+      if (!visited.add(current.getId())) {
+        continue;
+      }
+      closure.add(current);
+      for (var depId : current.getModelDependencies()) {
+        var dep = modelInfoByModelID.get(depId);
+        if (dep != null && !visited.contains(depId)) {
+          queue.add(dep);
+        }
+      }
+    }
+    return Collections.unmodifiableList(closure);
+  }
+
+}
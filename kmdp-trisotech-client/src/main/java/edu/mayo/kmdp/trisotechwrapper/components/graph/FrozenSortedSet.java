@@ -0,0 +1,226 @@
+package edu.mayo.kmdp.trisotechwrapper.components.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Read-only {@link SortedSet}, backed by a sorted array.
+ * <p>
+ * Used by a {@link PlacePathIndex} to freeze the (usually small) sets of Manifests indexed by
+ * Asset ID, once the index has been built. Lookups are binary searches, using the ordering of the
+ * original set, and the range views (head, tail and sub sets) share the same array, so that they
+ * do not copy or allocate beyond the view itself. All the mutators throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <T> the type of the elements
+ */
+final class FrozenSortedSet<T> extends AbstractSet<T> implements SortedSet<T> {
+
+  /**
+   * The elements, sorted
+   */
+  @Nonnull
+  private final T[] elements;
+
+  /**
+   * The index of the first element in this (view of the) set
+   */
+  private final int from;
+
+  /**
+   * The index past the last element in this (view of the) set
+   */
+  private final int to;
+
+  /**
+   * The comparator of the original set, or null if sorted by natural ordering
+   */
+  @Nullable
+  private final Comparator<? super T> comparator;
+
+  /**
+   * The comparator used for the searches
+   */
+  @Nonnull
+  private final Comparator<? super T> order;
+
+  /**
+   * Constructor
+   *
+   * @param elements   the elements, sorted
+   * @param from       the index of the first element in the view
+   * @param to         the index past the last element in the view
+   * @param comparator the comparator used to sort the elements, or null for natural ordering
+   */
+  @SuppressWarnings("unchecked")
+  private FrozenSortedSet(
+      @Nonnull final T[] elements,
+      final int from,
+      final int to,
+      @Nullable final Comparator<? super T> comparator) {
+    this.elements = elements;
+    this.from = from;
+    this.to = to;
+    this.comparator = comparator;
+    this.order = comparator != null
+        ? comparator
+        : (Comparator<? super T>) Comparator.naturalOrder();
+  }
+
+  /**
+   * Factory.
+   * <p>
+   * Copies a SortedSet into a frozen one, with the same elements and the same ordering
+   *
+   * @param source the set to copy
+   * @param <T>    the type of the elements
+   * @return a frozen copy of the source set
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  static <T> FrozenSortedSet<T> copyOf(
+      @Nonnull final SortedSet<T> source) {
+    if (source instanceof FrozenSortedSet) {
+      return (FrozenSortedSet<T>) source;
+    }
+    var elements = (T[]) source.toArray();
+    return new FrozenSortedSet<>(elements, 0, elements.length, source.comparator());
+  }
+
+  @Override
+  public int size() {
+    return to - from;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return to == from;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean contains(
+      @Nullable final Object o) {
+    if (o == null) {
+      return false;
+    }
+    try {
+      return Arrays.binarySearch(elements, from, to, (T) o, order) >= 0;
+    } catch (ClassCastException e) {
+      return false;
+    }
+  }
+
+  @Nonnull
+  @Override
+  public Iterator<T> iterator() {
+    return new Iterator<>() {
+      private int next = from;
+
+      @Override
+      public boolean hasNext() {
+        return next < to;
+      }
+
+      @Override
+      public T next() {
+        if (next >= to) {
+          throw new NoSuchElementException();
+        }
+        return elements[next++];
+      }
+    };
+  }
+
+  @Nullable
+  @Override
+  public Comparator<? super T> comparator() {
+    return comparator;
+  }
+
+  @Nonnull
+  @Override
+  public SortedSet<T> subSet(
+      @Nonnull final T fromElement,
+      @Nonnull final T toElement) {
+    if (order.compare(fromElement, toElement) > 0) {
+      throw new IllegalArgumentException("fromElement > toElement");
+    }
+    return view(lowerBound(fromElement), lowerBound(toElement));
+  }
+
+  @Nonnull
+  @Override
+  public SortedSet<T> headSet(
+      @Nonnull final T toElement) {
+    return view(from, lowerBound(toElement));
+  }
+
+  @Nonnull
+  @Override
+  public SortedSet<T> tailSet(
+      @Nonnull final T fromElement) {
+    return view(lowerBound(fromElement), to);
+  }
+
+  @Override
+  public T first() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return elements[from];
+  }
+
+  @Override
+  public T last() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return elements[to - 1];
+  }
+
+  /**
+   * Creates a view over a range of this set, sharing the same elements
+   *
+   * @param start the index of the first element in the view
+   * @param end   the index past the last element in the view
+   * @return the view
+   */
+  @Nonnull
+  private FrozenSortedSet<T> view(
+      final int start,
+      final int end) {
+    return start == from && end == to
+        ? this
+        : new FrozenSortedSet<>(elements, start, end, comparator);
+  }
+
+  /**
+   * Binary search
+   *
+   * @param element the element to search for
+   * @return the index of the first element, in this view, that is not less than the given element;
+   * or the index past the last element, if there is no such element
+   */
+  private int lowerBound(
+      @Nonnull final T element) {
+    int lo = from;
+    int hi = to;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (order.compare(elements[mid], element) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+}
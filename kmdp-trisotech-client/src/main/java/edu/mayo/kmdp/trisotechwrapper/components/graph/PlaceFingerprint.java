@@ -0,0 +1,100 @@
+package edu.mayo.kmdp.trisotechwrapper.components.graph;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.QuerySolution;
+
+/**
+ * Accumulates the solutions of the {@link TTQueryTemplate#FINGERPRINT} probe into the fingerprint
+ * of a Place graph.
+ * <p>
+ * Each solution describes either a Model (version, state, path and last update), or a Model/Model
+ * relationship. The solutions are digested one by one, and the digests are summed, so that the
+ * fingerprint does not depend on the order in which the solutions are received. The fingerprint
+ * combines the number of Models with the sum of the digests, and changes whenever a Model is
+ * added, removed, updated, moved, or changes state, or a relationship is added or removed.
+ * <p>
+ * Not thread safe: solutions are expected to be accumulated by a single consumer
+ */
+public final class PlaceFingerprint {
+
+  /**
+   * The variables of the probe, in the order they are digested
+   */
+  private static final List<String> VARS =
+      List.of("model", "version", "state", "path", "updated", "relType", "toModel");
+
+  /**
+   * The Models in the Place
+   */
+  private final Set<String> models = new HashSet<>();
+
+  /**
+   * The digest function
+   */
+  private final MessageDigest md;
+
+  /**
+   * The sum of the digests of the solutions
+   */
+  private long digest;
+
+  /**
+   * Constructor
+   */
+  public PlaceFingerprint() {
+    try {
+      md = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Adds a solution of the probe to the fingerprint
+   *
+   * @param sol the solution
+   */
+  public void add(
+      @Nonnull final QuerySolution sol) {
+    var model = sol.get("model");
+    if (model == null) {
+      return;
+    }
+    if (sol.get("toModel") == null) {
+      models.add(model.toString());
+    }
+    var entry = new StringBuilder();
+    for (String v : VARS) {
+      var node = sol.get(v);
+      entry.append(node != null ? node.toString() : "").append('|');
+    }
+    var hash = md.digest(entry.toString().getBytes(StandardCharsets.UTF_8));
+    long h = 0;
+    for (int j = 0; j < Long.BYTES; j++) {
+      h = (h << 8) | (hash[j] & 0xFF);
+    }
+    digest += h;
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the fingerprint, as the number of Models and the (hex) sum of the digests
+   */
+  @Nonnull
+  public String get() {
+    return models.size() + "#" + String.format("%016x", digest);
+  }
+
+  @Override
+  public String toString() {
+    return get();
+  }
+
+}
@@ -0,0 +1,215 @@
+package edu.mayo.kmdp.trisotechwrapper.components.graph;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The difference between two consecutive {@link PlacePathIndex}es of the same Place, at the
+ * level of the indexed Models.
+ * <p>
+ * Models are compared by ID, version and last update timestamp: a Model is 'changed' if it is
+ * indexed in both the previous and the next index, but with a different version or timestamp;
+ * 'added' if only indexed in the next index, and 'removed' if only indexed in the previous one.
+ * The changed and removed Models are 'stale': any copy of those Models (e.g. in a Model cache)
+ * should be discarded.
+ * <p>
+ * Deltas are published as change events when a Place is loaded or reindexed.
+ */
+public final class PlaceIndexDelta {
+
+  /**
+   * The ID of the reindexed Place
+   */
+  @Nonnull
+  private final String placeId;
+
+  /**
+   * The (new) index of the Place
+   */
+  @Nonnull
+  private final PlacePathIndex index;
+
+  /**
+   * The IDs of the Models that have been added to the Place
+   */
+  @Nonnull
+  private final Set<String> added;
+
+  /**
+   * The IDs of the Models that have a different version, or have been updated
+   */
+  @Nonnull
+  private final Set<String> changed;
+
+  /**
+   * The IDs of the Models that have been removed from the Place
+   */
+  @Nonnull
+  private final Set<String> removed;
+
+  /**
+   * The number of Models that are unchanged
+   */
+  private final int unchanged;
+
+  /**
+   * Constructor
+   *
+   * @param placeId   the ID of the reindexed Place
+   * @param index     the new index of the Place
+   * @param added     the IDs of the added Models
+   * @param changed   the IDs of the changed Models
+   * @param removed   the IDs of the removed Models
+   * @param unchanged the number of unchanged Models
+   */
+  private PlaceIndexDelta(
+      @Nonnull final String placeId,
+      @Nonnull final PlacePathIndex index,
+      @Nonnull final Set<String> added,
+      @Nonnull final Set<String> changed,
+      @Nonnull final Set<String> removed,
+      final int unchanged) {
+    this.placeId = placeId;
+    this.index = index;
+    this.added = Collections.unmodifiableSet(added);
+    this.changed = Collections.unmodifiableSet(changed);
+    this.removed = Collections.unmodifiableSet(removed);
+    this.unchanged = unchanged;
+  }
+
+  /**
+   * Factory.
+   * <p>
+   * Compares the Models indexed by two indexes of the same Place. If there is no previous index,
+   * e.g. when the Place is first loaded, all the Models are considered added
+   *
+   * @param previous the previous index, if any
+   * @param next     the next index
+   * @return the difference between the two indexes
+   */
+  @Nonnull
+  public static PlaceIndexDelta between(
+      @Nullable final PlacePathIndex previous,
+      @Nonnull final PlacePathIndex next) {
+    Map<String, SemanticModelInfo> before = previous != null
+        ? previous.getModelToManifestMappings()
+        : Collections.emptyMap();
+    Map<String, SemanticModelInfo> after = next.getModelToManifestMappings();
+
+    Set<String> added = new LinkedHashSet<>();
+    Set<String> changed = new LinkedHashSet<>();
+    Set<String> removed = new LinkedHashSet<>();
+    int unchanged = 0;
+    for (var entry : after.entrySet()) {
+      var old = before.get(entry.getKey());
+      if (old == null) {
+        added.add(entry.getKey());
+      } else if (sameRevision(old, entry.getValue())) {
+        unchanged++;
+      } else {
+        changed.add(entry.getKey());
+      }
+    }
+    before.keySet().stream()
+        .filter(id -> !after.containsKey(id))
+        .forEach(removed::add);
+    return new PlaceIndexDelta(
+        next.getPlace().getId(), next, added, changed, removed, unchanged);
+  }
+
+  /**
+   * Predicate
+   *
+   * @param a a Model manifest
+   * @param b another manifest, of the same Model
+   * @return true if the two manifests have the same version and last update timestamp
+   */
+  static boolean sameRevision(
+      @Nonnull final SemanticModelInfo a,
+      @Nonnull final SemanticModelInfo b) {
+    return Objects.equals(a.getVersion(), b.getVersion())
+        && Objects.equals(a.getUpdated(), b.getUpdated());
+  }
+
+  /**
+   * @return the ID of the reindexed Place
+   */
+  @Nonnull
+  public String getPlaceId() {
+    return placeId;
+  }
+
+  /**
+   * @return the new index of the Place
+   */
+  @Nonnull
+  public PlacePathIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * @return the IDs of the Models that have been added to the Place
+   */
+  @Nonnull
+  public Set<String> getAdded() {
+    return added;
+  }
+
+  /**
+   * @return the IDs of the Models that have a different version, or have been updated
+   */
+  @Nonnull
+  public Set<String> getChanged() {
+    return changed;
+  }
+
+  /**
+   * @return the IDs of the Models that have been removed from the Place
+   */
+  @Nonnull
+  public Set<String> getRemoved() {
+    return removed;
+  }
+
+  /**
+   * @return the number of Models that are unchanged
+   */
+  public int getUnchanged() {
+    return unchanged;
+  }
+
+  /**
+   * @return the IDs of the Models that have been changed or removed, whose cached copies are stale
+   */
+  @Nonnull
+  public Set<String> getStaleModels() {
+    Set<String> stale = new LinkedHashSet<>(changed);
+    stale.addAll(removed);
+    return stale;
+  }
+
+  /**
+   * @return true if no Model has been added, changed or removed
+   */
+  public boolean isEmpty() {
+    return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "PlaceIndexDelta{" +
+        "placeId='" + placeId + '\'' +
+        ", added=" + added.size() +
+        ", changed=" + changed.size() +
+        ", removed=" + removed.size() +
+        ", unchanged=" + unchanged +
+        '}';
+  }
+
+}
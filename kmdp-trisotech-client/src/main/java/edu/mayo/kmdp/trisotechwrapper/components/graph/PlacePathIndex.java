@@ -18,12 +18,10 @@ import static edu.mayo.kmdp.util.DateTimeUtil.parseDateTime;
 import static edu.mayo.kmdp.util.DateTimeUtil.toLocalDate;
 import static java.lang.String.format;
 import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.reducing;
 import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newId;
-import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newVersionId;
 
 import com.github.zafarkhaja.semver.Version;
+import edu.mayo.kmdp.trisotechwrapper.components.ManifestInterner;
 import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
@@ -31,20 +29,20 @@ import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
 import edu.mayo.kmdp.util.DateTimeUtil;
 import edu.mayo.kmdp.util.NameUtils;
-import edu.mayo.kmdp.util.StreamUtil;
 import edu.mayo.kmdp.util.Util;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.jena.query.QuerySolution;
@@ -74,6 +72,14 @@ import org.slf4j.LoggerFactory;
  * contains the 0..N relations to the Service Assets exposed by that Model, which in turn have their
  * own Manifest. A Model Manifest also contains a reverse link to the 0..1 Asset it carries, and the
  * 0..N dependency relationships to other Models.
+ * <p>
+ * Indexes are populated by a {@link Builder}, then frozen into immutable structures, which are
+ * safe to read concurrently, without locking, until the index is destroyed.
+ * <p>
+ * Freezing extends to the Manifests themselves, which are made read-only, so that they can be
+ * handed out to any client, and reused by later indexes of the same Place.
+ *
+ * @see SemanticModelInfo#freeze()
  */
 public class PlacePathIndex {
 
@@ -93,14 +99,20 @@ public class PlacePathIndex {
   private final Set<String> paths;
 
   /**
-   * Map of Asset ID to semantic metadata
+   * The indexed Manifests. While the index is being built, the Manifests are held in mutable
+   * structures, which are frozen once the index is complete, and only read afterwards.
+   * <p>
+   * The (immutable) Contents are replaced as a whole, and safely published through this volatile
+   * reference, so that readers do not need any further synchronization
    */
-  private final Map<KeyIdentifier, SortedSet<SemanticModelInfo>> modelInfoByAssetID;
+  @Nonnull
+  private volatile Contents contents;
 
   /**
-   * Map of Model ID to semantic metadata
+   * Summary of the state of the Place graph this index was built from, used to detect changes
    */
-  private final Map<String, SemanticModelInfo> modelInfoByModelID;
+  @Nullable
+  private volatile String fingerprint;
 
   /**
    * Constructor.
@@ -114,8 +126,7 @@ public class PlacePathIndex {
       @Nonnull final Set<String> paths) {
     this.place = focusPlace;
     this.paths = paths;
-    this.modelInfoByAssetID = new ConcurrentHashMap<>();
-    this.modelInfoByModelID = new ConcurrentHashMap<>();
+    this.contents = Contents.mutable();
   }
 
   /**
@@ -143,19 +154,160 @@ public class PlacePathIndex {
       @Nonnull final ResultSet services,
       @Nonnull final BiFunction<String, String, List<TrisotechFileInfo>> historyProvider,
       @Nonnull final TTWEnvironmentConfiguration cfg) {
-    var ppi = new PlacePathIndex(focusPlace, paths);
-    ppi.indexModels(allModels, focusPlace, paths, historyProvider, cfg);
-    ppi.indexRelationships(relations);
-    ppi.indexServices(services, cfg);
-    return ppi;
+    return index(focusPlace, paths,
+        allModels::forEachRemaining,
+        relations::forEachRemaining,
+        services::forEachRemaining,
+        historyProvider, cfg);
+  }
+
+  /**
+   * Factory.
+   * <p>
+   * Builds a PlacePathIndex graph object for the given Place, using the environment information,
+   * and the results of the queries to the TT DES Knowledge Graph, streamed as they are received.
+   * <p>
+   * Each source is invoked once, in order (Models, relationships, Services), and is expected to
+   * push all the results of its query to the consumer it is given, before returning
+   *
+   * @param focusPlace      the Place for which to build this index
+   * @param paths           the Paths of the folders used to filter the Models
+   * @param allModels       the source of the results of the Query that describes the Models
+   * @param relations       the source of the results of the Query that describes the Model/Model
+   *                        relationships
+   * @param services        the source of the results of the Query that describes the
+   *                        Models/Service relationships
+   * @param historyProvider the mapping between a Model and the descriptors of its previous
+   *                        versions
+   * @param cfg             the Environment configuration
+   * @return a PlacePathIndex for the given Path, based on the query results
+   */
+  @Nonnull
+  public static PlacePathIndex index(
+      @Nonnull final TrisotechPlace focusPlace,
+      @Nonnull final Set<String> paths,
+      @Nonnull final Consumer<Consumer<QuerySolution>> allModels,
+      @Nonnull final Consumer<Consumer<QuerySolution>> relations,
+      @Nonnull final Consumer<Consumer<QuerySolution>> services,
+      @Nonnull final BiFunction<String, String, List<TrisotechFileInfo>> historyProvider,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    var builder = builder(focusPlace, paths, historyProvider, cfg);
+    allModels.accept(builder::addModel);
+    relations.accept(builder::addRelationship);
+    services.accept(builder::addService);
+    return builder.build();
+  }
+
+  /**
+   * Factory.
+   * <p>
+   * Creates a {@link Builder}, which can be used to build a PlacePathIndex incrementally, one
+   * query solution at a time
+   *
+   * @param focusPlace      the Place for which to build this index
+   * @param paths           the Paths of the folders used to filter the Models
+   * @param historyProvider the mapping between a Model and the descriptors of its previous
+   *                        versions
+   * @param cfg             the Environment configuration
+   * @return a Builder for a PlacePathIndex for the given Place
+   */
+  @Nonnull
+  public static Builder builder(
+      @Nonnull final TrisotechPlace focusPlace,
+      @Nonnull final Set<String> paths,
+      @Nonnull final BiFunction<String, String, List<TrisotechFileInfo>> historyProvider,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    return new Builder(new PlacePathIndex(focusPlace, paths), historyProvider, cfg);
   }
 
   /**
    * Clears the internal indexes
    */
   public void destroy() {
-    modelInfoByAssetID.clear();
-    modelInfoByModelID.clear();
+    var destroyed = contents;
+    contents = Contents.empty();
+    destroyed.dependencyGraph.clear();
+  }
+
+  /**
+   * Freezes the internal indexes, once all the Models, relationships and Services have been
+   * indexed.
+   * <p>
+   * The Model index is copied into an immutable (open addressing) Map, and the Asset index into
+   * an immutable Map of (sorted, array-backed) {@link FrozenSortedSet}s. The indexed Manifests
+   * are made read-only
+   */
+  protected void freeze() {
+    var building = contents;
+    if (!building.frozen) {
+      contents = Contents.frozen(building.modelInfoByModelID, building.modelInfoByAssetID);
+    }
+  }
+
+  /**
+   * Replaces the Manifests indexed so far with the equivalent Manifests of a previous index of
+   * the same Place, if any, so that the Manifests of unchanged Models (and Services) are shared
+   * across reindexing, rather than duplicated.
+   * <p>
+   * A previous Manifest is only reused if it is fully equivalent to the new one, including the
+   * relationships to other Models and Services. Previous Manifests are not modified.
+   *
+   * @param previous the previous index
+   * @see #isReusable(SemanticModelInfo, SemanticModelInfo)
+   */
+  protected void reuseManifests(
+      @Nonnull final PlacePathIndex previous) {
+    var building = contents;
+    if (building.frozen || previous == this) {
+      return;
+    }
+    var previousByModel = previous.getModelToManifestMappings();
+    building.modelInfoByModelID.replaceAll((id, info) -> {
+      var prev = previousByModel.get(id);
+      return prev != null && isReusable(prev, info) ? prev : info;
+    });
+
+    var previousByAsset = previous.getAssetToManifestMappings();
+    building.modelInfoByAssetID.replaceAll((key, infos) -> {
+      var prevs = previousByAsset.get(key);
+      if (prevs == null) {
+        return infos;
+      }
+      var merged = newSortedManifestSet();
+      for (var info : infos) {
+        merged.add(prevs.stream()
+            .filter(prev -> isReusable(prev, info))
+            .findFirst()
+            .orElse(info));
+      }
+      return merged;
+    });
+  }
+
+  /**
+   * Predicate
+   * <p>
+   * Determines whether a previously indexed Manifest can be used in place of a new one
+   *
+   * @param prev the previous Manifest
+   * @param info the new Manifest
+   * @return true if the two Manifests describe the same revision of the same Model (or Service),
+   * in the same location, with the same relationships
+   */
+  private boolean isReusable(
+      @Nonnull final SemanticModelInfo prev,
+      @Nonnull final SemanticModelInfo info) {
+    return prev == info
+        || Objects.equals(prev.getId(), info.getId())
+        && PlaceIndexDelta.sameRevision(prev, info)
+        && Objects.equals(prev.getServiceId(), info.getServiceId())
+        && Objects.equals(prev.getAssetId(), info.getAssetId())
+        && Objects.equals(prev.getPath(), info.getPath())
+        && Objects.equals(prev.getState(), info.getState())
+        && prev.getModelDependencies().equals(info.getModelDependencies())
+        && prev.getReverseModelDependencies().equals(info.getReverseModelDependencies())
+        && prev.getExposedServices().size() == info.getExposedServices().size()
+        && Set.copyOf(prev.getExposedServices()).equals(Set.copyOf(info.getExposedServices()));
   }
 
   /**
@@ -163,7 +315,10 @@ public class PlacePathIndex {
    */
   @Nonnull
   public Map<String, SemanticModelInfo> getModelToManifestMappings() {
-    return Collections.unmodifiableMap(modelInfoByModelID);
+    var current = contents;
+    return current.frozen
+        ? current.modelInfoByModelID
+        : Collections.unmodifiableMap(current.modelInfoByModelID);
   }
 
   /**
@@ -171,7 +326,18 @@ public class PlacePathIndex {
    */
   @Nonnull
   public Map<KeyIdentifier, SortedSet<SemanticModelInfo>> getAssetToManifestMappings() {
-    return Collections.unmodifiableMap(modelInfoByAssetID);
+    var current = contents;
+    return current.frozen
+        ? current.modelInfoByAssetID
+        : Collections.unmodifiableMap(current.modelInfoByAssetID);
+  }
+
+  /**
+   * @return the Asset/Model dependency graph, which shares the lifecycle of this index
+   */
+  @Nonnull
+  public AssetDependencyGraph getDependencyGraph() {
+    return contents.dependencyGraph;
   }
 
   /**
@@ -188,12 +354,31 @@ public class PlacePathIndex {
     return Collections.unmodifiableSet(paths);
   }
 
+  /**
+   * @return the fingerprint of the Place graph this index was built from, if known
+   */
+  @Nullable
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Records the fingerprint of the Place graph this index was built from
+   *
+   * @param fingerprint the fingerprint, null if unknown
+   * @see TTGraphQueryHelper#refreshPlace
+   */
+  public void setFingerprint(
+      @Nullable final String fingerprint) {
+    this.fingerprint = fingerprint;
+  }
+
   /* ---------------------------------------------------------------------------------------- */
 
   /**
-   * Indexes the BPM+ models.
+   * Mapper.
    * <p>
-   * Creates a {@link SemanticModelInfo} manifest for each model, based on the result of the
+   * Creates a {@link SemanticModelInfo} manifest for a model, based on one solution of the
    * descriptive query, applying several filters
    *  <ul>
    *    <li>Filters based on Place/Path focus, only retaining models stored in the given
@@ -203,39 +388,29 @@ public class PlacePathIndex {
    * <li>Filters out models that do not have an asset ID, unless ANONYMOUS_ASSETS_FLAG is set, when
    * a system asset ID is generated for models that do not assert on </li>
    * </ul>
-   * . .
+   * <p>
+   * The query may return more than one solution per model: the resulting manifests are expected
+   * to be merged, model by model, before being indexed
    *
-   * @param modelSet        the model metadata, as queried from the DES KG
-   * @param focusPlace      the place the models come from
-   * @param paths           the path filters
+   * @param sol             the model metadata, as queried from the DES KG
+   * @param publishedOnly   if true, requires Models to have a publication status
+   * @param allowsAnonymous if true, will mint an asset ID for models that do not have one
    * @param historyProvider the mapping between a Model and the descriptors of its previous *
    *                        versions
    * @param cfg             the environment configuration
+   * @return the manifest of the model, if it is to be indexed
    * @see TTGraphTerms
    */
-  protected void indexModels(
-      @Nonnull final ResultSet modelSet,
-      @Nonnull final TrisotechPlace focusPlace,
-      @Nonnull final Set<String> paths,
+  @Nonnull
+  protected Optional<SemanticModelInfo> toIndexableManifest(
+      @Nonnull final QuerySolution sol,
+      final boolean publishedOnly,
+      final boolean allowsAnonymous,
       @Nonnull final BiFunction<String, String, List<TrisotechFileInfo>> historyProvider,
       @Nonnull final TTWEnvironmentConfiguration cfg) {
-    var publishedOnly = cfg.getTyped(TTWConfigParamsDef.PUBLISHED_ONLY_FLAG, Boolean.class);
-    var allowsAnonymous = cfg.getTyped(TTWConfigParamsDef.ANONYMOUS_ASSETS_FLAG, Boolean.class);
-
-    List<SemanticModelInfo> infoList = new LinkedList<>();
-    while (modelSet.hasNext()) {
-      Optional.of(toModelManifest(modelSet.nextSolution(), focusPlace, allowsAnonymous, cfg))
-          .filter(mf -> filterByPath(mf, paths))
-          .flatMap(mf -> applyStatus(mf, publishedOnly, focusPlace, historyProvider))
-          .ifPresent(infoList::add);
-    }
-
-    // more than one solution per
-    infoList.stream()
-        .collect(groupingBy(SemanticModelInfo::getId, reducing(SemanticModelInfo::merge)))
-        .values().stream()
-        .flatMap(StreamUtil::trimStream)
-        .forEach(this::indexModel);
+    return Optional.of(toModelManifest(sol, place, allowsAnonymous, cfg))
+        .filter(mf -> filterByPath(mf, paths))
+        .flatMap(mf -> applyStatus(mf, publishedOnly, place, historyProvider));
   }
 
   /**
@@ -321,6 +496,7 @@ public class PlacePathIndex {
    */
   protected void indexByModel(
       @Nonnull final SemanticModelInfo metadata) {
+    var modelInfoByModelID = contents.modelInfoByModelID;
     var modelId = metadata.getId();
     if (modelInfoByModelID.containsKey(modelId)) {
       logger.error("model ID {} - {} has been indexed multiple times",
@@ -346,42 +522,40 @@ public class PlacePathIndex {
           metadata.getId(),
           assetKey);
     }
-    modelInfoByAssetID.computeIfAbsent(assetKey, k -> newSortedManifestSet()).add(metadata);
+    contents.modelInfoByAssetID.computeIfAbsent(assetKey, k -> newSortedManifestSet()).add(metadata);
   }
 
   /* ---------------------------------------------------------------------------------------- */
 
 
   /**
-   * Indexes Model/Model dependencies between BPM+ models, from the source model that 'depends on' a
-   * target model. Both models must be indexed before the relationship between the two is. Adds a
-   * reverese relationship link if the direct one can be established.
+   * Indexes one Model/Model dependency between BPM+ models, from the source model that 'depends
+   * on' a target model. Both models must be indexed before the relationship between the two is.
+   * Adds a reverese relationship link if the direct one can be established.
    *
-   * @param relations the dependencies, as queried from the DES KG
-   */
-  protected void indexRelationships(ResultSet relations) {
-    while (relations.hasNext()) {
-      QuerySolution sol = relations.nextSolution();
-      var srcModel = sol.getResource("?fromModel").getURI();
-      var tgtModel = sol.getResource("?toModel").getURI();
-      modelInfoByModelID.computeIfPresent(srcModel, (k, info) -> {
-        // apply only if srcAsset has not been filtered out
-        if (modelInfoByModelID.containsKey(tgtModel)) {
-          info.addModelDependency(tgtModel);
-          modelInfoByModelID.get(tgtModel)
-              .addReverseModelDependency(srcModel);
-        }
-        return info;
-      });
-    }
+   * @param sol the dependency, as queried from the DES KG
+   */
+  protected void indexRelationship(
+      @Nonnull final QuerySolution sol) {
+    var srcModel = sol.getResource("?fromModel").getURI();
+    var tgtModel = sol.getResource("?toModel").getURI();
+    var modelInfoByModelID = contents.modelInfoByModelID;
+    modelInfoByModelID.computeIfPresent(srcModel, (k, info) -> {
+      // apply only if srcAsset has not been filtered out
+      if (modelInfoByModelID.containsKey(tgtModel)) {
+        info.addModelDependency(tgtModel);
+        modelInfoByModelID.get(tgtModel)
+            .addReverseModelDependency(srcModel);
+      }
+      return info;
+    });
   }
 
   /* ---------------------------------------------------------------------------------------- */
 
 
   /**
-   * Indexes relationships between (computable) BPM+ models, and the Decision/Process Services that
-   * expose them.
+   * Indexes a (Decision) Service exposed by a Decision or Process Model.
    * <p>
    * Assuming the models are annotated with Service Asset Ids, and that one model can expose
    * multiple services, maps:
@@ -391,24 +565,7 @@ public class PlacePathIndex {
    * </ul>
    * <p>
    * The semantic metadata descriptor of a service asset is partially inferred from the semantic
-   * metadata of the underlying knowledge asset
-   *
-   * @param services the semantic metadata for all services, as queried from the DES KG
-   * @param cfg      the environment configuration
-   */
-  protected void indexServices(
-      @Nonnull final ResultSet services,
-      @Nonnull final TTWEnvironmentConfiguration cfg) {
-    var allowsAnonymous = cfg.getTyped(TTWConfigParamsDef.ANONYMOUS_ASSETS_FLAG, Boolean.class);
-
-    while (services.hasNext()) {
-      var sol = services.nextSolution();
-      indexService(sol, allowsAnonymous, cfg);
-    }
-  }
-
-  /**
-   * Indexes a (Decision) Service exposed by a Decision or Process Model.
+   * metadata of the underlying knowledge asset.
    * <p>
    * Links the Service Manifest to the Model Manifest, and indexes the Service Manifest as an Asset.
    * Note that Service Assets are not indexed as Models themselves because they do not exist as
@@ -431,7 +588,7 @@ public class PlacePathIndex {
       return;
     }
     // ensure declaring model has not been filtered
-    Optional.ofNullable(modelInfoByModelID.get(serviceManifest.getId()))
+    Optional.ofNullable(contents.modelInfoByModelID.get(serviceManifest.getId()))
         .ifPresent(manifest -> {
           // index service - as asset only
           mergeManifests(serviceManifest, manifest);
@@ -626,7 +783,7 @@ public class PlacePathIndex {
   private KeyIdentifier parseAssetKey(@Nonnull final String id) {
     return Util.isUUID(id)
         ? newId(id).asKey()
-        : newVersionId(URI.create(id)).asKey();
+        : ManifestInterner.key(id);
   }
 
 
@@ -666,4 +823,253 @@ public class PlacePathIndex {
             .orElse(IdentifierConstants.VERSION_ZERO_SNAPSHOT));
   }
 
+
+  /**
+   * The indexes of a PlacePathIndex, and the dependency graph derived from them.
+   * <p>
+   * Mutable Contents are only used (by one thread) while the index is being built. Frozen
+   * Contents are immutable, and can be shared across threads once published
+   */
+  private static final class Contents {
+
+    /**
+     * Map of Model ID to semantic metadata
+     */
+    @Nonnull
+    final Map<String, SemanticModelInfo> modelInfoByModelID;
+
+    /**
+     * Map of Asset ID to semantic metadata
+     */
+    @Nonnull
+    final Map<KeyIdentifier, SortedSet<SemanticModelInfo>> modelInfoByAssetID;
+
+    /**
+     * Asset/Model dependency graph, with memoized transitive closures
+     */
+    @Nonnull
+    final AssetDependencyGraph dependencyGraph;
+
+    /**
+     * True if the indexes are immutable
+     */
+    final boolean frozen;
+
+    /**
+     * Constructor
+     *
+     * @param modelInfoByModelID the Model ID to Model Manifest index
+     * @param modelInfoByAssetID the Asset ID to Model Manifest(s) index
+     * @param frozen             true if the indexes are immutable
+     */
+    private Contents(
+        @Nonnull final Map<String, SemanticModelInfo> modelInfoByModelID,
+        @Nonnull final Map<KeyIdentifier, SortedSet<SemanticModelInfo>> modelInfoByAssetID,
+        final boolean frozen) {
+      this.modelInfoByModelID = modelInfoByModelID;
+      this.modelInfoByAssetID = modelInfoByAssetID;
+      this.dependencyGraph = new AssetDependencyGraph(modelInfoByModelID, modelInfoByAssetID);
+      this.frozen = frozen;
+    }
+
+    /**
+     * Factory. Each destroyed index gets its own Contents, since the dependency graph of the
+     * Contents, albeit empty, memoizes the closures it is asked for
+     *
+     * @return new, empty, frozen Contents, used once an index has been destroyed
+     */
+    @Nonnull
+    static Contents empty() {
+      return frozen(Map.of(), Map.of());
+    }
+
+    /**
+     * Factory
+     *
+     * @return new, empty, mutable Contents, to be populated while building an index
+     */
+    @Nonnull
+    static Contents mutable() {
+      return new Contents(new HashMap<>(), new HashMap<>(), false);
+    }
+
+    /**
+     * Factory
+     *
+     * @param modelInfoByModelID the Model ID to Model Manifest index
+     * @param modelInfoByAssetID the Asset ID to Model Manifest(s) index
+     * @return immutable Contents, with frozen copies of the given indexes, and read-only Manifests
+     */
+    @Nonnull
+    static Contents frozen(
+        @Nonnull final Map<String, SemanticModelInfo> modelInfoByModelID,
+        @Nonnull final Map<KeyIdentifier, SortedSet<SemanticModelInfo>> modelInfoByAssetID) {
+      modelInfoByModelID.values().forEach(SemanticModelInfo::freeze);
+      modelInfoByAssetID.values().forEach(infos -> infos.forEach(SemanticModelInfo::freeze));
+      Map<KeyIdentifier, SortedSet<SemanticModelInfo>> frozenByAsset =
+          new HashMap<>(modelInfoByAssetID.size());
+      modelInfoByAssetID.forEach((k, v) -> frozenByAsset.put(k, FrozenSortedSet.copyOf(v)));
+      return new Contents(
+          Map.copyOf(modelInfoByModelID),
+          Map.copyOf(frozenByAsset),
+          true);
+    }
+  }
+
+
+  /**
+   * Builds a {@link PlacePathIndex} incrementally, from the solutions of the queries to the TT DES
+   * Knowledge Graph, pushed one at a time, as they are received.
+   * <p>
+   * Solutions must be pushed in order: all the Models first, then the Model/Model relationships,
+   * and the Services last. Since the Models solutions are merged, model by model, the Models are
+   * only indexed once the first relationship or Service is pushed, or the index is built.
+   * <p>
+   * Builders are not thread safe
+   */
+  public static final class Builder {
+
+    /**
+     * The index being built
+     */
+    @Nonnull
+    private final PlacePathIndex index;
+
+    /**
+     * The mapping between a Model and the descriptors of its previous versions
+     */
+    @Nonnull
+    private final BiFunction<String, String, List<TrisotechFileInfo>> historyProvider;
+
+    /**
+     * The environment configuration
+     */
+    @Nonnull
+    private final TTWEnvironmentConfiguration cfg;
+
+    /**
+     * If true, requires Models to have a publication status
+     */
+    private final boolean publishedOnly;
+
+    /**
+     * If true, mints asset IDs for Models and Services that do not have one
+     */
+    private final boolean allowsAnonymous;
+
+    /**
+     * The (merged) Model manifests, not yet indexed. Null once the Models have been indexed
+     */
+    @Nullable
+    private Map<String, SemanticModelInfo> pendingModels = new HashMap<>();
+
+    /**
+     * A previous index of the same Place, whose unchanged Manifests are reused, if any
+     */
+    @Nullable
+    private PlacePathIndex previous;
+
+    /**
+     * Constructor
+     *
+     * @param index           the (empty) index to be built
+     * @param historyProvider the mapping between a Model and the descriptors of its previous
+     *                        versions
+     * @param cfg             the environment configuration
+     */
+    private Builder(
+        @Nonnull final PlacePathIndex index,
+        @Nonnull final BiFunction<String, String, List<TrisotechFileInfo>> historyProvider,
+        @Nonnull final TTWEnvironmentConfiguration cfg) {
+      this.index = index;
+      this.historyProvider = historyProvider;
+      this.cfg = cfg;
+      this.publishedOnly = cfg.getTyped(TTWConfigParamsDef.PUBLISHED_ONLY_FLAG, Boolean.class);
+      this.allowsAnonymous = cfg.getTyped(TTWConfigParamsDef.ANONYMOUS_ASSETS_FLAG, Boolean.class);
+    }
+
+    /**
+     * Sets a previous index of the same Place, so that the Manifests of the Models (and Services)
+     * that have not changed since are reused in the index being built
+     *
+     * @param previousIndex the previous index, if any
+     * @return this Builder
+     * @see PlacePathIndex#reuseManifests(PlacePathIndex)
+     */
+    @Nonnull
+    public Builder reusing(
+        @Nullable final PlacePathIndex previousIndex) {
+      this.previous = previousIndex;
+      return this;
+    }
+
+    /**
+     * Adds a Model, merging it with any previous solution about the same Model
+     *
+     * @param sol the model metadata, as queried from the DES KG
+     * @throws IllegalStateException if relationships or Services have already been added
+     * @see PlacePathIndex#toIndexableManifest(QuerySolution, boolean, boolean, BiFunction,
+     * TTWEnvironmentConfiguration)
+     */
+    public void addModel(
+        @Nonnull final QuerySolution sol) {
+      if (pendingModels == null) {
+        throw new IllegalStateException(
+            "Models must be added before relationships and services");
+      }
+      var merged = pendingModels;
+      index.toIndexableManifest(sol, publishedOnly, allowsAnonymous, historyProvider, cfg)
+          .ifPresent(mf -> merged.merge(mf.getId(), mf, SemanticModelInfo::merge));
+    }
+
+    /**
+     * Adds a Model/Model dependency
+     *
+     * @param sol the dependency, as queried from the DES KG
+     * @see PlacePathIndex#indexRelationship(QuerySolution)
+     */
+    public void addRelationship(
+        @Nonnull final QuerySolution sol) {
+      flushModels();
+      index.indexRelationship(sol);
+    }
+
+    /**
+     * Adds a Service exposed by a Model
+     *
+     * @param sol the service asset semantic metadata, as queried from the DES KG
+     * @see PlacePathIndex#indexService(QuerySolution, boolean, TTWEnvironmentConfiguration)
+     */
+    public void addService(
+        @Nonnull final QuerySolution sol) {
+      flushModels();
+      index.indexService(sol, allowsAnonymous, cfg);
+    }
+
+    /**
+     * Completes the index, and freezes it. The Builder should not be used afterwards
+     *
+     * @return the PlacePathIndex
+     */
+    @Nonnull
+    public PlacePathIndex build() {
+      flushModels();
+      if (previous != null) {
+        index.reuseManifests(previous);
+      }
+      index.freeze();
+      return index;
+    }
+
+    /**
+     * Indexes the (merged) Models, if not already indexed
+     */
+    private void flushModels() {
+      if (pendingModels != null) {
+        pendingModels.values().forEach(index::indexModel);
+        pendingModels = null;
+      }
+    }
+  }
+
 }
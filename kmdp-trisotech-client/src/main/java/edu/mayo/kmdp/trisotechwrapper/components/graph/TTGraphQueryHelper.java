@@ -1,16 +1,44 @@
 package edu.mayo.kmdp.trisotechwrapper.components.graph;
 
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.BATCH;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.PLACE_INDEX;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.PLACE_PROBE;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.SPARQL_QUERY;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.TAG_OUTCOME;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.TAG_PLACE;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.TAG_QUERY;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.counter;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.timed;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.timer;
 import static edu.mayo.kmdp.trisotechwrapper.config.TTConstants.TRISOTECH_GRAPH;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.FETCH_PARALLELISM;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.SPARQL_PAGE_SIZE;
 
+import edu.mayo.kmdp.trisotechwrapper.components.ExecutorHelper;
 import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
 import edu.mayo.kmdp.trisotechwrapper.components.TTWebClient;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
-import edu.mayo.kmdp.util.FileUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
-import org.apache.jena.query.ParameterizedSparqlString;
+import javax.annotation.Nullable;
 import org.apache.jena.query.Query;
+import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
@@ -27,6 +55,23 @@ public final class TTGraphQueryHelper {
    */
   private static final Logger logger = LoggerFactory.getLogger(TTGraphQueryHelper.class);
 
+  /**
+   * Name of the pool used to fetch pages of query results concurrently
+   */
+  public static final String SPARQL_PAGE_POOL = "sparql-pager";
+
+  /**
+   * Maximum number of pages fetched concurrently, across all the Places being indexed
+   */
+  private static final int SPARQL_PAGE_POOL_SIZE = 16;
+
+  /**
+   * Pool used to fetch pages of query results, shared by all the (paged) indexing queries. Idle
+   * threads are released after a minute, so the pool does not need to be shut down
+   */
+  private static final ExecutorService sharedPager =
+      ExecutorHelper.newSharedExecutor(SPARQL_PAGE_POOL, SPARQL_PAGE_POOL_SIZE, 60);
+
   /**
    * No-op Constructor. This class only contains static functions and should not be instantiated
    */
@@ -45,19 +90,287 @@ public final class TTGraphQueryHelper {
    *   <li>Queries for Services inferred to be exposed by a Model</li>
    * </ol>
    * This method also insures that the Place/Path filters are applied, excluding any model that does
-   * not match the criteria from the index
+   * not match the criteria from the index.
+   * <p>
+   * The query results are streamed into the index as they are received, rather than materialized
+   * first. Each query is timed, including the time spent consuming its results, and so is the
+   * construction of the whole index, tagged by Place
+   * <p>
+   * If {@link edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef#SPARQL_PAGE_SIZE} is set,
+   * each query is split into ordered pages, which are fetched concurrently, up to
+   * {@link edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef#FETCH_PARALLELISM} at a time,
+   * so that very large Places do not require a single, very large response from the DES. The pages
+   * are fetched by a pool shared across all the Places being indexed
+   * <p>
+   * The index is stamped with the {@link #fingerprint(TTDigitalEnterpriseServerClient, String)} of
+   * the Place graph, taken before the Place is queried, so that it can later be refreshed only if
+   * the Place has changed
    *
    * @param webClient  the DES Client, used to interact with the SPARQL endpoint
    * @param focusPlace the Place to be (re)indexed
    * @param paths      the Place/Path filter
    * @param cfg        the Environment configuration
    * @return a {@link PlacePathIndex} for the given Place
+   * @see #refreshPlace(TTDigitalEnterpriseServerClient, TrisotechPlace, Set, PlacePathIndex,
+   * TTWEnvironmentConfiguration)
+   */
+  @Nonnull
+  public static PlacePathIndex reindexPlace(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TrisotechPlace focusPlace,
+      @Nonnull final Set<String> paths,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    return reindexPlace(webClient, focusPlace, paths,
+        fingerprint(webClient, focusPlace.getId()).orElse(null), null, cfg);
+  }
+
+  /**
+   * Reindexes a Place content, reusing the Manifests of the Models that have not changed since
+   * the Place was last indexed.
+   * <p>
+   * Unlike {@link #refreshPlace(TTDigitalEnterpriseServerClient, TrisotechPlace, Set,
+   * PlacePathIndex, TTWEnvironmentConfiguration)}, the Place is always reindexed, even if it does
+   * not appear to have changed
+   *
+   * @param webClient  the DES Client, used to interact with the SPARQL endpoint
+   * @param focusPlace the Place to be reindexed
+   * @param paths      the Place/Path filter
+   * @param previous   the current index of the Place, if any
+   * @param cfg        the Environment configuration
+   * @return a new {@link PlacePathIndex} for the given Place
+   * @see PlaceIndexDelta#between(PlacePathIndex, PlacePathIndex)
    */
   @Nonnull
   public static PlacePathIndex reindexPlace(
       @Nonnull final TTDigitalEnterpriseServerClient webClient,
       @Nonnull final TrisotechPlace focusPlace,
       @Nonnull final Set<String> paths,
+      @Nullable final PlacePathIndex previous,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    return reindexPlace(webClient, focusPlace, paths,
+        fingerprint(webClient, focusPlace.getId()).orElse(null), previous, cfg);
+  }
+
+  /**
+   * Refreshes the index of a Place, only if the Place has changed since it was indexed.
+   *
+   * @param webClient  the DES Client, used to interact with the SPARQL endpoint
+   * @param focusPlace the Place to be refreshed
+   * @param paths      the Place/Path filter
+   * @param current    the current index of the Place
+   * @param cfg        the Environment configuration
+   * @return the current index, if still valid, or a new {@link PlacePathIndex} for the Place
+   * @see #refreshPlace(TTDigitalEnterpriseServerClient, TrisotechPlace, Set, PlacePathIndex,
+   * Consumer, TTWEnvironmentConfiguration)
+   */
+  @Nonnull
+  public static PlacePathIndex refreshPlace(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TrisotechPlace focusPlace,
+      @Nonnull final Set<String> paths,
+      @Nonnull final PlacePathIndex current,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    return refreshPlace(webClient, focusPlace, paths, current, delta -> {
+      // no listener
+    }, cfg);
+  }
+
+  /**
+   * Refreshes the index of a Place, only if the Place has changed since it was indexed.
+   * <p>
+   * Probes the Place with a single, lightweight query, and compares the resulting fingerprint to
+   * the one of the current index. If the fingerprints match, the current index is returned as-is,
+   * without running the indexing queries. Otherwise, or if the Place cannot be probed, the Place is
+   * reindexed, reusing the Manifests of the unchanged Models, and the difference between the
+   * current and the new index is published to the given listener. The outcomes of the probe are
+   * counted, tagged by Place
+   *
+   * @param webClient  the DES Client, used to interact with the SPARQL endpoint
+   * @param focusPlace the Place to be refreshed
+   * @param paths      the Place/Path filter
+   * @param current    the current index of the Place
+   * @param onChange   the listener notified of the Models changed by a reindex
+   * @param cfg        the Environment configuration
+   * @return the current index, if still valid, or a new {@link PlacePathIndex} for the Place
+   */
+  @Nonnull
+  public static PlacePathIndex refreshPlace(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TrisotechPlace focusPlace,
+      @Nonnull final Set<String> paths,
+      @Nonnull final PlacePathIndex current,
+      @Nonnull final Consumer<PlaceIndexDelta> onChange,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    var placeId = focusPlace.getId();
+    var fingerprint = fingerprint(webClient, placeId);
+    boolean unchanged = fingerprint.isPresent()
+        && fingerprint.get().equals(current.getFingerprint());
+    counter(PLACE_PROBE,
+        TAG_PLACE, placeId,
+        TAG_OUTCOME, unchanged ? "unchanged" : "changed")
+        .increment();
+    if (unchanged) {
+      logger.debug("Place {} unchanged since last indexed, skipping reindex", focusPlace);
+      return current;
+    }
+    var next = reindexPlace(webClient, focusPlace, paths, fingerprint.orElse(null), current, cfg);
+    var delta = PlaceIndexDelta.between(current, next);
+    logger.debug("Place {} reindexed : {}", focusPlace, delta);
+    onChange.accept(delta);
+    return next;
+  }
+
+  /**
+   * Computes a fingerprint of the graph of a Place, from the version, state, path and last update
+   * of each Model in the Place, and from the relationships between those Models.
+   * <p>
+   * The probe query is timed, tagged by query and Place
+   *
+   * @param webClient the DES Client, used to interact with the SPARQL endpoint
+   * @param placeId   the UUID of the Place to probe
+   * @return the fingerprint, if the Place could be probed
+   * @see PlaceFingerprint
+   */
+  @Nonnull
+  public static Optional<String> fingerprint(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final String placeId) {
+    var fingerprint = new PlaceFingerprint();
+    try {
+      stream(webClient, TTQueryTemplate.FINGERPRINT, placeId, fingerprint::add);
+    } catch (RuntimeException e) {
+      logger.warn("Unable to probe Place {} : {}", placeId, e.getMessage());
+      return Optional.empty();
+    }
+    return Optional.of(fingerprint.get());
+  }
+
+  /**
+   * Indexes multiple Places together, querying the TT DES Knowledge Graph once per kind of query
+   * (Models, relationships, Services) across all the Places, rather than once per Place.
+   * <p>
+   * The query solutions are traced back to their Place graph, and streamed into one
+   * {@link PlacePathIndex.Builder} per Place, as they are received. The Places are also probed for
+   * their fingerprints, with a single query. Each query is timed, and so is the construction of
+   * the whole batch of indexes, tagged with {@link MetricsHelper#BATCH} as the Place
+   *
+   * @param webClient   the DES Client, used to interact with the SPARQL endpoint
+   * @param scopedPaths the Places to be (re)indexed, with their Place/Path filters
+   * @param cfg         the Environment configuration
+   * @return a Place to Index Map, for the given Places
+   * @see #reindexPlace(TTDigitalEnterpriseServerClient, TrisotechPlace, Set,
+   * TTWEnvironmentConfiguration)
+   */
+  @Nonnull
+  public static Map<TrisotechPlace, PlacePathIndex> reindexPlaces(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final Map<TrisotechPlace, Set<String>> scopedPaths,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    if (scopedPaths.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Start Indexing of Places {}", scopedPaths.keySet());
+    }
+    var placeIds = scopedPaths.keySet().stream()
+        .map(TrisotechPlace::getId)
+        .collect(Collectors.toList());
+
+    // Places with no solutions, e.g. empty Places, get the same fingerprint as if probed alone
+    Map<String, PlaceFingerprint> fingerprints = new HashMap<>();
+    placeIds.forEach(id -> fingerprints.put(TRISOTECH_GRAPH + id, new PlaceFingerprint()));
+    streamBatch(webClient, TTQueryTemplate.FINGERPRINT, placeIds,
+        (graph, sol) -> fingerprints.computeIfAbsent(graph, g -> new PlaceFingerprint()).add(sol));
+
+    Map<String, PlacePathIndex.Builder> builders = new LinkedHashMap<>();
+    scopedPaths.forEach((place, paths) -> builders.put(TRISOTECH_GRAPH + place.getId(),
+        PlacePathIndex.builder(place, paths, webClient::getModelPreviousVersions, cfg)));
+
+    Map<TrisotechPlace, PlacePathIndex> indexes = new LinkedHashMap<>();
+    timer(PLACE_INDEX, TAG_PLACE, BATCH).record(() -> {
+      streamBatch(webClient, TTQueryTemplate.MODELS, placeIds,
+          route(builders, PlacePathIndex.Builder::addModel));
+      streamBatch(webClient, TTQueryTemplate.RELATIONS, placeIds,
+          route(builders, PlacePathIndex.Builder::addRelationship));
+      streamBatch(webClient, TTQueryTemplate.SERVICES, placeIds,
+          route(builders, PlacePathIndex.Builder::addService));
+      builders.forEach((graph, builder) -> {
+        var ppi = builder.build();
+        ppi.setFingerprint(fingerprints.get(graph).get());
+        indexes.put(ppi.getPlace(), ppi);
+      });
+    });
+    return indexes;
+  }
+
+  /**
+   * Perform a query across multiple Places, streaming the results to a consumer as they are
+   * received, together with the IRI of the Place graph each solution originates from.
+   * <p>
+   * The query is timed, including the time spent by the consumer, tagged by query, and with
+   * {@link MetricsHelper#BATCH} as the Place
+   *
+   * @param webClient the DES Client, used to interact with the SPARQL endpoint
+   * @param template  the SPARQL query to be executed
+   * @param placeIds  the UUIDs of the places to apply the Query to
+   * @param consumer  the consumer of the Place graph IRIs and query results
+   * @see TTQueryTemplate#forPlaces(java.util.Collection)
+   */
+  public static void streamBatch(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTQueryTemplate template,
+      @Nonnull final List<String> placeIds,
+      @Nonnull final BiConsumer<String, QuerySolution> consumer) {
+    var query = template.forPlaces(placeIds);
+    timer(SPARQL_QUERY,
+        TAG_QUERY, template.name().toLowerCase(Locale.ROOT),
+        TAG_PLACE, BATCH)
+        .record(() -> webClient.askQuery(query, BATCH, sol -> {
+          var graph = sol.getResource(TTQueryTemplate.GRAPH.getVarName());
+          if (graph != null) {
+            consumer.accept(graph.getURI(), sol);
+          }
+        }));
+  }
+
+  /**
+   * Routes the solutions of a query across multiple Places to the Builders of the Places' indexes
+   *
+   * @param builders the index Builders, by Place graph IRI
+   * @param step     the indexing step that consumes the solutions
+   * @return a consumer of Place graph IRIs and query solutions
+   */
+  @Nonnull
+  private static BiConsumer<String, QuerySolution> route(
+      @Nonnull final Map<String, PlacePathIndex.Builder> builders,
+      @Nonnull final BiConsumer<PlacePathIndex.Builder, QuerySolution> step) {
+    return (graph, sol) -> {
+      var builder = builders.get(graph);
+      if (builder != null) {
+        step.accept(builder, sol);
+      }
+    };
+  }
+
+  /**
+   * Indexes a Place content, stamping the index with a given fingerprint, and reusing the
+   * Manifests of a previous index of the same Place, if any
+   *
+   * @param webClient   the DES Client, used to interact with the SPARQL endpoint
+   * @param focusPlace  the Place to be (re)indexed
+   * @param paths       the Place/Path filter
+   * @param fingerprint the fingerprint of the Place graph, if known
+   * @param previous    the previous index of the Place, whose unchanged Manifests are reused
+   * @param cfg         the Environment configuration
+   * @return a {@link PlacePathIndex} for the given Place
+   */
+  @Nonnull
+  private static PlacePathIndex reindexPlace(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TrisotechPlace focusPlace,
+      @Nonnull final Set<String> paths,
+      @Nullable final String fingerprint,
+      @Nullable final PlacePathIndex previous,
       @Nonnull final TTWEnvironmentConfiguration cfg) {
     long t0 = 0;
     if (logger.isDebugEnabled()) {
@@ -65,14 +378,23 @@ public final class TTGraphQueryHelper {
       logger.debug("Start Indexing of Place {}", focusPlace);
     }
 
-    var allModels = query(webClient, getQueryStringModels(), focusPlace.getId());
-    var relations = query(webClient, getQueryStringRelations(), focusPlace.getId());
-    var services = query(webClient, getQueryStringServices(), focusPlace.getId());
-    var ppi = PlacePathIndex.index(
-        focusPlace, paths,
-        allModels, relations, services,
-        webClient::getModelPreviousVersions,
-        cfg);
+    var placeId = focusPlace.getId();
+    int pageSize = cfg.getTyped(SPARQL_PAGE_SIZE, Integer.class);
+    int parallelism = cfg.getTyped(FETCH_PARALLELISM, Integer.class);
+    Function<TTQueryTemplate, Consumer<Consumer<QuerySolution>>> source = template ->
+        sink -> fetch(webClient, template, placeId, pageSize, parallelism, sink);
+    var ppi = timed(PLACE_INDEX,
+        () -> {
+          var builder = PlacePathIndex.builder(
+                  focusPlace, paths, webClient::getModelPreviousVersions, cfg)
+              .reusing(previous);
+          source.apply(TTQueryTemplate.MODELS).accept(builder::addModel);
+          source.apply(TTQueryTemplate.RELATIONS).accept(builder::addRelationship);
+          source.apply(TTQueryTemplate.SERVICES).accept(builder::addService);
+          return builder.build();
+        },
+        TAG_PLACE, placeId);
+    ppi.setFingerprint(fingerprint);
     if (logger.isDebugEnabled()) {
       logger.debug("... Indexing of place {} completed in {} ms",
           focusPlace, (System.currentTimeMillis() - t0));
@@ -88,21 +410,200 @@ public final class TTGraphQueryHelper {
    * @param queryString the SPARQL query to be executed, as a String
    * @param placeId     the UUID of the place to apply the Query to
    * @return The ResultSet with the results from the query
+   * @see TTQueryTemplate#bind(String, String)
    */
   @Nonnull
   public static ResultSet query(
       @Nonnull final TTDigitalEnterpriseServerClient webClient,
       @Nonnull final String queryString,
       @Nonnull final String placeId) {
-    ParameterizedSparqlString sparqlString = new ParameterizedSparqlString(queryString);
-    String graph = TRISOTECH_GRAPH + placeId;
-    // set NAMED
-    sparqlString.setIri(0, graph);
-    // set GRAPH
-    sparqlString.setIri(1, graph);
-    Query query = sparqlString.asQuery();
+    return webClient.askQuery(TTQueryTemplate.bind(queryString, placeId), placeId);
+  }
+
+  /**
+   * Perform the query, using a cached, pre-parsed query template
+   *
+   * @param webClient the DES Client, used to interact with the SPARQL endpoint
+   * @param template  the SPARQL query to be executed
+   * @param placeId   the UUID of the place to apply the Query to
+   * @return The ResultSet with the results from the query
+   */
+  @Nonnull
+  public static ResultSet query(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTQueryTemplate template,
+      @Nonnull final String placeId) {
+    return webClient.askQuery(template.forPlace(placeId), placeId);
+  }
 
-    return webClient.askQuery(query);
+  /**
+   * Perform the query, streaming the results to a consumer as they are received.
+   * <p>
+   * The query is timed, including the time spent by the consumer, tagged by query and Place
+   *
+   * @param webClient the DES Client, used to interact with the SPARQL endpoint
+   * @param template  the SPARQL query to be executed
+   * @param placeId   the UUID of the place to apply the Query to
+   * @param consumer  the consumer of the query results
+   */
+  public static void stream(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTQueryTemplate template,
+      @Nonnull final String placeId,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    timer(SPARQL_QUERY,
+        TAG_QUERY, template.name().toLowerCase(Locale.ROOT),
+        TAG_PLACE, placeId)
+        .record(() -> webClient.askQuery(template.forPlace(placeId), placeId, consumer));
+  }
+
+  /**
+   * Perform the query one page at a time, streaming the results to a consumer.
+   * <p>
+   * Pages are requested in waves, and each page is fetched in full before being passed to the
+   * consumer. Pages are consumed in order, one at a time, so the consumer does not need to be
+   * thread safe. The query is complete as soon as a page is not full.
+   * <p>
+   * The first wave only requests one page, so that queries with few results only take one
+   * request. Each wave whose pages are all full is followed by a wave twice as large, up to as many
+   * pages as the pool has threads.
+   * <p>
+   * The query is timed as a whole, across all its pages, tagged by query and Place
+   *
+   * @param webClient   the DES Client, used to interact with the SPARQL endpoint
+   * @param template    the SPARQL query to be executed
+   * @param placeId     the UUID of the place to apply the Query to
+   * @param pageSize    the (maximum) number of results per page
+   * @param parallelism the number of pages requested concurrently
+   * @param pager       the pool used to request the pages
+   * @param consumer    the consumer of the query results
+   */
+  public static void stream(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTQueryTemplate template,
+      @Nonnull final String placeId,
+      final int pageSize,
+      final int parallelism,
+      @Nonnull final ExecutorService pager,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    timer(SPARQL_QUERY,
+        TAG_QUERY, template.name().toLowerCase(Locale.ROOT),
+        TAG_PLACE, placeId)
+        .record(() -> fetchPages(webClient, template, placeId, pageSize, parallelism, pager,
+            consumer));
+  }
+
+  /**
+   * Dispatches an indexing query, paged or in one shot. Pages are requested using the shared
+   * pager pool
+   *
+   * @param webClient   the DES Client, used to interact with the SPARQL endpoint
+   * @param template    the SPARQL query to be executed
+   * @param placeId     the UUID of the place to apply the Query to
+   * @param pageSize    the (maximum) number of results per page, not positive if not paged
+   * @param parallelism the number of pages requested concurrently
+   * @param consumer    the consumer of the query results
+   */
+  private static void fetch(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTQueryTemplate template,
+      @Nonnull final String placeId,
+      final int pageSize,
+      final int parallelism,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    if (pageSize <= 0) {
+      stream(webClient, template, placeId, consumer);
+    } else {
+      stream(webClient, template, placeId, pageSize, parallelism, sharedPager, consumer);
+    }
+  }
+
+  /**
+   * Requests the pages of a query, in waves of growing size, until a page is not full
+   * <p>
+   * If a page cannot be fetched, the other pages of the wave are cancelled, and the failure is
+   * propagated
+   *
+   * @param webClient   the DES Client, used to interact with the SPARQL endpoint
+   * @param template    the SPARQL query to be executed
+   * @param placeId     the UUID of the place to apply the Query to
+   * @param pageSize    the (maximum) number of results per page
+   * @param parallelism the number of pages requested concurrently
+   * @param pager       the pool used to request the pages
+   * @param consumer    the consumer of the query results
+   */
+  private static void fetchPages(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final TTQueryTemplate template,
+      @Nonnull final String placeId,
+      final int pageSize,
+      final int parallelism,
+      @Nonnull final ExecutorService pager,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    int maxWaveSize = Math.max(1, parallelism);
+    int waveSize = 1;
+    long offset = 0;
+    boolean more = true;
+    while (more) {
+      List<CompletableFuture<List<QuerySolution>>> wave = new ArrayList<>(waveSize);
+      for (int j = 0; j < waveSize; j++) {
+        var page = template.page(placeId, offset, pageSize);
+        wave.add(CompletableFuture.supplyAsync(
+            () -> fetchPage(webClient, page, placeId), pager));
+        offset += pageSize;
+      }
+      try {
+        for (var pending : wave) {
+          if (more) {
+            var solutions = pending.join();
+            solutions.forEach(consumer);
+            more = solutions.size() >= pageSize;
+          } else {
+            // past the end of the results
+            pending.cancel(false);
+          }
+        }
+      } catch (RuntimeException e) {
+        wave.forEach(pending -> pending.cancel(false));
+        throw e;
+      }
+      waveSize = Math.min(maxWaveSize, waveSize * 2);
+    }
+  }
+
+  /**
+   * Requests one page of results
+   *
+   * @param webClient the DES Client, used to interact with the SPARQL endpoint
+   * @param page      the paged query
+   * @param placeId   the UUID of the place the Query is applied to
+   * @return the solutions in the page
+   */
+  @Nonnull
+  private static List<QuerySolution> fetchPage(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final Query page,
+      @Nonnull final String placeId) {
+    List<QuerySolution> solutions = new ArrayList<>();
+    webClient.askQuery(page, placeId, solutions::add);
+    if (logger.isTraceEnabled()) {
+      logger.trace("Fetched {} results at offset {}", solutions.size(), page.getOffset());
+    }
+    return solutions;
+  }
+
+
+  /**
+   * Probes the TT DES SPARQL endpoint, asking for (at most) one statement about a Place
+   *
+   * @param webClient the DES Client, used to interact with the SPARQL endpoint
+   * @param placeId   the ID of the Place to probe
+   * @return true if the endpoint returned content for the Place
+   */
+  public static boolean ping(
+      @Nonnull final TTDigitalEnterpriseServerClient webClient,
+      @Nonnull final String placeId) {
+    return query(webClient, TTQueryTemplate.PING, placeId).hasNext();
   }
 
 
@@ -113,9 +614,7 @@ public final class TTGraphQueryHelper {
    */
   @Nonnull
   public static String getQueryStringRelations() {
-    return FileUtil.read(TTGraphQueryHelper.class
-            .getResourceAsStream("/queryRelations.tt.sparql"))
-        .orElseThrow(IllegalStateException::new);
+    return TTQueryTemplate.RELATIONS.getQueryString();
   }
 
   /**
@@ -125,9 +624,7 @@ public final class TTGraphQueryHelper {
    */
   @Nonnull
   public static String getQueryStringModels() {
-    return FileUtil.read(TTGraphQueryHelper.class
-            .getResourceAsStream("/queryModels.tt.sparql"))
-        .orElseThrow(IllegalStateException::new);
+    return TTQueryTemplate.MODELS.getQueryString();
   }
 
   /**
@@ -137,9 +634,17 @@ public final class TTGraphQueryHelper {
    */
   @Nonnull
   public static String getQueryStringServices() {
-    return FileUtil.read(TTGraphQueryHelper.class
-            .getResourceAsStream("/queryServiceToModels.tt.sparql"))
-        .orElseThrow(IllegalStateException::new);
+    return TTQueryTemplate.SERVICES.getQueryString();
+  }
+
+  /**
+   * Build the queryString used to probe the graph of a place
+   *
+   * @return the SPARQL query string that retrieves one statement from a place
+   */
+  @Nonnull
+  public static String getQueryStringPing() {
+    return TTQueryTemplate.PING.getQueryString();
   }
 
   /**
@@ -151,9 +656,7 @@ public final class TTGraphQueryHelper {
    */
   @Nonnull
   public static String getQueryAll() {
-    return FileUtil.read(TTGraphQueryHelper.class
-            .getResourceAsStream("/queryEntirePlace.tt.sparql"))
-        .orElseThrow(IllegalStateException::new);
+    return TTQueryTemplate.ENTIRE_PLACE.getQueryString();
   }
 
 
@@ -170,7 +673,7 @@ public final class TTGraphQueryHelper {
   public static Model exportPlace(
       @Nonnull final TTWebClient client,
       @Nonnull final String focusPlaceId) {
-    var all = query(client, getQueryAll(), focusPlaceId);
+    var all = query(client, TTQueryTemplate.ENTIRE_PLACE, focusPlaceId);
     var model = ModelFactory.createDefaultModel();
     while (all.hasNext()) {
       var sol = all.next();
@@ -0,0 +1,198 @@
+package edu.mayo.kmdp.trisotechwrapper.components.graph;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTConstants.TRISOTECH_GRAPH;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.mayo.kmdp.util.FileUtil;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.query.Query;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.syntax.ElementData;
+import org.apache.jena.sparql.syntax.ElementGroup;
+
+/**
+ * The SPARQL queries submitted by the TTW to the TT DES Knowledge Graph.
+ * <p>
+ * Each query is a template, scoped to a Place graph both in the dataset description
+ * ({@code FROM NAMED ?}) and in the graph pattern ({@code GRAPH ?}). Templates are read once, when
+ * this class is loaded, and bound and parsed once per (recently used) Place, so that (re)indexing a
+ * Place does not need to reload or reparse its queries. Callers get their own copy of a parsed
+ * Query, which is cheaper to clone than to parse.
+ */
+public enum TTQueryTemplate {
+
+  /**
+   * Describes the Models in a Place
+   */
+  MODELS("/queryModels.tt.sparql"),
+  /**
+   * Describes the Model/Model relationships in a Place
+   */
+  RELATIONS("/queryRelations.tt.sparql"),
+  /**
+   * Describes the Services inferred to be exposed by the Models in a Place
+   */
+  SERVICES("/queryServiceToModels.tt.sparql"),
+  /**
+   * Retrieves (at most) one statement from a Place
+   */
+  PING("/queryPing.tt.sparql"),
+  /**
+   * Describes the Models in a Place, and their relationships, to detect changes
+   */
+  FINGERPRINT("/queryFingerprint.tt.sparql"),
+  /**
+   * Retrieves all the statements in a Place. Should only be used offline
+   */
+  ENTIRE_PLACE("/queryEntirePlace.tt.sparql");
+
+  /**
+   * The variable bound to the graph of the Place, in queries that span multiple Places
+   */
+  public static final Var GRAPH = Var.alloc("graph");
+
+  /**
+   * The maximum number of Places for which a template is kept bound and parsed
+   */
+  public static final int MAX_BOUND_PLACES = 64;
+
+  /**
+   * The query template
+   */
+  @Nonnull
+  private final String queryString;
+
+  /**
+   * The template, bound and parsed, by Place ID. Bounded, since Places can also be queried ad hoc
+   */
+  @Nonnull
+  private final Cache<String, Query> boundQueries = Caffeine.newBuilder()
+      .maximumSize(MAX_BOUND_PLACES)
+      .build();
+
+  TTQueryTemplate(
+      @Nonnull final String resource) {
+    this.queryString = FileUtil.read(TTQueryTemplate.class.getResourceAsStream(resource))
+        .orElseThrow(() -> new IllegalStateException("Unable to load query " + resource));
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the query template, as a String
+   */
+  @Nonnull
+  public String getQueryString() {
+    return queryString;
+  }
+
+  /**
+   * Binds the template to the graph of a given Place.
+   * <p>
+   * The template is only parsed once per Place, but each caller gets a copy of the parsed Query
+   *
+   * @param placeId the UUID of the Place
+   * @return a new Query, which can be modified by the caller
+   */
+  @Nonnull
+  public Query forPlace(
+      @Nonnull final String placeId) {
+    return boundQueries.get(placeId, id -> bind(queryString, id)).cloneQuery();
+  }
+
+  /**
+   * Binds the template to the graph of a given Place, and restricts it to one page of results.
+   * <p>
+   * Unless the template is already ordered, the solutions are ordered by all the projected
+   * variables, so that the pages are stable, and disjoint, across requests
+   *
+   * @param placeId the UUID of the Place
+   * @param offset  the index of the first solution in the page
+   * @param limit   the (maximum) number of solutions in the page
+   * @return a new Query, which can be modified by the caller
+   */
+  @Nonnull
+  public Query page(
+      @Nonnull final String placeId,
+      final long offset,
+      final long limit) {
+    var paged = forPlace(placeId);
+    if (!paged.hasOrderBy()) {
+      paged.getProjectVars().forEach(v -> paged.addOrderBy(v, Query.ORDER_ASCENDING));
+    }
+    paged.setOffset(offset);
+    paged.setLimit(limit);
+    return paged;
+  }
+
+  /**
+   * Binds the template to the graphs of multiple Places, to query them in a single request.
+   * <p>
+   * The Place graphs are enumerated in a {@code VALUES} block over the {@link #GRAPH} variable,
+   * which is used in the graph pattern, and projected as an additional column, so that each
+   * solution can be traced back to its Place. If the template aggregates its solutions, the
+   * solutions are also grouped by Place graph
+   *
+   * @param placeIds the UUIDs of the Places (at least one)
+   * @return a new Query, which can be modified by the caller
+   */
+  @Nonnull
+  public Query forPlaces(
+      @Nonnull final Collection<String> placeIds) {
+    if (placeIds.isEmpty()) {
+      throw new IllegalArgumentException("At least one Place is required");
+    }
+    var graphs = placeIds.stream()
+        .map(id -> TRISOTECH_GRAPH + id)
+        .collect(Collectors.toList());
+
+    ParameterizedSparqlString sparqlString = new ParameterizedSparqlString(queryString);
+    // set NAMED
+    sparqlString.setIri(0, graphs.get(0));
+    // set GRAPH
+    sparqlString.setParam(1, GRAPH);
+    var query = sparqlString.asQuery();
+    graphs.stream().skip(1).forEach(query::addNamedGraphURI);
+
+    var values = new ElementData();
+    values.add(GRAPH);
+    graphs.forEach(g -> values.add(BindingFactory.binding(GRAPH, NodeFactory.createURI(g))));
+    var pattern = new ElementGroup();
+    pattern.addElement(values);
+    pattern.addElement(query.getQueryPattern());
+    query.setQueryPattern(pattern);
+
+    if (query.hasGroupBy() || query.hasAggregators()) {
+      query.addGroupBy(GRAPH);
+    }
+    query.addResultVar(GRAPH);
+    return query;
+  }
+
+  /**
+   * Binds a query template to the graph of a given Place, and parses it
+   *
+   * @param queryString the query template
+   * @param placeId     the UUID of the Place
+   * @return the parsed Query
+   */
+  @Nonnull
+  public static Query bind(
+      @Nonnull final String queryString,
+      @Nonnull final String placeId) {
+    ParameterizedSparqlString sparqlString = new ParameterizedSparqlString(queryString);
+    String graph = TRISOTECH_GRAPH + placeId;
+    // set NAMED
+    sparqlString.setIri(0, graph);
+    // set GRAPH
+    sparqlString.setIri(1, graph);
+    return sparqlString.asQuery();
+  }
+
+}
@@ -1,9 +1,7 @@
 package edu.mayo.kmdp.trisotechwrapper.components.hooks;
 
 import edu.mayo.kmdp.trisotechwrapper.TTAPIAdapter;
-import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfoEvent;
-import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlaceEvent;
 import edu.mayo.kmdp.util.JSonUtil;
 import io.cloudevents.CloudEvent;
@@ -56,7 +54,10 @@ public class DefaultTTHooksHandler implements TTHooksHandler {
 
 
   /**
-   * Handles a model update event, invalidating the TTW Model Cache for that Model
+   * Handles a model update event, invalidating the TTW Model Cache for that Model.
+   * <p>
+   * The invalidation goes through the {@link TTAPIAdapter}, so that it is propagated to the other
+   * replicas, if so configured
    *
    * @param event the event
    * @param ttw   the {@link TTAPIAdapter} to delegate to
@@ -68,16 +69,16 @@ public class DefaultTTHooksHandler implements TTHooksHandler {
 
     var info = getData(event, TrisotechFileInfoEvent.class);
     info.filter(mf -> mf.getModel() != null)
-        .map(mf -> new SemanticModelInfo(mf.getModel()))
-        .ifPresent(mf -> ttw.getModelCache().invalidate(mf));
+        .ifPresent(mf -> ttw.invalidateModel(mf.getModel()));
   }
 
 
   /**
-   * Handles a graph update event, invalidating the TTW Place Cache for that Graph.
+   * Handles a graph update event, refreshing the TTW Place Cache for that Graph in the background.
    * <p>
    * If the change is specific to a Model, the Model Cache for that model will be invalidated as
-   * well
+   * well. The refresh and the invalidations go through the {@link TTAPIAdapter}, so that they are
+   * propagated to the other replicas, if so configured
    *
    * @param event the event
    * @param ttw   the {@link TTAPIAdapter} to delegate to
@@ -89,11 +90,9 @@ public class DefaultTTHooksHandler implements TTHooksHandler {
 
     var info = getData(event, TrisotechPlaceEvent.class);
     info.filter(mf -> mf.getGraph() != null)
-        .map(mf -> TrisotechPlace.key(mf.getGraph()))
-        .ifPresent(place -> ttw.getPlaceCache().refresh(place));
+        .ifPresent(mf -> ttw.refreshPlace(mf.getGraph()));
     info.filter(mf -> mf.getModel() != null)
-        .map(mf -> new SemanticModelInfo(mf.getModel()))
-        .ifPresent(mf -> ttw.getModelCache().invalidate(mf));
+        .ifPresent(mf -> ttw.invalidateModel(mf.getModel()));
   }
 
 
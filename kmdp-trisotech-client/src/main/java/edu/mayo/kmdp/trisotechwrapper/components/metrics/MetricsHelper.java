@@ -0,0 +1,276 @@
+package edu.mayo.kmdp.trisotechwrapper.components.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTLanguages;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Locale;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.w3c.dom.Document;
+
+/**
+ * Helper class used to instrument the TTW with Micrometer timers, and bind its caches' metrics.
+ * <p>
+ * Meters are registered with Micrometer's global registry by default, which Spring Boot (or any
+ * other host) can back with an actual registry. Tests can install a simple registry instead.
+ * <p>
+ * Timers publish percentile histograms, and are tagged by Place and Language where the instrumented
+ * stage knows them, so that slow stages can be isolated by partition.
+ */
+public final class MetricsHelper {
+
+  /**
+   * Timer: calls to the DES Web APIs, by operation
+   */
+  public static final String DES_CLIENT = "ttw.des.client";
+  /**
+   * Timer: SPARQL queries used to index a Place, by query
+   */
+  public static final String SPARQL_QUERY = "ttw.sparql.query";
+  /**
+   * Timer: construction of a Place/Path index
+   */
+  public static final String PLACE_INDEX = "ttw.place.index";
+  /**
+   * Counter: change detection probes on Place refresh, by outcome
+   */
+  public static final String PLACE_PROBE = "ttw.place.probe";
+  /**
+   * Counter: Models loaded in the background, after a Place is (re)indexed, by outcome
+   */
+  public static final String MODEL_PREWARM = "ttw.model.prewarm";
+  /**
+   * Timer: Model normalization (weaving + redaction), on cache load
+   */
+  public static final String MODEL_PREPROCESS = "ttw.model.preprocess";
+  /**
+   * Timer: Model weaving
+   */
+  public static final String WEAVE = "ttw.weave";
+  /**
+   * Timer: Model redaction
+   */
+  public static final String REDACT = "ttw.redact";
+  /**
+   * Timer: KEM to MVF translation
+   */
+  public static final String KEM_TRANSLATION = "ttw.kem.translate";
+  /**
+   * Timer: Surrogate introspection
+   */
+  public static final String INTROSPECT = "ttw.introspect";
+  /**
+   * Timer: content negotiation, by kind (artifact or surrogate)
+   */
+  public static final String NEGOTIATE = "ttw.negotiate";
+
+  /**
+   * Tag: the ID of the Place
+   */
+  public static final String TAG_PLACE = "place";
+  /**
+   * Tag: the Language of the Model
+   */
+  public static final String TAG_LANGUAGE = "language";
+  /**
+   * Tag: the instrumented operation
+   */
+  public static final String TAG_OPERATION = "operation";
+  /**
+   * Tag: the name of the SPARQL query
+   */
+  public static final String TAG_QUERY = "query";
+  /**
+   * Tag: the kind of content being processed
+   */
+  public static final String TAG_KIND = "kind";
+
+  /**
+   * Tag: the outcome of an operation
+   */
+  public static final String TAG_OUTCOME = "outcome";
+
+  /**
+   * Tag value used when the Place or Language is not known
+   */
+  public static final String UNKNOWN = "n/a";
+
+  /**
+   * Tag value used when an operation spans multiple Places
+   */
+  public static final String BATCH = "batch";
+
+  /**
+   * The registry meters are registered with
+   */
+  private static volatile MeterRegistry registry = Metrics.globalRegistry;
+
+  /**
+   * No-op Constructor. This class only contains static functions and should not be instantiated
+   */
+  private MetricsHelper() {
+    // functions only
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the registry meters are registered with
+   */
+  @Nonnull
+  public static MeterRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Replaces the registry meters are registered with. Meters that were already registered are not
+   * moved, so this method should be called before the components to be monitored are built.
+   *
+   * @param meterRegistry the new registry, or null to restore the global registry
+   */
+  public static void setRegistry(
+      @Nullable final MeterRegistry meterRegistry) {
+    registry = meterRegistry != null ? meterRegistry : Metrics.globalRegistry;
+  }
+
+  /**
+   * Looks up (or registers) a Timer that publishes a percentile histogram
+   *
+   * @param name the name of the Timer
+   * @param tags the Timer tags, as key/value pairs
+   * @return the Timer
+   */
+  @Nonnull
+  public static Timer timer(
+      @Nonnull final String name,
+      @Nonnull final String... tags) {
+    return Timer.builder(name)
+        .tags(tags)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Looks up (or registers) a Counter
+   *
+   * @param name the name of the Counter
+   * @param tags the Counter tags, as key/value pairs
+   * @return the Counter
+   */
+  @Nonnull
+  public static Counter counter(
+      @Nonnull final String name,
+      @Nonnull final String... tags) {
+    return Counter.builder(name)
+        .tags(tags)
+        .register(registry);
+  }
+
+  /**
+   * Executes a task, recording its duration
+   *
+   * @param name the name of the Timer
+   * @param task the task to be timed
+   * @param tags the Timer tags, as key/value pairs
+   * @param <T>  the type of the task result
+   * @return the task result
+   */
+  public static <T> T timed(
+      @Nonnull final String name,
+      @Nonnull final Supplier<T> task,
+      @Nonnull final String... tags) {
+    return timer(name, tags).record(task);
+  }
+
+  /**
+   * Binds the Caffeine metrics of a Cache, which should record its stats
+   *
+   * @param cache     the Cache to monitor
+   * @param cacheName the name of the Cache
+   * @param <K>       the type of the Cache keys
+   * @param <V>       the type of the Cache values
+   * @param <C>       the type of Cache
+   * @return the Cache, for fluency
+   */
+  @Nonnull
+  public static <K, V, C extends Cache<K, V>> C monitor(
+      @Nonnull final C cache,
+      @Nonnull final String cacheName) {
+    return CaffeineCacheMetrics.monitor(registry, cache, cacheName);
+  }
+
+  /**
+   * Determines the value of the Place tag for a Model
+   *
+   * @param info the Model manifest
+   * @return the ID of the Place the Model is stored in, if known
+   */
+  @Nonnull
+  public static String placeTag(
+      @Nullable final TrisotechFileInfo info) {
+    if (info instanceof SemanticModelInfo && ((SemanticModelInfo) info).getPlaceId() != null) {
+      return ((SemanticModelInfo) info).getPlaceId();
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Determines the value of the Language tag for a Model
+   *
+   * @param info the Model manifest
+   * @return the Language of the Model, if known
+   */
+  @Nonnull
+  public static String languageTag(
+      @Nullable final TrisotechFileInfo info) {
+    return info != null ? languageTag(info.getMimetype()) : UNKNOWN;
+  }
+
+  /**
+   * Determines the value of the Language tag for a Model, from the Model itself
+   *
+   * @param dox the Model
+   * @return the Language of the Model, based on its namespace, if known
+   */
+  @Nonnull
+  public static String languageTag(
+      @Nullable final Document dox) {
+    return dox != null && dox.getDocumentElement() != null
+        ? languageTag(dox.getDocumentElement().getNamespaceURI())
+        : UNKNOWN;
+  }
+
+  /**
+   * Determines the value of the Language tag from a code that mentions a Language, such as a MIME
+   * type or a namespace URI
+   *
+   * @param code the MIME type or namespace
+   * @return the Language, if recognized
+   */
+  @Nonnull
+  public static String languageTag(
+      @Nullable final String code) {
+    if (code == null) {
+      return UNKNOWN;
+    }
+    var lower = code.toLowerCase(Locale.ROOT);
+    for (TTLanguages lang : TTLanguages.values()) {
+      if (lang.getTag() != null && lower.contains(lang.getTag())) {
+        return lang.name().toLowerCase(Locale.ROOT);
+      }
+    }
+    // KEM models are served in their MVF form
+    if (lower.contains("mvf")) {
+      return TTLanguages.KEM.name().toLowerCase(Locale.ROOT);
+    }
+    return UNKNOWN;
+  }
+
+}
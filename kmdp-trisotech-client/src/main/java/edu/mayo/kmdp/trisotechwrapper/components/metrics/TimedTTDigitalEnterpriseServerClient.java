@@ -0,0 +1,167 @@
+package edu.mayo.kmdp.trisotechwrapper.components.metrics;
+
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.DES_CLIENT;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.TAG_LANGUAGE;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.TAG_OPERATION;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.TAG_PLACE;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.UNKNOWN;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.languageTag;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.placeTag;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.timed;
+import static edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper.timer;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.w3c.dom.Document;
+
+/**
+ * Decorator of a {@link TTDigitalEnterpriseServerClient}, which times each call to the DES Web
+ * APIs, tagging the timers by operation, and by Place and Language where known.
+ */
+public class TimedTTDigitalEnterpriseServerClient implements TTDigitalEnterpriseServerClient {
+
+  /**
+   * The actual DES client
+   */
+  @Nonnull
+  protected final TTDigitalEnterpriseServerClient delegate;
+
+  /**
+   * Constructor
+   *
+   * @param delegate the DES client to be instrumented
+   */
+  public TimedTTDigitalEnterpriseServerClient(
+      @Nonnull final TTDigitalEnterpriseServerClient delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the instrumented DES client
+   */
+  @Nonnull
+  public TTDigitalEnterpriseServerClient getDelegate() {
+    return delegate;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<TrisotechFileInfo> getModelLatestVersion(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    return timed(DES_CLIENT,
+        () -> delegate.getModelLatestVersion(repositoryId, modelUri),
+        TAG_OPERATION, "getModelLatestVersion",
+        TAG_PLACE, repositoryId,
+        TAG_LANGUAGE, UNKNOWN);
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechFileInfo> getModelPreviousVersions(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    return timed(DES_CLIENT,
+        () -> delegate.getModelPreviousVersions(repositoryId, modelUri),
+        TAG_OPERATION, "getModelPreviousVersions",
+        TAG_PLACE, repositoryId,
+        TAG_LANGUAGE, UNKNOWN);
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechPlace> getPlaces() {
+    return timed(DES_CLIENT,
+        delegate::getPlaces,
+        TAG_OPERATION, "getPlaces",
+        TAG_PLACE, UNKNOWN,
+        TAG_LANGUAGE, UNKNOWN);
+  }
+
+  @Nonnull
+  @Override
+  public Optional<Document> downloadXmlModel(
+      @Nonnull final TrisotechFileInfo from) {
+    return timed(DES_CLIENT,
+        () -> delegate.downloadXmlModel(from),
+        TAG_OPERATION, "downloadXmlModel",
+        TAG_PLACE, placeTag(from),
+        TAG_LANGUAGE, languageTag(from));
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechExecutionArtifact> getExecutionArtifacts(
+      @Nonnull final String baseUrl,
+      @Nonnull final Set<String> execEnvs) {
+    return timed(DES_CLIENT,
+        () -> delegate.getExecutionArtifacts(baseUrl, execEnvs),
+        TAG_OPERATION, "getExecutionArtifacts",
+        TAG_PLACE, UNKNOWN,
+        TAG_LANGUAGE, UNKNOWN);
+  }
+
+  @Override
+  public boolean uploadXmlModel(
+      @Nonnull final SemanticModelInfo manifest,
+      @Nonnull final byte[] fileContents) {
+    return timed(DES_CLIENT,
+        () -> delegate.uploadXmlModel(manifest, fileContents),
+        TAG_OPERATION, "uploadXmlModel",
+        TAG_PLACE, placeTag(manifest),
+        TAG_LANGUAGE, languageTag(manifest));
+  }
+
+  @Nonnull
+  @Override
+  public ResultSet askQuery(
+      @Nonnull final Query query) {
+    return askQuery(query, (String) null);
+  }
+
+  @Override
+  public void askQuery(
+      @Nonnull final Query query,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    askQuery(query, null, consumer);
+  }
+
+  @Nonnull
+  @Override
+  public ResultSet askQuery(
+      @Nonnull final Query query,
+      @Nullable final String placeId) {
+    return timed(DES_CLIENT,
+        () -> delegate.askQuery(query),
+        TAG_OPERATION, "askQuery",
+        TAG_PLACE, placeId != null ? placeId : UNKNOWN,
+        TAG_LANGUAGE, UNKNOWN);
+  }
+
+  @Override
+  public void askQuery(
+      @Nonnull final Query query,
+      @Nullable final String placeId,
+      @Nonnull final Consumer<QuerySolution> consumer) {
+    timer(DES_CLIENT,
+        TAG_OPERATION, "askQuery",
+        TAG_PLACE, placeId != null ? placeId : UNKNOWN,
+        TAG_LANGUAGE, UNKNOWN)
+        .record(() -> delegate.askQuery(query, consumer));
+  }
+
+}
@@ -0,0 +1,121 @@
+package edu.mayo.kmdp.trisotechwrapper.components.recording;
+
+import static edu.mayo.kmdp.trisotechwrapper.components.recording.TTTrafficArchive.key;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.recording.TTTrafficArchive.Interaction;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSet;
+import org.w3c.dom.Document;
+
+/**
+ * Decorator of a {@link TTDigitalEnterpriseServerClient}, which records the responses of the DES
+ * to a {@link TTTrafficArchive}, so that they can be replayed by a
+ * {@link ReplayTTDigitalEnterpriseServerClient}.
+ * <p>
+ * Recording is best effort: failures to write to the archive are logged, and do not affect the
+ * responses. Uploads are passed through, but not recorded.
+ */
+public class RecordingTTDigitalEnterpriseServerClient implements TTDigitalEnterpriseServerClient {
+
+  /**
+   * Key of the (only) Place listing
+   */
+  static final String PLACES_KEY = "places";
+
+  /**
+   * The actual DES client
+   */
+  @Nonnull
+  protected final TTDigitalEnterpriseServerClient delegate;
+
+  /**
+   * The archive the responses are recorded to
+   */
+  @Nonnull
+  protected final TTTrafficArchive archive;
+
+  /**
+   * Constructor
+   *
+   * @param delegate the DES client to be recorded
+   * @param archive  the archive to record to
+   */
+  public RecordingTTDigitalEnterpriseServerClient(
+      @Nonnull final TTDigitalEnterpriseServerClient delegate,
+      @Nonnull final TTTrafficArchive archive) {
+    this.delegate = delegate;
+    this.archive = archive;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<TrisotechFileInfo> getModelLatestVersion(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    var latest = delegate.getModelLatestVersion(repositoryId, modelUri);
+    latest.ifPresent(info ->
+        archive.writeJson(Interaction.LATEST_VERSION, key(repositoryId, modelUri), info));
+    return latest;
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechFileInfo> getModelPreviousVersions(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    var versions = delegate.getModelPreviousVersions(repositoryId, modelUri);
+    archive.writeJson(Interaction.VERSIONS, key(repositoryId, modelUri), versions);
+    return versions;
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechPlace> getPlaces() {
+    var places = delegate.getPlaces();
+    archive.writeJson(Interaction.PLACES, PLACES_KEY, places);
+    return places;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<Document> downloadXmlModel(
+      @Nonnull final TrisotechFileInfo from) {
+    var model = delegate.downloadXmlModel(from);
+    model.ifPresent(dox -> archive.writeModel(key(from), dox));
+    return model;
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechExecutionArtifact> getExecutionArtifacts(
+      @Nonnull final String baseUrl,
+      @Nonnull final Set<String> execEnvs) {
+    var artifacts = delegate.getExecutionArtifacts(baseUrl, execEnvs);
+    archive.writeJson(Interaction.EXECUTION_ARTIFACTS, key(baseUrl, execEnvs), artifacts);
+    return artifacts;
+  }
+
+  @Override
+  public boolean uploadXmlModel(
+      @Nonnull final SemanticModelInfo manifest,
+      @Nonnull final byte[] fileContents) {
+    return delegate.uploadXmlModel(manifest, fileContents);
+  }
+
+  @Nonnull
+  @Override
+  public ResultSet askQuery(
+      @Nonnull final Query query) {
+    return archive.writeResults(key(query), delegate.askQuery(query));
+  }
+
+}
@@ -0,0 +1,121 @@
+package edu.mayo.kmdp.trisotechwrapper.components.recording;
+
+import static edu.mayo.kmdp.trisotechwrapper.components.recording.RecordingTTDigitalEnterpriseServerClient.PLACES_KEY;
+import static edu.mayo.kmdp.trisotechwrapper.components.recording.TTTrafficArchive.key;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.recording.TTTrafficArchive.Interaction;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.sparql.resultset.ResultSetMem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * {@link TTDigitalEnterpriseServerClient} that serves the DES responses recorded in a
+ * {@link TTTrafficArchive}, without connecting to a DES.
+ * <p>
+ * Requests that were not recorded are answered as an offline {@link
+ * edu.mayo.kmdp.trisotechwrapper.components.TTWebClient} would, with empty responses. Uploads are
+ * not supported.
+ */
+public class ReplayTTDigitalEnterpriseServerClient implements TTDigitalEnterpriseServerClient {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger =
+      LoggerFactory.getLogger(ReplayTTDigitalEnterpriseServerClient.class);
+
+  /**
+   * The archive the responses are replayed from
+   */
+  @Nonnull
+  protected final TTTrafficArchive archive;
+
+  /**
+   * Constructor
+   *
+   * @param archive the archive to replay
+   */
+  public ReplayTTDigitalEnterpriseServerClient(
+      @Nonnull final TTTrafficArchive archive) {
+    this.archive = archive;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<TrisotechFileInfo> getModelLatestVersion(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    return archive.readJson(Interaction.LATEST_VERSION, key(repositoryId, modelUri),
+        new TypeReference<TrisotechFileInfo>() {
+        });
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechFileInfo> getModelPreviousVersions(
+      @Nonnull final String repositoryId,
+      @Nonnull final String modelUri) {
+    return archive.readJson(Interaction.VERSIONS, key(repositoryId, modelUri),
+            new TypeReference<List<TrisotechFileInfo>>() {
+            })
+        .orElseGet(Collections::emptyList);
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechPlace> getPlaces() {
+    return archive.readJson(Interaction.PLACES, PLACES_KEY,
+            new TypeReference<List<TrisotechPlace>>() {
+            })
+        .orElseGet(Collections::emptyList);
+  }
+
+  @Nonnull
+  @Override
+  public Optional<Document> downloadXmlModel(
+      @Nonnull final TrisotechFileInfo from) {
+    return archive.readModel(key(from));
+  }
+
+  @Nonnull
+  @Override
+  public List<TrisotechExecutionArtifact> getExecutionArtifacts(
+      @Nonnull final String baseUrl,
+      @Nonnull final Set<String> execEnvs) {
+    return archive.readJson(Interaction.EXECUTION_ARTIFACTS, key(baseUrl, execEnvs),
+            new TypeReference<List<TrisotechExecutionArtifact>>() {
+            })
+        .orElseGet(Collections::emptyList);
+  }
+
+  @Override
+  public boolean uploadXmlModel(
+      @Nonnull final SemanticModelInfo manifest,
+      @Nonnull final byte[] fileContents) {
+    logger.warn("Client is replaying recorded traffic - unable to upload model");
+    return false;
+  }
+
+  @Nonnull
+  @Override
+  public ResultSet askQuery(
+      @Nonnull final Query query) {
+    return archive.readResults(key(query))
+        .orElseGet(ResultSetMem::new);
+  }
+
+}
@@ -0,0 +1,360 @@
+package edu.mayo.kmdp.trisotechwrapper.components.recording;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.TTWebClient;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.util.Util;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFactory;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.query.ResultSetRewindable;
+import org.apache.jena.riot.ResultSetMgr;
+import org.apache.jena.riot.resultset.ResultSetLang;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * File-system archive of the traffic between the TTW and a DES, used to record the responses of a
+ * live DES, and replay them offline.
+ * <p>
+ * The archive is a folder, with one sub-folder per type of interaction (Place listings, Model
+ * version histories, Model payloads, Execution Artifact listings and SPARQL query results), where
+ * each response is stored in its own file, named after a hash of the request. Payloads are stored
+ * in the formats used by the DES (JSON, XML, SPARQL results JSON), after scrubbing any occurrence
+ * of the API token.
+ *
+ * @see RecordingTTDigitalEnterpriseServerClient
+ * @see ReplayTTDigitalEnterpriseServerClient
+ */
+public class TTTrafficArchive {
+
+  /**
+   * Logger
+   */
+  private static final Logger logger = LoggerFactory.getLogger(TTTrafficArchive.class);
+
+  /**
+   * Traffic capture modes
+   *
+   * @see TTWConfigParamsDef#TRAFFIC_MODE
+   */
+  public enum Mode {
+    OFF, RECORD, REPLAY
+  }
+
+  /**
+   * The interactions with the DES, each of which is archived in its own sub-folder
+   */
+  public enum Interaction {
+    PLACES("places", ".json"),
+    LATEST_VERSION("latest", ".json"),
+    VERSIONS("versions", ".json"),
+    MODELS("models", ".xml"),
+    EXECUTION_ARTIFACTS("execution", ".json"),
+    SPARQL("sparql", ".srj");
+
+    private final String folder;
+    private final String extension;
+
+    Interaction(String folder, String extension) {
+      this.folder = folder;
+      this.extension = extension;
+    }
+  }
+
+  /**
+   * Placeholder that replaces the API token in the archived payloads
+   */
+  public static final String SCRUBBED = "{{API_TOKEN}}";
+
+  /**
+   * The root folder of the archive
+   */
+  @Nonnull
+  private final Path root;
+
+  /**
+   * The API token, which must not be archived
+   */
+  @Nullable
+  private final String secret;
+
+  /**
+   * (De)serializer for the DES API JSON payloads
+   */
+  @Nonnull
+  private final ObjectMapper mapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  /**
+   * Constructor
+   *
+   * @param root   the root folder of the archive
+   * @param secret the API token to be scrubbed from the archived payloads, if any
+   */
+  public TTTrafficArchive(
+      @Nonnull final Path root,
+      @Nullable final String secret) {
+    this.root = root;
+    this.secret = Util.isEmpty(secret) ? null : secret;
+  }
+
+  /**
+   * Builds the DES client, according to the configured traffic capture mode
+   * <p>
+   * In RECORD mode, a live client is wrapped by a recorder; in REPLAY mode, the live client is
+   * replaced by a client that serves the archive
+   *
+   * @param live the live DES client
+   * @param cfg  the environment configuration
+   * @return the DES client
+   * @see TTWConfigParamsDef#TRAFFIC_MODE
+   * @see TTWConfigParamsDef#TRAFFIC_ARCHIVE
+   */
+  @Nonnull
+  public static TTDigitalEnterpriseServerClient configure(
+      @Nonnull final TTWebClient live,
+      @Nonnull final TTWEnvironmentConfiguration cfg) {
+    var mode = cfg.tryGetTyped(TTWConfigParamsDef.TRAFFIC_MODE, String.class)
+        .map(m -> Mode.valueOf(m.trim().toUpperCase(Locale.ROOT)))
+        .orElse(Mode.OFF);
+    if (mode == Mode.OFF) {
+      return live;
+    }
+    var folder = cfg.tryGetTyped(TTWConfigParamsDef.TRAFFIC_ARCHIVE, String.class)
+        .orElseThrow(() -> new IllegalStateException(
+            "Traffic mode " + mode + " requires " + TTWConfigParamsDef.TRAFFIC_ARCHIVE.getName()));
+    var archive = new TTTrafficArchive(Path.of(folder),
+        cfg.tryGetTyped(TTWConfigParamsDef.API_TOKEN, String.class).orElse(null));
+    logger.info("DES traffic mode {}, archive at {}", mode, folder);
+    return mode == Mode.RECORD
+        ? new RecordingTTDigitalEnterpriseServerClient(live, archive)
+        : new ReplayTTDigitalEnterpriseServerClient(archive);
+  }
+
+  /**
+   * Accessor
+   *
+   * @return the root folder of the archive
+   */
+  @Nonnull
+  public Path getRoot() {
+    return root;
+  }
+
+  /**
+   * Archives a JSON payload
+   *
+   * @param interaction the type of interaction
+   * @param key         the request key
+   * @param payload     the payload, serialized as JSON
+   */
+  public void writeJson(
+      @Nonnull final Interaction interaction,
+      @Nonnull final String key,
+      @Nonnull final Object payload) {
+    try {
+      write(interaction, key, mapper.writeValueAsString(payload));
+    } catch (IOException e) {
+      logger.warn("Unable to record {} {} : {}", interaction, key, e.getMessage());
+    }
+  }
+
+  /**
+   * Retrieves an archived JSON payload
+   *
+   * @param interaction the type of interaction
+   * @param key         the request key
+   * @param type        the type of the payload
+   * @param <T>         the type of the payload
+   * @return the payload, if archived
+   */
+  @Nonnull
+  public <T> Optional<T> readJson(
+      @Nonnull final Interaction interaction,
+      @Nonnull final String key,
+      @Nonnull final TypeReference<T> type) {
+    return read(interaction, key).flatMap(bytes -> {
+      try {
+        return Optional.ofNullable(mapper.readValue(bytes, type));
+      } catch (IOException e) {
+        logger.warn("Unable to replay {} {} : {}", interaction, key, e.getMessage());
+        return Optional.empty();
+      }
+    });
+  }
+
+  /**
+   * Archives a Model payload
+   *
+   * @param key   the request key
+   * @param model the Model
+   */
+  public void writeModel(
+      @Nonnull final String key,
+      @Nonnull final Document model) {
+    write(Interaction.MODELS, key, XMLUtil.toString(model));
+  }
+
+  /**
+   * Retrieves an archived Model payload
+   *
+   * @param key the request key
+   * @return the Model, if archived
+   */
+  @Nonnull
+  public Optional<Document> readModel(
+      @Nonnull final String key) {
+    return read(Interaction.MODELS, key)
+        .flatMap(bytes -> XMLUtil.loadXMLDocument(new ByteArrayInputStream(bytes)));
+  }
+
+  /**
+   * Archives the results of a SPARQL query.
+   * <p>
+   * Consumes the results, and returns an equivalent, rewound copy
+   *
+   * @param key     the request key
+   * @param results the query results
+   * @return a copy of the results
+   */
+  @Nonnull
+  public ResultSetRewindable writeResults(
+      @Nonnull final String key,
+      @Nonnull final ResultSet results) {
+    var copy = ResultSetFactory.copyResults(results);
+    var out = new ByteArrayOutputStream();
+    ResultSetFormatter.outputAsJSON(out, copy);
+    copy.reset();
+    write(Interaction.SPARQL, key, out.toString(UTF_8));
+    return copy;
+  }
+
+  /**
+   * Retrieves the archived results of a SPARQL query
+   *
+   * @param key the request key
+   * @return the query results, if archived
+   */
+  @Nonnull
+  public Optional<ResultSet> readResults(
+      @Nonnull final String key) {
+    return read(Interaction.SPARQL, key)
+        .map(bytes -> ResultSetFactory.copyResults(
+            ResultSetMgr.read(new ByteArrayInputStream(bytes), ResultSetLang.RS_JSON)));
+  }
+
+
+  /**
+   * Derives the key of a request
+   *
+   * @param parts the parameters of the request
+   * @return a key, which is stable across runs
+   */
+  @Nonnull
+  public static String key(
+      @Nonnull final String... parts) {
+    return Util.uuid(String.join("|", parts)).toString();
+  }
+
+  /**
+   * Derives the key of a Model download request, independently of the DES base URL
+   *
+   * @param info the Model descriptor
+   * @return a key, which is stable across runs
+   */
+  @Nonnull
+  public static String key(
+      @Nonnull final TrisotechFileInfo info) {
+    return key(String.valueOf(info.getId()),
+        String.valueOf(info.getVersion()),
+        String.valueOf(info.getMimetype()));
+  }
+
+  /**
+   * Derives the key of an Execution Artifact listing request
+   *
+   * @param baseUrl  the Service Library base URL
+   * @param execEnvs the Execution Environments
+   * @return a key, which is stable across runs
+   */
+  @Nonnull
+  public static String key(
+      @Nonnull final String baseUrl,
+      @Nonnull final Set<String> execEnvs) {
+    return key(baseUrl, String.join(",", new TreeSet<>(execEnvs)));
+  }
+
+  /**
+   * Derives the key of a SPARQL query
+   *
+   * @param query the query
+   * @return a key, which is stable across runs
+   */
+  @Nonnull
+  public static String key(
+      @Nonnull final Query query) {
+    return key(query.serialize());
+  }
+
+
+  /**
+   * Writes a payload to the archive, scrubbing the API token
+   */
+  private void write(
+      @Nonnull final Interaction interaction,
+      @Nonnull final String key,
+      @Nonnull final String payload) {
+    var scrubbed = secret != null ? payload.replace(secret, SCRUBBED) : payload;
+    try {
+      var folder = Files.createDirectories(root.resolve(interaction.folder));
+      Files.writeString(folder.resolve(key + interaction.extension), scrubbed, UTF_8);
+    } catch (IOException e) {
+      logger.warn("Unable to record {} {} : {}", interaction, key, e.getMessage());
+    }
+  }
+
+  /**
+   * Reads a payload from the archive
+   */
+  @Nonnull
+  private Optional<byte[]> read(
+      @Nonnull final Interaction interaction,
+      @Nonnull final String key) {
+    var file = root.resolve(interaction.folder).resolve(key + interaction.extension);
+    if (!Files.exists(file)) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("No recorded {} {}", interaction, key);
+      }
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Files.readAllBytes(file));
+    } catch (IOException e) {
+      logger.warn("Unable to replay {} {} : {}", interaction, key, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+}
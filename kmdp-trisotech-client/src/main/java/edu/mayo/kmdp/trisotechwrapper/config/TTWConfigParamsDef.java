@@ -112,6 +112,14 @@ public enum TTWConfigParamsDef implements
       String.class,
       true)),
 
+  PLACE_CACHE_ADHOC_SIZE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.placeCache.adHocSize",
+      "12",
+      "Maximum number of ad-hoc Places (not in the configured paths) whose index is cached. "
+          + "The indexes of the configured Places are always retained",
+      Integer.class,
+      false)),
+
 
   CACHE_EXPIRATION(Opt.of(
       "edu.mayo.kmdp.trisotechwrapper.expiration",
@@ -120,6 +128,188 @@ public enum TTWConfigParamsDef implements
       Long.class,
       false)),
 
+  MODEL_EXPIRATION_PUBLISHED(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.expiration.published",
+      "10080",
+      "How long a Published Model is cached, in minutes (a week, by default). If 0 or less, "
+          + "Published Models do not expire, but are still invalidated when they change",
+      Long.class,
+      false)),
+
+  MODEL_EXPIRATION_PENDING(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.expiration.pendingApproval",
+      null,
+      "How long a Model pending approval is cached, in minutes. "
+          + "Defaults to the general cache expiration",
+      Long.class,
+      false)),
+
+  MODEL_EXPIRATION_DRAFT(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.expiration.draft",
+      null,
+      "How long a Draft, or unversioned, Model is cached, in minutes. "
+          + "Defaults to the general cache expiration",
+      Long.class,
+      false)),
+
+  MODEL_CACHE_BUDGET(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.modelCache.budget",
+      "512",
+      "Maximum (estimated) size of the Models in the Model cache, in MB",
+      Long.class,
+      false)),
+
+  MODEL_CACHE_HEAP_PRESSURE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.modelCache.heapPressure",
+      "false",
+      "If true, the Model cache budget shrinks while the old generation is nearly full "
+          + "after garbage collection, and is restored as the pressure subsides",
+      Boolean.class,
+      false)),
+
+  MODEL_CACHE_HEAP_THRESHOLD(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.modelCache.heapPressure.threshold",
+      "85",
+      "The old generation occupancy, as a percentage, above which the Model cache budget shrinks",
+      Integer.class,
+      false)),
+
+  FETCH_PARALLELISM(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.fetch.parallelism",
+      "4",
+      "Maximum number of Models, or composite Asset components, retrieved concurrently",
+      Integer.class,
+      false)),
+
+  SPARQL_PAGE_SIZE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.sparql.pageSize",
+      "0",
+      "Maximum number of results retrieved per (paged) indexing query. "
+          + "If not positive, Places are indexed in one shot",
+      Integer.class,
+      false)),
+
+  SPARQL_BATCH_PLACES(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.sparql.batchPlaces",
+      "false",
+      "If true, multiple Places are indexed together, with one query per kind across all Places. "
+          + "Only applies to bulk (re)loads: "
+          + "Places refreshed on expiration are reindexed one by one. "
+          + "Ignored if the indexing queries are paged",
+      Boolean.class,
+      false)),
+
+  MODEL_PREWARM(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.prewarm",
+      "false",
+      "If true, the Models in a Place are loaded into the Model cache, in the background, "
+          + "after the Place is (re)indexed",
+      Boolean.class,
+      false)),
+
+  MODEL_PREWARM_LIMIT(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.prewarm.limit",
+      "50",
+      "Maximum number of Models prewarmed, each time a Place is (re)indexed",
+      Integer.class,
+      false)),
+
+  MODEL_PREWARM_PARALLELISM(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.prewarm.parallelism",
+      "2",
+      "Maximum number of Models prewarmed concurrently",
+      Integer.class,
+      false)),
+
+  MODEL_PREWARM_RATE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.prewarm.rate",
+      "5",
+      "Maximum number of Models prewarmed per second",
+      Integer.class,
+      false)),
+
+  WARM_LIST_FILE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.warmList.file",
+      null,
+      "Local file where the most accessed Models and Assets are persisted, "
+          + "to be preloaded on restart. If not set, the warm list is not persisted",
+      String.class,
+      false)),
+
+  WARM_LIST_SIZE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.warmList.size",
+      "100",
+      "Maximum number of Models, and of Assets, in the persisted warm list",
+      Integer.class,
+      false)),
+
+  WARM_LIST_PERIOD(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.warmList.period",
+      "15",
+      "How often the warm list is persisted, in minutes",
+      Long.class,
+      false)),
+
+  INVALIDATION_BUS_MODE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.bus.mode",
+      "OFF",
+      "OFF, or MULTICAST (to propagate cache invalidations across replicas, via UDP multicast)",
+      String.class,
+      false)),
+
+  INVALIDATION_BUS_GROUP(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.bus.group",
+      "239.255.42.42:4242",
+      "The multicast group, as {address}:{port}, joined by the replicas in MULTICAST mode",
+      String.class,
+      false)),
+
+  INVALIDATION_BUS_SECRET(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.bus.secret",
+      null,
+      "The secret shared by the replicas, used to sign and authenticate the messages exchanged "
+          + "in MULTICAST mode (required in that mode)",
+      String.class,
+      false)),
+
+  INVALIDATION_BUS_MAX_AGE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.bus.maxAge",
+      "30",
+      "How long a message published on the bus is accepted by the other replicas, in seconds. "
+          + "Older (or replayed) messages are dropped",
+      Long.class,
+      false)),
+
+  INVALIDATION_BUS_GLOBAL_INTERVAL(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.bus.globalInterval",
+      "60",
+      "Minimum interval between two cache-wide invalidations (or rescans) requested by other "
+          + "replicas, in seconds. More frequent requests are coalesced",
+      Long.class,
+      false)),
+
+  EXEC_ARTIFACTS_REFRESH(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.executionEnv.refresh",
+      "5",
+      "How often the deployed Execution Artifacts are refreshed, in minutes",
+      Long.class,
+      false)),
+
+  TRAFFIC_MODE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.traffic.mode",
+      "OFF",
+      "OFF, RECORD (to record the DES traffic to an archive) "
+          + "or REPLAY (to serve the DES traffic from an archive, offline)",
+      String.class,
+      false)),
+
+  TRAFFIC_ARCHIVE(Opt.of(
+      "edu.mayo.kmdp.trisotechwrapper.traffic.archive",
+      null,
+      "The folder where the DES traffic is recorded to, or replayed from",
+      String.class,
+      false)),
+
   DEFAULT_VERSION_TAG(Opt.of(
       "edu.mayo.kmdp.trisotechwrapper.defaultVersionTag",
       IdentifierConstants.VERSION_ZERO,
@@ -2,64 +2,472 @@
 package edu.mayo.kmdp.trisotechwrapper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
 import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
 import edu.mayo.kmdp.trisotechwrapper.components.TTWebClient;
 import edu.mayo.kmdp.trisotechwrapper.components.cache.CaffeineCacheManager;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlaceFingerprint;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlaceIndexDelta;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.PlacePathIndex;
 import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphQueryHelper;
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTQueryTemplate;
+import edu.mayo.kmdp.trisotechwrapper.components.metrics.MetricsHelper;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
 import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
 import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.apache.jena.query.Dataset;
 import org.apache.jena.query.DatasetFactory;
 import org.apache.jena.query.Query;
 import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.QuerySolutionMap;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.query.ResultSetFactory;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
 import org.junit.jupiter.api.Test;
 
 class TTPlaceCacheTest {
 
   static final String TEST_PLACE_ID = "37cf0951-332f-49b0-8e8c-3d8e157780f1";
+  static final String TEST_GRAPH_PREFIX = "http://trisotech.com/graph/1.0/graph#";
+  static final String ELEMENT_REL = "http://www.trisotech.com/graph/1.0/elementRel#";
 
   @Test
   void loadPlaceData() {
-    var ppi = mockCacheManager().getPlaceCache()
-        .get(new TrisotechPlace(TEST_PLACE_ID, "mock"));
+    try (var cacheManager = mockCacheManager()) {
+      var ppi = cacheManager.getPlaceCache()
+          .get(new TrisotechPlace(TEST_PLACE_ID, "mock"));
 
-    assertNotNull(ppi);
+      assertNotNull(ppi);
 
+      assertEquals(12, ppi.getModelToManifestMappings().size());
+
+      assertEquals(15, ppi.getAssetToManifestMappings().size());
+
+      var src = "http://www.trisotech.com/definitions/_ed4a5a45-3304-4117-b09f-865673219ef4";
+      var tgt = "http://www.trisotech.com/definitions/_99302f65-b27b-4830-b7cb-a64c1578e0fc";
+      assertTrue(ppi.getModelToManifestMappings().containsKey(src));
+
+      var info = ppi.getModelToManifestMappings().get(src);
+      assertTrue(info.getModelDependencies().contains(tgt));
+
+      ppi.getModelToManifestMappings().values().stream()
+          .flatMap(x -> x.getExposedServices().stream())
+          .forEach(k -> assertEquals(1, ppi.getAssetToManifestMappings()
+              .getOrDefault(k, Collections.emptySortedSet()).size()));
+
+      assertEquals(3, ppi.getModelToManifestMappings().values().stream()
+          .filter(x -> ! x.getExposedServices().isEmpty())
+          .count());
+    }
+  }
+
+  @Test
+  void testFrozenIndex() {
+    try (var cacheManager = mockCacheManager()) {
+      var ppi = cacheManager.getPlaceCache()
+          .get(new TrisotechPlace(TEST_PLACE_ID, "mock"));
+      assertNotNull(ppi);
+
+      var byModel = ppi.getModelToManifestMappings();
+      var byAsset = ppi.getAssetToManifestMappings();
+      assertThrows(UnsupportedOperationException.class, byModel::clear);
+      assertThrows(UnsupportedOperationException.class, byAsset::clear);
+
+      byAsset.values().forEach(manifests -> {
+        assertFalse(manifests.isEmpty());
+        assertThrows(UnsupportedOperationException.class, manifests::clear);
+        manifests.forEach(mf -> assertTrue(manifests.contains(mf)));
+        assertEquals(manifests.size() - 1, manifests.headSet(manifests.last()).size());
+        assertEquals(1, manifests.tailSet(manifests.last()).size());
+      });
+
+      ppi.destroy();
+      assertTrue(ppi.getModelToManifestMappings().isEmpty());
+      assertTrue(ppi.getAssetToManifestMappings().isEmpty());
+      // a destroyed index does not affect the maps already handed out
+      assertFalse(byModel.isEmpty());
+    }
+  }
+
+  @Test
+  void testDependencyClosure() {
+    try (var cacheManager = mockCacheManager()) {
+      var ppi = cacheManager.getPlaceCache()
+          .get(new TrisotechPlace(TEST_PLACE_ID, "mock"));
+      assertNotNull(ppi);
+
+      var src = "http://www.trisotech.com/definitions/_ed4a5a45-3304-4117-b09f-865673219ef4";
+      var tgt = "http://www.trisotech.com/definitions/_99302f65-b27b-4830-b7cb-a64c1578e0fc";
+
+      var mappings = ppi.getModelToManifestMappings();
+      // published Manifests are read-only
+      assertThrows(UnsupportedOperationException.class,
+          () -> mappings.get(tgt).addModelDependency(src));
+      assertThrows(UnsupportedOperationException.class,
+          () -> mappings.get(src).setUpdated("2000-01-01T00:00:00Z"));
+
+      var closure = ppi.getDependencyGraph().getModelClosure(src);
+      assertEquals(2, closure.size());
+      assertEquals(src, closure.get(0).getId());
+      assertEquals(tgt, closure.get(1).getId());
+
+      var assetKey = mappings.get(src).getAssetKey();
+      assertNotNull(assetKey);
+      var assetClosure = ppi.getDependencyGraph().getAssetClosure(assetKey);
+      assertTrue(assetClosure.stream().anyMatch(info -> tgt.equals(info.getId())));
+
+      ppi.destroy();
+      assertTrue(ppi.getDependencyGraph().getModelClosure(src).isEmpty());
+    }
+  }
+
+  @Test
+  void testCyclicDependencyClosure() {
+    var a = "http://test/cycle/a";
+    var b = "http://test/cycle/b";
+    var c = "http://test/cycle/c";
+    var ppi = cyclicIndex(a, b, c);
+
+    // the closure tolerates the cycle a -> b -> c -> a
+    var closure = ppi.getDependencyGraph().getModelClosure(a);
+    assertEquals(List.of(a, b, c), closure.stream()
+        .map(SemanticModelInfo::getId)
+        .collect(Collectors.toList()));
+    assertEquals(List.of(b, c, a), ppi.getDependencyGraph().getModelClosure(b).stream()
+        .map(SemanticModelInfo::getId)
+        .collect(Collectors.toList()));
+
+    var assetKey = ppi.getModelToManifestMappings().get(c).getAssetKey();
+    assertNotNull(assetKey);
+    assertEquals(3, ppi.getDependencyGraph().getAssetClosure(assetKey).size());
+  }
+
+  /**
+   * Fixture. Indexes a number of Models, each depending on the next, and the last on the first
+   *
+   * @param models the IDs of the Models in the cycle
+   * @return an index of the Models
+   */
+  private PlacePathIndex cyclicIndex(String... models) {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    var builder = PlacePathIndex.builder(
+        new TrisotechPlace(TEST_PLACE_ID, "mock"), Set.of("/"), (p, m) -> List.of(), cfg);
+
+    for (var model : models) {
+      var sol = modelSolution(model, "Published", "/cycle/model.dmn");
+      sol.add("mimeType", ResourceFactory.createPlainLiteral("application/vnd.triso-dmn+json"));
+      builder.addModel(sol);
+    }
+    for (int j = 0; j < models.length; j++) {
+      var rel = new QuerySolutionMap();
+      rel.add("fromModel", ResourceFactory.createResource(models[j]));
+      rel.add("toModel", ResourceFactory.createResource(models[(j + 1) % models.length]));
+      builder.addRelationship(rel);
+    }
+    return builder.build();
+  }
+
+  @Test
+  void testIndexingMetrics() {
+    var registry = new SimpleMeterRegistry();
+    MetricsHelper.setRegistry(registry);
+    try (var cacheManager = mockCacheManager()) {
+      var ppi = cacheManager.getPlaceCache()
+          .get(new TrisotechPlace(TEST_PLACE_ID, "mock"));
+      assertNotNull(ppi);
+
+      var queries = registry.find(MetricsHelper.SPARQL_QUERY)
+          .tag(MetricsHelper.TAG_PLACE, TEST_PLACE_ID)
+          .timers();
+      // models, relations, services, and the fingerprint probe
+      assertEquals(4, queries.size());
+      assertTrue(queries.stream().allMatch(t -> t.count() == 1));
+
+      var index = registry.find(MetricsHelper.PLACE_INDEX)
+          .tag(MetricsHelper.TAG_PLACE, TEST_PLACE_ID)
+          .timer();
+      assertNotNull(index);
+      assertEquals(1, index.count());
+    } finally {
+      MetricsHelper.setRegistry(null);
+    }
+  }
+
+  @Test
+  void testPagedIndexing() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    var place = new TrisotechPlace(TEST_PLACE_ID, "mock");
+    var client = mockWebClient(cfg);
+
+    var whole = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+    // smaller than every result set, and not a divisor of the number of Models
+    cfg.setTyped(TTWConfigParamsDef.SPARQL_PAGE_SIZE, 5);
+    var paged = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+
+    assertEquals(12, paged.getModelToManifestMappings().size());
+    assertEquals(whole.getModelToManifestMappings().keySet(),
+        paged.getModelToManifestMappings().keySet());
+    assertEquals(whole.getAssetToManifestMappings().keySet(),
+        paged.getAssetToManifestMappings().keySet());
+    whole.getModelToManifestMappings().forEach((id, info) -> {
+      var pagedInfo = paged.getModelToManifestMappings().get(id);
+      assertEquals(info.getModelDependencies(), pagedInfo.getModelDependencies());
+      assertEquals(Set.copyOf(info.getExposedServices()),
+          Set.copyOf(pagedInfo.getExposedServices()));
+    });
+  }
+
+  @Test
+  void testAdaptivePaging() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    // larger than every result set
+    cfg.setTyped(TTWConfigParamsDef.SPARQL_PAGE_SIZE, 1000);
+    cfg.setTyped(TTWConfigParamsDef.FETCH_PARALLELISM, 4);
+    var place = new TrisotechPlace(TEST_PLACE_ID, "mock");
+    var requests = new AtomicInteger();
+    var client = mockWebClient(cfg, List.of(place), loadTestGraph(), requests);
+
+    var ppi = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
     assertEquals(12, ppi.getModelToManifestMappings().size());
+    // the fingerprint probe, and one page per query, rather than one wave of pages per query
+    assertEquals(4, requests.get());
+  }
+
+  @Test
+  void testBoundQueriesAreCopied() {
+    var query = TTQueryTemplate.MODELS.forPlace(TEST_PLACE_ID);
+    query.setLimit(1);
+    var other = TTQueryTemplate.MODELS.forPlace(TEST_PLACE_ID);
+    assertNotSame(query, other);
+    // changes made by a caller are not seen by the others
+    assertFalse(other.hasLimit());
+  }
 
-    assertEquals(15, ppi.getAssetToManifestMappings().size());
+  @Test
+  void testRefreshUnchangedPlace() {
+    var registry = new SimpleMeterRegistry();
+    MetricsHelper.setRegistry(registry);
+    try {
+      var cfg = new TTWEnvironmentConfiguration();
+      cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+      var place = new TrisotechPlace(TEST_PLACE_ID, "mock");
+      var client = mockWebClient(cfg);
+
+      var ppi = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+      assertNotNull(ppi.getFingerprint());
+
+      var refreshed = TTGraphQueryHelper.refreshPlace(client, place, Set.of("/"), ppi, cfg);
+      assertSame(ppi, refreshed);
+
+      var probes = registry.find(MetricsHelper.PLACE_PROBE)
+          .tag(MetricsHelper.TAG_OUTCOME, "unchanged")
+          .counter();
+      assertNotNull(probes);
+      assertEquals(1, probes.count());
+
+      ppi.setFingerprint("0@");
+      assertNotSame(ppi, TTGraphQueryHelper.refreshPlace(client, place, Set.of("/"), ppi, cfg));
+    } finally {
+      MetricsHelper.setRegistry(null);
+    }
+  }
+
+  @Test
+  void testDeltaReindex() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    var place = new TrisotechPlace(TEST_PLACE_ID, "mock");
+    var graph = loadTestGraph();
+    var client = mockWebClient(cfg, List.of(place), graph);
+
+    var ppi = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+    var next = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), ppi, cfg);
+    assertNotSame(ppi, next);
+    next.getModelToManifestMappings().forEach((id, info) ->
+        assertSame(ppi.getModelToManifestMappings().get(id), info));
+    next.getAssetToManifestMappings().forEach((key, infos) ->
+        assertTrue(ppi.getAssetToManifestMappings().get(key).containsAll(infos)));
+
+    var delta = PlaceIndexDelta.between(ppi, next);
+    assertTrue(delta.isEmpty());
+    assertEquals(12, delta.getUnchanged());
 
     var src = "http://www.trisotech.com/definitions/_ed4a5a45-3304-4117-b09f-865673219ef4";
-    var tgt = "http://www.trisotech.com/definitions/_99302f65-b27b-4830-b7cb-a64c1578e0fc";
-    assertTrue(ppi.getModelToManifestMappings().containsKey(src));
+    var stale = next.getModelToManifestMappings().get(src);
+    // the Model is updated on the server, between the two reindexes
+    var model = graph.getNamedModel(TEST_GRAPH_PREFIX + TEST_PLACE_ID);
+    var updated = model.createProperty(ELEMENT_REL + "updated");
+    model.removeAll(model.createResource(src), updated, null);
+    model.add(model.createResource(src), updated, "2000-01-01T00:00:00Z");
+    var last = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), next, cfg);
+    assertNotSame(stale, last.getModelToManifestMappings().get(src));
+    delta = PlaceIndexDelta.between(next, last);
+    assertEquals(Set.of(src), delta.getStaleModels());
+    assertEquals(11, delta.getUnchanged());
+  }
 
-    var info = ppi.getModelToManifestMappings().get(src);
-    assertTrue(info.getModelDependencies().contains(tgt));
+  @Test
+  void testFingerprint() {
+    var a = modelSolution("http://test/a", "Published", "/x");
+    var b = modelSolution("http://test/b", "Draft", "/x");
+    var rel = modelSolution("http://test/a", null, null);
+    rel.add("relType", ResourceFactory.createResource("http://test/reuse"));
+    rel.add("toModel", ResourceFactory.createResource("http://test/b"));
 
-    ppi.getModelToManifestMappings().values().stream()
-        .flatMap(x -> x.getExposedServices().stream())
-        .forEach(k -> assertEquals(1, ppi.getAssetToManifestMappings()
-            .getOrDefault(k, Collections.emptySortedSet()).size()));
+    var fp = fingerprint(a, b);
+    // independent of the order of the solutions
+    assertEquals(fp, fingerprint(b, a));
+    assertTrue(fp.startsWith("2#"));
+    // state changes, moves and relationships are detected
+    assertNotEquals(fp, fingerprint(a, modelSolution("http://test/b", "Published", "/x")));
+    assertNotEquals(fp, fingerprint(a, modelSolution("http://test/b", "Draft", "/y")));
+    assertNotEquals(fp, fingerprint(a, b, rel));
+    assertTrue(fingerprint(a, b, rel).startsWith("2#"));
+  }
+
+  private String fingerprint(QuerySolution... sols) {
+    var fp = new PlaceFingerprint();
+    for (var sol : sols) {
+      fp.add(sol);
+    }
+    return fp.get();
+  }
+
+  private QuerySolutionMap modelSolution(String model, String state, String path) {
+    var sol = new QuerySolutionMap();
+    sol.add("model", ResourceFactory.createResource(model));
+    if (state != null) {
+      sol.add("state", ResourceFactory.createPlainLiteral(state));
+    }
+    if (path != null) {
+      sol.add("path", ResourceFactory.createPlainLiteral(path));
+    }
+    return sol;
+  }
 
-    assertEquals(3, ppi.getModelToManifestMappings().values().stream()
-        .filter(x -> ! x.getExposedServices().isEmpty())
-        .count());
+  @Test
+  void testBatchIndexing() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    var place = new TrisotechPlace(TEST_PLACE_ID, "mock");
+    var empty = new TrisotechPlace("00000000-0000-0000-0000-000000000000", "empty");
+    var client = mockWebClient(cfg);
 
+    var whole = TTGraphQueryHelper.reindexPlace(client, place, Set.of("/"), cfg);
+    Map<TrisotechPlace, Set<String>> scopes = new LinkedHashMap<>();
+    scopes.put(place, Set.of("/"));
+    scopes.put(empty, Set.of("/"));
+    var batch = TTGraphQueryHelper.reindexPlaces(client, scopes, cfg);
+
+    assertEquals(2, batch.size());
+    assertTrue(batch.get(empty).getModelToManifestMappings().isEmpty());
+    // empty Places are fingerprinted as if probed alone
+    assertEquals(TTGraphQueryHelper.fingerprint(client, empty.getId()).orElseThrow(),
+        batch.get(empty).getFingerprint());
+    var ppi = batch.get(place);
+    assertEquals(whole.getModelToManifestMappings().keySet(),
+        ppi.getModelToManifestMappings().keySet());
+    assertEquals(whole.getAssetToManifestMappings().keySet(),
+        ppi.getAssetToManifestMappings().keySet());
+    assertEquals(whole.getFingerprint(), ppi.getFingerprint());
+    whole.getModelToManifestMappings().forEach((id, info) -> assertEquals(
+        info.getModelDependencies(),
+        ppi.getModelToManifestMappings().get(id).getModelDependencies()));
+  }
+
+  @Test
+  void testPinnedPlaces() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    cfg.setTyped(TTWConfigParamsDef.PLACE_CACHE_ADHOC_SIZE, 2);
+    // more configured Places than the ad-hoc budget
+    List<TrisotechPlace> places = new ArrayList<>();
+    places.add(new TrisotechPlace(TEST_PLACE_ID, "Mock"));
+    for (int j = 0; j < 4; j++) {
+      places.add(new TrisotechPlace(UUID.randomUUID().toString(), "Empty " + j));
+    }
+    cfg.setTyped(TTWConfigParamsDef.REPOSITORY_PATHS, places.stream()
+        .map(p -> p.getId() + "/")
+        .collect(Collectors.joining(",")));
+    var client = mockWebClient(cfg, places);
+
+    try (var cacheManager = new CaffeineCacheManager(client, dox -> dox, cfg)) {
+      var placeCache = cacheManager.getPlaceCache();
+      var pinned = placeCache.getIfPresent(TrisotechPlace.key(TEST_PLACE_ID));
+      assertNotNull(pinned);
+      assertEquals(places.size(), cacheManager.getCachedPlaces().size());
+
+      for (int j = 0; j < 10; j++) {
+        var adhoc = new TrisotechPlace("adhoc-" + j, "adhoc");
+        placeCache.put(adhoc, TTGraphQueryHelper.reindexPlace(client, adhoc, Set.of(), cfg));
+      }
+      placeCache.cleanUp();
+      // all the configured Places are still indexed, without being reloaded
+      assertEquals(12, cacheManager.listAllModelsInfoByMimeClass(null).count());
+      placeCache.cleanUp();
+
+      // the ad-hoc Places are bounded, but the configured Places are never evicted
+      assertEquals(places.size(), cacheManager.getCachedPlaces().size());
+      assertSame(pinned, placeCache.getIfPresent(TrisotechPlace.key(TEST_PLACE_ID)));
+      assertEquals(places.size() + 2L, placeCache.estimatedSize());
+      assertEquals(2L,
+          placeCache.policy().eviction().orElseThrow().weightedSize().orElseThrow());
+    }
+  }
+
+  @Test
+  void testCatalogGenerations() {
+    var src = "http://www.trisotech.com/definitions/_ed4a5a45-3304-4117-b09f-865673219ef4";
+    var place = new TrisotechPlace(TEST_PLACE_ID, "mock");
+    try (var cacheManager = mockCacheManager()) {
+      var first = cacheManager.getCatalog();
+      assertTrue(first.getPlaces().containsKey(place));
+      assertTrue(first.getManifest(src).isPresent());
+
+      cacheManager.rescanPlaceCache(TEST_PLACE_ID);
+      var second = cacheManager.getCatalog();
+      assertTrue(second.getNumber() > first.getNumber());
+      assertNotSame(first.getPlaces().get(place), second.getPlaces().get(place));
+      // readers of the previous generation still see a consistent index
+      assertTrue(first.getManifest(src).isPresent());
+
+      cacheManager.invalidatePlaceCache(TEST_PLACE_ID);
+      assertFalse(cacheManager.getCatalog().getPlaces().containsKey(place));
+      assertTrue(cacheManager.getMetadataByArtifact(src).isPresent());
+      // the reloaded index is published once written to the Place cache
+      assertSame(cacheManager.getPlaceCache().getIfPresent(place),
+          cacheManager.getCatalog().getPlaces().get(place));
+      assertTrue(cacheManager.getCatalog().getNumber() > second.getNumber() + 1);
+    }
   }
 
   CaffeineCacheManager mockCacheManager() {
@@ -73,23 +481,39 @@ class TTPlaceCacheTest {
     );
   }
 
-  private TTDigitalEnterpriseServerClient mockWebClient(TTWEnvironmentConfiguration cfg) {
-    return new TTWebClient(cfg) {
-      private final Dataset graph = loadTestGraph();
+  static TTDigitalEnterpriseServerClient mockWebClient(TTWEnvironmentConfiguration cfg) {
+    return mockWebClient(cfg, List.of(new TrisotechPlace(TEST_PLACE_ID, "Mock")));
+  }
 
-      private Dataset loadTestGraph() {
-        var url = TTPlaceCacheTest.class.getResource("/testPlaceGraph.rdf");
-        assertNotNull(url);
-        var model = ModelFactory.createDefaultModel().read(url.toString());
+  static TTDigitalEnterpriseServerClient mockWebClient(
+      TTWEnvironmentConfiguration cfg, List<TrisotechPlace> places) {
+    return mockWebClient(cfg, places, loadTestGraph());
+  }
 
-        return DatasetFactory.create().addNamedModel(
-            "http://trisotech.com/graph/1.0/graph#" + TEST_PLACE_ID,
-            model);
-      }
+  static Dataset loadTestGraph() {
+    var url = TTPlaceCacheTest.class.getResource("/testPlaceGraph.rdf");
+    assertNotNull(url);
+    var model = ModelFactory.createDefaultModel().read(url.toString());
+
+    return DatasetFactory.create().addNamedModel(
+        TEST_GRAPH_PREFIX + TEST_PLACE_ID,
+        model);
+  }
+
+  static TTDigitalEnterpriseServerClient mockWebClient(
+      TTWEnvironmentConfiguration cfg, List<TrisotechPlace> places, Dataset graph) {
+    return mockWebClient(cfg, places, graph, new AtomicInteger());
+  }
+
+  static TTDigitalEnterpriseServerClient mockWebClient(
+      TTWEnvironmentConfiguration cfg, List<TrisotechPlace> places, Dataset graph,
+      AtomicInteger requests) {
+    return new TTWebClient(cfg) {
 
       @Override
       @Nonnull
       public ResultSet askQuery(@Nonnull final Query query) {
+        requests.incrementAndGet();
         try (var fac = QueryExecutionFactory.create(query, graph)) {
           return ResultSetFactory.copyResults(fac.execSelect());
         }
@@ -110,7 +534,7 @@ class TTPlaceCacheTest {
       @Override
       @Nonnull
       public List<TrisotechPlace> getPlaces() {
-        return List.of(new TrisotechPlace(TEST_PLACE_ID, "Mock"));
+        return places;
       }
     };
   }
@@ -0,0 +1,76 @@
+package edu.mayo.kmdp.trisotechwrapper;
+
+import static edu.mayo.kmdp.trisotechwrapper.TTPlaceCacheTest.TEST_PLACE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationBus;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationMessage;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationMessage.Action;
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.LocalCacheInvalidationBus;
+import edu.mayo.kmdp.trisotechwrapper.components.redactors.TTRedactor;
+import edu.mayo.kmdp.trisotechwrapper.components.weavers.DomainSemanticsWeaver;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+
+class TTWrapperInvalidationTest {
+
+  @Test
+  void testPropagateInvalidations() {
+    var bus = new LocalCacheInvalidationBus();
+    var place = TrisotechPlace.key(TEST_PLACE_ID);
+    List<Action> firstApplied = new CopyOnWriteArrayList<>();
+    List<Action> secondApplied = new CopyOnWriteArrayList<>();
+
+    try (var first = newWrapper(bus, firstApplied);
+        var second = newWrapper(bus, secondApplied)) {
+      assertNotNull(second.getPlaceCache().getIfPresent(place));
+
+      first.invalidatePlace(TEST_PLACE_ID);
+      // the local bus delivers the message back to the publisher, which ignores it
+      assertEquals(List.of(Action.INVALIDATE_PLACE), firstApplied);
+      assertEquals(List.of(Action.INVALIDATE_PLACE), secondApplied);
+      assertNull(second.getPlaceCache().getIfPresent(place));
+
+      // a closed instance no longer receives the invalidations
+      second.close();
+      first.invalidateAll();
+      assertEquals(List.of(Action.INVALIDATE_PLACE, Action.INVALIDATE_ALL), firstApplied);
+      assertEquals(List.of(Action.INVALIDATE_PLACE), secondApplied);
+    }
+  }
+
+  private TTWrapper newWrapper(CacheInvalidationBus bus, List<Action> applied) {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.BASE_URL, "http://mock.org/des");
+    cfg.setTyped(TTWConfigParamsDef.REPOSITORY_PATHS, TEST_PLACE_ID + "/");
+    return new TTWrapper(cfg, new DomainSemanticsWeaver(cfg), new TTRedactor()) {
+      @Override
+      protected TTDigitalEnterpriseServerClient initWebClient(
+          @Nonnull TTWEnvironmentConfiguration cfg) {
+        return TTPlaceCacheTest.mockWebClient(cfg);
+      }
+
+      @Override
+      protected CacheInvalidationBus initInvalidationBus(
+          @Nonnull TTWEnvironmentConfiguration cfg) {
+        return bus;
+      }
+
+      @Override
+      protected void apply(
+          @Nonnull CacheInvalidationMessage message) {
+        applied.add(message.getAction());
+        super.apply(message);
+      }
+    };
+  }
+
+}
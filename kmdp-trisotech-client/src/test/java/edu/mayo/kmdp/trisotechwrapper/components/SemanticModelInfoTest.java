@@ -0,0 +1,77 @@
+package edu.mayo.kmdp.trisotechwrapper.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.trisotechwrapper.components.graph.TTGraphTerms;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class SemanticModelInfoTest {
+
+  private static final String ASSET_ID =
+      "https://clinicalknowledgemanagement.mayo.edu/assets/"
+          + "2c8d0ea3-6ee1-4a3d-a5e4-9b3b8bd7e7b5/versions/1.0.0";
+
+  @Test
+  void testSharedValues() {
+    var m1 = new SemanticModelInfo("http://ex.org/m1")
+        .put(TTGraphTerms.MIME_TYPE, new String("application/dmn-1-2+xml"));
+    var m2 = new SemanticModelInfo("http://ex.org/m2")
+        .put(TTGraphTerms.MIME_TYPE, new String("application/dmn-1-2+xml"));
+    assertSame(m1.getMimetype(), m2.getMimetype());
+
+    m1.assertAssetId(ASSET_ID);
+    m2.assertAssetId(new String(ASSET_ID));
+    assertSame(m1.getAssetKey(), m2.getAssetKey());
+  }
+
+  @Test
+  void testMultiValuedFields() {
+    var m1 = new SemanticModelInfo("http://ex.org/m1");
+    assertTrue(m1.getModelDependencies().isEmpty());
+
+    m1.addModelDependency("http://ex.org/m2");
+    m1.addModelDependency("http://ex.org/m3");
+    m1.addModelDependency("http://ex.org/m2");
+    var deps = m1.getModelDependencies();
+    assertEquals(List.of("http://ex.org/m2", "http://ex.org/m3"), List.copyOf(deps));
+    assertThrows(UnsupportedOperationException.class, () -> deps.add("http://ex.org/m4"));
+
+    var m1b = new SemanticModelInfo("http://ex.org/m1");
+    m1b.addModelDependency("http://ex.org/m4");
+    m1b.addAssetType("http://ex.org/type");
+    var merged = SemanticModelInfo.merge(m1, m1b);
+    assertEquals(Set.of("http://ex.org/m2", "http://ex.org/m3", "http://ex.org/m4"),
+        merged.getModelDependencies());
+    assertEquals(List.of("http://ex.org/type"), merged.getAssetTypes());
+    // the originals are not affected by the merge
+    assertEquals(2, m1.getModelDependencies().size());
+  }
+
+  @Test
+  void testReadOnly() {
+    var m1 = new SemanticModelInfo("http://ex.org/m1")
+        .put(TTGraphTerms.STATE, "Published");
+    m1.addModelDependency("http://ex.org/m2");
+    assertSame(m1, m1.freeze());
+
+    assertThrows(UnsupportedOperationException.class,
+        () -> m1.addModelDependency("http://ex.org/m3"));
+    assertThrows(UnsupportedOperationException.class,
+        () -> m1.put(TTGraphTerms.STATE, "Draft"));
+    assertThrows(UnsupportedOperationException.class, () -> m1.setState("Draft"));
+    assertThrows(UnsupportedOperationException.class, () -> m1.assertAssetId(ASSET_ID));
+    assertEquals("Published", m1.getState());
+
+    // copies are mutable
+    var copy = new SemanticModelInfo(m1, m1);
+    copy.setState("Draft");
+    assertEquals(Set.of("http://ex.org/m2"), copy.getModelDependencies());
+    assertEquals("Published", m1.getState());
+  }
+
+}
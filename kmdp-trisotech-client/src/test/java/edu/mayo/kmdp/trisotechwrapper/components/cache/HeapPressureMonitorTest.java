@@ -0,0 +1,124 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+import static edu.mayo.kmdp.trisotechwrapper.components.cache.HeapPressureMonitor.MAJOR_GC_ACTION;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_CACHE_HEAP_THRESHOLD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GarbageCollectorMXBean;
+import com.sun.management.GcInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import javax.management.Notification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class HeapPressureMonitorTest {
+
+  private static final String MINOR_GC_ACTION = "end of minor GC";
+
+  private static GcInfo gcInfo;
+
+  @BeforeAll
+  static void collect() {
+    System.gc();
+    gcInfo = ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .filter(GarbageCollectorMXBean.class::isInstance)
+        .map(gc -> ((GarbageCollectorMXBean) gc).getLastGcInfo())
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElse(null);
+  }
+
+  @Test
+  void testMajorCollection() {
+    assertTrue(HeapPressureMonitor.isMajorCollection(gcNotification(MAJOR_GC_ACTION)));
+    assertFalse(HeapPressureMonitor.isMajorCollection(gcNotification(MINOR_GC_ACTION)));
+    assertFalse(HeapPressureMonitor.isMajorCollection(
+        new Notification(GARBAGE_COLLECTION_NOTIFICATION, this, 1)));
+  }
+
+  @Test
+  void testBudgetFollowsOldGenOccupancy() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(MODEL_CACHE_HEAP_THRESHOLD, 80);
+    Cache<String, String> cache = Caffeine.newBuilder()
+        .maximumWeight(800)
+        .weigher((String k, String v) -> 1)
+        .build();
+    var monitor = new StubMonitor(cache, 800, cfg);
+    // detached from the actual collectors, so that only the notified collections are observed
+    monitor.close();
+
+    monitor.collect(MINOR_GC_ACTION, 0.9);
+    assertEquals(800, monitor.getCurrentBudget());
+
+    monitor.collect(MAJOR_GC_ACTION, 0.9);
+    assertEquals(400, monitor.getCurrentBudget());
+    monitor.collect(MAJOR_GC_ACTION, 0.9);
+    monitor.collect(MAJOR_GC_ACTION, 0.9);
+    monitor.collect(MAJOR_GC_ACTION, 0.9);
+    // no less than 1/8 of the configured budget
+    assertEquals(100, monitor.getCurrentBudget());
+
+    // between the two thresholds, the budget is retained
+    monitor.collect(MAJOR_GC_ACTION, 0.5);
+    assertEquals(100, monitor.getCurrentBudget());
+
+    // young collections do not restore the budget either
+    monitor.collect(MINOR_GC_ACTION, 0.1);
+    assertEquals(100, monitor.getCurrentBudget());
+
+    monitor.collect(MAJOR_GC_ACTION, 0.1);
+    assertEquals(200, monitor.getCurrentBudget());
+    monitor.collect(MAJOR_GC_ACTION, 0.1);
+    monitor.collect(MAJOR_GC_ACTION, 0.1);
+    monitor.collect(MAJOR_GC_ACTION, 0.1);
+    assertEquals(800, monitor.getCurrentBudget());
+  }
+
+  /**
+   * Creates a garbage collection notification, carrying the payload emitted by the JVM, based on
+   * the last actual collection
+   *
+   * @param gcAction the action reported by the garbage collector
+   * @return the notification
+   */
+  private static Notification gcNotification(String gcAction) {
+    assumeTrue(gcInfo != null, "No garbage collection information available");
+    var info = new GarbageCollectionNotificationInfo("Test GC", gcAction, "System.gc()", gcInfo);
+    var notification = new Notification(GARBAGE_COLLECTION_NOTIFICATION, "Test GC", 1);
+    notification.setUserData(info.toCompositeData(null));
+    return notification;
+  }
+
+  /**
+   * Monitor whose old generation occupancy is stubbed
+   */
+  private static class StubMonitor extends HeapPressureMonitor {
+
+    private double occupancy;
+
+    StubMonitor(Cache<?, ?> cache, long budget, TTWEnvironmentConfiguration cfg) {
+      super(cache, budget, cfg);
+    }
+
+    void collect(String gcAction, double occupancy) {
+      this.occupancy = occupancy;
+      onNotification(gcNotification(gcAction), null);
+    }
+
+    @Override
+    public double getOldGenOccupancy() {
+      return occupancy;
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.omg.spec.api4kp._20200801.id.SemanticIdentifier.newKey;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+class HotKeyWarmListTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void testPersistAndPreload() throws Exception {
+    var cfg = new TTWEnvironmentConfiguration();
+    var file = dir.resolve("warm.json");
+    var hot = new SemanticModelInfo("http://ex.org/hot");
+    var carrier = new SemanticModelInfo("http://ex.org/carrier");
+    var assetKey = newKey(UUID.randomUUID(), "1.0.0");
+
+    var cache = newModelCache(ConcurrentHashMap.newKeySet(), new CountDownLatch(0));
+    cache.get(hot);
+    try (var warmList = new HotKeyWarmList(file, cache, cfg)) {
+      warmList.recordAsset(assetKey);
+      warmList.persist();
+    }
+    var persisted = Files.readString(file);
+    assertTrue(persisted.contains(hot.getId()));
+    assertTrue(persisted.contains(assetKey.getUuid() + ":1.0.0"));
+
+    // restart, with a cold cache
+    Set<String> loaded = ConcurrentHashMap.newKeySet();
+    var done = new CountDownLatch(2);
+    var coldCache = newModelCache(loaded, done);
+    try (var warmList = new HotKeyWarmList(file, coldCache, cfg)) {
+      warmList.preload(
+          id -> id.equals(hot.getId()) ? Optional.of(hot) : Optional.empty(),
+          key -> key.equals(assetKey) ? Stream.of(carrier) : Stream.empty());
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertEquals(Set.of(hot.getId(), carrier.getId()), loaded);
+      assertEquals(assetKey, warmList.getHotAssets().get(0));
+    }
+  }
+
+  private LoadingCache<SemanticModelInfo, Document> newModelCache(
+      Set<String> loaded, CountDownLatch done) {
+    return Caffeine.newBuilder()
+        .maximumSize(10)
+        .build(key -> {
+          loaded.add(key.getId());
+          done.countDown();
+          return XMLUtil.loadXMLDocument(new ByteArrayInputStream("<model/>".getBytes()))
+              .orElseThrow();
+        });
+  }
+
+}
@@ -0,0 +1,52 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.CACHE_EXPIRATION;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_EXPIRATION_PENDING;
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.MODEL_EXPIRATION_PUBLISHED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ModelCacheExpiryTest {
+
+  @Test
+  void testLifetimeByState() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(CACHE_EXPIRATION, 10L);
+    cfg.setTyped(MODEL_EXPIRATION_PENDING, 60L);
+    var expiry = new ModelCacheExpiry(cfg);
+
+    assertEquals(TimeUnit.DAYS.toNanos(7), expiry.lifetime(model("1.0.0", "Published")));
+    assertEquals(TimeUnit.MINUTES.toNanos(60),
+        expiry.lifetime(model("1.1.0", "Pending Approval")));
+    assertEquals(TimeUnit.MINUTES.toNanos(10), expiry.lifetime(model("1.2.0", "Draft")));
+    assertEquals(TimeUnit.MINUTES.toNanos(10), expiry.lifetime(model(null, "Published")));
+    assertEquals(TimeUnit.MINUTES.toNanos(10), expiry.lifetime(model("1.0.0", "Archived")));
+  }
+
+  @Test
+  void testLifetimeOnUpdate() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(CACHE_EXPIRATION, 10L);
+    cfg.setTyped(MODEL_EXPIRATION_PUBLISHED, 0L);
+    var published = model("1.0.0", "Published");
+    var expiry = new ModelCacheExpiry(cfg, id -> Optional.of(published));
+
+    // the cache retains the key of the Draft, which has been published since
+    var retained = model(null, "Draft");
+    assertEquals(TimeUnit.MINUTES.toNanos(10), expiry.expireAfterCreate(retained, null, 0));
+    assertEquals(Long.MAX_VALUE, expiry.expireAfterUpdate(retained, null, 0, 1));
+  }
+
+  private SemanticModelInfo model(String version, String state) {
+    var info = new SemanticModelInfo("http://ex.org/m");
+    info.setVersion(version);
+    info.setState(state);
+    return info;
+  }
+
+}
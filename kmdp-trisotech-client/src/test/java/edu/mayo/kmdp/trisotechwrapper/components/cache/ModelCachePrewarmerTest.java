@@ -0,0 +1,103 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+class ModelCachePrewarmerTest {
+
+  private static final String PLACE = "place";
+
+  @Test
+  void testPriorityAndLimit() throws InterruptedException {
+    List<String> loaded = new CopyOnWriteArrayList<>();
+    var done = new CountDownLatch(3);
+    var cache = newModelCache(loaded, new CountDownLatch(0), done);
+
+    var plain = manifest("http://ex.org/a-plain", "1.0.0");
+    var dependency = manifest("http://ex.org/b-dependency", "1.0.0");
+    dependency.setAssetId("b");
+    dependency.addReverseModelDependency("http://ex.org/c-root");
+    var root = manifest("http://ex.org/c-root", "1.0.0");
+    root.setAssetId("c");
+    var popular = manifest("http://ex.org/d-popular", "1.0.0");
+
+    try (var prewarmer = new ModelCachePrewarmer(cache, config(3))) {
+      prewarmer.recordAccess(popular.getId());
+      prewarmer.prewarm(PLACE, List.of(plain, dependency, root, popular));
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+    // most requested first, then Asset carriers (roots first); the plain Model is over the limit
+    assertEquals(List.of(
+            popular.getId() + "@1.0.0", root.getId() + "@1.0.0", dependency.getId() + "@1.0.0"),
+        loaded);
+  }
+
+  @Test
+  void testNewerManifestReplacesScheduledOne() throws InterruptedException {
+    List<String> loaded = new CopyOnWriteArrayList<>();
+    var gate = new CountDownLatch(1);
+    var done = new CountDownLatch(2);
+    var cache = newModelCache(loaded, gate, done);
+
+    var blocker = manifest("http://ex.org/a-blocker", "1.0.0");
+    var stale = manifest("http://ex.org/b-model", "1.0.0");
+    var fresh = manifest("http://ex.org/b-model", "2.0.0");
+
+    try (var prewarmer = new ModelCachePrewarmer(cache, config(10))) {
+      // the only loader is busy with the first Model, while the second is scheduled twice
+      prewarmer.prewarm(PLACE, List.of(blocker));
+      prewarmer.prewarm(PLACE, List.of(stale));
+      prewarmer.prewarm(PLACE, List.of(fresh));
+      gate.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      // once, with the newer Manifest
+      assertEquals(List.of(blocker.getId() + "@1.0.0", fresh.getId() + "@2.0.0"), loaded);
+    }
+  }
+
+  private TTWEnvironmentConfiguration config(int limit) {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(TTWConfigParamsDef.MODEL_PREWARM_LIMIT, limit);
+    cfg.setTyped(TTWConfigParamsDef.MODEL_PREWARM_PARALLELISM, 1);
+    cfg.setTyped(TTWConfigParamsDef.MODEL_PREWARM_RATE, 100);
+    return cfg;
+  }
+
+  private SemanticModelInfo manifest(String id, String version) {
+    var info = new SemanticModelInfo(id);
+    info.setVersion(version);
+    return info;
+  }
+
+  /**
+   * Model cache whose loader records the ID and version of the loaded Models, in order. Models are
+   * only loaded once the gate is open
+   */
+  private LoadingCache<SemanticModelInfo, Document> newModelCache(
+      List<String> loaded, CountDownLatch gate, CountDownLatch done) {
+    return Caffeine.newBuilder()
+        .maximumSize(10)
+        .build(key -> {
+          gate.await(10, TimeUnit.SECONDS);
+          loaded.add(key.getId() + "@" + key.getVersion());
+          done.countDown();
+          return XMLUtil.loadXMLDocument(new ByteArrayInputStream("<model/>".getBytes()))
+              .orElseThrow();
+        });
+  }
+
+}
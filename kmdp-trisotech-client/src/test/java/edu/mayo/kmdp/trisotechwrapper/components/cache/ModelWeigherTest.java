@@ -0,0 +1,51 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cache;
+
+import static edu.mayo.kmdp.trisotechwrapper.components.cache.ModelWeigher.CHAR_SIZE;
+import static edu.mayo.kmdp.trisotechwrapper.components.cache.ModelWeigher.NODE_OVERHEAD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.io.ByteArrayInputStream;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+class ModelWeigherTest {
+
+  @Test
+  void testEstimate() {
+    // #document, <a>, b="c", <d>, "text"
+    var dox = parse("<a b=\"c\"><d>text</d></a>");
+    long expected = 5L * NODE_OVERHEAD
+        + CHAR_SIZE * ("#document".length() + "a".length() + "bc".length() + "d".length()
+        + "#text".length() + "text".length());
+    assertEquals(expected, ModelWeigher.estimateSize(dox));
+  }
+
+  @Test
+  void testWeightedEviction() {
+    var small = parse("<a/>");
+    var large = parse("<a>" + "<b>x</b>".repeat(1000) + "</a>");
+    long budget = 3 * ModelWeigher.estimateSize(large) / 2;
+
+    var cache = Caffeine.newBuilder()
+        .executor(Runnable::run)
+        .maximumWeight(budget)
+        .weigher(new ModelWeigher())
+        .<SemanticModelInfo, Document>build();
+    cache.put(new SemanticModelInfo("http://ex.org/m1"), large);
+    cache.put(new SemanticModelInfo("http://ex.org/m2"), small);
+    cache.put(new SemanticModelInfo("http://ex.org/m3"), large);
+    cache.cleanUp();
+
+    var weighted = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+    assertTrue(weighted <= budget);
+  }
+
+  private Document parse(String xml) {
+    return XMLUtil.loadXMLDocument(new ByteArrayInputStream(xml.getBytes())).orElseThrow();
+  }
+
+}
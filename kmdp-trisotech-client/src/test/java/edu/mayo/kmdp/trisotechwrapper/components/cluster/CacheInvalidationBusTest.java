@@ -0,0 +1,75 @@
+package edu.mayo.kmdp.trisotechwrapper.components.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.trisotechwrapper.components.cluster.CacheInvalidationMessage.Action;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class CacheInvalidationBusTest {
+
+  @Test
+  void testMessageRoundTrip() {
+    var msg = new CacheInvalidationMessage(
+        Action.RESCAN_PLACE, "replica-1", "5682fa26-b064-43c8-9475-1e4281e74068");
+    assertEquals(Optional.of(msg), CacheInvalidationMessage.decode(msg.encode()));
+
+    var all = new CacheInvalidationMessage(Action.INVALIDATE_ALL, "replica-1", null);
+    assertEquals(Optional.of(all), CacheInvalidationMessage.decode(all.encode()));
+
+    assertTrue(CacheInvalidationMessage.decode("FLUSH\treplica-1\t").isEmpty());
+    assertTrue(CacheInvalidationMessage.decode("garbage").isEmpty());
+  }
+
+  @Test
+  void testLocalBus() {
+    var bus = new LocalCacheInvalidationBus();
+    List<CacheInvalidationMessage> r1 = new ArrayList<>();
+    List<CacheInvalidationMessage> r2 = new ArrayList<>();
+    bus.subscribe(r1::add);
+    bus.subscribe(m -> {
+      throw new IllegalStateException("failing subscriber");
+    });
+    Consumer<CacheInvalidationMessage> r2Subscriber = r2::add;
+    bus.subscribe(r2Subscriber);
+
+    var msg = new CacheInvalidationMessage(Action.INVALIDATE_MODEL, "replica-1", "http://ex.org/m");
+    bus.publish(msg);
+    assertEquals(List.of(msg), r1);
+    assertEquals(List.of(msg), r2);
+
+    bus.unsubscribe(r2Subscriber);
+    bus.publish(msg);
+    assertEquals(List.of(msg, msg), r1);
+    assertEquals(List.of(msg), r2);
+  }
+
+  @Test
+  void testSignedMessages() {
+    var signer = new CacheInvalidationSigner("shared-secret", Duration.ofSeconds(30));
+    var msg = new CacheInvalidationMessage(Action.RESCAN, "replica-1", null);
+
+    var envelope = signer.seal(msg);
+    assertEquals(Optional.of(msg), signer.open(envelope));
+    // replayed
+    assertTrue(signer.open(envelope).isEmpty());
+
+    // tampered, or signed with another secret
+    var tampered = signer.seal(msg).replace("RESCAN", "INVALIDATE_ALL");
+    assertTrue(signer.open(tampered).isEmpty());
+    var forged = new CacheInvalidationSigner("other-secret", Duration.ofSeconds(30)).seal(msg);
+    assertTrue(signer.open(forged).isEmpty());
+    // unsigned
+    assertTrue(signer.open(msg.encode()).isEmpty());
+
+    // expired
+    var old = signer.seal(msg, System.currentTimeMillis() - 60_000, "nonce");
+    assertTrue(signer.open(old).isEmpty());
+  }
+
+}
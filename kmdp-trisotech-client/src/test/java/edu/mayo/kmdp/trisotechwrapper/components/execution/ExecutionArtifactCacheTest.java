@@ -0,0 +1,135 @@
+package edu.mayo.kmdp.trisotechwrapper.components.execution;
+
+import static edu.mayo.kmdp.trisotechwrapper.config.TTWConfigParamsDef.SERVICE_LIBRARY_ENVIRONMENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.config.TTWEnvironmentConfiguration;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.ResultSet;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+class ExecutionArtifactCacheTest {
+
+  private static final String SL = "https://mock.org/sl";
+
+  @Test
+  void testCachedLookupByName() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(SERVICE_LIBRARY_ENVIRONMENT, SL + "#dev," + SL + "#test");
+    var client = new MockClient();
+    try (var cache = new ExecutionArtifactCache(client, cfg)) {
+      assertEquals(2, cache.getExecutionArtifactsByName("svc").size());
+      assertTrue(cache.getExecutionArtifactsByName("nope").isEmpty());
+      assertEquals(2, cache.getExecutionArtifacts(SL, Set.of("dev", "test")).get("svc").size());
+      // one call per environment
+      assertEquals(2, client.calls.get());
+
+      cache.invalidate(SL);
+      assertEquals(1, cache.getExecutionArtifacts(SL, Set.of("dev")).get("svc").size());
+      assertEquals(3, client.calls.get());
+    }
+  }
+
+  @Test
+  void testFailedRefreshRetainsListing() throws Exception {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(SERVICE_LIBRARY_ENVIRONMENT, SL + "#dev");
+    var client = new MockClient();
+    try (var cache = new ExecutionArtifactCache(client, cfg)) {
+      assertEquals(1, cache.getExecutionArtifactsByName("svc").size());
+
+      client.failing = true;
+      cache.refreshAll();
+      // refreshes run on the (single) refresh thread: wait for them to complete
+      cache.scheduler.submit(() -> { }).get(10, TimeUnit.SECONDS);
+      assertEquals(2, client.calls.get());
+      assertEquals(1, cache.getExecutionArtifactsByName("svc").size());
+
+      // a Service Library unreachable on first use lists nothing, rather than failing
+      assertTrue(cache.getExecutionArtifacts(SL, Set.of("test")).isEmpty());
+    }
+  }
+
+  @Test
+  void testCloseStopsTheRefresh() {
+    var cfg = new TTWEnvironmentConfiguration();
+    cfg.setTyped(SERVICE_LIBRARY_ENVIRONMENT, SL + "#dev");
+    var cache = new ExecutionArtifactCache(new MockClient(), cfg);
+    cache.close();
+    assertTrue(cache.scheduler.isShutdown());
+  }
+
+  private static class MockClient implements TTDigitalEnterpriseServerClient {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private volatile boolean failing;
+
+    @Nonnull
+    @Override
+    public Optional<TrisotechFileInfo> getModelLatestVersion(@Nonnull String repositoryId,
+        @Nonnull String modelUri) {
+      return Optional.empty();
+    }
+
+    @Override
+    @Nonnull
+    public List<TrisotechFileInfo> getModelPreviousVersions(
+        @Nonnull String repositoryId,
+        @Nonnull String modelUri) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    @Nonnull
+    public List<TrisotechPlace> getPlaces() {
+      return List.of();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Document> downloadXmlModel(@Nonnull TrisotechFileInfo tt) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Nonnull
+    @Override
+    public List<TrisotechExecutionArtifact> getExecutionArtifacts(
+        @Nonnull String baseUrl,
+        @Nonnull Set<String> execEnv) {
+      calls.incrementAndGet();
+      if (failing) {
+        throw new IllegalStateException("Service Library unreachable");
+      }
+      var exec = new TrisotechExecutionArtifact();
+      exec.setName("svc");
+      exec.setEnvironment(execEnv.iterator().next());
+      return List.of(exec);
+    }
+
+    @Override
+    public boolean uploadXmlModel(@Nonnull SemanticModelInfo manifest,
+        @Nonnull byte[] fileContents) {
+      return false;
+    }
+
+    @Nonnull
+    @Override
+    public ResultSet askQuery(@Nonnull Query query) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
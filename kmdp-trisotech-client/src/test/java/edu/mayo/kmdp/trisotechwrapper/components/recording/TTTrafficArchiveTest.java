@@ -0,0 +1,148 @@
+package edu.mayo.kmdp.trisotechwrapper.components.recording;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.mayo.kmdp.trisotechwrapper.components.SemanticModelInfo;
+import edu.mayo.kmdp.trisotechwrapper.components.TTDigitalEnterpriseServerClient;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechExecutionArtifact;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechFileInfo;
+import edu.mayo.kmdp.trisotechwrapper.models.TrisotechPlace;
+import edu.mayo.kmdp.util.XMLUtil;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+class TTTrafficArchiveTest {
+
+  private static final String TOKEN = "s3cr3t-t0k3n";
+
+  private static final String QUERY = "SELECT ?s ?o WHERE { ?s <http://ex.org/p> ?o }";
+
+  @TempDir
+  Path archiveDir;
+
+  @Test
+  void testRecordAndReplay() throws IOException {
+    var archive = new TTTrafficArchive(archiveDir, TOKEN);
+    var info = new TrisotechFileInfo();
+    info.setId("http://ex.org/model");
+    info.setVersion("1.0.0");
+
+    var recorder = new RecordingTTDigitalEnterpriseServerClient(new MockClient(), archive);
+    var places = recorder.getPlaces();
+    assertEquals(2, countSolutions(recorder.askQuery(QueryFactory.create(QUERY))));
+    assertTrue(recorder.downloadXmlModel(info).isPresent());
+    recorder.getExecutionArtifacts("http://ex.org/sl", Set.of("dev"));
+
+    var replay = new ReplayTTDigitalEnterpriseServerClient(new TTTrafficArchive(archiveDir, null));
+    assertEquals(places.get(0).getId(), replay.getPlaces().get(0).getId());
+    assertEquals(2, countSolutions(replay.askQuery(QueryFactory.create(QUERY))));
+    assertEquals("model",
+        replay.downloadXmlModel(info).orElseThrow().getDocumentElement().getTagName());
+    assertEquals("svc",
+        replay.getExecutionArtifacts("http://ex.org/sl", Set.of("dev")).get(0).getName());
+    assertTrue(replay.getModelPreviousVersions("p", "m").isEmpty());
+    assertFalse(replay.askQuery(QueryFactory.create("SELECT ?s WHERE { ?s ?p ?o }")).hasNext());
+
+    // the token is never written to the archive
+    try (Stream<Path> files = Files.walk(archiveDir)) {
+      var content = files.filter(Files::isRegularFile)
+          .map(f -> {
+            try {
+              return Files.readString(f);
+            } catch (IOException e) {
+              return "";
+            }
+          }).collect(Collectors.joining());
+      assertFalse(content.contains(TOKEN));
+      assertTrue(content.contains(TTTrafficArchive.SCRUBBED));
+    }
+  }
+
+  private static int countSolutions(ResultSet rs) {
+    int n = 0;
+    while (rs.hasNext()) {
+      rs.next();
+      n++;
+    }
+    return n;
+  }
+
+  private static class MockClient implements TTDigitalEnterpriseServerClient {
+
+    @Nonnull
+    @Override
+    public Optional<TrisotechFileInfo> getModelLatestVersion(@Nonnull String repositoryId,
+        @Nonnull String modelUri) {
+      return Optional.empty();
+    }
+
+    @Override
+    @Nonnull
+    public List<TrisotechFileInfo> getModelPreviousVersions(
+        @Nonnull String repositoryId,
+        @Nonnull String modelUri) {
+      return List.of();
+    }
+
+    @Override
+    @Nonnull
+    public List<TrisotechPlace> getPlaces() {
+      // the token should not leak, even if echoed back by the server
+      return List.of(new TrisotechPlace("p1", "Place " + TOKEN));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Document> downloadXmlModel(@Nonnull TrisotechFileInfo tt) {
+      return XMLUtil.loadXMLDocument(
+          new ByteArrayInputStream("<model/>".getBytes()));
+    }
+
+    @Nonnull
+    @Override
+    public List<TrisotechExecutionArtifact> getExecutionArtifacts(
+        @Nonnull String baseUrl,
+        @Nonnull Set<String> execEnv) {
+      var exec = new TrisotechExecutionArtifact();
+      exec.setName("svc");
+      return List.of(exec);
+    }
+
+    @Override
+    public boolean uploadXmlModel(@Nonnull SemanticModelInfo manifest,
+        @Nonnull byte[] fileContents) {
+      return false;
+    }
+
+    @Nonnull
+    @Override
+    public ResultSet askQuery(@Nonnull Query query) {
+      var model = ModelFactory.createDefaultModel();
+      var p = model.createProperty("http://ex.org/p");
+      model.createResource("http://ex.org/a").addProperty(p, "x");
+      model.createResource("http://ex.org/b").addProperty(p, "y");
+      try (var exec = QueryExecutionFactory.create(query, model)) {
+        return ResultSetFactory.copyResults(exec.execSelect());
+      }
+    }
+  }
+}